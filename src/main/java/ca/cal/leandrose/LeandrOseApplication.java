@@ -4,6 +4,7 @@ import ca.cal.leandrose.model.Program;
 import ca.cal.leandrose.model.SchoolTerm;
 import ca.cal.leandrose.service.*;
 import ca.cal.leandrose.service.dto.*;
+import ca.cal.leandrose.service.event.PdfInspectionRequestedEvent;
 import java.io.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -12,11 +13,13 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 @SpringBootApplication
+@EnableScheduling
 public class LeandrOseApplication {
 
   public static void main(String[] args) {
@@ -57,7 +60,9 @@ public class LeandrOseApplication {
       CandidatureService candidatureService,
       ConvocationService convocationService,
       EntenteStageService ententeStageService,
-      ProfService profService) {
+      ProfService profService,
+      PdfInspectionService pdfInspectionService,
+      EntentePdfJobService ententePdfJobService) {
 
     return args -> {
       try {
@@ -110,6 +115,7 @@ public class LeandrOseApplication {
 
         MultipartFile cvFile = loadPdfFromResources("CV_Sophie_Martin.pdf");
         CvDto cvDto = cvService.uploadCv(studentConvocation.getId(), cvFile);
+        pdfInspectionService.inspect(PdfInspectionRequestedEvent.cv(cvDto.getId()));
         CvDto cvApproved = gestionnaireService.approveCv(cvDto.getId());
 
         MultipartFile offerFile = loadPdfFromResources("Offre_Stage_TechInnovation.pdf");
@@ -122,6 +128,7 @@ public class LeandrOseApplication {
                 25.00f,
                 employeurConvocation,
                 offerFile);
+        pdfInspectionService.inspect(PdfInspectionRequestedEvent.offer(offerDto.getId()));
         InternshipOfferDto offerApproved = gestionnaireService.approveOffer(offerDto.getId());
 
         CandidatureDto candidatureDto =
@@ -144,7 +151,7 @@ public class LeandrOseApplication {
                         L'équipe RH de TechInnovation""";
 
         convocationService.addConvocation(
-            candidatureDto.getId(), convocationDate, location, message);
+            candidatureDto.getId(), candidatureDto.getEmployeurId(), convocationDate, location, message);
 
         StudentDto studentConvocation2 =
             studentService.createStudent(
@@ -157,6 +164,7 @@ public class LeandrOseApplication {
 
         MultipartFile cvFile2 = loadPdfFromResources("CV_Alexandre_Dubois.pdf");
         CvDto cvDto2 = cvService.uploadCv(studentConvocation2.getId(), cvFile2);
+        pdfInspectionService.inspect(PdfInspectionRequestedEvent.cv(cvDto2.getId()));
 
         CvDto cvApproved2 = gestionnaireService.approveCv(cvDto2.getId());
 
@@ -178,9 +186,9 @@ public class LeandrOseApplication {
                         L'équipe RH""";
 
         convocationService.addConvocation(
-            candidatureDto2.getId(), convocationDate2, location2, message2);
+            candidatureDto2.getId(), candidatureDto2.getEmployeurId(), convocationDate2, location2, message2);
 
-        candidatureService.acceptByEmployeur(candidatureDto2.getId());
+        candidatureService.acceptByEmployeur(candidatureDto2.getId(), candidatureDto2.getEmployeurId());
 
         StudentDto studentConvocation3 =
             studentService.createStudent(
@@ -193,6 +201,7 @@ public class LeandrOseApplication {
 
         MultipartFile cvFile3 = loadPdfFromResources("CV_Alexandre_Gagne.pdf");
         CvDto cvDto3 = cvService.uploadCv(studentConvocation3.getId(), cvFile3);
+        pdfInspectionService.inspect(PdfInspectionRequestedEvent.cv(cvDto3.getId()));
 
         CvDto cvApproved3 = gestionnaireService.approveCv(cvDto3.getId());
 
@@ -214,9 +223,9 @@ public class LeandrOseApplication {
                         L'équipe RH""";
 
         convocationService.addConvocation(
-            candidatureDto3.getId(), convocationDate3, location3, message3);
+            candidatureDto3.getId(), candidatureDto3.getEmployeurId(), convocationDate3, location3, message3);
 
-        candidatureService.acceptByEmployeur(candidatureDto3.getId());
+        candidatureService.acceptByEmployeur(candidatureDto3.getId(), candidatureDto3.getEmployeurId());
 
         EmployeurDto employeurEntente =
             employeurService.createEmployeur(
@@ -238,6 +247,7 @@ public class LeandrOseApplication {
 
         MultipartFile cvFileEntente = loadPdfFromResources("CV_Emilie_Fortin.pdf");
         CvDto cvDtoEntente = cvService.uploadCv(studentEntente.getId(), cvFileEntente);
+        pdfInspectionService.inspect(PdfInspectionRequestedEvent.cv(cvDtoEntente.getId()));
         CvDto cvApprovedEntente = gestionnaireService.approveCv(cvDtoEntente.getId());
 
         MultipartFile offerFileEntente = loadPdfFromResources("Offre_Stage_Solutions_Pro.pdf");
@@ -250,6 +260,7 @@ public class LeandrOseApplication {
                 28.50f,
                 employeurEntente,
                 offerFileEntente);
+        pdfInspectionService.inspect(PdfInspectionRequestedEvent.offer(offerDtoEntente.getId()));
         InternshipOfferDto offerApprovedEntente =
             gestionnaireService.approveOffer(offerDtoEntente.getId());
 
@@ -258,7 +269,7 @@ public class LeandrOseApplication {
                 studentEntente.getId(), offerApprovedEntente.getId(), cvApprovedEntente.getId());
 
         CandidatureDto candidatureAcceptedEntente =
-            candidatureService.acceptByEmployeur(candidatureEntente.getId());
+            candidatureService.acceptByEmployeur(candidatureEntente.getId(), candidatureEntente.getEmployeurId());
 
         CandidatureDto candidatureFullyAccepted =
             candidatureService.acceptByStudent(
@@ -280,6 +291,7 @@ public class LeandrOseApplication {
 
         MultipartFile cvFileEntente2 = loadPdfFromResources("CV_Lucas_Bergeron.pdf");
         CvDto cvDtoEntente2 = cvService.uploadCv(studentEntente2.getId(), cvFileEntente2);
+        pdfInspectionService.inspect(PdfInspectionRequestedEvent.cv(cvDtoEntente2.getId()));
         CvDto cvApprovedEntente2 = gestionnaireService.approveCv(cvDtoEntente2.getId());
 
         MultipartFile offerFileEntente2 = loadPdfFromResources("Offre_Stage_Solutions_Pro_2.pdf");
@@ -292,6 +304,7 @@ public class LeandrOseApplication {
                 26.00f,
                 employeurEntente,
                 offerFileEntente2);
+        pdfInspectionService.inspect(PdfInspectionRequestedEvent.offer(offerDtoEntente2.getId()));
         InternshipOfferDto offerApprovedEntente2 =
             gestionnaireService.approveOffer(offerDtoEntente2.getId());
 
@@ -300,7 +313,7 @@ public class LeandrOseApplication {
                 studentEntente2.getId(), offerApprovedEntente2.getId(), cvApprovedEntente2.getId());
 
         CandidatureDto candidatureAcceptedEntente2 =
-            candidatureService.acceptByEmployeur(candidatureEntente2.getId());
+            candidatureService.acceptByEmployeur(candidatureEntente2.getId(), candidatureEntente2.getEmployeurId());
         CandidatureDto candidatureFullyAccepted2 =
             candidatureService.acceptByStudent(
                 candidatureAcceptedEntente2.getId(), studentEntente2.getId());
@@ -308,12 +321,13 @@ public class LeandrOseApplication {
 
         MultipartFile cvFileRiles = loadPdfFromResources("CV_Riles.pdf");
         CvDto cvDtoRiles = cvService.uploadCv(riles.getId(), cvFileRiles);
+        pdfInspectionService.inspect(PdfInspectionRequestedEvent.cv(cvDtoRiles.getId()));
         CvDto cvApprovedRiles = gestionnaireService.approveCv(cvDtoRiles.getId());
 
         CandidatureDto candidatureDtoRiles = candidatureService.postuler(riles.getId(),
                 offerApprovedEntente2.getId(), cvApprovedRiles.getId());
         CandidatureDto candidatureRilesDto =
-                candidatureService.acceptByEmployeur(candidatureDtoRiles.getId());
+                candidatureService.acceptByEmployeur(candidatureDtoRiles.getId(), candidatureDtoRiles.getEmployeurId());
 
         candidatureService.acceptByStudent(
                 candidatureRilesDto.getId(), riles.getId());
@@ -338,7 +352,7 @@ public class LeandrOseApplication {
         ententeStageService.creerEntente(ententeDto2);
 
         try {
-
+          ententePdfJobService.drain();
           ententeStageService.signerParEtudiant(ententeCreated.getId(), studentEntente.getId());
 
         } catch (Exception e) {
@@ -392,6 +406,7 @@ public class LeandrOseApplication {
 
         MultipartFile cvFileProf = loadPdfFromResources("CV_Antoine_Tremblay.pdf");
         CvDto cvDtoProf = cvService.uploadCv(studentProf.getId(), cvFileProf);
+        pdfInspectionService.inspect(PdfInspectionRequestedEvent.cv(cvDtoProf.getId()));
         CvDto cvApprovedProf = gestionnaireService.approveCv(cvDtoProf.getId());
 
         MultipartFile offerFileProf = loadPdfFromResources("Offre_Stage_TechQuebec.pdf");
@@ -404,6 +419,7 @@ public class LeandrOseApplication {
                 27.50f,
                 employeurProf,
                 offerFileProf);
+        pdfInspectionService.inspect(PdfInspectionRequestedEvent.offer(offerDtoProf.getId()));
         InternshipOfferDto offerApprovedProf =
             gestionnaireService.approveOffer(offerDtoProf.getId());
 
@@ -413,7 +429,7 @@ public class LeandrOseApplication {
                 studentProf.getId(), offerApprovedProf.getId(), cvApprovedProf.getId());
 
         CandidatureDto candidatureAcceptedByEmployeur =
-            candidatureService.acceptByEmployeur(candidatureProf.getId());
+            candidatureService.acceptByEmployeur(candidatureProf.getId(), candidatureProf.getEmployeurId());
 
         CandidatureDto candidatureFullyAcceptedProf =
             candidatureService.acceptByStudent(
@@ -440,6 +456,7 @@ public class LeandrOseApplication {
                             - Développer des compétences en DevOps""");
 
         EntenteStageDto ententeCreatedProf = ententeStageService.creerEntente(ententeDtoProf);
+        ententePdfJobService.drain();
 
         ententeStageService.signerParEtudiant(ententeCreatedProf.getId(), studentProf.getId());
 
@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = @Index(name = "idx_candidature_status_term", columnList = "status, term_key"))
 public class Candidature {
 
   @Id
@@ -40,6 +41,19 @@ public class Candidature {
   @Column(nullable = false)
   private LocalDateTime applicationDate;
 
+  @Column(name = "term_key")
+  private Integer termKey;
+
+  @Version private Long version;
+
+  @PrePersist
+  @PreUpdate
+  void assignTermKey() {
+    if (internshipOffer != null && internshipOffer.getSchoolTerm() != null) {
+      termKey = internshipOffer.getSchoolTerm().toTermKey();
+    }
+  }
+
   public Long getEmployeurId() {
     return internshipOffer.getEmployeurId();
   }
@@ -0,0 +1,95 @@
+package ca.cal.leandrose.model;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public record CounterCell(CounterScope scope, Long scopeId, String counterKey) {
+
+  public static final long GLOBAL_SCOPE_ID = 0L;
+  public static final String ENTENTE_AWAITING_SIGNATURE = "entente.awaitingSignature";
+  public static final String EVALUATION_TO_DO = "evaluation.toDo";
+
+  public static Set<CounterCell> cellsOf(Cv cv) {
+    Set<CounterCell> cells = new HashSet<>();
+    if (cv == null || cv.getStatus() == null) {
+      return cells;
+    }
+    String key = "cv." + cv.getStatus().name();
+    addGlobal(cells, key);
+    add(cells, CounterScope.STUDENT, cv.getStudent() != null ? cv.getStudent().getId() : null, key);
+    return cells;
+  }
+
+  public static Set<CounterCell> cellsOf(InternshipOffer offer) {
+    Set<CounterCell> cells = new HashSet<>();
+    if (offer == null || offer.getStatus() == null) {
+      return cells;
+    }
+    String key = "offer." + offer.getStatus().name();
+    addGlobal(cells, key);
+    add(cells, CounterScope.EMPLOYEUR, offer.getEmployeurId(), key);
+    return cells;
+  }
+
+  public static Set<CounterCell> cellsOf(Candidature candidature) {
+    Set<CounterCell> cells = new HashSet<>();
+    if (candidature == null || candidature.getStatus() == null) {
+      return cells;
+    }
+    String key = "candidature." + candidature.getStatus().name();
+    InternshipOffer offer = candidature.getInternshipOffer();
+    addGlobal(cells, key);
+    add(
+        cells,
+        CounterScope.STUDENT,
+        candidature.getStudent() != null ? candidature.getStudent().getId() : null,
+        key);
+    add(cells, CounterScope.EMPLOYEUR, offer != null ? offer.getEmployeurId() : null, key);
+    add(cells, CounterScope.OFFER, offer != null ? offer.getId() : null, key);
+    return cells;
+  }
+
+  public static Set<CounterCell> cellsOf(EntenteView entente) {
+    Set<CounterCell> cells = new HashSet<>();
+    if (entente == null || entente.getStatut() == null) {
+      return cells;
+    }
+    String key = "entente." + entente.getStatut().name();
+    addGlobal(cells, key);
+    add(cells, CounterScope.EMPLOYEUR, entente.getEmployeurId(), key);
+    add(cells, CounterScope.STUDENT, entente.getStudentId(), key);
+    add(cells, CounterScope.PROF, entente.getProfId(), key);
+
+    if (entente.getStatut() == EntenteStage.StatutEntente.EN_ATTENTE_SIGNATURE) {
+      if (entente.getDateSignatureEtudiant() == null) {
+        add(cells, CounterScope.STUDENT, entente.getStudentId(), ENTENTE_AWAITING_SIGNATURE);
+      }
+      if (entente.getDateSignatureEmployeur() == null) {
+        add(cells, CounterScope.EMPLOYEUR, entente.getEmployeurId(), ENTENTE_AWAITING_SIGNATURE);
+      }
+      if (entente.getDateSignatureGestionnaire() == null) {
+        addGlobal(cells, ENTENTE_AWAITING_SIGNATURE);
+      }
+    }
+
+    if (entente.getStatut() == EntenteStage.StatutEntente.VALIDEE) {
+      if (!entente.isEvaluationSubmittedByEmployer()) {
+        add(cells, CounterScope.EMPLOYEUR, entente.getEmployeurId(), EVALUATION_TO_DO);
+      }
+      if (!entente.isEvaluationSubmittedByProfessor()) {
+        add(cells, CounterScope.PROF, entente.getProfId(), EVALUATION_TO_DO);
+      }
+    }
+    return cells;
+  }
+
+  private static void addGlobal(Set<CounterCell> cells, String key) {
+    cells.add(new CounterCell(CounterScope.GLOBAL, GLOBAL_SCOPE_ID, key));
+  }
+
+  private static void add(Set<CounterCell> cells, CounterScope scope, Long scopeId, String key) {
+    if (scopeId != null) {
+      cells.add(new CounterCell(scope, scopeId, key));
+    }
+  }
+}
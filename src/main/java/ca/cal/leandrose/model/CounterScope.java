@@ -0,0 +1,9 @@
+package ca.cal.leandrose.model;
+
+public enum CounterScope {
+  GLOBAL,
+  EMPLOYEUR,
+  STUDENT,
+  PROF,
+  OFFER
+}
@@ -20,12 +20,19 @@ public class Cv {
   private Student student;
 
   private String pdfPath;
+  private String pdfSha256;
+  private Integer pdfPageCount;
+  private String pdfTitle;
+  private String pdfAuthor;
+  private String pdfProducer;
   private String rejectionComment;
 
   @Enumerated(EnumType.STRING)
   @Column(name = "status")
   private Status status;
 
+  @Version private Long version;
+
   public String getStudentName() {
     if (student != null) {
       return student.getFirstName() + " " + student.getLastName();
@@ -34,6 +41,8 @@ public class Cv {
   }
 
   public enum Status {
+    PROCESSING,
+    QUARANTINED,
     APPROVED,
     PENDING,
     REJECTED
@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = @Index(name = "idx_entente_stage_statut_term", columnList = "statut, term_key"))
 public class EntenteStage {
 
   @Id
@@ -47,6 +48,21 @@ public class EntenteStage {
   private LocalDateTime dateSignatureEmployeur;
   private LocalDateTime dateSignatureGestionnaire;
 
+  @Column(name = "term_key")
+  private Integer termKey;
+
+  @Version private Long version;
+
+  @PrePersist
+  @PreUpdate
+  void assignTermKey() {
+    if (candidature != null
+        && candidature.getInternshipOffer() != null
+        && candidature.getInternshipOffer().getSchoolTerm() != null) {
+      termKey = candidature.getInternshipOffer().getSchoolTerm().toTermKey();
+    }
+  }
+
   public InternshipOffer getOffer() {
     return candidature.getInternshipOffer();
   }
@@ -78,6 +94,7 @@ public class EntenteStage {
 
   public enum StatutEntente {
     BROUILLON,
+    EN_GENERATION,
     EN_ATTENTE_SIGNATURE,
     VALIDEE
   }
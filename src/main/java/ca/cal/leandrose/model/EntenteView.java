@@ -0,0 +1,193 @@
+package ca.cal.leandrose.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(
+    name = "entente_view",
+    indexes = {
+      @Index(name = "idx_entente_view_employeur", columnList = "employeur_id, statut"),
+      @Index(name = "idx_entente_view_student", columnList = "student_id"),
+      @Index(name = "idx_entente_view_prof", columnList = "prof_id, statut"),
+      @Index(name = "idx_entente_view_date_creation", columnList = "date_creation")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EntenteView {
+
+  @Id private Long ententeId;
+
+  @Version private Long version;
+
+  private Long candidatureId;
+
+  private Long studentId;
+  private String studentFirstName;
+  private String studentLastName;
+  private String studentEmail;
+  private String studentNumber;
+  private String studentProgram;
+  private String studentPhoneNumber;
+
+  @Embedded
+  @AttributeOverrides({
+    @AttributeOverride(name = "season", column = @Column(name = "student_term_season")),
+    @AttributeOverride(name = "year", column = @Column(name = "student_term_year"))
+  })
+  private SchoolTerm studentTerm;
+
+  private Long offerId;
+  private String offerDescription;
+  private String offerStatus;
+  private String companyName;
+  private LocalDate startDate;
+  private LocalDate endDate;
+  private int durationInWeeks;
+  private String address;
+  private Float remuneration;
+  private String offerPdfPath;
+  private LocalDate offerValidationDate;
+  private String offerRejectionComment;
+
+  @Embedded private SchoolTerm schoolTerm;
+
+  private Long employeurId;
+  private String employeurFirstName;
+  private String employeurLastName;
+  private String employeurEmail;
+  private String employeurField;
+  private String employeurPhoneNumber;
+
+  private Long profId;
+  private String profFirstName;
+  private String profLastName;
+  private String profEmail;
+  private String profDepartment;
+  private String profEmployeeNumber;
+  private String profNameCollege;
+  private String profAddress;
+  private String profFax;
+  private String profPhoneNumber;
+
+  private Long gestionnaireId;
+  private String gestionnaireFirstName;
+  private String gestionnaireLastName;
+  private String gestionnaireEmail;
+  private String gestionnairePhoneNumber;
+
+  @Column(columnDefinition = "TEXT")
+  private String missionsObjectifs;
+
+  @Enumerated(EnumType.STRING)
+  private EntenteStage.StatutEntente statut;
+
+  private LocalDateTime dateCreation;
+  private LocalDateTime dateModification;
+  private String cheminDocumentPDF;
+
+  private LocalDateTime dateSignatureEtudiant;
+  private LocalDateTime dateSignatureEmployeur;
+  private LocalDateTime dateSignatureGestionnaire;
+
+  private Long evaluationId;
+  private boolean evaluationSubmittedByEmployer;
+  private boolean evaluationSubmittedByProfessor;
+
+  @Enumerated(EnumType.STRING)
+  private EvaluationStatus evaluationStatus;
+
+  public static EntenteView from(EntenteStage entente, EvaluationStagiaire evaluation) {
+    Candidature candidature = entente.getCandidature();
+    Student student = candidature.getStudent();
+    InternshipOffer offer = candidature.getInternshipOffer();
+    Employeur employeur = offer.getEmployeur();
+    Prof prof = entente.getProf();
+    Gestionnaire gestionnaire = entente.getGestionnaire();
+
+    return EntenteView.builder()
+        .ententeId(entente.getId())
+        .candidatureId(candidature.getId())
+        .studentId(student.getId())
+        .studentFirstName(student.getFirstName())
+        .studentLastName(student.getLastName())
+        .studentEmail(student.getCredentials() != null ? student.getEmail() : null)
+        .studentNumber(student.getStudentNumber())
+        .studentProgram(student.getProgram())
+        .studentPhoneNumber(student.getPhoneNumber())
+        .studentTerm(student.getInternshipTerm())
+        .offerId(offer.getId())
+        .offerDescription(offer.getDescription())
+        .offerStatus(offer.getStatus() != null ? offer.getStatus().name() : null)
+        .companyName(offer.getCompanyName())
+        .startDate(offer.getStartDate())
+        .endDate(
+            offer.getStartDate() != null && offer.getDurationInWeeks() > 0
+                ? offer.getStartDate().plusWeeks(offer.getDurationInWeeks())
+                : null)
+        .durationInWeeks(offer.getDurationInWeeks())
+        .address(offer.getAddress())
+        .remuneration(offer.getRemuneration())
+        .offerPdfPath(offer.getPdfPath())
+        .offerValidationDate(offer.getValidationDate())
+        .offerRejectionComment(offer.getRejectionComment())
+        .schoolTerm(offer.getSchoolTerm())
+        .employeurId(employeur != null ? employeur.getId() : null)
+        .employeurFirstName(employeur != null ? employeur.getFirstName() : null)
+        .employeurLastName(employeur != null ? employeur.getLastName() : null)
+        .employeurEmail(offer.getEmployeurEmail())
+        .employeurField(employeur != null ? employeur.getField() : null)
+        .employeurPhoneNumber(employeur != null ? employeur.getPhoneNumber() : null)
+        .profId(prof != null ? prof.getId() : null)
+        .profFirstName(prof != null ? prof.getFirstName() : null)
+        .profLastName(prof != null ? prof.getLastName() : null)
+        .profEmail(prof != null && prof.getCredentials() != null ? prof.getEmail() : null)
+        .profDepartment(prof != null ? prof.getDepartment() : null)
+        .profEmployeeNumber(prof != null ? prof.getEmployeeNumber() : null)
+        .profNameCollege(prof != null ? prof.getNameCollege() : null)
+        .profAddress(prof != null ? prof.getAddress() : null)
+        .profFax(prof != null ? prof.getFax_machine() : null)
+        .profPhoneNumber(prof != null ? prof.getPhoneNumber() : null)
+        .gestionnaireId(gestionnaire != null ? gestionnaire.getId() : null)
+        .gestionnaireFirstName(gestionnaire != null ? gestionnaire.getFirstName() : null)
+        .gestionnaireLastName(gestionnaire != null ? gestionnaire.getLastName() : null)
+        .gestionnaireEmail(
+            gestionnaire != null && gestionnaire.getCredentials() != null
+                ? gestionnaire.getEmail()
+                : null)
+        .gestionnairePhoneNumber(gestionnaire != null ? gestionnaire.getPhoneNumber() : null)
+        .missionsObjectifs(entente.getMissionsObjectifs())
+        .statut(entente.getStatut())
+        .dateCreation(entente.getDateCreation())
+        .dateModification(entente.getDateModification())
+        .cheminDocumentPDF(entente.getCheminDocumentPDF())
+        .dateSignatureEtudiant(entente.getDateSignatureEtudiant())
+        .dateSignatureEmployeur(entente.getDateSignatureEmployeur())
+        .dateSignatureGestionnaire(entente.getDateSignatureGestionnaire())
+        .evaluationId(evaluation != null ? evaluation.getId() : null)
+        .evaluationSubmittedByEmployer(evaluation != null && evaluation.isSubmittedByEmployer())
+        .evaluationSubmittedByProfessor(evaluation != null && evaluation.isSubmittedByProfessor())
+        .evaluationStatus(evaluationStatusOf(evaluation))
+        .build();
+  }
+
+  private static EvaluationStatus evaluationStatusOf(EvaluationStagiaire evaluation) {
+    if (evaluation == null) {
+      return EvaluationStatus.A_FAIRE;
+    }
+    if (evaluation.isSubmittedByEmployer() && evaluation.isSubmittedByProfessor()) {
+      return EvaluationStatus.TERMINEE;
+    }
+    if (evaluation.isSubmittedByEmployer() || evaluation.isSubmittedByProfessor()) {
+      return EvaluationStatus.EN_COURS;
+    }
+    return EvaluationStatus.A_FAIRE;
+  }
+}
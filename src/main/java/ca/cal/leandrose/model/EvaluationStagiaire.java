@@ -12,6 +12,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(
+    indexes =
+        @Index(name = "idx_evaluation_stagiaire_status_term", columnList = "status, term_key"))
 public class EvaluationStagiaire {
 
   @Id
@@ -48,4 +51,15 @@ public class EvaluationStagiaire {
 
   @Enumerated(EnumType.STRING)
   private EvaluationStatus status;
+
+  @Column(name = "term_key")
+  private Integer termKey;
+
+  @PrePersist
+  @PreUpdate
+  void assignTermKey() {
+    if (internshipOffer != null && internshipOffer.getSchoolTerm() != null) {
+      termKey = internshipOffer.getSchoolTerm().toTermKey();
+    }
+  }
 }
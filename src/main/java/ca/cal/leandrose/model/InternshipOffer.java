@@ -36,6 +36,11 @@ public class InternshipOffer {
   @ManyToOne private Employeur employeur;
 
   private String pdfPath;
+  private String pdfSha256;
+  private Integer pdfPageCount;
+  private String pdfTitle;
+  private String pdfAuthor;
+  private String pdfProducer;
 
   @Embedded private SchoolTerm schoolTerm;
 
@@ -45,6 +50,8 @@ public class InternshipOffer {
 
   @Column private String rejectionComment;
 
+  @Version private Long version;
+
   public Long getEmployeurId() {
     return employeur != null ? employeur.getId() : null;
   }
@@ -72,6 +79,8 @@ public class InternshipOffer {
   }
 
   public enum Status {
+    PROCESSING,
+    QUARANTINED,
     PENDING_VALIDATION,
     PUBLISHED,
     ASSIGNED,
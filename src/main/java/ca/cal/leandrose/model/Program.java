@@ -1,6 +1,9 @@
 package ca.cal.leandrose.model;
 
 import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public enum Program {
   COMPUTER_SCIENCE("program.computer_science"),
@@ -52,6 +55,11 @@ public enum Program {
   GEOGRAPHY("program.geography"),
   SPORTS_SCIENCE("program.sports_science");
 
+  private static final Set<String> TRANSLATION_KEYS =
+      Arrays.stream(values())
+          .map(Program::getTranslationKey)
+          .collect(Collectors.toUnmodifiableSet());
+
   private final String translationKey;
 
   Program(String translationKey) {
@@ -62,4 +70,8 @@ public enum Program {
   public String getTranslationKey() {
     return translationKey;
   }
+
+  public static boolean isValidTranslationKey(String translationKey) {
+    return translationKey != null && TRANSLATION_KEYS.contains(translationKey);
+  }
 }
@@ -81,6 +81,35 @@ public class SchoolTerm {
     return java.util.Objects.hash(season, year);
   }
 
+  public int toTermKey() {
+    return year * 10 + season.ordinal();
+  }
+
+  public static SchoolTerm fromTermKey(int termKey) {
+    return new SchoolTerm(Season.values()[termKey % 10], termKey / 10);
+  }
+
+  public static SchoolTerm parse(String value) {
+    String[] parts = value == null ? new String[0] : value.trim().split("[-_ ]");
+    try {
+      if (parts.length == 2) {
+        return new SchoolTerm(
+            Season.valueOf(parts[0].toUpperCase(java.util.Locale.ROOT)),
+            Integer.parseInt(parts[1]));
+      }
+    } catch (IllegalArgumentException ignored) {
+    }
+    throw new IllegalArgumentException("Trimestre invalide : " + value);
+  }
+
+  public SchoolTerm calculatePreviousTerm() {
+    return switch (this.season) {
+      case WINTER -> new SchoolTerm(Season.FALL, this.year - 1);
+      case SUMMER -> new SchoolTerm(Season.WINTER, this.year);
+      case FALL -> new SchoolTerm(Season.SUMMER, this.year);
+    };
+  }
+
   public String getTermAsString() {
     return (getSeason() != null) ? getSeason() + " " + getYear() : null;
   }
@@ -0,0 +1,42 @@
+package ca.cal.leandrose.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(
+    name = "status_counter",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_status_counter_cell",
+            columnNames = {"scope", "scope_id", "counter_key"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatusCounter {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private CounterScope scope;
+
+  @Column(name = "scope_id", nullable = false)
+  private Long scopeId;
+
+  @Column(name = "counter_key", nullable = false)
+  private String counterKey;
+
+  @Column(name = "counter_value", nullable = false)
+  private long value;
+
+  public CounterCell toCell() {
+    return new CounterCell(scope, scopeId, counterKey);
+  }
+}
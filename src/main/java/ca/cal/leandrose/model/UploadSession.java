@@ -0,0 +1,50 @@
+package ca.cal.leandrose.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(
+    name = "upload_session",
+    indexes = @Index(name = "idx_upload_session_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+
+  @Id
+  @Column(length = 36)
+  private String id;
+
+  @Column(name = "owner_id", nullable = false)
+  private Long ownerId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private Purpose purpose;
+
+  @Column(nullable = false)
+  private String filename;
+
+  @Column(name = "content_type")
+  private String contentType;
+
+  @Column(nullable = false)
+  private long size;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+
+  public enum Purpose {
+    CV,
+    OFFER
+  }
+}
@@ -0,0 +1,50 @@
+package ca.cal.leandrose.presentation;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+final class ConditionalGet {
+
+  static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+  static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(1)).cachePublic();
+
+  private ConditionalGet() {}
+
+  static <T> ResponseEntity<T> respond(
+      HttpServletRequest request, String etag, CacheControl cacheControl, Supplier<T> body) {
+    if (etag == null) {
+      return ResponseEntity.ok(body.get());
+    }
+    if (isNotModified(request, etag)) {
+      return notModified(etag, cacheControl);
+    }
+    return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+  }
+
+  static boolean isNotModified(HttpServletRequest request, String etag) {
+    return etag != null && matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag);
+  }
+
+  static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+        .eTag(etag)
+        .cacheControl(cacheControl)
+        .build();
+  }
+
+  static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+      return false;
+    }
+    return Arrays.stream(ifNoneMatch.split(","))
+        .map(String::trim)
+        .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+        .anyMatch(candidate -> candidate.equals("*") || candidate.equals(etag));
+  }
+}
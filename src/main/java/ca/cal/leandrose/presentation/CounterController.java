@@ -0,0 +1,29 @@
+package ca.cal.leandrose.presentation;
+
+import ca.cal.leandrose.service.StatusCounterService;
+import ca.cal.leandrose.service.UserAppService;
+import ca.cal.leandrose.service.dto.StatusCountersDto;
+import ca.cal.leandrose.service.dto.UserDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/counters")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5174"})
+public class CounterController {
+
+  private final UserAppService userService;
+  private final StatusCounterService statusCounterService;
+
+  @GetMapping
+  public ResponseEntity<StatusCountersDto> getMyCounters(HttpServletRequest request) {
+    UserDTO me = userService.getMe(request.getHeader("Authorization"));
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(statusCounterService.getCounters(me.getRole(), me.getId()));
+  }
+}
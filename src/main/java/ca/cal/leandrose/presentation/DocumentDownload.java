@@ -0,0 +1,151 @@
+package ca.cal.leandrose.presentation;
+
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.StoredDocumentResource;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+final class DocumentDownload {
+
+  static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  private DocumentDownload() {}
+
+  static ResponseEntity<?> serve(
+      HttpServletRequest request, Resource document, String contentDisposition)
+      throws IOException {
+    long length = document.contentLength();
+    long lastModified = lastModified(document);
+    String etag = etag(document.getFilename(), length, lastModified);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_PDF);
+    headers.set(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+    headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+    if (etag != null) {
+      headers.setETag(etag);
+    }
+    if (lastModified > 0) {
+      headers.setLastModified(lastModified);
+    }
+
+    if (etag != null
+        && ConditionalGet.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+    }
+
+    HttpStatus status = HttpStatus.OK;
+    long start = 0;
+    long count = length;
+    String range = request.getHeader(HttpHeaders.RANGE);
+    if (range != null
+        && ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag, lastModified)) {
+      List<HttpRange> ranges = parseRanges(range);
+      if (ranges.size() == 1) {
+        try {
+          start = ranges.get(0).getRangeStart(length);
+          count = ranges.get(0).getRangeEnd(length) - start + 1;
+          status = HttpStatus.PARTIAL_CONTENT;
+        } catch (IllegalArgumentException e) {
+          return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+              .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+              .build();
+        }
+      }
+    }
+
+    if (document.isFile() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      request.setAttribute(SENDFILE_FILENAME, document.getFile().getAbsolutePath());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, start + count);
+      headers.setContentLength(count);
+      if (status == HttpStatus.PARTIAL_CONTENT) {
+        headers.set(HttpHeaders.CONTENT_RANGE, contentRange(start, count, length));
+      }
+      return ResponseEntity.status(status).headers(headers).build();
+    }
+    if (status == HttpStatus.PARTIAL_CONTENT && document instanceof StoredDocumentResource stored) {
+      headers.setContentLength(count);
+      headers.set(HttpHeaders.CONTENT_RANGE, contentRange(start, count, length));
+      return ResponseEntity.status(status)
+          .headers(headers)
+          .body(new InputStreamResource(stored.getInputStream(start, count)));
+    }
+    if (status == HttpStatus.PARTIAL_CONTENT) {
+      return ResponseEntity.status(status)
+          .headers(headers)
+          .body(new ResourceRegion(document, start, count));
+    }
+    headers.setContentLength(length);
+    return ResponseEntity.ok()
+        .headers(headers)
+        .body(new InputStreamResource(document.getInputStream()));
+  }
+
+  static boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+    if (ifRange == null || ifRange.isBlank()) {
+      return true;
+    }
+    if (etag == null) {
+      return false;
+    }
+    if (ifRange.startsWith("\"")) {
+      return ifRange.equals(etag);
+    }
+    try {
+      return parseDate(ifRange) / 1000 == lastModified / 1000;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  private static List<HttpRange> parseRanges(String range) {
+    try {
+      return HttpRange.parseRanges(range);
+    } catch (IllegalArgumentException e) {
+      return List.of();
+    }
+  }
+
+  private static long parseDate(String value) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.DATE, value);
+    return headers.getDate();
+  }
+
+  private static String contentRange(long start, long count, long length) {
+    return "bytes " + start + "-" + (start + count - 1) + "/" + length;
+  }
+
+  private static String etag(String filename, long length, long lastModified) {
+    Optional<String> hash = BlobStore.hashOfName(filename);
+    if (hash.isPresent()) {
+      return "\"" + hash.get() + "\"";
+    }
+    if (lastModified <= 0) {
+      return null;
+    }
+    return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+  }
+
+  private static long lastModified(Resource document) {
+    try {
+      return document.lastModified();
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+}
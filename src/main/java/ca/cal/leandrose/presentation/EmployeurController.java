@@ -1,6 +1,9 @@
 package ca.cal.leandrose.presentation;
 
+import ca.cal.leandrose.model.UploadSession;
 import ca.cal.leandrose.presentation.request.InternshipOfferRequest;
+import ca.cal.leandrose.presentation.request.UploadSessionRequest;
+import ca.cal.leandrose.security.exception.ForbiddenAccessException;
 import ca.cal.leandrose.service.*;
 import ca.cal.leandrose.service.dto.*;
 import ca.cal.leandrose.service.dto.evaluation.*;
@@ -14,18 +17,14 @@ import ca.cal.leandrose.service.dto.evaluation.employer.EvaluationEmployerInfoRe
 import ca.cal.leandrose.service.mapper.InternshipOfferMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.nio.file.AccessDeniedException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.NoSuchFileException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -42,7 +41,9 @@ public class EmployeurController {
     private final CandidatureService candidatureService;
     private final ConvocationService convocationService;
     private final EntenteStageService ententeStageService;
+    private final CvService cvService;
     private final EvaluationStagiaireService evaluationStagiaireService;
+    private final UploadSessionService uploadSessionService;
 
     @GetMapping("/offers")
     public ResponseEntity<List<InternshipOfferDto>> getMyOffers(HttpServletRequest request) {
@@ -96,8 +97,120 @@ public class EmployeurController {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(offerDto);
     }
 
+    @PostMapping(value = "/offers/uploads", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> createOfferUpload(
+            HttpServletRequest request, @RequestBody UploadSessionRequest uploadRequest)
+            throws IOException {
+        UserDTO me = userService.getMe(request.getHeader("Authorization"));
+        if (!me.getRole().name().equals("EMPLOYEUR")) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResumableUpload.created(
+                "/employeur/offers/uploads",
+                () ->
+                        uploadSessionService.create(
+                                me.getId(),
+                                UploadSession.Purpose.OFFER,
+                                uploadRequest.getFilename(),
+                                uploadRequest.getContentType(),
+                                uploadRequest.getSize()));
+    }
+
+    @GetMapping("/offers/uploads/{uploadId}")
+    public ResponseEntity<?> getOfferUpload(
+            HttpServletRequest request, @PathVariable String uploadId) throws IOException {
+        UserDTO me = userService.getMe(request.getHeader("Authorization"));
+        if (!me.getRole().name().equals("EMPLOYEUR")) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResumableUpload.progress(
+                () ->
+                        uploadSessionService.getStatus(
+                                uploadId, me.getId(), UploadSession.Purpose.OFFER));
+    }
+
+    @PutMapping(
+            value = "/offers/uploads/{uploadId}",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> appendOfferUpload(
+            HttpServletRequest request,
+            @PathVariable String uploadId,
+            @RequestHeader(ResumableUpload.UPLOAD_OFFSET) long offset)
+            throws IOException {
+        UserDTO me = userService.getMe(request.getHeader("Authorization"));
+        if (!me.getRole().name().equals("EMPLOYEUR")) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResumableUpload.progress(
+                () ->
+                        uploadSessionService.append(
+                                uploadId,
+                                me.getId(),
+                                UploadSession.Purpose.OFFER,
+                                offset,
+                                request.getInputStream()));
+    }
+
+    @PostMapping(
+            value = "/offers/uploads/{uploadId}/finaliser",
+            consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> completeOfferUpload(
+            HttpServletRequest request,
+            @PathVariable String uploadId,
+            @RequestParam(required = false) String sha256,
+            @RequestBody InternshipOfferRequest offerRequest)
+            throws IOException {
+        UserDTO me = userService.getMe(request.getHeader("Authorization"));
+        if (!me.getRole().name().equals("EMPLOYEUR")) {
+            return ResponseEntity.status(403).build();
+        }
+
+        if (offerRequest.getDescription() == null || offerRequest.getDescription().trim().isEmpty()) {
+            return ResponseEntity.badRequest().body(new InternshipOfferDto("La description est requise"));
+        }
+
+        if (offerRequest.getDescription().length() > 50) {
+            return ResponseEntity.badRequest()
+                    .body(new InternshipOfferDto("La description ne doit pas dépasser 50 caractères"));
+        }
+
+        LocalDate startDate = LocalDate.parse(offerRequest.getStartDate());
+        EmployeurDto employeurDto = employeurService.getEmployeurById(me.getId());
+
+        return ResumableUpload.completed(
+                () ->
+                        uploadSessionService.complete(
+                                uploadId,
+                                me.getId(),
+                                UploadSession.Purpose.OFFER,
+                                sha256,
+                                (session, upload) ->
+                                        internshipOfferService.createOfferDto(
+                                                offerRequest.getDescription(),
+                                                startDate,
+                                                offerRequest.getDurationInWeeks(),
+                                                offerRequest.getAddress(),
+                                                offerRequest.getRemuneration(),
+                                                employeurDto,
+                                                upload)));
+    }
+
+    @DeleteMapping("/offers/uploads/{uploadId}")
+    public ResponseEntity<?> cancelOfferUpload(
+            HttpServletRequest request, @PathVariable String uploadId) throws IOException {
+        UserDTO me = userService.getMe(request.getHeader("Authorization"));
+        if (!me.getRole().name().equals("EMPLOYEUR")) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResumableUpload.cancelled(
+                () -> {
+                    uploadSessionService.cancel(uploadId, me.getId(), UploadSession.Purpose.OFFER);
+                    return null;
+                });
+    }
+
     @GetMapping("/offers/{offerId}/download")
-    public ResponseEntity<Resource> downloadOffer(
+    public ResponseEntity<?> downloadOffer(
             HttpServletRequest request, @PathVariable Long offerId) {
         UserDTO me = userService.getMe(request.getHeader("Authorization"));
 
@@ -112,26 +225,18 @@ public class EmployeurController {
                 return ResponseEntity.status(403).build();
             }
 
-            Path filePath = Paths.get(offer.getPdfPath());
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                String filename =
-                        "Offre_"
-                                + offer
-                                .getDescription()
-                                .substring(0, Math.min(30, offer.getDescription().length()))
-                                .replaceAll("[^a-zA-Z0-9]", "_")
-                                + ".pdf";
-
-                return ResponseEntity.ok()
-                        .contentType(MediaType.APPLICATION_PDF)
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
-        } catch (RuntimeException | MalformedURLException e) {
+            Resource resource = internshipOfferService.getOfferPdf(offerId);
+            String filename =
+                    "Offre_"
+                            + offer
+                            .getDescription()
+                            .substring(0, Math.min(30, offer.getDescription().length()))
+                            .replaceAll("[^a-zA-Z0-9]", "_")
+                            + ".pdf";
+
+            return DocumentDownload.serve(
+                    request, resource, "attachment; filename=\"" + filename + "\"");
+        } catch (RuntimeException | IOException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -173,20 +278,17 @@ public class EmployeurController {
         }
 
         try {
-            CandidatureDto candidatureDto = candidatureService.getCandidatureById(candidatureId);
-
-            if (!candidatureDto.getEmployeurId().equals(me.getId())) {
-                return ResponseEntity.status(403).build();
-            }
-
             ConvocationDto result = convocationService.addConvocation(
                     candidatureId,
+                    me.getId(),
                     convocationRequest.getConvocationDate(),
                     convocationRequest.getLocation(),
                     convocationRequest.getMessage());
 
             return ResponseEntity.ok().body(result);
 
+        } catch (ForbiddenAccessException e) {
+            return ResponseEntity.status(403).build();
         } catch (IllegalArgumentException | IllegalStateException e) {
             return ResponseEntity.badRequest().body(ConvocationDto.withErrorMessage(e.getMessage()));
         } catch (Exception e) {
@@ -224,10 +326,11 @@ public class EmployeurController {
             return ResponseEntity.status(403).build();
         }
 
-        List<CandidatureEmployeurDto> candidatures =
-                candidatureService.getCandidaturesByEmployeur(me.getId());
-
-        return ResponseEntity.ok(candidatures);
+        return ConditionalGet.respond(
+                request,
+                candidatureService.getCandidaturesByEmployeurETag(me.getId()),
+                ConditionalGet.REVALIDATE,
+                () -> candidatureService.getCandidaturesByEmployeur(me.getId()));
     }
 
     @GetMapping("/candidatures/{candidatureId}/cv")
@@ -241,27 +344,18 @@ public class EmployeurController {
         }
 
         try {
-            CandidatureDto candidatureDto = candidatureService.getCandidatureById(candidatureId);
-
-            if (!candidatureDto.getEmployeurId().equals(me.getId())) {
-                return ResponseEntity.status(403).build();
-            }
+            CandidatureDto candidatureDto =
+                    candidatureService.getCandidatureForEmployeur(candidatureId, me.getId());
 
             CvDto cv = candidatureDto.getCv();
-            Path filePath = Paths.get(cv.getPdfPath());
-
-            Resource resource = new UrlResource(filePath.toUri());
+            Resource resource = cvService.downloadCv(cv.getId());
 
-            if (resource.exists() && resource.isReadable()) {
-                return ResponseEntity.ok()
-                        .contentType(MediaType.APPLICATION_PDF)
-                        .header(
-                                HttpHeaders.CONTENT_DISPOSITION,
-                                "attachment; filename=\"CV_" + candidatureDto.getStudent().getName() + ".pdf\"")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
+            return DocumentDownload.serve(
+                    request,
+                    resource,
+                    "attachment; filename=\"CV_" + candidatureDto.getStudent().getName() + ".pdf\"");
+        } catch (ForbiddenAccessException e) {
+            return ResponseEntity.status(403).build();
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -276,14 +370,10 @@ public class EmployeurController {
         }
 
         try {
-            CandidatureDto candidatureDto = candidatureService.getCandidatureById(candidatureId);
-
-            if (!candidatureDto.getEmployeurId().equals(me.getId())) {
-                return ResponseEntity.status(403).build();
-            }
-
-            CandidatureDto updated = candidatureService.acceptByEmployeur(candidatureId);
+            CandidatureDto updated = candidatureService.acceptByEmployeur(candidatureId, me.getId());
             return ResponseEntity.ok(updated);
+        } catch (ForbiddenAccessException e) {
+            return ResponseEntity.status(403).build();
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().body(CandidatureDto.withErrorMessage(e.getMessage()));
         } catch (RuntimeException e) {
@@ -300,14 +390,10 @@ public class EmployeurController {
         }
 
         try {
-            CandidatureDto candidatureDto = candidatureService.getCandidatureById(candidatureId);
-
-            if (!candidatureDto.getEmployeurId().equals(me.getId())) {
-                return ResponseEntity.status(403).build();
-            }
-
-            CandidatureDto updated = candidatureService.rejectByEmployeur(candidatureId);
+            CandidatureDto updated = candidatureService.rejectByEmployeur(candidatureId, me.getId());
             return ResponseEntity.ok(updated);
+        } catch (ForbiddenAccessException e) {
+            return ResponseEntity.status(403).build();
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().body(CandidatureDto.withErrorMessage(e.getMessage()));
         } catch (RuntimeException e) {
@@ -330,6 +416,9 @@ public class EmployeurController {
         } catch (jakarta.persistence.EntityNotFoundException e) {
             return ResponseEntity.status(404)
                     .body(EntenteStageDto.withErrorMessage("Entente non trouvée"));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409)
+                    .body(EntenteStageDto.withErrorMessage(EntenteStageService.MODIFICATION_CONCURRENTE));
         } catch (IllegalArgumentException | IllegalStateException e) {
             return ResponseEntity.badRequest().body(EntenteStageDto.withErrorMessage(e.getMessage()));
         }
@@ -345,19 +434,8 @@ public class EmployeurController {
         }
 
         try {
-            List<EntenteStageDto> allEntentes = ententeStageService.getAllEntentes();
             List<EntenteStageDto> employerEntentes =
-                    allEntentes.stream()
-                            .filter(
-                                    entente -> {
-                                        if (entente.getInternshipOffer() == null
-                                                || entente.getInternshipOffer().getEmployeurDto() == null) {
-                                            return false;
-                                        }
-                                        return me.getEmail()
-                                                .equals(entente.getInternshipOffer().getEmployeurDto().getEmail());
-                                    })
-                            .collect(Collectors.toList());
+                    ententeStageService.getEntentesByEmployeurId(me.getId());
             return ResponseEntity.ok(employerEntentes);
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
@@ -365,7 +443,7 @@ public class EmployeurController {
     }
 
     @GetMapping("/ententes/{ententeId}/pdf")
-    public ResponseEntity<Resource> getEntentePdf(
+    public ResponseEntity<?> getEntentePdf(
             HttpServletRequest request, @PathVariable Long ententeId) {
         UserDTO me = userService.getMe(request.getHeader("Authorization"));
 
@@ -386,29 +464,19 @@ public class EmployeurController {
                 return ResponseEntity.status(404).build();
             }
 
-            Path filePath = Paths.get(entente.getCheminDocumentPDF());
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                String filename =
-                        "Entente_Stage_"
-                                + entente.getStudent().getFirstName()
-                                + "_"
-                                + entente.getStudent().getLastName()
-                                + ".pdf";
-
-                return ResponseEntity.ok()
-                        .contentType(MediaType.APPLICATION_PDF)
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
+            Resource resource = ententeStageService.telechargerPDF(ententeId);
+            String filename =
+                    "Entente_Stage_"
+                            + entente.getStudent().getFirstName()
+                            + "_"
+                            + entente.getStudent().getLastName()
+                            + ".pdf";
 
-        } catch (jakarta.persistence.EntityNotFoundException e) {
+            return DocumentDownload.serve(
+                    request, resource, "inline; filename=\"" + filename + "\"");
+
+        } catch (jakarta.persistence.EntityNotFoundException | NoSuchFileException e) {
             return ResponseEntity.status(404).build();
-        } catch (MalformedURLException e) {
-            return ResponseEntity.status(500).build();
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
         }
@@ -457,17 +525,14 @@ public class EmployeurController {
         }
 
         try {
-            EvaluationStagiaireDto evaluation = evaluationStagiaireService.getEvaluationById(evaluationId);
-            if (!evaluation.employeurId().equals(me.getId())) {
-                return ResponseEntity.status(403).body(PdfGenerationResponseDto.withErrorMessage("Accès non autorisé"));
-            }
-
             String lang = language.startsWith("en") ? "en" : "fr";
             EvaluationStagiaireDto updatedEvaluation =
-                    evaluationStagiaireService.generateEvaluationPdfByEmployer(evaluationId, formData, lang);
+                    evaluationStagiaireService.generateEvaluationPdfByEmployer(evaluationId, me.getId(), formData, lang);
 
             return ResponseEntity.ok(PdfGenerationResponseDto.fromResponse(new PdfGenerationResponse(updatedEvaluation.employerPdfPath(), "PDF généré avec succès")));
 
+        } catch (ForbiddenAccessException e) {
+            return ResponseEntity.status(403).body(PdfGenerationResponseDto.withErrorMessage(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(PdfGenerationResponseDto.withErrorMessage(e.getMessage()));
         }
@@ -489,16 +554,11 @@ public class EmployeurController {
         }
 
         try {
-            EvaluationStagiaireDto evaluation = evaluationStagiaireService.getEvaluationById(evaluationId);
-            if (!evaluation.employeurId().equals(me.getId())) {
-                return ResponseEntity.status(403).build();
-            }
-
-            byte[] pdfBytes = evaluationStagiaireService.getEvaluationPdf(evaluationId, CreatorTypeEvaluation.EMPLOYER);
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"evaluation_" + evaluationId + ".pdf\"")
-                    .body(pdfBytes);
+            Resource pdf = evaluationStagiaireService.getEvaluationPdf(evaluationId, CreatorTypeEvaluation.EMPLOYER, me.getId());
+            return DocumentDownload.serve(
+                    request, pdf, "attachment; filename=\"evaluation_" + evaluationId + ".pdf\"");
+        } catch (ForbiddenAccessException e) {
+            return ResponseEntity.status(403).build();
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
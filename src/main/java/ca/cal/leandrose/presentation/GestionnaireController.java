@@ -1,23 +1,30 @@
 package ca.cal.leandrose.presentation;
 
+import ca.cal.leandrose.model.EntenteStage;
+import ca.cal.leandrose.model.SchoolTerm;
 import ca.cal.leandrose.presentation.request.ChatRequest;
 import ca.cal.leandrose.presentation.request.RejectOfferRequest;
 import ca.cal.leandrose.service.*;
+import ca.cal.leandrose.service.cache.DocumentCache;
+import ca.cal.leandrose.service.cache.SerializedResponseCache;
+import ca.cal.leandrose.service.cache.SingleFlightGroup;
 import ca.cal.leandrose.service.dto.*;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.io.IOException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 @RestController
 @RequestMapping("/gestionnaire")
@@ -32,6 +39,13 @@ public class GestionnaireController {
   private final UserAppService userAppService;
   private final ProfService profService;
   private final ChatService chatService;
+  private final EntenteViewService ententeViewService;
+  private final ReportService reportService;
+  private final OfferCatalogService offerCatalogService;
+  private final SerializedResponseCache serializedResponseCache;
+  private final SingleFlightGroup singleFlightGroup;
+  private final DocumentCache documentCache;
+  private final TermExportService termExportService;
 
   @PostMapping("/cv/{cvId}/approve")
   public ResponseEntity<CvDto> approveCv(@PathVariable Long cvId) {
@@ -69,16 +83,11 @@ public class GestionnaireController {
   }
 
   @GetMapping("/cv/{cvId}/download")
-  public ResponseEntity<?> downloadCv(@PathVariable Long cvId) {
+  public ResponseEntity<?> downloadCv(HttpServletRequest request, @PathVariable Long cvId) {
     try {
       Resource resource = cvService.downloadCv(cvId);
-      Path filepath = Paths.get(resource.getFile().getAbsolutePath());
-      return ResponseEntity.ok()
-          .contentType(MediaType.APPLICATION_PDF)
-          .header(
-              HttpHeaders.CONTENT_DISPOSITION,
-              "attachment; filename=\"" + filepath.getFileName() + "\"")
-          .body(resource);
+      return DocumentDownload.serve(
+          request, resource, "attachment; filename=\"" + resource.getFilename() + "\"");
     } catch (RuntimeException | IOException e) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND)
           .body(CvDownloadResponseDto.withErrorMessage(e.getMessage()));
@@ -86,13 +95,10 @@ public class GestionnaireController {
   }
 
   @GetMapping("/offers/{id}/pdf")
-  public ResponseEntity<byte[]> getOfferPdf(@PathVariable Long id) {
+  public ResponseEntity<?> getOfferPdf(HttpServletRequest request, @PathVariable Long id) {
     try {
-      byte[] pdfData = internshipOfferService.getOfferPdf(id);
-      return ResponseEntity.ok()
-          .header(HttpHeaders.CONTENT_TYPE, "application/pdf")
-          .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=offer_" + id + ".pdf")
-          .body(pdfData);
+      Resource pdf = internshipOfferService.getOfferPdf(id);
+      return DocumentDownload.serve(request, pdf, "inline; filename=offer_" + id + ".pdf");
     } catch (Exception e) {
       return ResponseEntity.notFound().build();
     }
@@ -110,8 +116,12 @@ public class GestionnaireController {
   }
 
   @GetMapping("/programs")
-  public ResponseEntity<List<ProgramDto>> getPrograms() {
-    return ResponseEntity.ok(gestionnaireService.getAllPrograms());
+  public ResponseEntity<List<ProgramDto>> getPrograms(HttpServletRequest request) {
+    return ConditionalGet.respond(
+        request,
+        gestionnaireService.getProgramsETag(),
+        ConditionalGet.IMMUTABLE,
+        gestionnaireService::getAllPrograms);
   }
 
   @GetMapping("/ententes/candidatures/accepted")
@@ -169,18 +179,30 @@ public class GestionnaireController {
     }
   }
 
+  @GetMapping("/ententes/{ententeId}/pdf/statut")
+  public ResponseEntity<?> getStatutGenerationPDF(@PathVariable Long ententeId) {
+    try {
+      return ResponseEntity.ok(ententeStageService.getStatutGenerationPDF(ententeId));
+    } catch (EntityNotFoundException e) {
+      Map<String, String> error = new HashMap<>();
+      error.put("message", e.getMessage());
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(EntenteStageDto.withError(error));
+    }
+  }
+
   @GetMapping("/ententes/{ententeId}/telecharger")
-  public ResponseEntity<?> telechargerPDFEntente(@PathVariable Long ententeId) {
+  public ResponseEntity<?> telechargerPDFEntente(
+      HttpServletRequest request, @PathVariable Long ententeId) {
     try {
-      byte[] pdfBytes = ententeStageService.telechargerPDF(ententeId);
-      HttpHeaders headers = new HttpHeaders();
-      headers.setContentType(MediaType.APPLICATION_PDF);
-      headers.setContentDisposition(
-          org.springframework.http.ContentDisposition.attachment()
+      Resource pdf = ententeStageService.telechargerPDF(ententeId);
+      return DocumentDownload.serve(
+          request,
+          pdf,
+          ContentDisposition.attachment()
               .filename("entente_stage_" + ententeId + ".pdf")
-              .build());
-      return ResponseEntity.ok().headers(headers).body(pdfBytes);
-    } catch (EntityNotFoundException e) {
+              .build()
+              .toString());
+    } catch (EntityNotFoundException | IOException e) {
       Map<String, String> error = new HashMap<>();
       error.put("message", e.getMessage());
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(EntenteStageDto.withError(error));
@@ -188,12 +210,27 @@ public class GestionnaireController {
   }
 
   @GetMapping("/ententes")
-  public ResponseEntity<List<EntenteStageDto>> getAllEntentes() {
-    return ResponseEntity.ok(ententeStageService.getAllEntentes());
+  public ResponseEntity<List<EntenteStageDto>> getAllEntentes(HttpServletRequest request) {
+    String etag = ententeStageService.getAllEntentesETag();
+    if (ConditionalGet.isNotModified(request, etag)) {
+      return ConditionalGet.notModified(etag, ConditionalGet.REVALIDATE);
+    }
+    EntentesDto ententes = ententeStageService.getAllEntentesSnapshot();
+    return ConditionalGet.respond(
+        request, ententes.getEtag(), ConditionalGet.REVALIDATE, ententes::getEntentes);
+  }
+
+  @PostMapping("/ententes/vue/reconstruire")
+  public ResponseEntity<Map<String, Integer>> reconstruireVueEntentes() {
+    return ResponseEntity.ok(Map.of("ententes", ententeViewService.rebuild()));
   }
 
   @GetMapping("/ententes/{ententeId}")
-  public ResponseEntity<EntenteStageDto> getEntente(@PathVariable Long ententeId) {
+  public ResponseEntity<?> getEntente(@PathVariable Long ententeId) {
+    Optional<byte[]> json = ententeStageService.findEntenteJson(ententeId);
+    if (json.isPresent()) {
+      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json.get());
+    }
     try {
       return ResponseEntity.ok(ententeStageService.getEntenteById(ententeId));
     } catch (EntityNotFoundException e) {
@@ -228,6 +265,9 @@ public class GestionnaireController {
     } catch (jakarta.persistence.EntityNotFoundException e) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND)
           .body(EntenteStageDto.withErrorMessage("Entente non trouvée"));
+    } catch (OptimisticLockingFailureException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT)
+          .body(EntenteStageDto.withErrorMessage(EntenteStageService.MODIFICATION_CONCURRENTE));
     } catch (IllegalArgumentException | IllegalStateException e) {
       String msg = e.getMessage() != null ? e.getMessage().toLowerCase() : "";
       HttpStatus status =
@@ -312,6 +352,81 @@ public class GestionnaireController {
     }
   }
 
+  @GetMapping("/reports/programs")
+  public ResponseEntity<ReportDto<PlacementReportDto>> getProgramReport(
+      @RequestParam(required = false) SchoolTerm.Season season,
+      @RequestParam(required = false) Integer year) {
+    return ResponseEntity.ok(
+        reportService.getPlacementReport(
+            ReportService.Dimension.PROGRAM, toSchoolTerm(season, year)));
+  }
+
+  @GetMapping("/reports/fields")
+  public ResponseEntity<ReportDto<PlacementReportDto>> getFieldReport(
+      @RequestParam(required = false) SchoolTerm.Season season,
+      @RequestParam(required = false) Integer year) {
+    return ResponseEntity.ok(
+        reportService.getPlacementReport(
+            ReportService.Dimension.FIELD, toSchoolTerm(season, year)));
+  }
+
+  @GetMapping("/reports/terms")
+  public ResponseEntity<ReportDto<PlacementReportDto>> getTermReport(
+      @RequestParam(required = false) SchoolTerm.Season season,
+      @RequestParam(required = false) Integer year) {
+    return ResponseEntity.ok(
+        reportService.getPlacementReport(
+            ReportService.Dimension.TERM, toSchoolTerm(season, year)));
+  }
+
+  @PostMapping("/reports/rafraichir")
+  public ResponseEntity<Void> rafraichirRapports() {
+    reportService.refreshViews();
+    return ResponseEntity.noContent().build();
+  }
+
+  @GetMapping("/caches")
+  public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+    return ResponseEntity.ok(
+        List.of(
+            offerCatalogService.getStats(),
+            serializedResponseCache.getStats(),
+            documentCache.getStats()));
+  }
+
+  @GetMapping("/single-flight")
+  public ResponseEntity<List<SingleFlightStatsDto>> getSingleFlightStats() {
+    return ResponseEntity.ok(singleFlightGroup.getStats());
+  }
+
+  @GetMapping("/exports/term/{term}")
+  public WebAsyncTask<Void> exporterTrimestre(
+      HttpServletResponse response,
+      @PathVariable String term,
+      @RequestParam(required = false) String program,
+      @RequestParam(required = false) Long employeurId,
+      @RequestParam(required = false) EntenteStage.StatutEntente statut) {
+    SchoolTerm schoolTerm = SchoolTerm.parse(term);
+    TermExportService.Filter filter = new TermExportService.Filter(program, employeurId, statut);
+    response.setContentType("application/zip");
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment()
+            .filename(TermExportService.filenameFor(schoolTerm))
+            .build()
+            .toString());
+    return new WebAsyncTask<>(
+        termExportService.getTimeout().toMillis(),
+        () -> {
+          termExportService.export(schoolTerm, filter, response.getOutputStream());
+          return null;
+        });
+  }
+
+  private static SchoolTerm toSchoolTerm(SchoolTerm.Season season, Integer year) {
+    return season != null && year != null ? new SchoolTerm(season, year) : null;
+  }
+
   @ExceptionHandler(jakarta.persistence.EntityNotFoundException.class)
   public ResponseEntity<Object> handleEntityNotFoundException(
       jakarta.persistence.EntityNotFoundException ex) {
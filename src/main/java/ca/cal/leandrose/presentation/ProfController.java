@@ -1,5 +1,6 @@
 package ca.cal.leandrose.presentation;
 
+import ca.cal.leandrose.security.exception.ForbiddenAccessException;
 import ca.cal.leandrose.service.EntenteStageService;
 import ca.cal.leandrose.service.EvaluationStagiaireService;
 import ca.cal.leandrose.service.UserAppService;
@@ -16,9 +17,8 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -97,17 +97,14 @@ public class ProfController {
             }
 
             try {
-                EvaluationStagiaireDto evaluation = evaluationStagiaireService.getEvaluationById(evaluationId);
-                if (!evaluation.professeurId().equals(me.getId())) {
-                    return ResponseEntity.status(403).body(PdfGenerationResponseDto.withErrorMessage("Accès non autorisé"));
-                }
-
                 String lang = language.startsWith("en") ? "en" : "fr";
                 EvaluationStagiaireDto updatedEvaluation =
-                        evaluationStagiaireService.generateEvaluationByTeacher(evaluationId, formData, lang);
+                        evaluationStagiaireService.generateEvaluationByTeacher(evaluationId, me.getId(), formData, lang);
 
                 return ResponseEntity.ok(PdfGenerationResponseDto.fromResponse(new PdfGenerationResponse(updatedEvaluation.professorPdfPath(), "PDF généré avec succès")));
 
+            } catch (ForbiddenAccessException e) {
+                return ResponseEntity.status(403).body(PdfGenerationResponseDto.withErrorMessage(e.getMessage()));
             } catch (Exception e) {
                 e.printStackTrace();
                 return ResponseEntity.badRequest().body(PdfGenerationResponseDto.withErrorMessage(e.getMessage()));
@@ -133,16 +130,11 @@ public class ProfController {
         }
 
         try {
-            EvaluationStagiaireDto evaluation = evaluationStagiaireService.getEvaluationById(evaluationId);
-            if (!evaluation.professeurId().equals(me.getId())) {
-                return ResponseEntity.status(403).build();
-            }
-
-            byte[] pdfBytes = evaluationStagiaireService.getEvaluationPdf(evaluationId, CreatorTypeEvaluation.PROF);
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"evaluation_" + evaluationId + ".pdf\"")
-                    .body(pdfBytes);
+            Resource pdf = evaluationStagiaireService.getEvaluationPdf(evaluationId, CreatorTypeEvaluation.PROF, me.getId());
+            return DocumentDownload.serve(
+                    request, pdf, "attachment; filename=\"evaluation_" + evaluationId + ".pdf\"");
+        } catch (ForbiddenAccessException e) {
+            return ResponseEntity.status(403).build();
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -8,6 +8,7 @@ import ca.cal.leandrose.service.StudentService;
 import ca.cal.leandrose.service.dto.EmployeurDto;
 import ca.cal.leandrose.service.dto.ProgramDto;
 import ca.cal.leandrose.service.dto.StudentDto;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
@@ -34,8 +35,12 @@ public class RegisterController {
   }
 
   @GetMapping("/programs")
-  public ResponseEntity<List<ProgramDto>> getPrograms() {
-    return ResponseEntity.ok(gestionnaireService.getAllPrograms());
+  public ResponseEntity<List<ProgramDto>> getPrograms(HttpServletRequest request) {
+    return ConditionalGet.respond(
+        request,
+        gestionnaireService.getProgramsETag(),
+        ConditionalGet.IMMUTABLE,
+        gestionnaireService::getAllPrograms);
   }
 
   @PostMapping("/student")
@@ -0,0 +1,68 @@
+package ca.cal.leandrose.presentation;
+
+import ca.cal.leandrose.service.dto.UploadSessionDto;
+import jakarta.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+final class ResumableUpload {
+
+  static final String UPLOAD_OFFSET = "Upload-Offset";
+
+  private ResumableUpload() {}
+
+  @FunctionalInterface
+  interface Action<T> {
+    T run() throws IOException;
+  }
+
+  static ResponseEntity<?> created(String basePath, Action<UploadSessionDto> action)
+      throws IOException {
+    return handle(
+        action,
+        session ->
+            ResponseEntity.created(URI.create(basePath + "/" + session.getId()))
+                .header(UPLOAD_OFFSET, String.valueOf(session.getOffset()))
+                .body(session));
+  }
+
+  static ResponseEntity<?> progress(Action<UploadSessionDto> action) throws IOException {
+    return handle(
+        action,
+        session ->
+            ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header(UPLOAD_OFFSET, String.valueOf(session.getOffset()))
+                .body(session));
+  }
+
+  static ResponseEntity<?> completed(Action<?> action) throws IOException {
+    return handle(action, ResponseEntity::ok);
+  }
+
+  static ResponseEntity<?> cancelled(Action<?> action) throws IOException {
+    return handle(action, ignored -> ResponseEntity.noContent().build());
+  }
+
+  private static <T> ResponseEntity<?> handle(
+      Action<T> action, Function<T, ResponseEntity<?>> response) throws IOException {
+    try {
+      return response.apply(action.run());
+    } catch (EntityNotFoundException e) {
+      return error(HttpStatus.NOT_FOUND, e);
+    } catch (IllegalStateException e) {
+      return error(HttpStatus.CONFLICT, e);
+    } catch (IllegalArgumentException e) {
+      return error(HttpStatus.BAD_REQUEST, e);
+    }
+  }
+
+  private static ResponseEntity<?> error(HttpStatus status, RuntimeException e) {
+    return ResponseEntity.status(status).body(Map.of("message", String.valueOf(e.getMessage())));
+  }
+}
@@ -1,19 +1,19 @@
 package ca.cal.leandrose.presentation;
 
+import ca.cal.leandrose.model.UploadSession;
 import ca.cal.leandrose.presentation.request.UpdateStudentInfoRequest;
+import ca.cal.leandrose.presentation.request.UploadSessionRequest;
 import ca.cal.leandrose.service.*;
 import ca.cal.leandrose.service.dto.*;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.NoSuchFileException;
 import java.util.List;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -30,6 +30,7 @@ public class StudentController {
   private final InternshipOfferService internshipOfferService;
   private final ConvocationService convocationService;
   private final EntenteStageService ententeStageService;
+  private final UploadSessionService uploadSessionService;
 
   @GetMapping("/me")
   public ResponseEntity<StudentDto> getCurrentStudent(HttpServletRequest request) {
@@ -71,6 +72,95 @@ public class StudentController {
     return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cvDto);
   }
 
+  @PostMapping(value = "/cv/uploads", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> createCvUpload(
+      HttpServletRequest request, @RequestBody UploadSessionRequest uploadRequest)
+      throws IOException {
+    UserDTO me = userService.getMe(request.getHeader("Authorization"));
+    if (!me.getRole().name().equals("STUDENT")) {
+      return ResponseEntity.status(403).build();
+    }
+    return ResumableUpload.created(
+        "/student/cv/uploads",
+        () -> {
+          cvService.checkUpload(
+              uploadRequest.getFilename(), uploadRequest.getContentType(), uploadRequest.getSize());
+          return uploadSessionService.create(
+              me.getId(),
+              UploadSession.Purpose.CV,
+              uploadRequest.getFilename(),
+              uploadRequest.getContentType(),
+              uploadRequest.getSize());
+        });
+  }
+
+  @GetMapping("/cv/uploads/{uploadId}")
+  public ResponseEntity<?> getCvUpload(HttpServletRequest request, @PathVariable String uploadId)
+      throws IOException {
+    UserDTO me = userService.getMe(request.getHeader("Authorization"));
+    if (!me.getRole().name().equals("STUDENT")) {
+      return ResponseEntity.status(403).build();
+    }
+    return ResumableUpload.progress(
+        () -> uploadSessionService.getStatus(uploadId, me.getId(), UploadSession.Purpose.CV));
+  }
+
+  @PutMapping(value = "/cv/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<?> appendCvUpload(
+      HttpServletRequest request,
+      @PathVariable String uploadId,
+      @RequestHeader(ResumableUpload.UPLOAD_OFFSET) long offset)
+      throws IOException {
+    UserDTO me = userService.getMe(request.getHeader("Authorization"));
+    if (!me.getRole().name().equals("STUDENT")) {
+      return ResponseEntity.status(403).build();
+    }
+    return ResumableUpload.progress(
+        () ->
+            uploadSessionService.append(
+                uploadId,
+                me.getId(),
+                UploadSession.Purpose.CV,
+                offset,
+                request.getInputStream()));
+  }
+
+  @PostMapping("/cv/uploads/{uploadId}/finaliser")
+  public ResponseEntity<?> completeCvUpload(
+      HttpServletRequest request,
+      @PathVariable String uploadId,
+      @RequestParam(required = false) String sha256)
+      throws IOException {
+    UserDTO me = userService.getMe(request.getHeader("Authorization"));
+    if (!me.getRole().name().equals("STUDENT")) {
+      return ResponseEntity.status(403).build();
+    }
+    return ResumableUpload.completed(
+        () ->
+            uploadSessionService.complete(
+                uploadId,
+                me.getId(),
+                UploadSession.Purpose.CV,
+                sha256,
+                (session, upload) ->
+                    cvService.uploadCv(
+                        me.getId(), session.getFilename(), session.getContentType(), upload)));
+  }
+
+  @DeleteMapping("/cv/uploads/{uploadId}")
+  public ResponseEntity<?> cancelCvUpload(
+      HttpServletRequest request, @PathVariable String uploadId) throws IOException {
+    UserDTO me = userService.getMe(request.getHeader("Authorization"));
+    if (!me.getRole().name().equals("STUDENT")) {
+      return ResponseEntity.status(403).build();
+    }
+    return ResumableUpload.cancelled(
+        () -> {
+          uploadSessionService.cancel(uploadId, me.getId(), UploadSession.Purpose.CV);
+          return null;
+        });
+  }
+
   @GetMapping(value = "/cv", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<CvDto> getCv(
       @RequestHeader(name = "Authorization", required = false) String authorization) {
@@ -102,7 +192,8 @@ public class StudentController {
   }
 
   @GetMapping("/cv/download")
-  public ResponseEntity<Resource> downloadCv(
+  public ResponseEntity<?> downloadCv(
+      HttpServletRequest request,
       @RequestHeader(name = "Authorization", required = false) String authorization) {
     if (authorization == null || authorization.isBlank()) {
       return ResponseEntity.status(401).build();
@@ -123,20 +214,10 @@ public class StudentController {
 
     try {
       CvDto cvDto = cvService.getCvByStudentId(student.getId());
-      Path filePath = Paths.get(cvDto.getPdfPath());
-      Resource resource = new UrlResource(filePath.toUri());
-
-      if (resource.exists() && resource.isReadable()) {
-        return ResponseEntity.ok()
-            .contentType(MediaType.APPLICATION_PDF)
-            .header(
-                HttpHeaders.CONTENT_DISPOSITION,
-                "inline; filename=\"" + filePath.getFileName().toString() + "\"")
-            .body(resource);
-      } else {
-        return ResponseEntity.notFound().build();
-      }
-    } catch (RuntimeException | MalformedURLException e) {
+      Resource resource = cvService.downloadCv(cvDto.getId());
+      return DocumentDownload.serve(
+          request, resource, "inline; filename=\"" + resource.getFilename() + "\"");
+    } catch (RuntimeException | IOException e) {
       return ResponseEntity.notFound().build();
     }
   }
@@ -150,11 +231,17 @@ public class StudentController {
 
     StudentDto student = studentService.getStudentById(me.getId());
 
-    List<InternshipOfferDto> offers =
-        internshipOfferService.getPublishedOffersForStudents(
+    String etag =
+        internshipOfferService.getPublishedOffersETag(
             student.getProgram(), student.getInternshipTerm());
-
-    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(offers);
+    if (ConditionalGet.isNotModified(request, etag)) {
+      return ConditionalGet.notModified(etag, ConditionalGet.REVALIDATE);
+    }
+    PublishedOffersDto offers =
+        internshipOfferService.getPublishedOffersSnapshot(
+            student.getProgram(), student.getInternshipTerm());
+    return ConditionalGet.respond(
+        request, offers.getEtag(), ConditionalGet.REVALIDATE, offers::getOffers);
   }
 
   @PutMapping("/update-info")
@@ -177,7 +264,12 @@ public class StudentController {
   }
 
   @GetMapping("/offers/{id}")
-  public ResponseEntity<InternshipOfferDto> getOfferDetails(@PathVariable Long id) {
+  public ResponseEntity<?> getOfferDetails(@PathVariable Long id) {
+    Optional<byte[]> json = internshipOfferService.findPublishedOfferJson(id);
+    if (json.isPresent()) {
+      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json.get());
+    }
+
     InternshipOfferDto offer = internshipOfferService.getOffer(id);
 
     if (!"PUBLISHED".equals(offer.getStatus())) {
@@ -213,12 +305,15 @@ public class StudentController {
       return ResponseEntity.status(403).build();
     }
 
-    List<CandidatureDto> candidatures = candidatureService.getCandidaturesByStudent(me.getId());
-    return ResponseEntity.ok(candidatures);
+    return ConditionalGet.respond(
+        request,
+        candidatureService.getCandidaturesByStudentETag(me.getId()),
+        ConditionalGet.REVALIDATE,
+        () -> candidatureService.getCandidaturesByStudent(me.getId()));
   }
 
   @GetMapping("/offers/{id}/pdf")
-  public ResponseEntity<byte[]> downloadOfferPdf(@PathVariable Long id) {
+  public ResponseEntity<?> downloadOfferPdf(HttpServletRequest request, @PathVariable Long id) {
     try {
       InternshipOfferDto offer = internshipOfferService.getOffer(id);
 
@@ -226,11 +321,8 @@ public class StudentController {
         return ResponseEntity.status(403).build();
       }
 
-      byte[] pdfData = internshipOfferService.getOfferPdf(id);
-      return ResponseEntity.ok()
-          .header(HttpHeaders.CONTENT_TYPE, "application/pdf")
-          .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=offer_" + id + ".pdf")
-          .body(pdfData);
+      Resource pdf = internshipOfferService.getOfferPdf(id);
+      return DocumentDownload.serve(request, pdf, "inline; filename=offer_" + id + ".pdf");
     } catch (Exception e) {
       return ResponseEntity.notFound().build();
     }
@@ -303,6 +395,9 @@ public class StudentController {
     } catch (EntityNotFoundException e) {
       return ResponseEntity.status(404)
           .body(EntenteStageDto.withErrorMessage("Entente non trouvée"));
+    } catch (OptimisticLockingFailureException e) {
+      return ResponseEntity.status(409)
+          .body(EntenteStageDto.withErrorMessage(EntenteStageService.MODIFICATION_CONCURRENTE));
     } catch (IllegalArgumentException | IllegalStateException e) {
       return ResponseEntity.badRequest().body(EntenteStageDto.withErrorMessage(e.getMessage()));
     }
@@ -327,7 +422,7 @@ public class StudentController {
   }
 
   @GetMapping("/ententes/{ententeId}/pdf")
-  public ResponseEntity<Resource> getEntentePdf(
+  public ResponseEntity<?> getEntentePdf(
       HttpServletRequest request, @PathVariable Long ententeId) {
     UserDTO me = userService.getMe(request.getHeader("Authorization"));
 
@@ -346,26 +441,17 @@ public class StudentController {
         return ResponseEntity.status(404).build();
       }
 
-      Path filePath = Paths.get(entente.getCheminDocumentPDF());
-      Resource resource = new UrlResource(filePath.toUri());
-
-      if (resource.exists() && resource.isReadable()) {
-        String filename =
-            "Entente_Stage_"
-                + entente.getStudent().getFirstName()
-                + "_"
-                + entente.getStudent().getLastName()
-                + ".pdf";
-
-        return ResponseEntity.ok()
-            .contentType(MediaType.APPLICATION_PDF)
-            .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
-            .body(resource);
-      } else {
-        return ResponseEntity.notFound().build();
-      }
+      Resource resource = ententeStageService.telechargerPDF(ententeId);
+      String filename =
+          "Entente_Stage_"
+              + entente.getStudent().getFirstName()
+              + "_"
+              + entente.getStudent().getLastName()
+              + ".pdf";
 
-    } catch (EntityNotFoundException e) {
+      return DocumentDownload.serve(request, resource, "inline; filename=\"" + filename + "\"");
+
+    } catch (EntityNotFoundException | NoSuchFileException e) {
       return ResponseEntity.status(404).build();
     } catch (Exception e) {
       return ResponseEntity.status(500).build();
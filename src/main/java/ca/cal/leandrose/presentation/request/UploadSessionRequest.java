@@ -0,0 +1,10 @@
+package ca.cal.leandrose.presentation.request;
+
+import lombok.Data;
+
+@Data
+public class UploadSessionRequest {
+  private String filename;
+  private String contentType;
+  private long size;
+}
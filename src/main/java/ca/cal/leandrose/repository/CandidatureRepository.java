@@ -11,6 +11,8 @@ public interface CandidatureRepository extends JpaRepository<Candidature, Long>
 
   Optional<Candidature> findByStudentIdAndInternshipOfferId(Long studentId, Long offerId);
 
+  Optional<Candidature> findByIdAndInternshipOffer_Employeur_Id(Long id, Long employeurId);
+
   List<Candidature> findByStudentIdOrderByApplicationDateDesc(Long studentId);
 
   List<Candidature> findByInternshipOfferIdOrderByApplicationDateDesc(Long offerId);
@@ -24,5 +26,61 @@ public interface CandidatureRepository extends JpaRepository<Candidature, Long>
   List<Candidature> findByEmployeurIdOrderByApplicationDateDesc(
       @Param("employeurId") Long employeurId);
 
+  @Query(
+      """
+    select count(c) as count,
+           coalesce(sum(c.version + s.version + o.version + coalesce(cv.version, 0)), 0)
+             as versionSum,
+           coalesce(max(c.id), 0) as maxId
+    from Candidature c
+    join c.student s
+    join c.internshipOffer o
+    left join c.cv cv
+    where s.id = :studentId
+    """)
+  VersionStamp stampByStudentId(@Param("studentId") Long studentId);
+
+  @Query(
+      """
+    select count(c) as count,
+           coalesce(sum(c.version + s.version + o.version + coalesce(cv.version, 0)), 0)
+             as versionSum,
+           coalesce(max(c.id), 0) as maxId
+    from Candidature c
+    join c.student s
+    join c.internshipOffer o
+    left join c.cv cv
+    where o.employeur.id = :employeurId
+    """)
+  VersionStamp stampByEmployeurId(@Param("employeurId") Long employeurId);
+
   List<Candidature> findByStatus(Candidature.Status status);
+
+  @Query(
+      """
+    select c.status as status, s.id as scopeId, count(c) as count
+    from Candidature c
+    left join c.student s
+    group by c.status, s.id
+    """)
+  List<StatusCount> countByStatusAndStudent();
+
+  @Query(
+      """
+    select c.status as status, e.id as scopeId, count(c) as count
+    from Candidature c
+    join c.internshipOffer o
+    join o.employeur e
+    group by c.status, e.id
+    """)
+  List<StatusCount> countByStatusAndEmployeur();
+
+  @Query(
+      """
+    select c.status as status, o.id as scopeId, count(c) as count
+    from Candidature c
+    join c.internshipOffer o
+    group by c.status, o.id
+    """)
+  List<StatusCount> countByStatusAndOffer();
 }
@@ -1,14 +1,79 @@
 package ca.cal.leandrose.repository;
 
 import ca.cal.leandrose.model.Cv;
+import ca.cal.leandrose.model.SchoolTerm;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface CvRepository extends JpaRepository<Cv, Long> {
   Optional<Cv> findByStudentId(Long studentId);
 
   List<Cv> findByStatus(Cv.Status status);
+
+  @Query("select c.id from Cv c where c.status = :status order by c.id")
+  List<Long> findIdsByStatus(@Param("status") Cv.Status status);
+
+  @Query("select c.pdfPath from Cv c where c.pdfPath is not null")
+  List<String> findAllPdfPaths();
+
+  boolean existsByPdfPath(String pdfPath);
+
+  @Query("select distinct c.student.internshipTerm from Cv c where c.pdfPath like 'blobs/%'")
+  List<SchoolTerm> findTermsWithBlobs();
+
+  @Query(
+      """
+        select c.pdfPath from Cv c
+        where c.student.internshipTerm.season = :season
+        and c.student.internshipTerm.year = :year
+        and c.pdfPath like 'blobs/%'
+    """)
+  List<String> findBlobPathsByTerm(
+      @Param("season") SchoolTerm.Season season, @Param("year") int year);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+        update Cv c set c.pdfPath = :target, c.pdfSha256 = :sha256, c.version = c.version + 1
+        where c.pdfPath = :source
+    """)
+  int relocatePdf(
+      @Param("source") String source,
+      @Param("target") String target,
+      @Param("sha256") String sha256);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+        update Cv c set c.pdfPath = :target, c.pdfSha256 = :sha256, c.version = c.version + 1
+        where c.pdfPath = :source
+        and c.id in (
+          select t.id from Cv t
+          where t.student.internshipTerm.season = :season
+          and t.student.internshipTerm.year = :year)
+    """)
+  int relocateTermPdf(
+      @Param("season") SchoolTerm.Season season,
+      @Param("year") int year,
+      @Param("source") String source,
+      @Param("target") String target,
+      @Param("sha256") String sha256);
+
+  @Query(
+      """
+    select c.status as status, s.id as scopeId, count(c) as count
+    from Cv c
+    left join c.student s
+    group by c.status, s.id
+    """)
+  List<StatusCount> countByStatusAndStudent();
 }
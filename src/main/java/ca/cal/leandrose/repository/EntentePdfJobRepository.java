@@ -0,0 +1,30 @@
+package ca.cal.leandrose.repository;
+
+import ca.cal.leandrose.model.EntentePdfJob;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EntentePdfJobRepository extends JpaRepository<EntentePdfJob, Long> {
+
+  Optional<EntentePdfJob> findByEntenteId(Long ententeId);
+
+  void deleteByEntenteId(Long ententeId);
+
+  @Query(
+      value =
+          """
+    select * from entente_pdf_job
+    where status in ('PENDING', 'RUNNING') and next_attempt_at <= :now
+    order by next_attempt_at, id
+    limit :limit
+    for update skip locked
+    """,
+      nativeQuery = true)
+  List<EntentePdfJob> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -4,10 +4,39 @@ import ca.cal.leandrose.model.EntenteStage;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface EntenteStageRepository extends JpaRepository<EntenteStage, Long> {
+  @Query("select e.version from EntenteStage e where e.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  @Query(
+      """
+        select e.version + c.version + o.version from EntenteStage e
+        join e.candidature c
+        join c.internshipOffer o
+        where e.id = :id
+    """)
+  Optional<Long> findAggregateVersionById(@Param("id") Long id);
+
+  @Query(
+      """
+        select e from EntenteStage e
+        join fetch e.candidature c
+        left join fetch c.student
+        left join fetch c.internshipOffer o
+        left join fetch o.employeur
+        left join fetch e.prof
+        left join fetch e.gestionnaire
+        where e.id = :id
+    """)
+  Optional<EntenteStage> findForRendering(@Param("id") Long id);
+
   List<EntenteStage> findAllByProf_Id(Long profId);
 
   boolean existsByCandidatureId(Long candidatureId);
@@ -29,4 +58,46 @@ public interface EntenteStageRepository extends JpaRepository<EntenteStage, Long
 
   Optional<EntenteStage> findByProf_IdAndCandidature_Student_IdAndCandidature_InternshipOffer_Id(
       Long professeurId, Long studentId, Long internshipOfferId);
+
+  @Query("select e.cheminDocumentPDF from EntenteStage e where e.cheminDocumentPDF is not null")
+  List<String> findAllPdfPaths();
+
+  boolean existsByCheminDocumentPDF(String cheminDocumentPDF);
+
+  @Query(
+      """
+        select distinct e.termKey from EntenteStage e
+        where e.termKey < :before and e.cheminDocumentPDF like 'blobs/%'
+    """)
+  List<Integer> findTermKeysWithBlobsBefore(@Param("before") int before);
+
+  @Query(
+      """
+        select e.cheminDocumentPDF from EntenteStage e
+        where e.termKey = :termKey and e.cheminDocumentPDF like 'blobs/%'
+    """)
+  List<String> findBlobPathsByTermKey(@Param("termKey") int termKey);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+        update EntenteStage e
+        set e.cheminDocumentPDF = :target, e.version = e.version + 1
+        where e.cheminDocumentPDF = :source
+    """)
+  int relocatePdf(@Param("source") String source, @Param("target") String target);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+        update EntenteStage e
+        set e.cheminDocumentPDF = :target, e.version = e.version + 1
+        where e.termKey = :termKey and e.cheminDocumentPDF = :source
+    """)
+  int relocateTermPdf(
+      @Param("termKey") int termKey,
+      @Param("source") String source,
+      @Param("target") String target);
 }
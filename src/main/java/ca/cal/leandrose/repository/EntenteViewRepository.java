@@ -0,0 +1,146 @@
+package ca.cal.leandrose.repository;
+
+import ca.cal.leandrose.model.EntenteStage;
+import ca.cal.leandrose.model.EntenteView;
+import ca.cal.leandrose.model.SchoolTerm;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface EntenteViewRepository extends JpaRepository<EntenteView, Long> {
+
+  List<EntenteView> findAllByOrderByDateCreationDesc();
+
+  @Query(
+      """
+    select count(v) as count, coalesce(sum(v.version), 0) as versionSum,
+           coalesce(max(v.ententeId), 0) as maxId
+    from EntenteView v
+    """)
+  VersionStamp stampAll();
+
+  List<EntenteView> findAllByEmployeurIdOrderByDateCreationDesc(Long employeurId);
+
+  List<EntenteView> findAllByStudentIdOrderByDateCreationDesc(Long studentId);
+
+  List<EntenteView> findAllByProfId(Long profId);
+
+  List<EntenteView> findAllByEmployeurIdAndStatut(
+      Long employeurId, EntenteStage.StatutEntente statut);
+
+  List<EntenteView> findAllByProfIdAndStatut(Long profId, EntenteStage.StatutEntente statut);
+
+  @Query(
+      """
+        select v from EntenteView v
+        where v.schoolTerm.season = :season and v.schoolTerm.year = :year
+        and v.ententeId > :after
+        and (:program is null or v.studentProgram = :program)
+        and (:employeurId is null or v.employeurId = :employeurId)
+        and (:statut is null or v.statut = :statut)
+        order by v.ententeId
+    """)
+  List<EntenteView> findExportPage(
+      @Param("season") SchoolTerm.Season season,
+      @Param("year") int year,
+      @Param("program") String program,
+      @Param("employeurId") Long employeurId,
+      @Param("statut") EntenteStage.StatutEntente statut,
+      @Param("after") long after,
+      Pageable page);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+        update EntenteView v
+        set v.cheminDocumentPDF = :target, v.version = v.version + 1
+        where v.cheminDocumentPDF = :source
+    """)
+  int relocatePdf(@Param("source") String source, @Param("target") String target);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+        update EntenteView v
+        set v.cheminDocumentPDF = :target, v.version = v.version + 1
+        where v.cheminDocumentPDF = :source
+        and v.ententeId in (select e.id from EntenteStage e where e.termKey = :termKey)
+    """)
+  int relocateTermPdf(
+      @Param("termKey") int termKey,
+      @Param("source") String source,
+      @Param("target") String target);
+
+  @Query(
+      """
+    select v.statut as status, v.employeurId as scopeId, count(v) as count
+    from EntenteView v
+    group by v.statut, v.employeurId
+    """)
+  List<StatusCount> countByStatutAndEmployeur();
+
+  @Query(
+      """
+    select v.statut as status, v.studentId as scopeId, count(v) as count
+    from EntenteView v
+    group by v.statut, v.studentId
+    """)
+  List<StatusCount> countByStatutAndStudent();
+
+  @Query(
+      """
+    select v.statut as status, v.profId as scopeId, count(v) as count
+    from EntenteView v
+    group by v.statut, v.profId
+    """)
+  List<StatusCount> countByStatutAndProf();
+
+  @Query(
+      """
+    select v.statut as status, v.studentId as scopeId, count(v) as count
+    from EntenteView v
+    where v.statut = :statut and v.dateSignatureEtudiant is null
+    group by v.statut, v.studentId
+    """)
+  List<StatusCount> countAwaitingStudentSignature(
+      @Param("statut") EntenteStage.StatutEntente statut);
+
+  @Query(
+      """
+    select v.statut as status, v.employeurId as scopeId, count(v) as count
+    from EntenteView v
+    where v.statut = :statut and v.dateSignatureEmployeur is null
+    group by v.statut, v.employeurId
+    """)
+  List<StatusCount> countAwaitingEmployeurSignature(
+      @Param("statut") EntenteStage.StatutEntente statut);
+
+  long countByStatutAndDateSignatureGestionnaireIsNull(EntenteStage.StatutEntente statut);
+
+  @Query(
+      """
+    select v.statut as status, v.employeurId as scopeId, count(v) as count
+    from EntenteView v
+    where v.statut = :statut and v.evaluationSubmittedByEmployer = false
+    group by v.statut, v.employeurId
+    """)
+  List<StatusCount> countEvaluationsDueByEmployeur(
+      @Param("statut") EntenteStage.StatutEntente statut);
+
+  @Query(
+      """
+    select v.statut as status, v.profId as scopeId, count(v) as count
+    from EntenteView v
+    where v.statut = :statut and v.evaluationSubmittedByProfessor = false
+    group by v.statut, v.profId
+    """)
+  List<StatusCount> countEvaluationsDueByProf(@Param("statut") EntenteStage.StatutEntente statut);
+}
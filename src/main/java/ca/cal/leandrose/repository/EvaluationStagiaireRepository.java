@@ -4,7 +4,11 @@ import ca.cal.leandrose.model.EvaluationStagiaire;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface EvaluationStagiaireRepository extends JpaRepository<EvaluationStagiaire, Long> {
@@ -13,8 +17,93 @@ public interface EvaluationStagiaireRepository extends JpaRepository<EvaluationS
 
   List<EvaluationStagiaire> findByProfesseurId(Long professeurId);
 
+  Optional<EvaluationStagiaire> findByIdAndEmployeurId(Long id, Long employeurId);
+
+  Optional<EvaluationStagiaire> findByIdAndProfesseurId(Long id, Long professeurId);
+
   Optional<EvaluationStagiaire> findByStudentIdAndInternshipOfferId(
       Long studentId, Long internshipOfferId);
 
   boolean existsByInternshipOfferIdAndStudentId(Long internshipOfferId, Long studentId);
+
+  @Query(
+      """
+        select e.employerPdfFilePath from EvaluationStagiaire e
+        where e.employerPdfFilePath is not null
+    """)
+  List<String> findAllEmployerPdfPaths();
+
+  @Query(
+      """
+        select e.professorPdfFilePath from EvaluationStagiaire e
+        where e.professorPdfFilePath is not null
+    """)
+  List<String> findAllProfessorPdfPaths();
+
+  boolean existsByEmployerPdfFilePathOrProfessorPdfFilePath(
+      String employerPdfFilePath, String professorPdfFilePath);
+
+  @Query(
+      """
+        select distinct e.termKey from EvaluationStagiaire e
+        where e.termKey < :before
+        and (e.employerPdfFilePath like 'blobs/%' or e.professorPdfFilePath like 'blobs/%')
+    """)
+  List<Integer> findTermKeysWithBlobsBefore(@Param("before") int before);
+
+  @Query(
+      """
+        select e.employerPdfFilePath from EvaluationStagiaire e
+        where e.termKey = :termKey and e.employerPdfFilePath like 'blobs/%'
+    """)
+  List<String> findEmployerBlobPathsByTermKey(@Param("termKey") int termKey);
+
+  @Query(
+      """
+        select e.professorPdfFilePath from EvaluationStagiaire e
+        where e.termKey = :termKey and e.professorPdfFilePath like 'blobs/%'
+    """)
+  List<String> findProfessorBlobPathsByTermKey(@Param("termKey") int termKey);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+        update EvaluationStagiaire e set e.employerPdfFilePath = :target
+        where e.employerPdfFilePath = :source
+    """)
+  int relocateEmployerPdf(@Param("source") String source, @Param("target") String target);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+        update EvaluationStagiaire e set e.professorPdfFilePath = :target
+        where e.professorPdfFilePath = :source
+    """)
+  int relocateProfessorPdf(@Param("source") String source, @Param("target") String target);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+        update EvaluationStagiaire e set e.employerPdfFilePath = :target
+        where e.termKey = :termKey and e.employerPdfFilePath = :source
+    """)
+  int relocateTermEmployerPdf(
+      @Param("termKey") int termKey,
+      @Param("source") String source,
+      @Param("target") String target);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+        update EvaluationStagiaire e set e.professorPdfFilePath = :target
+        where e.termKey = :termKey and e.professorPdfFilePath = :source
+    """)
+  int relocateTermProfessorPdf(
+      @Param("termKey") int termKey,
+      @Param("source") String source,
+      @Param("target") String target);
 }
@@ -0,0 +1,25 @@
+package ca.cal.leandrose.repository;
+
+import ca.cal.leandrose.model.FileCleanupTask;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FileCleanupTaskRepository extends JpaRepository<FileCleanupTask, Long> {
+
+  @Query(
+      value =
+          """
+    select * from file_cleanup_task
+    where next_attempt_at <= :now
+    order by next_attempt_at, id
+    limit :limit
+    for update skip locked
+    """,
+      nativeQuery = true)
+  List<FileCleanupTask> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -1,10 +1,14 @@
 package ca.cal.leandrose.repository;
 
 import ca.cal.leandrose.model.InternshipOffer;
+import ca.cal.leandrose.model.SchoolTerm;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface InternshipOfferRepository extends JpaRepository<InternshipOffer, Long> {
 
@@ -24,12 +28,70 @@ public interface InternshipOfferRepository extends JpaRepository<InternshipOffer
     """)
   List<InternshipOffer> findByStatusOrderByStartDateDesc(InternshipOffer.Status status);
 
+  @Query("select o.id from InternshipOffer o where o.status = :status order by o.id")
+  List<Long> findIdsByStatus(@Param("status") InternshipOffer.Status status);
+
   @Query(
       """
         select o from InternshipOffer o
+        join fetch o.employeur e
+        left join fetch o.validatedBy
         where o.status = 'PUBLISHED'
-        and o.employeur.field = :program
+        and e.field = :program
+        and o.schoolTerm.season = :season
+        and o.schoolTerm.year = :year
         order by o.startDate desc
     """)
-  List<InternshipOffer> findPublishedByProgram(@Param("program") String program);
+  List<InternshipOffer> findPublishedByProgramAndTerm(
+      @Param("program") String program,
+      @Param("season") SchoolTerm.Season season,
+      @Param("year") int year);
+
+  @Query("select o.version from InternshipOffer o where o.id = :id and o.status = 'PUBLISHED'")
+  Optional<Long> findPublishedVersionById(@Param("id") Long id);
+
+  @Query(
+      """
+        select count(o) as count,
+               coalesce(sum(o.version + e.version + coalesce(g.version, 0)), 0) as versionSum,
+               coalesce(max(o.id), 0) as maxId
+        from InternshipOffer o
+        join o.employeur e
+        left join o.validatedBy g
+        where o.status = 'PUBLISHED'
+        and e.field = :program
+        and o.schoolTerm.season = :season
+        and o.schoolTerm.year = :year
+    """)
+  VersionStamp stampPublishedByProgramAndTerm(
+      @Param("program") String program,
+      @Param("season") SchoolTerm.Season season,
+      @Param("year") int year);
+
+  @Query("select o.pdfPath from InternshipOffer o where o.pdfPath is not null")
+  List<String> findAllPdfPaths();
+
+  boolean existsByPdfPath(String pdfPath);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+        update InternshipOffer o
+        set o.pdfPath = :target, o.pdfSha256 = :sha256, o.version = o.version + 1
+        where o.pdfPath = :source
+    """)
+  int relocatePdf(
+      @Param("source") String source,
+      @Param("target") String target,
+      @Param("sha256") String sha256);
+
+  @Query(
+      """
+        select o.status as status, e.id as scopeId, count(o) as count
+        from InternshipOffer o
+        left join o.employeur e
+        group by o.status, e.id
+    """)
+  List<StatusCount> countByStatusAndEmployeur();
 }
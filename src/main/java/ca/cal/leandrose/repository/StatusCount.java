@@ -0,0 +1,10 @@
+package ca.cal.leandrose.repository;
+
+public interface StatusCount {
+
+  Enum<?> getStatus();
+
+  Long getScopeId();
+
+  long getCount();
+}
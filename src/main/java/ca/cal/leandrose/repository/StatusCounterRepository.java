@@ -0,0 +1,47 @@
+package ca.cal.leandrose.repository;
+
+import ca.cal.leandrose.model.CounterScope;
+import ca.cal.leandrose.model.StatusCounter;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface StatusCounterRepository extends JpaRepository<StatusCounter, Long> {
+
+  List<StatusCounter> findAllByScopeAndScopeId(CounterScope scope, Long scopeId);
+
+  @Query(
+      """
+    select c from StatusCounter c
+    where (c.scope = ca.cal.leandrose.model.CounterScope.EMPLOYEUR and c.scopeId = :employeurId)
+       or (c.scope = ca.cal.leandrose.model.CounterScope.OFFER
+           and c.scopeId in (select o.id from InternshipOffer o where o.employeur.id = :employeurId))
+    """)
+  List<StatusCounter> findAllForEmployeur(@Param("employeurId") Long employeurId);
+
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          """
+    insert into status_counter (scope, scope_id, counter_key, counter_value)
+    values (:scope, :scopeId, :counterKey, greatest(:delta, 0))
+    on conflict (scope, scope_id, counter_key)
+    do update set counter_value = greatest(status_counter.counter_value + :delta, 0)
+    """,
+      nativeQuery = true)
+  void increment(
+      @Param("scope") String scope,
+      @Param("scopeId") Long scopeId,
+      @Param("counterKey") String counterKey,
+      @Param("delta") long delta);
+
+  @Modifying
+  @Query(value = "lock table status_counter in exclusive mode", nativeQuery = true)
+  void lockExclusively();
+}
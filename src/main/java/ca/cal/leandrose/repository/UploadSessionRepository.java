@@ -0,0 +1,17 @@
+package ca.cal.leandrose.repository;
+
+import ca.cal.leandrose.model.UploadSession;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+  Optional<UploadSession> findByIdAndOwnerIdAndPurpose(
+      String id, Long ownerId, UploadSession.Purpose purpose);
+
+  List<UploadSession> findAllByExpiresAtBefore(Instant now);
+}
@@ -0,0 +1,14 @@
+package ca.cal.leandrose.repository;
+
+public interface VersionStamp {
+
+  long getCount();
+
+  long getVersionSum();
+
+  long getMaxId();
+
+  default String toETag(String scope) {
+    return "\"" + scope + "-" + getCount() + "-" + getVersionSum() + "-" + getMaxId() + "\"";
+  }
+}
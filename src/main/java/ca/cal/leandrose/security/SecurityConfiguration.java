@@ -54,12 +54,16 @@ public class SecurityConfiguration {
                     .hasAuthority("STUDENT")
                     .requestMatchers(GET, "/student/**")
                     .hasAuthority("STUDENT")
+                    .requestMatchers(DELETE, "/student/cv/uploads/*")
+                    .hasAuthority("STUDENT")
                     .requestMatchers(POST, "/employeur/**", "/employer/ententes/*/signer")
                     .hasAuthority("EMPLOYEUR")
                     .requestMatchers(PUT, "/employeur/**")
                     .hasAuthority("EMPLOYEUR")
                     .requestMatchers(GET, "/employeur/**", "/ententes")
                     .hasAuthority("EMPLOYEUR")
+                    .requestMatchers(DELETE, "/employeur/offers/uploads/*")
+                    .hasAuthority("EMPLOYEUR")
                     .requestMatchers(POST, "/prof/**")
                     .hasAuthority("PROF")
                     .requestMatchers(GET, "/prof/**")
@@ -70,6 +74,8 @@ public class SecurityConfiguration {
                     .hasAnyAuthority("EMPLOYEUR", "GESTIONNAIRE", "STUDENT", "PROF")
                     .requestMatchers(PUT, "/user/me")
                     .hasAnyAuthority("EMPLOYEUR", "GESTIONNAIRE", "STUDENT", "PROF")
+                    .requestMatchers(GET, "/counters")
+                    .hasAnyAuthority("EMPLOYEUR", "GESTIONNAIRE", "STUDENT", "PROF")
                     .anyRequest()
                     .denyAll())
         .sessionManagement(
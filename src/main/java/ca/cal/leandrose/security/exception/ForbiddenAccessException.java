@@ -0,0 +1,9 @@
+package ca.cal.leandrose.security.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ForbiddenAccessException extends APIException {
+  public ForbiddenAccessException(String message) {
+    super(HttpStatus.FORBIDDEN, message);
+  }
+}
@@ -0,0 +1,202 @@
+package ca.cal.leandrose.service;
+
+import ca.cal.leandrose.model.SchoolTerm;
+import ca.cal.leandrose.repository.CvRepository;
+import ca.cal.leandrose.repository.EntenteStageRepository;
+import ca.cal.leandrose.repository.EntenteViewRepository;
+import ca.cal.leandrose.repository.EvaluationStagiaireRepository;
+import ca.cal.leandrose.repository.InternshipOfferRepository;
+import ca.cal.leandrose.service.dto.BlobCollectionDto;
+import ca.cal.leandrose.service.event.ResponseDataChangedEvent;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.DocumentStore;
+import ca.cal.leandrose.service.storage.StoredDocument;
+import ca.cal.leandrose.service.storage.TermArchiveStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class BlobMaintenanceService {
+
+  private static final String DEFAULT_GRACE_PERIOD = "PT1H";
+
+  private final BlobStore blobStore;
+  private final DocumentStore documentStore;
+  private final CvRepository cvRepository;
+  private final InternshipOfferRepository internshipOfferRepository;
+  private final EntenteStageRepository ententeStageRepository;
+  private final EntenteViewRepository ententeViewRepository;
+  private final EvaluationStagiaireRepository evaluationStagiaireRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Duration gracePeriod;
+  private final boolean migrationEnabled;
+
+  public BlobMaintenanceService(
+      BlobStore blobStore,
+      DocumentStore documentStore,
+      CvRepository cvRepository,
+      InternshipOfferRepository internshipOfferRepository,
+      EntenteStageRepository ententeStageRepository,
+      EntenteViewRepository ententeViewRepository,
+      EvaluationStagiaireRepository evaluationStagiaireRepository,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${app.storage.blobs.gc-grace-period:" + DEFAULT_GRACE_PERIOD + "}")
+          Duration gracePeriod,
+      @Value("${app.storage.blobs.migrate:true}") boolean migrationEnabled) {
+    this.blobStore = blobStore;
+    this.documentStore = documentStore;
+    this.cvRepository = cvRepository;
+    this.internshipOfferRepository = internshipOfferRepository;
+    this.ententeStageRepository = ententeStageRepository;
+    this.ententeViewRepository = ententeViewRepository;
+    this.evaluationStagiaireRepository = evaluationStagiaireRepository;
+    this.eventPublisher = eventPublisher;
+    this.gracePeriod = gracePeriod;
+    this.migrationEnabled = migrationEnabled;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void migrateLegacyDocuments() {
+    if (!migrationEnabled) {
+      return;
+    }
+    int migrated = 0;
+    for (String legacyPath : new LinkedHashSet<>(referencedPaths())) {
+      if (BlobStore.isKey(legacyPath) || TermArchiveStore.isLocator(legacyPath)) {
+        continue;
+      }
+      Path legacy = Paths.get(legacyPath);
+      if (!Files.isRegularFile(legacy)) {
+        log.warn("Document introuvable, migration ignorée : {}", legacyPath);
+        continue;
+      }
+      try {
+        String key = blobStore.copyOf(legacy);
+        relocate(legacyPath, key, BlobStore.hashOf(key).orElseThrow());
+        if (!isStoredCopy(legacy, key)) {
+          Files.deleteIfExists(legacy);
+        }
+        migrated++;
+      } catch (IOException e) {
+        log.warn("Migration du document {} impossible: {}", legacyPath, e.getMessage());
+      }
+    }
+    if (migrated > 0) {
+      log.info("{} document(s) migré(s) vers le stockage par empreinte", migrated);
+    }
+  }
+
+  @Scheduled(cron = "${app.storage.blobs.gc-cron:0 30 3 * * *}")
+  public BlobCollectionDto collectGarbage() {
+    Map<String, Long> references = referenceCounts();
+    Instant cutoff = Instant.now().minus(gracePeriod);
+    int blobs = 0;
+    int deleted = 0;
+    long reclaimedBytes = 0;
+    try {
+      List<StoredDocument> stored = blobStore.listBlobs();
+      blobs = stored.size();
+      for (StoredDocument blob : stored) {
+        boolean referenced =
+            BlobStore.hashOf(blob.key()).map(references::containsKey).orElse(false);
+        if (referenced || !blob.lastModified().isBefore(cutoff)) {
+          continue;
+        }
+        blobStore.delete(blob.key());
+        deleted++;
+        reclaimedBytes += blob.size();
+      }
+      for (Path part : blobStore.listAbandonedParts(cutoff)) {
+        long size = Files.size(part);
+        if (Files.deleteIfExists(part)) {
+          deleted++;
+          reclaimedBytes += size;
+        }
+      }
+    } catch (IOException e) {
+      log.warn("Nettoyage du stockage de documents interrompu: {}", e.getMessage());
+    }
+    if (deleted > 0) {
+      log.info(
+          "{} document(s) orphelin(s) supprimé(s), {} octets libérés", deleted, reclaimedBytes);
+    }
+    return BlobCollectionDto.builder()
+        .blobs(blobs)
+        .referencedBlobs(references.size())
+        .references(references.values().stream().mapToLong(Long::longValue).sum())
+        .deleted(deleted)
+        .reclaimedBytes(reclaimedBytes)
+        .build();
+  }
+
+  public Map<String, Long> referenceCounts() {
+    return referencedPaths().stream()
+        .map(BlobStore::hashOf)
+        .flatMap(Optional::stream)
+        .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+  }
+
+  public boolean isReferenced(String reference) {
+    return cvRepository.existsByPdfPath(reference)
+        || internshipOfferRepository.existsByPdfPath(reference)
+        || ententeStageRepository.existsByCheminDocumentPDF(reference)
+        || evaluationStagiaireRepository.existsByEmployerPdfFilePathOrProfessorPdfFilePath(
+            reference, reference);
+  }
+
+  public void relocate(String source, String target, String sha256) {
+    cvRepository.relocatePdf(source, target, sha256);
+    internshipOfferRepository.relocatePdf(source, target, sha256);
+    ententeStageRepository.relocatePdf(source, target);
+    ententeViewRepository.relocatePdf(source, target);
+    evaluationStagiaireRepository.relocateEmployerPdf(source, target);
+    evaluationStagiaireRepository.relocateProfessorPdf(source, target);
+    eventPublisher.publishEvent(new ResponseDataChangedEvent());
+  }
+
+  public void relocateTerm(int termKey, String source, String target, String sha256) {
+    SchoolTerm term = SchoolTerm.fromTermKey(termKey);
+    cvRepository.relocateTermPdf(term.getSeason(), term.getYear(), source, target, sha256);
+    ententeStageRepository.relocateTermPdf(termKey, source, target);
+    ententeViewRepository.relocateTermPdf(termKey, source, target);
+    evaluationStagiaireRepository.relocateTermEmployerPdf(termKey, source, target);
+    evaluationStagiaireRepository.relocateTermProfessorPdf(termKey, source, target);
+    eventPublisher.publishEvent(new ResponseDataChangedEvent());
+  }
+
+  private List<String> referencedPaths() {
+    List<String> paths = new ArrayList<>();
+    paths.addAll(cvRepository.findAllPdfPaths());
+    paths.addAll(internshipOfferRepository.findAllPdfPaths());
+    paths.addAll(ententeStageRepository.findAllPdfPaths());
+    paths.addAll(evaluationStagiaireRepository.findAllEmployerPdfPaths());
+    paths.addAll(evaluationStagiaireRepository.findAllProfessorPdfPaths());
+    return paths.stream().filter(path -> !path.isBlank()).toList();
+  }
+
+  private boolean isStoredCopy(Path legacy, String key) throws IOException {
+    Optional<Path> stored = documentStore.localPath(key);
+    return stored.isPresent()
+        && Files.exists(stored.get())
+        && Files.isSameFile(legacy, stored.get());
+  }
+}
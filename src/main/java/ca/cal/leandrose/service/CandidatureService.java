@@ -2,11 +2,15 @@ package ca.cal.leandrose.service;
 
 import ca.cal.leandrose.model.*;
 import ca.cal.leandrose.repository.*;
+import ca.cal.leandrose.security.exception.ForbiddenAccessException;
 import ca.cal.leandrose.service.dto.CandidatureDto;
 import ca.cal.leandrose.service.dto.CandidatureEmployeurDto;
+import ca.cal.leandrose.service.event.StatusCountersChangedEvent;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +22,7 @@ public class CandidatureService {
   private final InternshipOfferRepository internshipOfferRepository;
   private final StudentRepository studentRepository;
   private final CvRepository cvRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional
   public CandidatureDto postuler(Long studentId, Long offerId, Long cvId) {
@@ -58,6 +63,7 @@ public class CandidatureService {
             .build();
 
     Candidature saved = candidatureRepository.save(candidature);
+    eventPublisher.publishEvent(StatusCountersChangedEvent.created(CounterCell.cellsOf(saved)));
     return CandidatureDto.fromEntity(saved);
   }
 
@@ -67,6 +73,16 @@ public class CandidatureService {
         .toList();
   }
 
+  public String getCandidaturesByStudentETag(Long studentId) {
+    return candidatureRepository.stampByStudentId(studentId).toETag("candidatures-s" + studentId);
+  }
+
+  public String getCandidaturesByEmployeurETag(Long employeurId) {
+    return candidatureRepository
+        .stampByEmployeurId(employeurId)
+        .toETag("candidatures-e" + employeurId);
+  }
+
   public CandidatureDto getCandidatureById(Long candidatureId) {
     Candidature candidature =
         candidatureRepository
@@ -76,6 +92,12 @@ public class CandidatureService {
     return CandidatureDto.fromEntity(candidature);
   }
 
+  public CandidatureDto getCandidatureForEmployeur(Long candidatureId, Long employeurId) {
+    return CandidatureDto.fromEntity(
+        findOwnedByEmployeur(
+            candidatureId, employeurId, "Candidature non trouvée avec l'ID: " + candidatureId));
+  }
+
   public List<CandidatureEmployeurDto> getCandidaturesByOffer(Long offerId) {
     return candidatureRepository.findByInternshipOfferIdOrderByApplicationDateDesc(offerId).stream()
         .map(CandidatureEmployeurDto::fromEntity)
@@ -89,11 +111,9 @@ public class CandidatureService {
   }
 
   @Transactional
-  public CandidatureDto acceptByEmployeur(Long candidatureId) {
+  public CandidatureDto acceptByEmployeur(Long candidatureId, Long employeurId) {
     Candidature cand =
-        candidatureRepository
-            .findById(candidatureId)
-            .orElseThrow(() -> new RuntimeException("Candidature introuvable"));
+        findOwnedByEmployeur(candidatureId, employeurId, "Candidature introuvable");
 
     if (cand.getStatus() == Candidature.Status.REJECTED) {
       throw new IllegalStateException("Impossible d'accepter une candidature déjà rejetée");
@@ -108,8 +128,10 @@ public class CandidatureService {
           "Vous avez déjà accepté cette candidature, en attente de la réponse de l'étudiant");
     }
 
+    Set<CounterCell> before = CounterCell.cellsOf(cand);
     cand.setStatus(Candidature.Status.ACCEPTEDBYEMPLOYEUR);
     Candidature saved = candidatureRepository.save(cand);
+    eventPublisher.publishEvent(new StatusCountersChangedEvent(before, CounterCell.cellsOf(saved)));
     return CandidatureDto.fromEntity(saved);
   }
 
@@ -128,8 +150,10 @@ public class CandidatureService {
       throw new IllegalStateException("L'employeur doit d'abord accepter cette candidature");
     }
 
+    Set<CounterCell> before = CounterCell.cellsOf(cand);
     cand.setStatus(Candidature.Status.ACCEPTED);
     Candidature saved = candidatureRepository.save(cand);
+    eventPublisher.publishEvent(new StatusCountersChangedEvent(before, CounterCell.cellsOf(saved)));
     return CandidatureDto.fromEntity(saved);
   }
 
@@ -149,17 +173,17 @@ public class CandidatureService {
           "Vous ne pouvez refuser que les candidatures acceptées par l'employeur");
     }
 
+    Set<CounterCell> before = CounterCell.cellsOf(cand);
     cand.setStatus(Candidature.Status.REJECTED);
     Candidature saved = candidatureRepository.save(cand);
+    eventPublisher.publishEvent(new StatusCountersChangedEvent(before, CounterCell.cellsOf(saved)));
     return CandidatureDto.fromEntity(saved);
   }
 
   @Transactional
-  public CandidatureDto rejectByEmployeur(Long candidatureId) {
+  public CandidatureDto rejectByEmployeur(Long candidatureId, Long employeurId) {
     Candidature cand =
-        candidatureRepository
-            .findById(candidatureId)
-            .orElseThrow(() -> new RuntimeException("Candidature introuvable"));
+        findOwnedByEmployeur(candidatureId, employeurId, "Candidature introuvable");
 
     if (cand.getStatus() == Candidature.Status.ACCEPTED) {
       throw new IllegalStateException(
@@ -170,8 +194,21 @@ public class CandidatureService {
       throw new IllegalStateException("Cette candidature est déjà rejetée");
     }
 
+    Set<CounterCell> before = CounterCell.cellsOf(cand);
     cand.setStatus(Candidature.Status.REJECTED);
     Candidature saved = candidatureRepository.save(cand);
+    eventPublisher.publishEvent(new StatusCountersChangedEvent(before, CounterCell.cellsOf(saved)));
     return CandidatureDto.fromEntity(saved);
   }
+
+  private Candidature findOwnedByEmployeur(
+      Long candidatureId, Long employeurId, String notFoundMessage) {
+    return candidatureRepository
+        .findByIdAndInternshipOffer_Employeur_Id(candidatureId, employeurId)
+        .orElseThrow(
+            () ->
+                candidatureRepository.existsById(candidatureId)
+                    ? new ForbiddenAccessException("Cette candidature ne vous appartient pas")
+                    : new RuntimeException(notFoundMessage));
+  }
 }
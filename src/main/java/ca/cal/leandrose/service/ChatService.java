@@ -50,12 +50,14 @@ public class ChatService {
             - Présente les données de manière claire avec des listes à puces ou numérotées
             - Pour les listes longues, résume les informations principales
             - Ne fournis que les informations demandées
+            - Pour les statistiques (taux de placement, rémunération moyenne, délais), utilise getPlacementReport plutôt que getAllEntentes
             """;
   private final RestTemplate restTemplate = new RestTemplate();
   private final ObjectMapper objectMapper;
   private final GestionnaireService gestionnaireService;
   private final InternshipOfferService internshipOfferService;
   private final EntenteStageService ententeService;
+  private final ReportService reportService;
   private final Map<String, List<Map<String, Object>>> conversationHistory =
       new ConcurrentHashMap<>();
 
@@ -65,10 +67,12 @@ public class ChatService {
   public ChatService(
       GestionnaireService gestionnaireService,
       InternshipOfferService internshipOfferService,
-      EntenteStageService ententeService) {
+      EntenteStageService ententeService,
+      ReportService reportService) {
     this.gestionnaireService = gestionnaireService;
     this.internshipOfferService = internshipOfferService;
     this.ententeService = ententeService;
+    this.reportService = reportService;
 
     this.objectMapper = new ObjectMapper();
     this.objectMapper.registerModule(new JavaTimeModule());
@@ -121,7 +125,19 @@ public class ChatService {
                 "ententeId",
                 Map.of(
                     "type", "number",
-                    "description", "L'ID numérique de l'entente de stage"))));
+                    "description", "L'ID numérique de l'entente de stage"))),
+        createFunctionDeclaration(
+            "getPlacementReport",
+            "Récupère les statistiques de placement (taux de placement, rémunération moyenne, "
+                + "délai entre candidature et signature) agrégées par trimestre",
+            Map.of(
+                "dimension",
+                Map.of(
+                    "type", "string",
+                    "enum", List.of("PROGRAM", "FIELD", "TERM"),
+                    "description",
+                        "Regroupement : PROGRAM (programme), FIELD (domaine de l'employeur) "
+                            + "ou TERM (trimestre)"))));
   }
 
   private Map<String, Object> createFunctionDeclaration(
@@ -333,6 +349,14 @@ public class ChatService {
           Long ententeId = ((Number) args.get("ententeId")).longValue();
           yield ententeService.getEntenteById(ententeId);
         }
+        case "getPlacementReport" -> {
+          Optional<ReportService.Dimension> dimension =
+              ReportService.Dimension.fromName(args.get("dimension"));
+          if (dimension.isEmpty()) {
+            yield Map.of("error", "Dimension invalide: " + args.get("dimension"));
+          }
+          yield reportService.getPlacementReport(dimension.get(), null);
+        }
         default -> {
           System.err.println("❌ Fonction inconnue: " + functionName);
           yield Map.of("error", "Fonction inconnue: " + functionName);
@@ -2,12 +2,17 @@ package ca.cal.leandrose.service;
 
 import ca.cal.leandrose.model.Candidature;
 import ca.cal.leandrose.model.Convocation;
+import ca.cal.leandrose.model.CounterCell;
 import ca.cal.leandrose.repository.CandidatureRepository;
 import ca.cal.leandrose.repository.ConvocationRepository;
+import ca.cal.leandrose.security.exception.ForbiddenAccessException;
 import ca.cal.leandrose.service.dto.ConvocationDto;
+import ca.cal.leandrose.service.event.StatusCountersChangedEvent;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,13 +20,22 @@ import org.springframework.stereotype.Service;
 public class ConvocationService {
   private final ConvocationRepository convocationRepository;
   private final CandidatureRepository candidatureRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   public ConvocationDto addConvocation(
-      Long candidatureId, LocalDateTime convocationDate, String location, String message) {
+      Long candidatureId,
+      Long employeurId,
+      LocalDateTime convocationDate,
+      String location,
+      String message) {
     Candidature candidature =
         candidatureRepository
-            .findById(candidatureId)
-            .orElseThrow(() -> new RuntimeException("Candidature non trouvée"));
+            .findByIdAndInternshipOffer_Employeur_Id(candidatureId, employeurId)
+            .orElseThrow(
+                () ->
+                    candidatureRepository.existsById(candidatureId)
+                        ? new ForbiddenAccessException("Cette candidature ne vous appartient pas")
+                        : new RuntimeException("Candidature non trouvée"));
 
     if (convocationDate == null) {
       throw new IllegalArgumentException("La date de convocation ne peut pas être nulle");
@@ -44,8 +58,11 @@ public class ConvocationService {
             ? "Vous êtes convoqué(e) pour un entretien."
             : message;
 
+    Set<CounterCell> before = CounterCell.cellsOf(candidature);
     candidature.setStatus(Candidature.Status.CONVENED);
     candidatureRepository.save(candidature);
+    eventPublisher.publishEvent(
+        new StatusCountersChangedEvent(before, CounterCell.cellsOf(candidature)));
 
     Convocation convocation = new Convocation(candidature, convocationDate, location, finalMessage);
     convocationRepository.save(convocation);
@@ -1,18 +1,23 @@
 package ca.cal.leandrose.service;
 
+import ca.cal.leandrose.model.CounterCell;
 import ca.cal.leandrose.model.Cv;
-import ca.cal.leandrose.model.Student;
 import ca.cal.leandrose.repository.CvRepository;
+import ca.cal.leandrose.repository.StudentRepository;
 import ca.cal.leandrose.service.dto.CvDto;
-import com.itextpdf.text.pdf.PdfReader;
+import ca.cal.leandrose.service.event.PdfInspectionRequestedEvent;
+import ca.cal.leandrose.service.event.StatusCountersChangedEvent;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.DocumentStore;
+import ca.cal.leandrose.service.storage.SpooledUpload;
+import ca.cal.leandrose.service.storage.UploadSpooler;
 import java.io.IOException;
-import java.nio.file.*;
+import java.nio.file.NoSuchFileException;
 import java.util.Optional;
-import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -24,99 +29,90 @@ public class CvService {
   private static final long KILOBYTE = 1024L;
   private static final long MEGABYTE = KILOBYTE * KILOBYTE;
   private static final int DEFAULT_MAX_SIZE_MB = 5;
-  private static final String DEFAULT_BASE_DIR = "uploads/cvs";
   private static final String PDF_EXTENSION = ".pdf";
   private static final String PDF_CONTENT_TYPE = "application/pdf";
   private final CvRepository cvRepository;
+  private final StudentRepository studentRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final DocumentStore documentStore;
+  private final UploadSpooler uploadSpooler;
+  private final BlobStore blobStore;
+  private final FileCleanupService fileCleanupService;
 
   @Value("${app.cv.max-size-mb:" + DEFAULT_MAX_SIZE_MB + "}")
   private int maxSizeMb;
 
-  @Value("${app.cv.base-dir:" + DEFAULT_BASE_DIR + "}")
-  private String baseUploadDir;
-
   @Transactional
   public CvDto uploadCv(Long studentId, MultipartFile file) throws IOException {
-    final long maxSizeBytes = ((long) maxSizeMb) * MEGABYTE;
-
     if (file == null || file.isEmpty()) {
       throw new IllegalArgumentException("Fichier vide ou manquant.");
     }
-    if (file.getSize() > maxSizeBytes) {
+    checkUpload(file.getOriginalFilename(), file.getContentType(), file.getSize());
+
+    try (SpooledUpload upload =
+        uploadSpooler.spool(file, blobStore.getSpoolDirectory(), maxSizeBytes())) {
+      return saveCv(studentId, upload);
+    }
+  }
+
+  @Transactional
+  public CvDto uploadCv(Long studentId, String filename, String contentType, SpooledUpload upload)
+      throws IOException {
+    if (upload.getSize() <= 0) {
+      throw new IllegalArgumentException("Fichier vide ou manquant.");
+    }
+    checkUpload(filename, contentType, upload.getSize());
+    return saveCv(studentId, upload);
+  }
+
+  public void checkUpload(String filename, String contentType, long size) {
+    if (size > maxSizeBytes()) {
       throw new IllegalArgumentException(
           "Fichier trop volumineux. Taille maximale : " + maxSizeMb + " Mo");
     }
-    String originalName = file.getOriginalFilename();
-    if (originalName == null || !originalName.toLowerCase().endsWith(PDF_EXTENSION)) {
+    if (filename == null || !filename.toLowerCase().endsWith(PDF_EXTENSION)) {
       throw new IllegalArgumentException(
           "Format de fichier invalide : l'extension doit être " + PDF_EXTENSION);
     }
-    String contentType = file.getContentType();
     if (contentType == null || !contentType.equalsIgnoreCase(PDF_CONTENT_TYPE)) {
       throw new IllegalArgumentException(
           "Content type invalide. Seul " + PDF_CONTENT_TYPE + " est autorisé.");
     }
+  }
 
-    PdfReader reader = null;
-    try {
-      reader = new PdfReader(file.getBytes());
-      if (reader.getNumberOfPages() <= 0) {
-        throw new IllegalArgumentException("PDF invalide : aucune page trouvée.");
-      }
-    } catch (IOException ioe) {
-      throw ioe;
-    } catch (Exception e) {
-      throw new IllegalArgumentException("PDF invalide ou corrompu.", e);
-    } finally {
-      if (reader != null) {
-        try {
-          reader.close();
-        } catch (Exception ignored) {
-        }
-      }
-    }
-
-    Path studentDir =
-        Paths.get(baseUploadDir, String.valueOf(studentId)).toAbsolutePath().normalize();
-    if (!Files.exists(studentDir)) {
-      Files.createDirectories(studentDir);
-    }
-
-    String storageFilename = UUID.randomUUID() + "_" + System.currentTimeMillis() + PDF_EXTENSION;
-    Path targetPath = studentDir.resolve(storageFilename);
+  private CvDto saveCv(Long studentId, SpooledUpload upload) throws IOException {
+    uploadSpooler.checkPdfEnvelope(upload);
 
     Optional<Cv> existingOpt = cvRepository.findByStudentId(studentId);
     existingOpt.ifPresent(
         existing -> {
-          try {
-            Path oldPath = Paths.get(existing.getPdfPath());
-            if (!oldPath.isAbsolute()) {
-              oldPath = studentDir.resolve(oldPath).normalize();
-            }
-            Files.deleteIfExists(oldPath);
-          } catch (Exception ex) {
-            System.err.println("Erreur lors de la suppression de l'ancien CV: " + ex.getMessage());
-          }
+          fileCleanupService.schedule(existing.getPdfPath());
           cvRepository.delete(existing);
+          eventPublisher.publishEvent(
+              StatusCountersChangedEvent.deleted(CounterCell.cellsOf(existing)));
         });
 
-    Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-
-    Student studentRef = new Student();
-    studentRef.setId(studentId);
+    String key = blobStore.store(upload);
 
     Cv cv =
         Cv.builder()
-            .student(studentRef)
-            .pdfPath(targetPath.toString())
-            .status(Cv.Status.PENDING)
+            .student(studentRepository.getReferenceById(studentId))
+            .pdfPath(key)
+            .pdfSha256(upload.getSha256())
+            .status(Cv.Status.PROCESSING)
             .build();
 
     Cv saved = cvRepository.save(cv);
+    eventPublisher.publishEvent(StatusCountersChangedEvent.created(CounterCell.cellsOf(saved)));
+    eventPublisher.publishEvent(PdfInspectionRequestedEvent.cv(saved.getId()));
 
     return CvDto.create(saved);
   }
 
+  private long maxSizeBytes() {
+    return ((long) maxSizeMb) * MEGABYTE;
+  }
+
   public CvDto getCvByStudentId(Long studentId) {
     Cv cv =
         cvRepository
@@ -129,10 +125,10 @@ public class CvService {
 
   public Resource downloadCv(Long id) throws IOException {
     Cv cv = cvRepository.findById(id).orElseThrow(() -> new RuntimeException("Cv introuvable"));
-    Path filepath = Paths.get(cv.getPdfPath());
-    Resource resource = new UrlResource(filepath.toUri());
-
-    if (!resource.exists()) throw new RuntimeException("Fichier non trouvé " + cv.getPdfPath());
-    return resource;
+    try {
+      return documentStore.get(cv.getPdfPath());
+    } catch (NoSuchFileException e) {
+      throw new RuntimeException("Fichier non trouvé " + cv.getPdfPath(), e);
+    }
   }
 }
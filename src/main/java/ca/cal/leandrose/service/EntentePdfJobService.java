@@ -0,0 +1,278 @@
+package ca.cal.leandrose.service;
+
+import ca.cal.leandrose.model.EntentePdfJob;
+import ca.cal.leandrose.model.EntenteStage;
+import ca.cal.leandrose.repository.EntentePdfJobRepository;
+import ca.cal.leandrose.repository.EntenteStageRepository;
+import ca.cal.leandrose.service.dto.EntentePdfJobDto;
+import ca.cal.leandrose.service.event.EntenteChangedEvent;
+import ca.cal.leandrose.service.event.EntentePdfRequestedEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@Slf4j
+public class EntentePdfJobService {
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+  private static final int MAX_BACKOFF_SHIFT = 10;
+
+  private final EntentePdfJobRepository jobRepository;
+  private final EntenteStageRepository ententeRepository;
+  private final PDFGeneratorService pdfGeneratorService;
+  private final FileCleanupService fileCleanupService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int workerCount;
+  private final int maxAttempts;
+  private final Duration retryDelay;
+  private final Duration lease;
+  private final ExecutorService workers;
+  private final AtomicInteger activeDrains = new AtomicInteger();
+
+  public EntentePdfJobService(
+      EntentePdfJobRepository jobRepository,
+      EntenteStageRepository ententeRepository,
+      PDFGeneratorService pdfGeneratorService,
+      FileCleanupService fileCleanupService,
+      ApplicationEventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.ententes.pdf.workers:2}") int workerCount,
+      @Value("${app.ententes.pdf.max-attempts:5}") int maxAttempts,
+      @Value("${app.ententes.pdf.retry-delay:PT10S}") Duration retryDelay,
+      @Value("${app.ententes.pdf.lease:PT5M}") Duration lease) {
+    this.jobRepository = jobRepository;
+    this.ententeRepository = ententeRepository;
+    this.pdfGeneratorService = pdfGeneratorService;
+    this.fileCleanupService = fileCleanupService;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.workerCount = Math.max(1, workerCount);
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.retryDelay = retryDelay;
+    this.lease = lease;
+    this.workers =
+        Executors.newFixedThreadPool(
+            this.workerCount, Thread.ofPlatform().daemon().name("entente-pdf-", 0).factory());
+  }
+
+  @Transactional
+  public void enqueue(Long ententeId) {
+    Instant now = Instant.now();
+    EntentePdfJob job =
+        jobRepository
+            .findByEntenteId(ententeId)
+            .orElseGet(() -> EntentePdfJob.builder().ententeId(ententeId).createdAt(now).build());
+    job.setStatus(EntentePdfJob.Status.PENDING);
+    job.setAttempts(0);
+    job.setNextAttemptAt(now);
+    job.setLastError(null);
+    job.setUpdatedAt(now);
+    jobRepository.save(job);
+    eventPublisher.publishEvent(new EntentePdfRequestedEvent(ententeId));
+  }
+
+  @Transactional
+  public void discard(Long ententeId) {
+    jobRepository.deleteByEntenteId(ententeId);
+  }
+
+  public EntentePdfJobDto getStatus(Long ententeId) {
+    return jobRepository
+        .findByEntenteId(ententeId)
+        .map(EntentePdfJobDto::create)
+        .orElseThrow(
+            () -> new EntityNotFoundException("Aucune génération de PDF pour cette entente"));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onPdfRequested(EntentePdfRequestedEvent event) {
+    requestDrain();
+  }
+
+  @Scheduled(fixedDelayString = "${app.ententes.pdf.poll-interval:PT30S}")
+  public void requestDrain() {
+    int active;
+    do {
+      active = activeDrains.get();
+      if (active >= workerCount) {
+        return;
+      }
+    } while (!activeDrains.compareAndSet(active, active + 1));
+    try {
+      workers.execute(
+          () -> {
+            try {
+              drain();
+            } catch (RuntimeException e) {
+              log.warn("Génération des PDF d'ententes interrompue: {}", e.getMessage());
+            } finally {
+              activeDrains.decrementAndGet();
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      activeDrains.decrementAndGet();
+    }
+  }
+
+  public int drain() {
+    int processed = 0;
+    while (processNext()) {
+      processed++;
+    }
+    return processed;
+  }
+
+  @PreDestroy
+  public void stop() {
+    workers.shutdownNow();
+  }
+
+  private boolean processNext() {
+    Claim claim = transactionTemplate.execute(status -> claimNext());
+    if (claim == null) {
+      return false;
+    }
+    if (claim.entente() == null) {
+      return true;
+    }
+    String key;
+    try {
+      key = pdfGeneratorService.genererEntentePDF(claim.entente());
+    } catch (RuntimeException e) {
+      transactionTemplate.executeWithoutResult(status -> retryLater(claim.jobId(), e));
+      return true;
+    }
+    complete(claim, key);
+    return true;
+  }
+
+  private Claim claimNext() {
+    Instant now = Instant.now();
+    List<EntentePdfJob> due = jobRepository.lockDue(now, 1);
+    if (due.isEmpty()) {
+      return null;
+    }
+    EntentePdfJob job = due.getFirst();
+    Optional<EntenteStage> entente =
+        ententeRepository
+            .findForRendering(job.getEntenteId())
+            .filter(e -> e.getStatut() == EntenteStage.StatutEntente.EN_GENERATION);
+    if (entente.isEmpty()) {
+      jobRepository.delete(job);
+      return new Claim(job.getId(), null);
+    }
+    if (job.getAttempts() >= maxAttempts) {
+      fail(job, now);
+      return new Claim(job.getId(), null);
+    }
+    job.setStatus(EntentePdfJob.Status.RUNNING);
+    job.setAttempts(job.getAttempts() + 1);
+    job.setNextAttemptAt(now.plus(lease));
+    job.setUpdatedAt(now);
+    return new Claim(job.getId(), entente.get());
+  }
+
+  private void complete(Claim claim, String key) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> store(claim, key));
+    } catch (OptimisticLockingFailureException e) {
+      log.warn(
+          "Entente {} modifiée pendant la génération de son PDF, nouvelle tentative",
+          claim.entente().getId());
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            fileCleanupService.schedule(key);
+            retryLater(claim.jobId(), e);
+          });
+    }
+  }
+
+  private void store(Claim claim, String key) {
+    Optional<EntentePdfJob> job = jobRepository.findById(claim.jobId());
+    Optional<EntenteStage> entente =
+        ententeRepository
+            .findById(claim.entente().getId())
+            .filter(e -> e.getStatut() == EntenteStage.StatutEntente.EN_GENERATION);
+    if (job.isEmpty() || entente.isEmpty()) {
+      fileCleanupService.schedule(key);
+      return;
+    }
+    EntenteStage current = entente.get();
+    String previous = current.getCheminDocumentPDF();
+    current.setCheminDocumentPDF(key);
+    current.setStatut(EntenteStage.StatutEntente.EN_ATTENTE_SIGNATURE);
+    current.setDateModification(LocalDateTime.now());
+    ententeRepository.save(current);
+    if (previous != null && !previous.equals(key)) {
+      fileCleanupService.schedule(previous);
+    }
+    job.get().setStatus(EntentePdfJob.Status.DONE);
+    job.get().setLastError(null);
+    job.get().setUpdatedAt(Instant.now());
+    eventPublisher.publishEvent(new EntenteChangedEvent(current.getId()));
+  }
+
+  private void retryLater(Long jobId, RuntimeException error) {
+    Instant now = Instant.now();
+    jobRepository
+        .findById(jobId)
+        .ifPresent(
+            job -> {
+              String message = String.valueOf(error.getMessage());
+              job.setLastError(message.substring(0, Math.min(message.length(), MAX_ERROR_LENGTH)));
+              if (job.getAttempts() >= maxAttempts) {
+                fail(job, now);
+                return;
+              }
+              job.setStatus(EntentePdfJob.Status.PENDING);
+              job.setUpdatedAt(now);
+              job.setNextAttemptAt(
+                  now.plus(
+                      retryDelay.multipliedBy(
+                          1L << Math.min(job.getAttempts() - 1, MAX_BACKOFF_SHIFT))));
+            });
+  }
+
+  private void fail(EntentePdfJob job, Instant now) {
+    log.error(
+        "Génération du PDF de l'entente {} abandonnée après {} tentative(s): {}",
+        job.getEntenteId(),
+        job.getAttempts(),
+        job.getLastError());
+    job.setStatus(EntentePdfJob.Status.FAILED);
+    job.setUpdatedAt(now);
+    ententeRepository
+        .findById(job.getEntenteId())
+        .filter(e -> e.getStatut() == EntenteStage.StatutEntente.EN_GENERATION)
+        .ifPresent(
+            entente -> {
+              entente.setStatut(EntenteStage.StatutEntente.BROUILLON);
+              entente.setDateModification(LocalDateTime.now());
+              ententeRepository.save(entente);
+              eventPublisher.publishEvent(new EntenteChangedEvent(entente.getId()));
+            });
+  }
+
+  private record Claim(Long jobId, EntenteStage entente) {}
+}
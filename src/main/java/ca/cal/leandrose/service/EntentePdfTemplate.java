@@ -0,0 +1,253 @@
+package ca.cal.leandrose.service;
+
+import static ca.cal.leandrose.service.PDFGeneratorService.BOLD_9;
+import static ca.cal.leandrose.service.PDFGeneratorService.BOLD_9_GRAY;
+import static ca.cal.leandrose.service.PDFGeneratorService.BOLD_10;
+import static ca.cal.leandrose.service.PDFGeneratorService.BOLD_11;
+import static ca.cal.leandrose.service.PDFGeneratorService.BOLD_14;
+import static ca.cal.leandrose.service.PDFGeneratorService.DATE_FORMATTER;
+import static ca.cal.leandrose.service.PDFGeneratorService.NORMAL_8_GRAY;
+import static ca.cal.leandrose.service.PDFGeneratorService.NORMAL_9;
+
+import ca.cal.leandrose.model.EntenteStage;
+import ca.cal.leandrose.model.InternshipOffer;
+import ca.cal.leandrose.model.Student;
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.ColumnText;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfStamper;
+import com.itextpdf.text.pdf.PdfWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+final class EntentePdfTemplate {
+
+  static final String COLLEGE_HEADER = "COLLÈGE ANDRÉ-LAURENDEAU";
+  static final String COLLEGE_NAME = "Collège André-Laurendeau";
+  static final String COLLEGE_ADDRESS = "1111, rue Lapierre, Montréal (Québec) H8N 2J4";
+  static final String LEGAL_NOTICE =
+      "Ce document constitue une entente officielle entre les parties mentionnées ci-dessus. "
+          + "Toute modification doit faire l'objet d'un avenant signé par toutes les parties.";
+
+  private static final float LEFT = 50f;
+  private static final float RIGHT = 545f;
+  private static final float CENTER = (LEFT + RIGHT) / 2;
+  private static final float LABEL_COLUMN = 297.5f;
+  private static final float LEADING = 11f;
+  private static final float CELL_PADDING = 2f;
+  private static final float TABLE_TOP = 576f;
+  private static final float DESCRIPTION_ROW = 52f;
+  private static final float ROW = 16f;
+  private static final BaseColor LABEL_BACKGROUND = new BaseColor(240, 240, 240);
+
+  private static final String[] TABLE_LABELS = {
+    "Description", "Date de début", "Durée", "Lieu", "Rémunération"
+  };
+
+  private static final Slot STUDENT_NAME = line("Nom : ", 708f);
+  private static final Slot STUDENT_EMAIL = line("Email : ", 697f);
+  private static final Slot COMPANY_NAME = line("Nom de l'entreprise : ", 668f);
+  private static final Slot COMPANY_CONTACT = line("Personne contact : ", 657f);
+  private static final Slot COMPANY_ADDRESS = line("Adresse : ", 646f);
+  private static final Slot DESCRIPTION = cell(0);
+  private static final Slot START_DATE = cell(1);
+  private static final Slot DURATION = cell(2);
+  private static final Slot LOCATION = cell(3);
+  private static final Slot REMUNERATION = cell(4);
+  private static final Slot MISSIONS =
+      new Slot(LEFT, 160f, RIGHT, 432f, NORMAL_9, Element.ALIGN_JUSTIFIED, LEADING);
+  private static final Slot GENERATED_ON =
+      new Slot(
+          LEFT + width(NORMAL_8_GRAY, "Document généré le "),
+          96f,
+          RIGHT,
+          110f,
+          NORMAL_8_GRAY,
+          Element.ALIGN_LEFT,
+          10f);
+
+  private final byte[] master;
+
+  EntentePdfTemplate() {
+    try {
+      master = renderMaster();
+    } catch (DocumentException e) {
+      throw new IllegalStateException("Impossible de préparer le gabarit de l'entente", e);
+    }
+  }
+
+  boolean stamp(EntenteStage entente, Path target) throws IOException, DocumentException {
+    if (entente.getAddress() == null || entente.getAddress().isBlank()) {
+      return false;
+    }
+    Student student = entente.getStudent();
+    InternshipOffer offer = entente.getOffer();
+    List<Field> fields =
+        List.of(
+            new Field(STUDENT_NAME, student.getLastName() + " " + student.getFirstName()),
+            new Field(STUDENT_EMAIL, student.getCredentials().getEmail()),
+            new Field(COMPANY_NAME, offer.getCompanyName()),
+            new Field(COMPANY_CONTACT, offer.getEmployeurEmail()),
+            new Field(COMPANY_ADDRESS, entente.getAddress()),
+            new Field(DESCRIPTION, offer.getDescription()),
+            new Field(START_DATE, entente.getStartDate().format(DATE_FORMATTER)),
+            new Field(DURATION, entente.getDurationInWeeks() + " semaine(s)"),
+            new Field(LOCATION, entente.getAddress()),
+            new Field(REMUNERATION, entente.getRemuneration() + " $"),
+            new Field(MISSIONS, entente.getMissionsObjectifs()),
+            new Field(GENERATED_ON, LocalDate.now().format(DATE_FORMATTER)));
+    for (Field field : fields) {
+      if (ColumnText.hasMoreText(field.column(null).go(true))) {
+        return false;
+      }
+    }
+    PdfReader reader = new PdfReader(master);
+    try (OutputStream out = Files.newOutputStream(target)) {
+      PdfStamper stamper = new PdfStamper(reader, out);
+      PdfContentByte canvas = stamper.getOverContent(1);
+      for (Field field : fields) {
+        field.column(canvas).go();
+      }
+      stamper.close();
+    } finally {
+      reader.close();
+    }
+    return true;
+  }
+
+  private static byte[] renderMaster() throws DocumentException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Document document = new Document(PageSize.A4);
+    PdfWriter writer = PdfWriter.getInstance(document, out);
+    document.open();
+    PdfContentByte canvas = writer.getDirectContent();
+
+    text(canvas, COLLEGE_HEADER, BOLD_9_GRAY, Element.ALIGN_CENTER, CENTER, 790f);
+    canvas.saveState();
+    canvas.setColorStroke(BaseColor.LIGHT_GRAY);
+    canvas.moveTo(LEFT, 782f);
+    canvas.lineTo(RIGHT, 782f);
+    canvas.stroke();
+    canvas.restoreState();
+    text(canvas, "ENTENTE DE STAGE", BOLD_14, Element.ALIGN_CENTER, CENTER, 760f);
+
+    text(canvas, "LES PARTIES", BOLD_11, Element.ALIGN_LEFT, LEFT, 736f);
+    text(canvas, "L'ÉTUDIANT :", BOLD_10, Element.ALIGN_LEFT, LEFT, 720f);
+    label(canvas, STUDENT_NAME, "Nom : ");
+    label(canvas, STUDENT_EMAIL, "Email : ");
+    text(canvas, "L'ENTREPRISE :", BOLD_10, Element.ALIGN_LEFT, LEFT, 680f);
+    label(canvas, COMPANY_NAME, "Nom de l'entreprise : ");
+    label(canvas, COMPANY_CONTACT, "Personne contact : ");
+    label(canvas, COMPANY_ADDRESS, "Adresse : ");
+    text(canvas, "LE COLLÈGE :", BOLD_10, Element.ALIGN_LEFT, LEFT, 629f);
+    text(canvas, COLLEGE_NAME, NORMAL_9, Element.ALIGN_LEFT, LEFT, 617f);
+    text(canvas, COLLEGE_ADDRESS, NORMAL_9, Element.ALIGN_LEFT, LEFT, 606f);
+
+    text(canvas, "DÉTAILS DU STAGE", BOLD_11, Element.ALIGN_LEFT, LEFT, 584f);
+    for (int row = 0; row < TABLE_LABELS.length; row++) {
+      float top = rowTop(row);
+      float bottom = rowTop(row + 1);
+      canvas.saveState();
+      canvas.setColorFill(LABEL_BACKGROUND);
+      canvas.rectangle(LEFT, bottom, LABEL_COLUMN - LEFT, top - bottom);
+      canvas.fill();
+      canvas.restoreState();
+      text(
+          canvas,
+          TABLE_LABELS[row],
+          BOLD_9,
+          Element.ALIGN_LEFT,
+          LEFT + CELL_PADDING,
+          top - CELL_PADDING - LEADING);
+    }
+
+    text(canvas, "MISSIONS ET OBJECTIFS DU STAGE", BOLD_11, Element.ALIGN_LEFT, LEFT, 440f);
+
+    ColumnText notice = new ColumnText(canvas);
+    notice.setSimpleColumn(
+        new Phrase(LEGAL_NOTICE, NORMAL_8_GRAY),
+        LEFT,
+        120f,
+        RIGHT,
+        150f,
+        10f,
+        Element.ALIGN_JUSTIFIED);
+    notice.go();
+    text(canvas, "Document généré le ", NORMAL_8_GRAY, Element.ALIGN_LEFT, LEFT, 100f);
+
+    writer.setPageEmpty(false);
+    document.close();
+    return out.toByteArray();
+  }
+
+  private static void text(
+      PdfContentByte canvas, String text, Font font, int alignment, float x, float baseline) {
+    ColumnText.showTextAligned(canvas, alignment, new Phrase(text, font), x, baseline, 0);
+  }
+
+  private static void label(PdfContentByte canvas, Slot slot, String label) {
+    text(canvas, label, NORMAL_9, Element.ALIGN_LEFT, LEFT, slot.ury() - slot.leading());
+  }
+
+  private static Slot line(String label, float baseline) {
+    return new Slot(
+        LEFT + width(NORMAL_9, label),
+        baseline - 4f,
+        RIGHT,
+        baseline + LEADING,
+        NORMAL_9,
+        Element.ALIGN_LEFT,
+        LEADING);
+  }
+
+  private static Slot cell(int row) {
+    return new Slot(
+        LABEL_COLUMN + CELL_PADDING,
+        rowTop(row + 1) + CELL_PADDING,
+        RIGHT - CELL_PADDING,
+        rowTop(row) - CELL_PADDING,
+        NORMAL_9,
+        Element.ALIGN_LEFT,
+        LEADING);
+  }
+
+  private static float rowTop(int row) {
+    return row == 0 ? TABLE_TOP : TABLE_TOP - DESCRIPTION_ROW - (row - 1) * ROW;
+  }
+
+  private static float width(Font font, String text) {
+    return font.getCalculatedBaseFont(false).getWidthPoint(text, font.getSize());
+  }
+
+  private record Slot(
+      float llx, float lly, float urx, float ury, Font font, int alignment, float leading) {}
+
+  private record Field(Slot slot, String value) {
+
+    ColumnText column(PdfContentByte canvas) {
+      ColumnText column = new ColumnText(canvas);
+      column.setSimpleColumn(
+          new Phrase(Objects.toString(value, ""), slot.font()),
+          slot.llx(),
+          slot.lly(),
+          slot.urx(),
+          slot.ury(),
+          slot.leading(),
+          slot.alignment());
+      return column;
+    }
+  }
+}
@@ -2,10 +2,18 @@ package ca.cal.leandrose.service;
 
 import ca.cal.leandrose.model.*;
 import ca.cal.leandrose.repository.*;
+import ca.cal.leandrose.service.cache.SerializedResponseCache;
+import ca.cal.leandrose.service.cache.SingleFlight;
 import ca.cal.leandrose.service.dto.CandidatureDto;
+import ca.cal.leandrose.service.dto.EntentePdfJobDto;
 import ca.cal.leandrose.service.dto.EntenteStageDto;
+import ca.cal.leandrose.service.dto.EntentesDto;
 import ca.cal.leandrose.service.dto.ProfStudentItemDto;
+import ca.cal.leandrose.service.event.EntenteChangedEvent;
+import ca.cal.leandrose.service.event.EntenteDeletedEvent;
+import ca.cal.leandrose.service.storage.DocumentStore;
 import jakarta.persistence.EntityNotFoundException;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Comparator;
@@ -15,7 +23,10 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -23,13 +34,21 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class EntenteStageService {
 
+  public static final String MODIFICATION_CONCURRENTE =
+      "L'entente a été modifiée en même temps par une autre personne. Veuillez réessayer.";
+
   private final EntenteStageRepository ententeRepository;
   private final CandidatureRepository candidatureRepository;
-  private final PDFGeneratorService pdfGeneratorService;
+  private final EntentePdfJobService ententePdfJobService;
   private final ProfRepository profRepository;
-  private final EvaluationStagiaireRepository evaluationStagiaireRepository;
   private final GestionnaireRepository gestionnaireRepository;
+  private final EntenteViewRepository ententeViewRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final SerializedResponseCache serializedResponseCache;
+  private final DocumentStore documentStore;
+  private final FileCleanupService fileCleanupService;
 
+  @SingleFlight
   public List<CandidatureDto> getCandidaturesAcceptees() {
     List<Candidature> candidatures =
         candidatureRepository.findByStatus(Candidature.Status.ACCEPTED);
@@ -37,7 +56,7 @@ public class EntenteStageService {
     return candidatures.stream()
         .filter(c -> !ententeRepository.existsByCandidatureId(c.getId()))
         .map(CandidatureDto::fromEntity)
-        .collect(Collectors.toList());
+        .toList();
   }
 
   @Transactional
@@ -66,25 +85,14 @@ public class EntenteStageService {
         EntenteStage.builder()
             .candidature(candidature)
             .missionsObjectifs(dto.getMissionsObjectifs())
-            .statut(EntenteStage.StatutEntente.BROUILLON)
+            .statut(EntenteStage.StatutEntente.EN_GENERATION)
             .dateCreation(LocalDateTime.now())
             .build();
 
     entente = ententeRepository.save(entente);
+    ententePdfJobService.enqueue(entente.getId());
 
-    try {
-      String pdfPath = pdfGeneratorService.genererEntentePDF(entente);
-
-      entente.setCheminDocumentPDF(pdfPath);
-      entente.setStatut(EntenteStage.StatutEntente.EN_ATTENTE_SIGNATURE);
-      entente.setDateModification(LocalDateTime.now());
-
-      entente = ententeRepository.save(entente);
-
-    } catch (Exception e) {
-      throw new RuntimeException("Impossible de générer le PDF de l'entente: " + e.getMessage(), e);
-    }
-
+    eventPublisher.publishEvent(new EntenteChangedEvent(entente.getId()));
     return EntenteStageDto.fromEntity(entente);
   }
 
@@ -102,14 +110,13 @@ public class EntenteStageService {
 
     validateChampsObligatoires(entente);
 
-    String pdfPath = pdfGeneratorService.genererEntentePDF(entente);
-
-    entente.setCheminDocumentPDF(pdfPath);
-    entente.setStatut(EntenteStage.StatutEntente.EN_ATTENTE_SIGNATURE);
+    entente.setStatut(EntenteStage.StatutEntente.EN_GENERATION);
     entente.setDateModification(LocalDateTime.now());
 
     entente = ententeRepository.save(entente);
+    ententePdfJobService.enqueue(entente.getId());
 
+    eventPublisher.publishEvent(new EntenteChangedEvent(entente.getId()));
     return EntenteStageDto.fromEntity(entente);
   }
 
@@ -133,13 +140,31 @@ public class EntenteStageService {
     entente.setDateModification(LocalDateTime.now());
     entente = ententeRepository.save(entente);
 
+    eventPublisher.publishEvent(new EntenteChangedEvent(entente.getId()));
     return EntenteStageDto.fromEntity(entente);
   }
 
+  @SingleFlight
   public List<EntenteStageDto> getAllEntentes() {
-    return ententeRepository.findAll().stream()
-        .map(EntenteStageDto::fromEntity)
-        .collect(Collectors.toList());
+    return ententeViewRepository.findAllByOrderByDateCreationDesc().stream()
+        .map(EntenteStageDto::fromView)
+        .toList();
+  }
+
+  @Transactional(readOnly = true)
+  public String getAllEntentesETag() {
+    return ententeViewRepository.stampAll().toETag("ententes");
+  }
+
+  @SingleFlight
+  @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+  public EntentesDto getAllEntentesSnapshot() {
+    String etag = ententeViewRepository.stampAll().toETag("ententes");
+    List<EntenteStageDto> ententes =
+        ententeViewRepository.findAllByOrderByDateCreationDesc().stream()
+            .map(EntenteStageDto::fromView)
+            .toList();
+    return new EntentesDto(ententes, etag);
   }
 
   public EntenteStageDto getEntenteById(Long id) {
@@ -150,19 +175,35 @@ public class EntenteStageService {
     return EntenteStageDto.fromEntity(entente);
   }
 
-  public byte[] telechargerPDF(Long ententeId) {
+  public Optional<byte[]> findEntenteJson(Long id) {
+    return ententeRepository
+        .findAggregateVersionById(id)
+        .map(
+            version ->
+                serializedResponseCache.get("entente", id, version, () -> getEntenteById(id)));
+  }
+
+  public EntentePdfJobDto getStatutGenerationPDF(Long ententeId) {
+    return ententePdfJobService.getStatus(ententeId);
+  }
+
+  public Resource telechargerPDF(Long ententeId) throws IOException {
 
     EntenteStage entente =
         ententeRepository
             .findById(ententeId)
             .orElseThrow(() -> new EntityNotFoundException("Entente non trouvée"));
 
+    if (entente.getStatut() == EntenteStage.StatutEntente.EN_GENERATION) {
+      throw new IllegalStateException("Le PDF de cette entente est en cours de génération.");
+    }
+
     if (entente.getCheminDocumentPDF() == null || entente.getCheminDocumentPDF().isBlank()) {
       throw new IllegalStateException(
           "Aucun PDF généré pour cette entente. Veuillez d'abord valider l'entente.");
     }
 
-    return pdfGeneratorService.lireFichierPDF(entente.getCheminDocumentPDF());
+    return documentStore.get(entente.getCheminDocumentPDF());
   }
 
   @Transactional
@@ -179,10 +220,12 @@ public class EntenteStageService {
     }
 
     if (entente.getCheminDocumentPDF() != null) {
-      pdfGeneratorService.supprimerFichierPDF(entente.getCheminDocumentPDF());
+      fileCleanupService.schedule(entente.getCheminDocumentPDF());
     }
 
+    ententePdfJobService.discard(ententeId);
     ententeRepository.delete(entente);
+    eventPublisher.publishEvent(new EntenteDeletedEvent(ententeId));
   }
 
   private void validateEntente(EntenteStageDto dto) {
@@ -245,6 +288,7 @@ public class EntenteStageService {
     }
 
     EntenteStage saved = ententeRepository.save(entente);
+    eventPublisher.publishEvent(new EntenteChangedEvent(saved.getId()));
     return EntenteStageDto.fromEntity(saved);
   }
 
@@ -277,6 +321,7 @@ public class EntenteStageService {
     }
 
     EntenteStage saved = ententeRepository.save(entente);
+    eventPublisher.publishEvent(new EntenteChangedEvent(saved.getId()));
     return EntenteStageDto.fromEntity(saved);
   }
 
@@ -319,6 +364,7 @@ public class EntenteStageService {
     entente.setStatut(EntenteStage.StatutEntente.VALIDEE);
 
     EntenteStage saved = ententeRepository.save(entente);
+    eventPublisher.publishEvent(new EntenteChangedEvent(saved.getId()));
     return EntenteStageDto.fromEntity(saved);
   }
 
@@ -327,14 +373,8 @@ public class EntenteStageService {
       return List.of();
     }
 
-    return ententeRepository.findAll().stream()
-        .filter(
-            entente -> {
-              Long employeurEntenteId =
-                  entente.getCandidature().getInternshipOffer().getEmployeurId();
-              return employeurEntenteId != null && employeurEntenteId.equals(employeurId);
-            })
-        .map(EntenteStageDto::fromEntity)
+    return ententeViewRepository.findAllByEmployeurIdOrderByDateCreationDesc(employeurId).stream()
+        .map(EntenteStageDto::fromView)
         .collect(Collectors.toList());
   }
 
@@ -343,13 +383,8 @@ public class EntenteStageService {
       return List.of();
     }
 
-    return ententeRepository.findAll().stream()
-        .filter(
-            entente -> {
-              Long studentEntenteId = entente.getCandidature().getStudent().getId();
-              return studentEntenteId != null && studentEntenteId.equals(studentId);
-            })
-        .map(EntenteStageDto::fromEntity)
+    return ententeViewRepository.findAllByStudentIdOrderByDateCreationDesc(studentId).stream()
+        .map(EntenteStageDto::fromView)
         .collect(Collectors.toList());
   }
 
@@ -388,6 +423,7 @@ public class EntenteStageService {
     entente.setDateModification(LocalDateTime.now());
 
     EntenteStage saved = ententeRepository.save(entente);
+    eventPublisher.publishEvent(new EntenteChangedEvent(saved.getId()));
     return EntenteStageDto.fromEntity(saved);
   }
 
@@ -403,48 +439,30 @@ public class EntenteStageService {
       Boolean asc) {
     if (profId == null || profId <= 0) return List.of();
 
-    List<EntenteStage> ententes = ententeRepository.findAllByProf_Id(profId);
     LocalDate today = LocalDate.now();
 
-    return ententes.stream()
+    return ententeViewRepository.findAllByProfId(profId).stream()
         .map(
-            e -> {
-              var cand = e.getCandidature();
-              var student = (cand != null) ? cand.getStudent() : null;
-              var offer = (cand != null) ? cand.getInternshipOffer() : null;
-
-              LocalDate start =
-                  (e.getStartDate() != null)
-                      ? e.getStartDate()
-                      : (offer != null ? offer.getStartDate() : null);
-
-              int weeks =
-                  (e.getDurationInWeeks() > 0)
-                      ? e.getDurationInWeeks()
-                      : (offer != null ? offer.getDurationInWeeks() : 0);
-
-              LocalDate end = start != null && weeks > 0 ? start.plusWeeks(weeks) : null;
-
-              String stageStatus;
-              if (start == null || end == null) {
-                stageStatus = "EN_COURS";
-              } else {
-                stageStatus = (today.isAfter(end)) ? "TERMINE" : "EN_COURS";
-              }
-
-              String evaluationStatus = getEvaluationStatus(e, student, offer);
+            v -> {
+              String stageStatus =
+                  v.getStartDate() == null || v.getEndDate() == null
+                      ? "EN_COURS"
+                      : (today.isAfter(v.getEndDate()) ? "TERMINE" : "EN_COURS");
 
               return ProfStudentItemDto.builder()
-                  .ententeId(e.getId())
-                  .studentId(student != null ? student.getId() : null)
-                  .studentFirstName(student != null ? student.getFirstName() : null)
-                  .studentLastName(student != null ? student.getLastName() : null)
-                  .companyName(offer != null ? offer.getCompanyName() : null)
-                  .offerTitle(offer != null ? offer.getDescription() : null)
-                  .startDate(start)
-                  .endDate(end)
+                  .ententeId(v.getEntenteId())
+                  .studentId(v.getStudentId())
+                  .studentFirstName(v.getStudentFirstName())
+                  .studentLastName(v.getStudentLastName())
+                  .companyName(v.getCompanyName())
+                  .offerTitle(v.getOfferDescription())
+                  .startDate(v.getStartDate())
+                  .endDate(v.getEndDate())
                   .stageStatus(stageStatus)
-                  .evaluationStatus(evaluationStatus)
+                  .evaluationStatus(
+                      v.getEvaluationStatus() != null
+                          ? v.getEvaluationStatus().name()
+                          : EvaluationStatus.A_FAIRE.name())
                   .build();
             })
         .filter(
@@ -521,24 +539,4 @@ public class EntenteStageService {
             studentId, offerId);
     return ententeStage.isPresent() && ententeStage.get().getProf() != null;
   }
-
-  private String getEvaluationStatus(
-      EntenteStage ententeState, Student student, InternshipOffer offer) {
-    if (student == null || offer == null) return EvaluationStatus.A_FAIRE.name();
-
-    Optional<EvaluationStagiaire> evaluationOpt =
-        evaluationStagiaireRepository.findByStudentIdAndInternshipOfferId(
-            student.getId(), offer.getId());
-
-    if (evaluationOpt.isPresent()) {
-      EvaluationStagiaire evaluation = evaluationOpt.get();
-
-      if (evaluation.isSubmittedByEmployer() && evaluation.isSubmittedByProfessor()) {
-        return EvaluationStatus.TERMINEE.name();
-      } else if (evaluation.isSubmittedByEmployer() || evaluation.isSubmittedByProfessor()) {
-        return EvaluationStatus.EN_COURS.name();
-      }
-    }
-    return EvaluationStatus.A_FAIRE.name();
-  }
 }
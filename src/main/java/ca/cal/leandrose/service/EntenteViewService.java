@@ -0,0 +1,104 @@
+package ca.cal.leandrose.service;
+
+import ca.cal.leandrose.model.CounterCell;
+import ca.cal.leandrose.model.EntenteStage;
+import ca.cal.leandrose.model.EntenteView;
+import ca.cal.leandrose.model.EvaluationStagiaire;
+import ca.cal.leandrose.repository.EntenteStageRepository;
+import ca.cal.leandrose.repository.EntenteViewRepository;
+import ca.cal.leandrose.repository.EvaluationStagiaireRepository;
+import ca.cal.leandrose.service.event.EntenteChangedEvent;
+import ca.cal.leandrose.service.event.EntenteDeletedEvent;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EntenteViewService {
+
+  private static final String LOCK_SQL = "select pg_advisory_xact_lock(hashtext('entente_view'))";
+  private static final String TRY_LOCK_SQL =
+      "select pg_try_advisory_xact_lock(hashtext('entente_view'))";
+
+  private final EntenteViewRepository ententeViewRepository;
+  private final EntenteStageRepository ententeStageRepository;
+  private final EvaluationStagiaireRepository evaluationStagiaireRepository;
+  private final StatusCounterService statusCounterService;
+  private final JdbcTemplate jdbcTemplate;
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onEntenteChanged(EntenteChangedEvent event) {
+    ententeStageRepository.findById(event.ententeId()).ifPresent(this::project);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onEntenteDeleted(EntenteDeletedEvent event) {
+    ententeViewRepository
+        .findById(event.ententeId())
+        .ifPresent(
+            view -> {
+              ententeViewRepository.delete(view);
+              statusCounterService.apply(CounterCell.cellsOf(view), Set.of());
+            });
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void rebuildOnStartup() {
+    if (ententeViewRepository.count() > 0 || ententeStageRepository.count() == 0) {
+      return;
+    }
+    if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class))) {
+      log.info("Vue des ententes déjà en reconstruction sur un autre noeud");
+      return;
+    }
+    if (ententeViewRepository.count() == 0) {
+      rebuildLocked();
+    }
+  }
+
+  @Transactional
+  public int rebuild() {
+    jdbcTemplate.queryForList(LOCK_SQL);
+    return rebuildLocked();
+  }
+
+  private int rebuildLocked() {
+    ententeViewRepository.deleteAllInBatch();
+    List<EntenteView> views =
+        ententeStageRepository.findAll().stream().map(this::toView).toList();
+    ententeViewRepository.saveAll(views);
+    statusCounterService.reconcile();
+    log.info("Vue des ententes reconstruite: {} lignes", views.size());
+    return views.size();
+  }
+
+  private void project(EntenteStage entente) {
+    EntenteView view = toView(entente);
+    Optional<EntenteView> previous = ententeViewRepository.findById(view.getEntenteId());
+    previous.ifPresent(existing -> view.setVersion(existing.getVersion()));
+    Set<CounterCell> before = previous.map(CounterCell::cellsOf).orElse(Set.of());
+    ententeViewRepository.save(view);
+    statusCounterService.apply(before, CounterCell.cellsOf(view));
+  }
+
+  private EntenteView toView(EntenteStage entente) {
+    EvaluationStagiaire evaluation =
+        evaluationStagiaireRepository
+            .findByStudentIdAndInternshipOfferId(
+                entente.getStudent().getId(), entente.getOffer().getId())
+            .orElse(null);
+    return EntenteView.from(entente, evaluation);
+  }
+}
@@ -3,6 +3,7 @@ package ca.cal.leandrose.service;
 
 import ca.cal.leandrose.model.*;
 import ca.cal.leandrose.repository.*;
+import ca.cal.leandrose.security.exception.ForbiddenAccessException;
 import ca.cal.leandrose.service.dto.ProfDto;
 import ca.cal.leandrose.service.dto.evaluation.*;
 import ca.cal.leandrose.service.dto.evaluation.employer.EvaluationEmployerFormData;
@@ -11,11 +12,14 @@ import ca.cal.leandrose.service.dto.evaluation.prof.EntrepriseTeacherDto;
 import ca.cal.leandrose.service.dto.evaluation.prof.EvaluationProfFormDto;
 import ca.cal.leandrose.service.dto.evaluation.prof.EvaluationTeacherInfoDto;
 import ca.cal.leandrose.service.dto.evaluation.prof.StudentTeacherDto;
+import ca.cal.leandrose.service.event.EntenteChangedEvent;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
@@ -29,6 +33,8 @@ public class EvaluationStagiaireService {
     private final EntenteStageRepository ententeStageRepository;
     private final ProfRepository profRepository;
     private final PDFGeneratorService pdfGeneratorService;
+    private final EntenteViewRepository ententeViewRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EvaluationStagiaireDto createEvaluationByEmployer(Long employerId, Long studentId, Long internshipId){
         return createEvaluationInternal(CreatorTypeEvaluation.EMPLOYER, employerId, studentId, internshipId);
@@ -110,6 +116,7 @@ public class EvaluationStagiaireService {
                 .build();
 
         evaluationStagiaireRepository.save(evaluation);
+        eventPublisher.publishEvent(new EntenteChangedEvent(stage.getId()));
 
         return mapToDto(evaluation);
     }
@@ -187,9 +194,8 @@ public class EvaluationStagiaireService {
         return new EvaluationTeacherInfoDto(entrepriseTeacherDto, studentTeacherDto, profDto);
     }
 
-    public EvaluationStagiaireDto generateEvaluationPdfByEmployer(Long evaluationId, EvaluationEmployerFormData formData, String langage){
-        EvaluationStagiaire evaluation = evaluationStagiaireRepository.findById(evaluationId)
-                .orElseThrow(() -> new RuntimeException("Évaluation non trouvée"));
+    public EvaluationStagiaireDto generateEvaluationPdfByEmployer(Long evaluationId, Long employeurId, EvaluationEmployerFormData formData, String langage){
+        EvaluationStagiaire evaluation = findOwnedEvaluation(evaluationId, CreatorTypeEvaluation.EMPLOYER, employeurId);
 
         Prof professeur = getProfesseurFromEntenteStage(evaluation);
         String pdfPath = pdfGeneratorService.generatedEvaluationByEmployer(evaluation, formData, langage,
@@ -198,11 +204,11 @@ public class EvaluationStagiaireService {
         evaluation.setEmployerPdfFilePath(pdfPath);
         evaluation.setSubmittedByEmployer(true);
         EvaluationStagiaire savedEvaluation = evaluationStagiaireRepository.save(evaluation);
+        publishEntenteChanged(evaluation);
         return mapToDto(savedEvaluation);
     }
-    public EvaluationStagiaireDto generateEvaluationByTeacher(Long evaluationId, EvaluationProfFormDto formData, String langage){
-        EvaluationStagiaire evaluation = evaluationStagiaireRepository.findById(evaluationId)
-                .orElseThrow(() -> new RuntimeException("Évaluation non trouvée"));
+    public EvaluationStagiaireDto generateEvaluationByTeacher(Long evaluationId, Long profId, EvaluationProfFormDto formData, String langage){
+        EvaluationStagiaire evaluation = findOwnedEvaluation(evaluationId, CreatorTypeEvaluation.PROF, profId);
         EvaluationTeacherInfoDto info = buildTeacherInfo(evaluation);
 
         String pdfPath = pdfGeneratorService.generatedEvaluationByTeacher(evaluation, formData, info, langage);
@@ -210,9 +216,26 @@ public class EvaluationStagiaireService {
         evaluation.setSubmittedByProfessor(true);
         evaluation.setStatus(EvaluationStatus.TERMINEE);
         EvaluationStagiaire savedEvaluation = evaluationStagiaireRepository.save(evaluation);
+        publishEntenteChanged(evaluation);
         return mapToDto(savedEvaluation);
     }
 
+    private EvaluationStagiaire findOwnedEvaluation(Long evaluationId, CreatorTypeEvaluation actor, Long actorId){
+        Optional<EvaluationStagiaire> evaluation = (actor == CreatorTypeEvaluation.EMPLOYER)
+                ? evaluationStagiaireRepository.findByIdAndEmployeurId(evaluationId, actorId)
+                : evaluationStagiaireRepository.findByIdAndProfesseurId(evaluationId, actorId);
+
+        return evaluation.orElseThrow(() -> evaluationStagiaireRepository.existsById(evaluationId)
+                ? new ForbiddenAccessException("Accès non autorisé")
+                : new RuntimeException("Évaluation non trouvée"));
+    }
+
+    private void publishEntenteChanged(EvaluationStagiaire evaluation) {
+        if (evaluation.getEntenteStage() != null) {
+            eventPublisher.publishEvent(new EntenteChangedEvent(evaluation.getEntenteStage().getId()));
+        }
+    }
+
     private Prof getProfesseurFromEntenteStage(EvaluationStagiaire evaluation){
         Optional<EntenteStage> ententeStage = ententeStageRepository
                 .findByCandidature_Student_IdAndCandidature_InternshipOffer_Id(
@@ -242,9 +265,8 @@ public class EvaluationStagiaireService {
                 .build();
     }
 
-    public byte[] getEvaluationPdf(Long evaluationId, CreatorTypeEvaluation actor){
-        EvaluationStagiaire evaluation = evaluationStagiaireRepository.findById(evaluationId)
-                .orElseThrow(() -> new RuntimeException("Évaluation non trouvée"));
+    public Resource getEvaluationPdf(Long evaluationId, CreatorTypeEvaluation actor, Long actorId){
+        EvaluationStagiaire evaluation = findOwnedEvaluation(evaluationId, actor, actorId);
 
         String path = (actor == CreatorTypeEvaluation.EMPLOYER)
                 ? evaluation.getEmployerPdfFilePath():
@@ -254,7 +276,7 @@ public class EvaluationStagiaireService {
             throw new RuntimeException("PDF non généré pour cette évaluation");
         }
 
-        return pdfGeneratorService.lireFichierPDF(path);
+        return pdfGeneratorService.ouvrirFichierPDF(path);
     }
     public EvaluationStagiaireDto getEvaluationById(Long id){
         return evaluationStagiaireRepository.findById(id)
@@ -307,27 +329,18 @@ public class EvaluationStagiaireService {
     }
 
     public List<EligibleEvaluationDto> getEligibleEvaluations(CreatorTypeEvaluation creatorType, Long creatorId) {
-        List<EntenteStage> ententes = null;
+        List<EntenteView> ententes = List.of();
 
         if(creatorType == CreatorTypeEvaluation.EMPLOYER){
-            ententes = ententeStageRepository
-                    .findByCandidature_InternshipOffer_Employeur_IdAndStatut(
-                            creatorId, EntenteStage.StatutEntente.VALIDEE
-                    );
+            ententes = ententeViewRepository
+                    .findAllByEmployeurIdAndStatut(creatorId, EntenteStage.StatutEntente.VALIDEE);
         }
         if(creatorType == CreatorTypeEvaluation.PROF){
-            ententes = ententeStageRepository
-                    .findByProf_IdAndStatut(creatorId, EntenteStage.StatutEntente.VALIDEE);
+            ententes = ententeViewRepository
+                    .findAllByProfIdAndStatut(creatorId, EntenteStage.StatutEntente.VALIDEE);
         }
         return ententes.stream()
-                .map(entente -> {
-                    Optional<EvaluationStagiaire> existingEval =
-                            evaluationStagiaireRepository.findByStudentIdAndInternshipOfferId(
-                                    entente.getStudent().getId(),
-                                    entente.getCandidature().getInternshipOffer().getId()
-                            );
-                    return mapToEligibleEvaluationDto(entente, existingEval.orElse(null));
-                })
+                .map(this::mapToEligibleEvaluationDto)
                 .collect(Collectors.toList());
     }
 
@@ -353,26 +366,23 @@ public class EvaluationStagiaireService {
                 );
     }
 
-    private EligibleEvaluationDto mapToEligibleEvaluationDto(EntenteStage agreement, EvaluationStagiaire evaluation) {
-        Candidature candidature = agreement.getCandidature();
-        Student student = candidature.getStudent();
-        InternshipOffer offer = candidature.getInternshipOffer();
-        boolean isSubmitted = evaluation != null
-                && (evaluation.isSubmittedByEmployer() || evaluation.isSubmittedByProfessor());
+    private EligibleEvaluationDto mapToEligibleEvaluationDto(EntenteView agreement) {
+        boolean isSubmitted = agreement.isEvaluationSubmittedByEmployer()
+                || agreement.isEvaluationSubmittedByProfessor();
         return new EligibleEvaluationDto(
-                agreement.getId(),
-                student.getId(),
-                offer.getId(),
-                student.getFirstName(),
-                student.getLastName(),
-                student.getProgram(),
-                offer.getDescription(),
-                offer.getCompanyName(),
-                offer.getSchoolTerm(),
-                offer.getStartDate(),
-                offer.getStartDate().plusWeeks(offer.getDurationInWeeks()),
-                evaluation != null,
-                evaluation != null ? evaluation.getId() : null,
+                agreement.getEntenteId(),
+                agreement.getStudentId(),
+                agreement.getOfferId(),
+                agreement.getStudentFirstName(),
+                agreement.getStudentLastName(),
+                agreement.getStudentProgram(),
+                agreement.getOfferDescription(),
+                agreement.getCompanyName(),
+                agreement.getSchoolTerm(),
+                agreement.getStartDate(),
+                agreement.getEndDate(),
+                agreement.getEvaluationId() != null,
+                agreement.getEvaluationId(),
                 isSubmitted
         );
     }
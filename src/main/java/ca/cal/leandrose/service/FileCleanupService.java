@@ -0,0 +1,208 @@
+package ca.cal.leandrose.service;
+
+import ca.cal.leandrose.model.FileCleanupTask;
+import ca.cal.leandrose.repository.FileCleanupTaskRepository;
+import ca.cal.leandrose.service.event.FileCleanupScheduledEvent;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.DocumentStore;
+import ca.cal.leandrose.service.storage.StoredDocument;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@Slf4j
+public class FileCleanupService {
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+  private static final int MAX_BACKOFF_SHIFT = 10;
+  private static final Duration CLAIM_LEASE = Duration.ofMinutes(5);
+
+  private final FileCleanupTaskRepository taskRepository;
+  private final BlobMaintenanceService blobMaintenanceService;
+  private final BlobStore blobStore;
+  private final DocumentStore documentStore;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int maxAttempts;
+  private final Duration retryDelay;
+  private final Duration gracePeriod;
+  private final int batchSize;
+  private final ExecutorService worker =
+      Executors.newSingleThreadExecutor(
+          Thread.ofPlatform().daemon().name("file-cleanup").factory());
+  private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+  public FileCleanupService(
+      FileCleanupTaskRepository taskRepository,
+      BlobMaintenanceService blobMaintenanceService,
+      BlobStore blobStore,
+      DocumentStore documentStore,
+      ApplicationEventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.storage.cleanup.max-attempts:5}") int maxAttempts,
+      @Value("${app.storage.cleanup.retry-delay:PT30S}") Duration retryDelay,
+      @Value("${app.storage.blobs.gc-grace-period:PT1H}") Duration gracePeriod,
+      @Value("${app.storage.cleanup.batch-size:50}") int batchSize) {
+    this.taskRepository = taskRepository;
+    this.blobMaintenanceService = blobMaintenanceService;
+    this.blobStore = blobStore;
+    this.documentStore = documentStore;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.retryDelay = retryDelay;
+    this.gracePeriod = gracePeriod;
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  @Transactional
+  public void schedule(String reference) {
+    if (reference == null || reference.isBlank()) {
+      return;
+    }
+    Instant now = Instant.now();
+    taskRepository.save(
+        FileCleanupTask.builder()
+            .reference(reference)
+            .attempts(0)
+            .nextAttemptAt(now)
+            .createdAt(now)
+            .build());
+    eventPublisher.publishEvent(new FileCleanupScheduledEvent(reference));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onCleanupScheduled(FileCleanupScheduledEvent event) {
+    requestDrain();
+  }
+
+  @Scheduled(fixedDelayString = "${app.storage.cleanup.poll-interval:PT1M}")
+  public void requestDrain() {
+    if (!drainQueued.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      worker.execute(
+          () -> {
+            drainQueued.set(false);
+            try {
+              drain();
+            } catch (RuntimeException e) {
+              log.warn("Traitement de la file de nettoyage interrompu: {}", e.getMessage());
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      drainQueued.set(false);
+    }
+  }
+
+  public int drain() {
+    int processed = 0;
+    while (true) {
+      Instant now = Instant.now();
+      List<FileCleanupTask> claimed = transactionTemplate.execute(status -> claimDue(now));
+      if (claimed == null || claimed.isEmpty()) {
+        return processed;
+      }
+      processDueTasks(claimed, now);
+      processed += claimed.size();
+      if (claimed.size() < batchSize) {
+        return processed;
+      }
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    worker.shutdownNow();
+  }
+
+  private List<FileCleanupTask> claimDue(Instant now) {
+    List<FileCleanupTask> due = taskRepository.lockDue(now, batchSize);
+    due.forEach(task -> task.setNextAttemptAt(now.plus(CLAIM_LEASE)));
+    return due;
+  }
+
+  private void processDueTasks(List<FileCleanupTask> claimed, Instant now) {
+    List<FileCleanupTask> done = new ArrayList<>();
+    List<FileCleanupTask> pending = new ArrayList<>();
+    for (FileCleanupTask task : claimed) {
+      try {
+        Optional<Instant> deferredUntil = execute(task.getReference(), now);
+        if (deferredUntil.isPresent()) {
+          task.setNextAttemptAt(deferredUntil.get());
+          pending.add(task);
+        } else {
+          done.add(task);
+        }
+      } catch (IOException | IllegalArgumentException e) {
+        if (retryLater(task, e, now)) {
+          pending.add(task);
+        } else {
+          done.add(task);
+        }
+      }
+    }
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          done.forEach(taskRepository::delete);
+          pending.forEach(taskRepository::save);
+        });
+  }
+
+  private Optional<Instant> execute(String reference, Instant now) throws IOException {
+    if (!BlobStore.isKey(reference)) {
+      if (!blobMaintenanceService.isReferenced(reference)) {
+        blobStore.release(reference);
+      }
+      return Optional.empty();
+    }
+    Optional<StoredDocument> stored = documentStore.stat(reference);
+    if (stored.isEmpty() || blobMaintenanceService.isReferenced(reference)) {
+      return Optional.empty();
+    }
+    Instant releasable = stored.get().lastModified().plus(gracePeriod);
+    if (releasable.isAfter(now)) {
+      return Optional.of(releasable);
+    }
+    blobStore.delete(reference);
+    return Optional.empty();
+  }
+
+  private boolean retryLater(FileCleanupTask task, Exception error, Instant now) {
+    int attempts = task.getAttempts() + 1;
+    if (attempts >= maxAttempts) {
+      log.error(
+          "Suppression de {} abandonnée après {} tentative(s): {}",
+          task.getReference(),
+          attempts,
+          error.getMessage());
+      return false;
+    }
+    String message = String.valueOf(error.getMessage());
+    task.setAttempts(attempts);
+    task.setLastError(message.substring(0, Math.min(message.length(), MAX_ERROR_LENGTH)));
+    task.setNextAttemptAt(
+        now.plus(retryDelay.multipliedBy(1L << Math.min(attempts - 1, MAX_BACKOFF_SHIFT))));
+    return true;
+  }
+}
@@ -1,5 +1,6 @@
 package ca.cal.leandrose.service;
 
+import ca.cal.leandrose.model.CounterCell;
 import ca.cal.leandrose.model.Cv;
 import ca.cal.leandrose.model.Gestionnaire;
 import ca.cal.leandrose.model.InternshipOffer;
@@ -7,12 +8,17 @@ import ca.cal.leandrose.model.Program;
 import ca.cal.leandrose.repository.CvRepository;
 import ca.cal.leandrose.repository.GestionnaireRepository;
 import ca.cal.leandrose.repository.InternshipOfferRepository;
+import ca.cal.leandrose.service.cache.SingleFlight;
 import ca.cal.leandrose.service.dto.*;
+import ca.cal.leandrose.service.event.OfferStatusChangedEvent;
+import ca.cal.leandrose.service.event.StatusCountersChangedEvent;
 import ca.cal.leandrose.service.mapper.InternshipOfferMapper;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,25 +26,40 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 public class GestionnaireService {
+
+  private static final String PROGRAMS_ETAG =
+      "\"programs-"
+          + Integer.toHexString(
+              Arrays.hashCode(Arrays.stream(Program.values()).map(Program::name).toArray()))
+          + "\"";
+
   private final CvRepository cvRepository;
   private final InternshipOfferRepository internshipOfferRepository;
   private final GestionnaireRepository gestionnaireRepository;
   private final PasswordEncoder passwordEncoder;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional
   public CvDto approveCv(Long cvId) {
     Cv cv = cvRepository.findById(cvId).orElseThrow(() -> new RuntimeException("Cv non trouvé"));
+    if (cv.getStatus() == Cv.Status.PROCESSING || cv.getStatus() == Cv.Status.QUARANTINED) {
+      throw new IllegalStateException("Ce CV n'a pas passé l'inspection du document");
+    }
+    Set<CounterCell> before = CounterCell.cellsOf(cv);
     cv.setStatus(Cv.Status.APPROVED);
     Cv saved = cvRepository.save(cv);
+    eventPublisher.publishEvent(new StatusCountersChangedEvent(before, CounterCell.cellsOf(cv)));
     return CvDto.create(saved);
   }
 
   @Transactional
   public CvDto rejectCv(Long cvId, String comment) {
     Cv cv = cvRepository.findById(cvId).orElseThrow(() -> new RuntimeException("Cv non trouvé"));
+    Set<CounterCell> before = CounterCell.cellsOf(cv);
     cv.setStatus(Cv.Status.REJECTED);
     cv.setRejectionComment(comment);
     Cv saved = cvRepository.save(cv);
+    eventPublisher.publishEvent(new StatusCountersChangedEvent(before, CounterCell.cellsOf(cv)));
     return CvDto.create(saved);
   }
 
@@ -57,10 +78,13 @@ public class GestionnaireService {
       throw new IllegalStateException("Cette offre ne peut pas être approuvée");
     }
 
+    Set<CounterCell> before = CounterCell.cellsOf(offer);
     offer.setStatus(InternshipOffer.Status.PUBLISHED);
     offer.setValidationDate(LocalDate.now());
 
     internshipOfferRepository.save(offer);
+    eventPublisher.publishEvent(new StatusCountersChangedEvent(before, CounterCell.cellsOf(offer)));
+    eventPublisher.publishEvent(OfferStatusChangedEvent.of(offer));
     return InternshipOfferMapper.toDto(offer);
   }
 
@@ -79,14 +103,17 @@ public class GestionnaireService {
       throw new IllegalStateException("Cette offre ne peut pas être rejetée");
     }
 
+    Set<CounterCell> before = CounterCell.cellsOf(offer);
     offer.setStatus(InternshipOffer.Status.REJECTED);
     offer.setRejectionComment(rejectionComment);
     offer.setValidationDate(LocalDate.now());
 
     internshipOfferRepository.save(offer);
+    eventPublisher.publishEvent(new StatusCountersChangedEvent(before, CounterCell.cellsOf(offer)));
     return InternshipOfferMapper.toDto(offer);
   }
 
+  @SingleFlight
   public List<InternshipOfferDto> getPendingOffers() {
     return internshipOfferRepository
         .findByStatusOrderByStartDateDesc(InternshipOffer.Status.PENDING_VALIDATION)
@@ -131,4 +158,8 @@ public class GestionnaireService {
   public List<ProgramDto> getAllPrograms() {
     return Arrays.stream(Program.values()).map(ProgramDto::fromEnum).toList();
   }
+
+  public String getProgramsETag() {
+    return PROGRAMS_ETAG;
+  }
 }
@@ -2,25 +2,34 @@ package ca.cal.leandrose.service;
 
 import static ca.cal.leandrose.service.mapper.InternshipOfferMapper.toDto;
 
+import ca.cal.leandrose.model.CounterCell;
 import ca.cal.leandrose.model.Employeur;
 import ca.cal.leandrose.model.InternshipOffer;
 import ca.cal.leandrose.model.Program;
 import ca.cal.leandrose.model.SchoolTerm;
 import ca.cal.leandrose.repository.EmployeurRepository;
 import ca.cal.leandrose.repository.InternshipOfferRepository;
+import ca.cal.leandrose.service.cache.SerializedResponseCache;
 import ca.cal.leandrose.service.dto.EmployeurDto;
 import ca.cal.leandrose.service.dto.InternshipOfferDto;
+import ca.cal.leandrose.service.dto.PublishedOffersDto;
+import ca.cal.leandrose.service.event.OfferStatusChangedEvent;
+import ca.cal.leandrose.service.event.PdfInspectionRequestedEvent;
+import ca.cal.leandrose.service.event.StatusCountersChangedEvent;
 import ca.cal.leandrose.service.mapper.InternshipOfferMapper;
-import com.itextpdf.text.pdf.PdfReader;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.DocumentStore;
+import ca.cal.leandrose.service.storage.SpooledUpload;
+import ca.cal.leandrose.service.storage.UploadSpooler;
 import jakarta.persistence.EntityNotFoundException;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -29,9 +38,14 @@ import org.springframework.web.multipart.MultipartFile;
 @RequiredArgsConstructor
 public class InternshipOfferService {
 
-  private static final String BASE_UPLOAD_DIR = "uploads/offers/";
   private final InternshipOfferRepository internshipOfferRepository;
   private final EmployeurRepository employeurRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final OfferCatalogService offerCatalogService;
+  private final SerializedResponseCache serializedResponseCache;
+  private final DocumentStore documentStore;
+  private final UploadSpooler uploadSpooler;
+  private final BlobStore blobStore;
 
   @Transactional
   public InternshipOfferDto createOfferDto(
@@ -44,28 +58,26 @@ public class InternshipOfferService {
       MultipartFile pdfFile)
       throws IOException {
 
-    try {
-      PdfReader reader = new PdfReader(pdfFile.getBytes());
-      if (reader.getNumberOfPages() == 0) {
-        throw new IllegalArgumentException("PDF invalide: aucune page trouvée");
-      }
-      reader.close();
-    } catch (Exception e) {
-      throw new IllegalArgumentException("PDF invalide", e);
-    }
-
-    Path employerDir = Paths.get(BASE_UPLOAD_DIR, String.valueOf(employeur.getId()));
-    if (!Files.exists(employerDir)) {
-      Files.createDirectories(employerDir);
+    try (SpooledUpload upload = uploadSpooler.spool(pdfFile, blobStore.getSpoolDirectory())) {
+      return createOfferDto(
+          description, startDate, durationInWeeks, address, remuneration, employeur, upload);
     }
+  }
 
-    String originalName = pdfFile.getOriginalFilename();
-    String validFileName = (originalName != null ? originalName.replaceAll("\\s+", "_") : "offer");
-    long timestamp = System.currentTimeMillis();
-    String fileName = validFileName + "_" + timestamp + ".pdf";
+  @Transactional
+  public InternshipOfferDto createOfferDto(
+      String description,
+      LocalDate startDate,
+      int durationInWeeks,
+      String address,
+      Float remuneration,
+      EmployeurDto employeur,
+      SpooledUpload upload)
+      throws IOException {
+    uploadSpooler.checkPdfEnvelope(upload);
 
-    Path filePath = employerDir.resolve(fileName);
-    Files.copy(pdfFile.getInputStream(), filePath);
+    String pdfKey = blobStore.store(upload);
+    String pdfSha256 = upload.getSha256();
 
     Employeur employeurEntity =
         employeurRepository
@@ -82,11 +94,14 @@ public class InternshipOfferService {
             .remuneration(remuneration != null ? remuneration : 0f)
             .employeur(employeurEntity)
             .schoolTerm(SchoolTerm.getNextTerm())
-            .pdfPath(filePath.toString())
-            .status(InternshipOffer.Status.PENDING_VALIDATION)
+            .pdfPath(pdfKey)
+            .pdfSha256(pdfSha256)
+            .status(InternshipOffer.Status.PROCESSING)
             .build();
 
     InternshipOffer saved = internshipOfferRepository.save(offer);
+    eventPublisher.publishEvent(StatusCountersChangedEvent.created(CounterCell.cellsOf(saved)));
+    eventPublisher.publishEvent(PdfInspectionRequestedEvent.offer(saved.getId()));
 
     return toDto(saved);
   }
@@ -99,6 +114,12 @@ public class InternshipOfferService {
     return InternshipOfferMapper.toDto(offer);
   }
 
+  public Optional<byte[]> findPublishedOfferJson(Long id) {
+    return internshipOfferRepository
+        .findPublishedVersionById(id)
+        .map(version -> serializedResponseCache.get("offer", id, version, () -> getOffer(id)));
+  }
+
   public InternshipOfferDto getOfferDetails(Long id) {
     InternshipOffer offer =
         internshipOfferRepository
@@ -107,10 +128,9 @@ public class InternshipOfferService {
     return toDto(offer);
   }
 
-  public byte[] getOfferPdf(Long id) throws IOException {
+  public Resource getOfferPdf(Long id) throws IOException {
     InternshipOfferDto offer = getOffer(id);
-    Path path = Paths.get(offer.getPdfPath());
-    return Files.readAllBytes(path);
+    return documentStore.get(offer.getPdfPath());
   }
 
   public List<InternshipOffer> getOffersByEmployeurId(Long employeurId) {
@@ -118,20 +138,27 @@ public class InternshipOfferService {
   }
 
   public List<InternshipOfferDto> getPublishedOffersForStudents(String program, String schoolTerm) {
-    if (Arrays.stream(Program.values()).noneMatch(p -> p.getTranslationKey().equals(program))) {
+    if (!Program.isValidTranslationKey(program)) {
+      throw new IllegalArgumentException("Invalid program: " + program);
+    }
+
+    return offerCatalogService.getPublishedOffers(program, parseSchoolTerm(schoolTerm));
+  }
+
+  public String getPublishedOffersETag(String program, String schoolTerm) {
+    if (!Program.isValidTranslationKey(program)) {
       throw new IllegalArgumentException("Invalid program: " + program);
     }
 
-    SchoolTerm term = parseSchoolTerm(schoolTerm);
+    return offerCatalogService.getETag(program, parseSchoolTerm(schoolTerm));
+  }
+
+  public PublishedOffersDto getPublishedOffersSnapshot(String program, String schoolTerm) {
+    if (!Program.isValidTranslationKey(program)) {
+      throw new IllegalArgumentException("Invalid program: " + program);
+    }
 
-    return internshipOfferRepository.findPublishedByProgram(program).stream()
-        .filter(
-            offer ->
-                offer.getSchoolTerm() != null
-                    && offer.getSchoolTerm().getSeason() == term.getSeason()
-                    && offer.getSchoolTerm().getYear() == term.getYear())
-        .map(InternshipOfferMapper::toDto)
-        .toList();
+    return offerCatalogService.getSnapshot(program, parseSchoolTerm(schoolTerm));
   }
 
   private SchoolTerm parseSchoolTerm(String termString) {
@@ -172,6 +199,7 @@ public class InternshipOfferService {
       throw new RuntimeException("Vous n'êtes pas autorisé à modifier cette offre");
     }
 
+    Set<CounterCell> before = CounterCell.cellsOf(offer);
     if (enable) {
       if (offer.getStartDate().isBefore(LocalDate.now())) {
         throw new RuntimeException(
@@ -182,6 +210,8 @@ public class InternshipOfferService {
       offer.setStatus(InternshipOffer.Status.DISABLED);
     }
     InternshipOffer saved = internshipOfferRepository.save(offer);
+    eventPublisher.publishEvent(new StatusCountersChangedEvent(before, CounterCell.cellsOf(saved)));
+    eventPublisher.publishEvent(OfferStatusChangedEvent.of(saved));
     return InternshipOfferMapper.toDto(saved);
   }
 }
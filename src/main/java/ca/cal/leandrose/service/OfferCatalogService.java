@@ -0,0 +1,106 @@
+package ca.cal.leandrose.service;
+
+import ca.cal.leandrose.model.SchoolTerm;
+import ca.cal.leandrose.repository.InternshipOfferRepository;
+import ca.cal.leandrose.service.cache.BoundedCache;
+import ca.cal.leandrose.service.dto.CacheStatsDto;
+import ca.cal.leandrose.service.dto.InternshipOfferDto;
+import ca.cal.leandrose.service.dto.PublishedOffersDto;
+import ca.cal.leandrose.service.event.CacheInvalidationEvent;
+import ca.cal.leandrose.service.event.OfferStatusChangedEvent;
+import ca.cal.leandrose.service.mapper.InternshipOfferMapper;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class OfferCatalogService {
+
+  private static final int DEFAULT_MAX_ENTRIES = 256;
+
+  private final InternshipOfferRepository internshipOfferRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final BoundedCache<CatalogKey, PublishedOffersDto> catalog;
+
+  public OfferCatalogService(
+      InternshipOfferRepository internshipOfferRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.offers.catalog.max-entries:" + DEFAULT_MAX_ENTRIES + "}") int maxEntries,
+      @Value("${app.offers.catalog.ttl:PT5M}") Duration ttl) {
+    this.internshipOfferRepository = internshipOfferRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.catalog = new BoundedCache<>("offer-catalog", maxEntries, ttl);
+  }
+
+  public List<InternshipOfferDto> getPublishedOffers(String program, SchoolTerm term) {
+    return getSnapshot(program, term).getOffers();
+  }
+
+  public PublishedOffersDto getSnapshot(String program, SchoolTerm term) {
+    return catalog.get(new CatalogKey(program, term), this::load);
+  }
+
+  public String getETag(String program, SchoolTerm term) {
+    return stamp(new CatalogKey(program, term));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onOfferStatusChanged(OfferStatusChangedEvent event) {
+    if (event.program() == null || event.schoolTerm() == null) {
+      catalog.invalidateAll();
+      return;
+    }
+    catalog.invalidate(new CatalogKey(event.program(), event.schoolTerm()));
+  }
+
+  @EventListener
+  public void onCacheInvalidation(CacheInvalidationEvent event) {
+    if (event.concerns(CacheInvalidationEvent.OFFER)) {
+      catalog.invalidateAll();
+    }
+  }
+
+  public void invalidateAll() {
+    catalog.invalidateAll();
+  }
+
+  public CacheStatsDto getStats() {
+    return catalog.stats();
+  }
+
+  private PublishedOffersDto load(CatalogKey key) {
+    return transactionTemplate.execute(
+        status -> {
+          List<InternshipOfferDto> offers =
+              internshipOfferRepository
+                  .findPublishedByProgramAndTerm(
+                      key.program(), key.term().getSeason(), key.term().getYear())
+                  .stream()
+                  .map(InternshipOfferMapper::toDto)
+                  .toList();
+          return new PublishedOffersDto(offers, stamp(key));
+        });
+  }
+
+  private String stamp(CatalogKey key) {
+    return internshipOfferRepository
+        .stampPublishedByProgramAndTerm(
+            key.program(), key.term().getSeason(), key.term().getYear())
+        .toETag("offers-" + key.term().getSeason() + key.term().getYear());
+  }
+
+  private record CatalogKey(String program, SchoolTerm term) {
+    private CatalogKey {
+      Objects.requireNonNull(program);
+      Objects.requireNonNull(term);
+    }
+  }
+}
@@ -4,28 +4,46 @@ import ca.cal.leandrose.model.*;
 import ca.cal.leandrose.service.dto.evaluation.*;
 import ca.cal.leandrose.service.dto.evaluation.employer.EvaluationEmployerFormData;
 import ca.cal.leandrose.service.dto.evaluation.prof.*;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.DocumentStore;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.*;
 import com.itextpdf.text.pdf.draw.LineSeparator;
 import java.io.*;
-import java.lang.reflect.Method;
 import java.nio.file.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.List;
 import java.util.UUID;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class PDFGeneratorService {
     private static final String PDF_EXTENSION = ".pdf";
     private static final String DEFAULT_BASE_DIR = "uploads/ententes";
     private static final String DEFAULT_DIR_STAGES = "uploads/evalations";
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    static final Font BOLD_14 = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, BaseColor.BLACK);
+    static final Font BOLD_14_GRAY = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, BaseColor.GRAY);
+    static final Font BOLD_12 = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, BaseColor.BLACK);
+    static final Font BOLD_11 = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, BaseColor.BLACK);
+    static final Font BOLD_10 = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.BLACK);
+    static final Font BOLD_9 = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9, BaseColor.BLACK);
+    static final Font BOLD_9_GRAY = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9, BaseColor.GRAY);
+    static final Font ITALIC_11 = FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 11, BaseColor.BLACK);
+    static final Font NORMAL_10 = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.BLACK);
+    static final Font NORMAL_9 = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.BLACK);
+    static final Font NORMAL_9_DARK_GRAY = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.DARK_GRAY);
+    static final Font NORMAL_8_5_DARK_GRAY = FontFactory.getFont(FontFactory.HELVETICA, 8.5f, BaseColor.DARK_GRAY);
+    static final Font NORMAL_8_GRAY = FontFactory.getFont(FontFactory.HELVETICA, 8, BaseColor.GRAY);
+    private static final float CHECKBOX_SIZE = 10f;
 
     @Value("${app.entente.base-dir:" + DEFAULT_BASE_DIR + "}")
     private String baseUploadDir;
@@ -33,7 +51,16 @@ public class PDFGeneratorService {
     @Value("${app.evaluation.base-dir:" + DEFAULT_DIR_STAGES + "}")
     private String baseEvaluationsDir;
 
-    private transient PdfWriter pdfWriter;
+    @Value("${app.entente.template-mode:true}")
+    private boolean ententeTemplateMode;
+
+    @Value("${app.pdf.reuse-checkbox-templates:true}")
+    private boolean reuseCheckboxTemplates;
+
+    private final EntentePdfTemplate ententeTemplate = new EntentePdfTemplate();
+
+    private final BlobStore blobStore;
+    private final DocumentStore documentStore;
 
     
     public String genererEntentePDF(EntenteStage entente) {
@@ -44,49 +71,44 @@ public class PDFGeneratorService {
             }
             String filename = "entente_" + entente.getId() + "_" + UUID.randomUUID() + PDF_EXTENSION;
             Path targetPath = ententeDir.resolve(filename);
-            Document document = new Document(PageSize.A4, 50, 50, 40, 40);
-            PdfWriter writer = PdfWriter.getInstance(document, new FileOutputStream(targetPath.toFile()));
-            document.open();
-            addHeader(document);
-            addTitle(document);
-            addPartiesInfo(document, entente);
-            addStageDetails(document, entente);
-            addMissionsObjectifs(document, entente);
-            addFooter(document);
-            document.close();
-            writer.close();
-            return targetPath.toString();
+            if (!ententeTemplateMode || !ententeTemplate.stamp(entente, targetPath)) {
+                layoutEntente(entente, targetPath);
+            }
+            return blobStore.adopt(targetPath);
         } catch (Exception e) {
             log.error("Erreur lors de la génération du PDF pour l'entente {}", entente.getId(), e);
             throw new RuntimeException("Erreur lors de la génération du PDF de l'entente", e);
         }
     }
 
-    public byte[] lireFichierPDF(String cheminFichier) {
-        try {
-            Path path = Paths.get(cheminFichier);
-            if (!Files.exists(path)) {
-                throw new FileNotFoundException("Fichier PDF non trouvé : " + cheminFichier);
-            }
-            return Files.readAllBytes(path);
-        } catch (IOException e) {
-            log.error("Erreur lors de la lecture du fichier PDF : {}", cheminFichier, e);
-            throw new RuntimeException("Erreur lors de la lecture du PDF", e);
-        }
+    private void layoutEntente(EntenteStage entente, Path targetPath) throws DocumentException, IOException {
+        Document document = new Document(PageSize.A4, 50, 50, 40, 40);
+        PdfWriter writer = PdfWriter.getInstance(document, new FileOutputStream(targetPath.toFile()));
+        document.open();
+        addHeader(document);
+        addTitle(document);
+        addPartiesInfo(document, entente);
+        addStageDetails(document, entente);
+        addMissionsObjectifs(document, entente);
+        addFooter(document);
+        document.close();
+        writer.close();
     }
 
-    public void supprimerFichierPDF(String cheminFichier) {
+    public Resource ouvrirFichierPDF(String cleDocument) {
         try {
-            Path path = Paths.get(cheminFichier);
-            Files.deleteIfExists(path);
-        } catch (IOException e) {
-            log.error("Erreur lors de la suppression du fichier PDF : {}", cheminFichier, e);
+            return documentStore.get(cleDocument);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Erreur lors de la lecture du fichier PDF : {}", cleDocument);
+            throw new RuntimeException(
+                    "Erreur lors de la lecture du PDF",
+                    new FileNotFoundException("Fichier PDF non trouvé : " + cleDocument));
         }
     }
 
     private void addHeader(Document document) throws DocumentException {
-        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9, BaseColor.GRAY);
-        Paragraph header = new Paragraph("COLLÈGE ANDRÉ-LAURENDEAU", headerFont);
+        Font headerFont = BOLD_9_GRAY;
+        Paragraph header = new Paragraph(EntentePdfTemplate.COLLEGE_HEADER, headerFont);
         header.setAlignment(Element.ALIGN_CENTER);
         header.setSpacingAfter(6f);
         document.add(header);
@@ -97,7 +119,7 @@ public class PDFGeneratorService {
     }
 
     private void addTitle(Document document) throws DocumentException {
-        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, BaseColor.BLACK);
+        Font titleFont = BOLD_14;
         Paragraph title = new Paragraph("ENTENTE DE STAGE", titleFont);
         title.setAlignment(Element.ALIGN_CENTER);
         title.setSpacingAfter(6f);
@@ -108,33 +130,33 @@ public class PDFGeneratorService {
         Candidature candidature = entente.getCandidature();
         var student = candidature.getStudent();
         InternshipOffer offer = candidature.getInternshipOffer();
-        Font sectionFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, BaseColor.BLACK);
-        Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.BLACK);
+        Font sectionFont = BOLD_11;
+        Font normalFont = NORMAL_9;
         Paragraph partiesTitle = new Paragraph("LES PARTIES", sectionFont);
         partiesTitle.setSpacingBefore(6f);
         partiesTitle.setSpacingAfter(6f);
         document.add(partiesTitle);
-        document.add(new Paragraph("L'ÉTUDIANT :", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10)));
+        document.add(new Paragraph("L'ÉTUDIANT :", BOLD_10));
         document.add(new Paragraph("Nom : " + student.getLastName() + " " + student.getFirstName(), normalFont));
         document.add(new Paragraph("Email : " + student.getCredentials().getEmail(), normalFont));
         document.add(Chunk.NEWLINE);
-        document.add(new Paragraph("L'ENTREPRISE :", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10)));
+        document.add(new Paragraph("L'ENTREPRISE :", BOLD_10));
         document.add(new Paragraph("Nom de l'entreprise : " + offer.getCompanyName(), normalFont));
         document.add(new Paragraph("Personne contact : " + offer.getEmployeurEmail(), normalFont));
         if (entente.getAddress() != null) {
             document.add(new Paragraph("Adresse : " + entente.getAddress(), normalFont));
         }
         document.add(Chunk.NEWLINE);
-        document.add(new Paragraph("LE COLLÈGE :", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10)));
-        document.add(new Paragraph("Collège André-Laurendeau", normalFont));
-        document.add(new Paragraph("1111, rue Lapierre, Montréal (Québec) H8N 2J4", normalFont));
+        document.add(new Paragraph("LE COLLÈGE :", BOLD_10));
+        document.add(new Paragraph(EntentePdfTemplate.COLLEGE_NAME, normalFont));
+        document.add(new Paragraph(EntentePdfTemplate.COLLEGE_ADDRESS, normalFont));
         document.add(Chunk.NEWLINE);
     }
 
     private void addStageDetails(Document document, EntenteStage entente) throws DocumentException {
         Candidature candidature = entente.getCandidature();
         InternshipOffer offer = candidature.getInternshipOffer();
-        Font sectionFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, BaseColor.BLACK);
+        Font sectionFont = BOLD_11;
         Paragraph detailsTitle = new Paragraph("DÉTAILS DU STAGE", sectionFont);
         detailsTitle.setSpacingBefore(8f);
         detailsTitle.setSpacingAfter(6f);
@@ -143,8 +165,8 @@ public class PDFGeneratorService {
         table.setWidthPercentage(100);
         table.setSpacingBefore(6f);
         table.setSpacingAfter(6f);
-        Font cellFont = FontFactory.getFont(FontFactory.HELVETICA, 9);
-        Font cellBoldFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9);
+        Font cellFont = NORMAL_9;
+        Font cellBoldFont = BOLD_9;
         addTableRow(table, "Description", offer.getDescription(), cellBoldFont, cellFont);
         addTableRow(table, "Date de début", entente.getStartDate().format(DATE_FORMATTER), cellBoldFont, cellFont);
         addTableRow(table, "Durée", entente.getDurationInWeeks() + " semaine(s)", cellBoldFont, cellFont);
@@ -168,8 +190,8 @@ public class PDFGeneratorService {
     }
 
     private void addMissionsObjectifs(Document document, EntenteStage entente) throws DocumentException {
-        Font sectionFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, BaseColor.BLACK);
-        Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.BLACK);
+        Font sectionFont = BOLD_11;
+        Font normalFont = NORMAL_9;
         Paragraph missionsTitle = new Paragraph("MISSIONS ET OBJECTIFS DU STAGE", sectionFont);
         missionsTitle.setSpacingBefore(8f);
         missionsTitle.setSpacingAfter(6f);
@@ -181,11 +203,10 @@ public class PDFGeneratorService {
     }
 
     private void addFooter(Document document) throws DocumentException {
-        Font footerFont = FontFactory.getFont(FontFactory.HELVETICA, 8, BaseColor.GRAY);
+        Font footerFont = NORMAL_8_GRAY;
         Paragraph footer =
                 new Paragraph(
-                        "\nCe document constitue une entente officielle entre les parties mentionnées ci-dessus. "
-                                + "Toute modification doit faire l'objet d'un avenant signé par toutes les parties.\n\n"
+                        "\n" + EntentePdfTemplate.LEGAL_NOTICE + "\n\n"
                                 + "Document généré le "
                                 + LocalDate.now().format(DATE_FORMATTER),
                         footerFont);
@@ -207,8 +228,7 @@ public class PDFGeneratorService {
 
             Document document = new Document(PageSize.A4, 40, 40, 36, 36);
             PdfWriter writer = PdfWriter.getInstance(document, new FileOutputStream(targetPath.toFile()));
-
-            this.pdfWriter = writer;
+            RenderContext context = new RenderContext(writer, language, reuseCheckboxTemplates);
             document.open();
 
             addHeaderEvaluation(document, language, nameCollege);
@@ -217,23 +237,23 @@ public class PDFGeneratorService {
 
             addRatingLegendAligned(document, language);
 
-            addGenericEvaluationContent(document, formData, language, getEvaluationCategoriesEmployer(language),
+            addGenericEvaluationContent(document, formData, context, getEvaluationCategoriesEmployer(language),
                     true);
 
             addGeneralComments(document, formData, language);
 
             
             document.newPage();
-            addTraineeEvaluationPage(document, formData, language, profFirstName, profLastName, nameCollege, address, fax_machine);
+            addTraineeEvaluationPage(document, formData, context, profFirstName, profLastName, nameCollege, address, fax_machine);
 
             addFooterEvaluation(document, language);
 
             document.close();
-            this.pdfWriter = null;
             writer.close();
 
-            log.info("PDF d'évaluation généré avec succès : {}", targetPath);
-            return targetPath.toString();
+            String cle = blobStore.adopt(targetPath);
+            log.info("PDF d'évaluation généré avec succès : {}", cle);
+            return cle;
         } catch (Exception e) {
             log.error("Erreur lors de la génération du PDF d'évaluation {}", evaluationStagiaire.getId(), e);
             throw new RuntimeException("Erreur lors de la génération du PDF d'évaluation", e);
@@ -248,8 +268,9 @@ public class PDFGeneratorService {
             Path targetPath = prepareOutputPath(evaluationStagiaire.getId());
             generateTeacherPdfDocument(targetPath, formData, teacherInfo, language);
 
-            log.info("PDF d'évaluation du prof généré avec succès : {}", targetPath);
-            return targetPath.toString();
+            String cle = blobStore.adopt(targetPath);
+            log.info("PDF d'évaluation du prof généré avec succès : {}", cle);
+            return cle;
         } catch (Exception e) {
             log.error("Erreur lors de la génération du PDF d'évaluation du prof {}", evaluationStagiaire.getId(), e);
             throw new RuntimeException("Erreur lors de la génération du PDF d'évaluation du milieu de stage", e);
@@ -282,11 +303,10 @@ public class PDFGeneratorService {
         try {
             document = new Document(PageSize.A4, 40, 40, 36, 36);
             writer = PdfWriter.getInstance(document, new FileOutputStream(targetPath.toFile()));
-            this.pdfWriter = writer;
 
             document.open();
 
-            buildTeacherDocumentContent(document, formData, teacherInfo, language);
+            buildTeacherDocumentContent(document, formData, teacherInfo, new RenderContext(writer, language, reuseCheckboxTemplates));
 
         } finally {
             if (document != null && document.isOpen()) {
@@ -295,14 +315,14 @@ public class PDFGeneratorService {
             if (writer != null) {
                 writer.close();
             }
-            this.pdfWriter = null;
         }
     }
 
     private void buildTeacherDocumentContent(Document document,
                                              EvaluationProfFormDto formData,
                                              EvaluationTeacherInfoDto teacherInfo,
-                                             String language) throws DocumentException {
+                                             RenderContext context) throws DocumentException {
+        String language = context.language();
         
         addHeaderEvaluationParProf(document, language);
 
@@ -316,7 +336,7 @@ public class PDFGeneratorService {
         addGenericEvaluationContent(
                 document,
                 formData,
-                language,
+                context,
                 getEvaluationCategoriesTeacher(language),
                 false
         );
@@ -326,24 +346,10 @@ public class PDFGeneratorService {
         addTeacherSignature(document, language, teacherInfo.profDto().getFirstName() + " " + teacherInfo.profDto().getLastName(), teacherInfo.studentTeacherDto().fullname());
     }
 
-    private Image createCheckboxImage(boolean checked) {
+    private Image createCheckboxImage(RenderContext context, boolean checked) {
         try {
-            if (this.pdfWriter == null) return null;
-            PdfContentByte cb = this.pdfWriter.getDirectContent();
-            float size = 10f; 
-            PdfTemplate tpl = cb.createTemplate(size, size);
-            tpl.setLineWidth(0.7f);
-            tpl.rectangle(0.6f, 0.6f, size - 1.2f, size - 1.2f);
-            tpl.stroke();
-            if (checked) {
-                tpl.setLineWidth(1.0f);
-                tpl.moveTo(size * 0.18f, size * 0.55f);
-                tpl.lineTo(size * 0.45f, size * 0.2f);
-                tpl.lineTo(size * 0.85f, size * 0.75f);
-                tpl.stroke();
-            }
-            Image img = Image.getInstance(tpl);
-            img.scaleAbsolute(size, size);
+            Image img = Image.getInstance(context.checkbox(checked));
+            img.scaleAbsolute(CHECKBOX_SIZE, CHECKBOX_SIZE);
             return img;
         } catch (Exception e) {
             log.warn("Erreur createCheckboxImage: {}", e.getMessage());
@@ -355,8 +361,8 @@ public class PDFGeneratorService {
     
     
     private void addRatingLegendAligned(Document document, String language) throws DocumentException {
-        Font legendTitleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.BLACK);
-        Font legendDescFont = FontFactory.getFont(FontFactory.HELVETICA, 8.5f, BaseColor.DARK_GRAY);
+        Font legendTitleFont = BOLD_10;
+        Font legendDescFont = NORMAL_8_5_DARK_GRAY;
 
         Paragraph legendTitle = new Paragraph(
                 "en".equals(language) ? "Rating scale (columns correspond to options below)" : "Échelle d'évaluation (colonnes correspondant aux cases)",
@@ -380,95 +386,17 @@ public class PDFGeneratorService {
         document.add(legendTable);
     }
 
-    private Integer getGlobalAssessmentValue(EvaluationEmployerFormData formData) {
-        Object ga = invokeGetter(formData, "globalAssessment", "getGlobalAssessment");
-        if (ga == null) return null;
-        if (ga instanceof Number) return ((Number) ga).intValue();
-        try {
-            return Integer.parseInt(String.valueOf(ga));
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
-    private String getGlobalAppreciation(EvaluationEmployerFormData formData) {
-        Object val = invokeGetter(formData, "globalAppreciation", "getGlobalAppreciation", "generalComment", "getGeneralComment");
-        return val != null ? String.valueOf(val) : null;
-    }
-
-    private Boolean getDiscussedWithTrainee(EvaluationEmployerFormData formData) {
-        Object val = invokeGetter(formData, "discussedWithTrainee", "getDiscussedWithTrainee", "discussed", "isDiscussedWithTrainee");
-        return valIsNull(val);
-    }
-
-    private String getSupervisionHours(EvaluationEmployerFormData formData) {
-        Object val = invokeGetter(formData, "supervisionHours", "getSupervisionHours");
-        return val != null ? String.valueOf(val) : null;
-    }
-
-    private String getWelcomeNextInternship(EvaluationEmployerFormData formData) {
-        Object val = invokeGetter(formData, "welcomeNextInternship", "getWelcomeNextInternship");
-        return val != null ? String.valueOf(val) : null;
-    }
-
-    private Boolean getTechnicalTrainingSufficient(EvaluationEmployerFormData formData) {
-        Object val = invokeGetter(formData, "technicalTrainingSufficient", "getTechnicalTrainingSufficient", "technicalTraining", "isTechnicalTrainingSufficient");
-        return valIsNull(val);
-    }
-    private Boolean valIsNull(Object val) {
-        if (val == null) return null;
-        if (val instanceof Boolean) return (Boolean) val;
-        String s = String.valueOf(val);
-        if ("true".equalsIgnoreCase(s) || "yes".equalsIgnoreCase(s) || "1".equals(s)) return true;
-        if ("false".equalsIgnoreCase(s) || "no".equalsIgnoreCase(s) || "0".equals(s)) return false;
-        return null;
-    }
-
-    private Object invokeGetter(Object obj, String... possibleNames) {
-        if (obj == null) return null;
-        Class<?> cls = obj.getClass();
-        for (String name : possibleNames) {
-            try {
-                Method m = null;
-                try {
-                    m = cls.getMethod(name);
-                } catch (NoSuchMethodException nsme) {
-                    String camel = name;
-                    if (!name.startsWith("get") && !name.startsWith("is")) {
-                        camel = "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
-                    }
-                    try {
-                        m = cls.getMethod(camel);
-                    } catch (NoSuchMethodException ex) {
-                        String isName = "is" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
-                        try {
-                            m = cls.getMethod(isName);
-                        } catch (NoSuchMethodException ex2) {
-                        }
-                    }
-                }
-                if (m != null) {
-                    m.setAccessible(true);
-                    return m.invoke(obj);
-                }
-            } catch (Exception e) {
-                
-            }
-        }
-        return null;
-    }
-
-
     
     
     
     private void addTraineeEvaluationPage(Document document, EvaluationEmployerFormData formData,
-                                          String language, String profFirstName, String profLastName,
+                                          RenderContext context, String profFirstName, String profLastName,
                                           String nameCollege, String address, String fax_machine) throws DocumentException {
-        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, BaseColor.BLACK);
-        Font sectionFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, BaseColor.BLACK);
-        Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.BLACK);
-        Font descFont = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.DARK_GRAY);
+        String language = context.language();
+        Font titleFont = BOLD_14;
+        Font sectionFont = BOLD_11;
+        Font normalFont = NORMAL_9;
+        Font descFont = NORMAL_9_DARK_GRAY;
 
         Paragraph title = new Paragraph(
                 "en".equals(language) ? "OVERALL ASSESSMENT OF THE TRAINEE" : "APPRÉCIATION GLOBALE DU STAGIAIRE",
@@ -481,7 +409,7 @@ public class PDFGeneratorService {
         document.add(new Paragraph("en".equals(language) ? "Overall Assessment:" : "Appréciation globale :", normalFont));
         document.add(Chunk.NEWLINE);
 
-        Integer gaValue = getGlobalAssessmentValue(formData);
+        Integer gaValue = formData.globalAssessment();
         String selectedGlobalKey = getGlobalAssessmentRatingKey(gaValue);
         List<String> globalKeys = List.of("EXCELLENT", "TRES_BIEN", "SATISFAISANT", "A_AMELIORER");
 
@@ -491,7 +419,7 @@ public class PDFGeneratorService {
 
         for (String k : globalKeys) {
             boolean checked = k.equals(selectedGlobalKey);
-            Image checkImg = createCheckboxImage(checked);
+            Image checkImg = createCheckboxImage(context, checked);
             PdfPCell c;
             if (checkImg != null) {
                 Paragraph p = new Paragraph();
@@ -519,7 +447,7 @@ public class PDFGeneratorService {
             String desc = fullDescriptions.get(i);
             String correspondingKey = globalKeys.get(i);
             boolean isSelected = correspondingKey.equals(selectedGlobalKey);
-            Image img = createCheckboxImage(isSelected);
+            Image img = createCheckboxImage(context, isSelected);
             Phrase p = new Phrase();
             if (img != null) p.add(new Chunk(img, 0, -2, true));
             else p.add(new Chunk(isSelected ? "[x] " : "[ ] "));
@@ -537,7 +465,7 @@ public class PDFGeneratorService {
         Paragraph appreciationTitle = new Paragraph("en".equals(language) ? "SPECIFY YOUR ASSESSMENT:" : "PRÉCISEZ VOTRE APPRÉCIATION:", sectionFont);
         appreciationTitle.setSpacingAfter(6f);
         document.add(appreciationTitle);
-        String globalApp = getGlobalAppreciation(formData);
+        String globalApp = formData.globalAppreciation();
         if (globalApp != null && !globalApp.isBlank()) {
             Paragraph appreciation = new Paragraph(globalApp, normalFont);
             appreciation.setSpacingAfter(6f);
@@ -557,10 +485,10 @@ public class PDFGeneratorService {
         Paragraph discussionTitle = new Paragraph(discussionText, normalFont);
         discussionTitle.setSpacingAfter(5f);
         document.add(discussionTitle);
-        Boolean discussed = getDiscussedWithTrainee(formData);
+        Boolean discussed = formData.discussedWithTrainee();
         boolean discussedBool = Boolean.TRUE.equals(discussed);
-        Image yesImg = createCheckboxImage(discussedBool);
-        Image noImg = createCheckboxImage(!discussedBool);
+        Image yesImg = createCheckboxImage(context, discussedBool);
+        Image noImg = createCheckboxImage(context, !discussedBool);
         Phrase pYes = new Phrase();
         if (yesImg != null) pYes.add(new Chunk(yesImg, 0, -2, true));
         else pYes.add(new Chunk(discussedBool ? "[x]" : "[ ]"));
@@ -586,13 +514,13 @@ public class PDFGeneratorService {
         Paragraph hoursDesc = new Paragraph(hoursText, normalFont);
         hoursDesc.setSpacingAfter(10f);
         document.add(hoursDesc);
-        String hours = getSupervisionHours(formData);
-        if (hours != null && !hours.isBlank()) {
+        Integer hours = formData.supervisionHours();
+        if (hours != null) {
             Phrase ph = new Phrase();
-            ph.add(new Chunk(" " + hours + " hours", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9)));
+            ph.add(new Chunk(" " + hours + " hours", BOLD_9));
             document.add(new Paragraph(ph));
         } else {
-            Image emptyHoursImg = createCheckboxImage(false);
+            Image emptyHoursImg = createCheckboxImage(context, false);
             Phrase ph = new Phrase();
             if (emptyHoursImg != null) ph.add(new Chunk(emptyHoursImg, 0, -2, true));
             else ph.add(new Chunk("[ ]"));
@@ -609,10 +537,10 @@ public class PDFGeneratorService {
         Paragraph nextInternship = new Paragraph(nextInternshipText, sectionFont);
         nextInternship.setSpacingAfter(10f);
         document.add(nextInternship);
-        String welcome = getWelcomeNextInternship(formData);
-        Image yesW = createCheckboxImage("YES".equalsIgnoreCase(welcome));
-        Image noW = createCheckboxImage("NO".equalsIgnoreCase(welcome));
-        Image maybeW = createCheckboxImage("MAYBE".equalsIgnoreCase(welcome));
+        String welcome = formData.welcomeNextInternship();
+        Image yesW = createCheckboxImage(context, "YES".equalsIgnoreCase(welcome));
+        Image noW = createCheckboxImage(context, "NO".equalsIgnoreCase(welcome));
+        Image maybeW = createCheckboxImage(context, "MAYBE".equalsIgnoreCase(welcome));
 
         Phrase py = new Phrase(); if (yesW != null) py.add(new Chunk(yesW,0,-2,true)); else py.add(new Chunk(" "));
         py.add(new Chunk(" " + ("en".equals(language) ? "Yes" : "Oui"), normalFont));
@@ -639,10 +567,10 @@ public class PDFGeneratorService {
         Paragraph trainingQuestion = new Paragraph(trainingText, normalFont);
         trainingQuestion.setSpacingAfter(10f);
         document.add(trainingQuestion);
-        Boolean trainingSufficient = getTechnicalTrainingSufficient(formData);
+        Boolean trainingSufficient = formData.technicalTrainingSufficient();
         boolean ts = Boolean.TRUE.equals(trainingSufficient);
-        Image yesT = createCheckboxImage(ts);
-        Image noT = createCheckboxImage(!ts);
+        Image yesT = createCheckboxImage(context, ts);
+        Image noT = createCheckboxImage(context, !ts);
         Phrase pYesT = new Phrase(); if (yesT != null) pYesT.add(new Chunk(yesT,0,-2,true)); else pYesT.add(new Chunk("[ ]"));
         pYesT.add(new Chunk(" " + ("en".equals(language) ? "Yes" : "Oui"), normalFont));
         Phrase pNoT = new Phrase(); if (noT != null) pNoT.add(new Chunk(noT,0,-2,true)); else pNoT.add(new Chunk("[ ]"));
@@ -831,7 +759,7 @@ public class PDFGeneratorService {
     }
 
     private void addHeaderEvaluation(Document document, String language, String name_college) throws DocumentException {
-        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9, BaseColor.GRAY);
+        Font headerFont = BOLD_9_GRAY;
         String headerText = "en".equals(language) ? name_college + " - Work-Study Program" : name_college + " - Alternance travail-études";
         Paragraph header = new Paragraph(headerText, headerFont);
         header.setAlignment(Element.ALIGN_CENTER);
@@ -843,7 +771,7 @@ public class PDFGeneratorService {
         document.add(Chunk.NEWLINE);
     }
     private void  addHeaderEvaluationParProf(Document document, String language) throws DocumentException{
-        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, BaseColor.GRAY);
+        Font headerFont = BOLD_14_GRAY;
         String headerText = "en".equals(language) ? "EVALUATION OF THE INTERNSHIP ENVIRONMENT": "ÉVALUATION DU MILIEU DE STAGE";
         Paragraph header = new Paragraph(headerText, headerFont);
         header.setAlignment(Element.ALIGN_CENTER);
@@ -857,7 +785,7 @@ public class PDFGeneratorService {
     }
 
     private void addTitleEvaluation(Document document, String language) throws DocumentException {
-        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, BaseColor.BLACK);
+        Font titleFont = BOLD_14;
         String titleText = "en".equals(language) ? "Intern Evaluation Form" : "Fiche d'évaluation du stagiaire";
         Paragraph title = new Paragraph(titleText, titleFont);
         title.setAlignment(Element.ALIGN_CENTER);
@@ -866,8 +794,8 @@ public class PDFGeneratorService {
     }
 
     private void addStudentAndCompanyTitle(Document document, EvaluationStagiaire evaluation, String language) throws DocumentException {
-        Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.BLACK);
-        Font boldFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9, BaseColor.BLACK);
+        Font normalFont = NORMAL_9;
+        Font boldFont = BOLD_9;
 
         PdfPTable infoTable = new PdfPTable(2);
         infoTable.setWidthPercentage(100);
@@ -883,9 +811,9 @@ public class PDFGeneratorService {
         document.add(infoTable);
     }
     private void addEmployerSection(Document document, EntrepriseTeacherDto dto, String language) throws DocumentException{
-        Font sectionFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, BaseColor.BLACK);
-        Font labelFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.BLACK);
-        Font valueFont = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.BLACK);
+        Font sectionFont = BOLD_12;
+        Font labelFont = BOLD_10;
+        Font valueFont = NORMAL_10;
 
         String titleText = "en".equals(language)
                 ? "IDENTIFICATION OF THE COMPANY"
@@ -910,9 +838,9 @@ public class PDFGeneratorService {
 
     }
     private void addStudentSection(Document document, EvaluationProfFormDto formData,  StudentTeacherDto dto, String language) throws DocumentException{
-        Font sectionFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, BaseColor.BLACK);
-        Font labelFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.BLACK);
-        Font valueFont = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.BLACK);
+        Font sectionFont = BOLD_12;
+        Font labelFont = BOLD_10;
+        Font valueFont = NORMAL_10;
 
         String titleText = "en".equals(language)
                 ? "IDENTIFICATION OF THE INTERN"
@@ -949,9 +877,9 @@ public class PDFGeneratorService {
     private void addObservationsGeneralesSection(Document document, EvaluationProfFormDto formData, String language)
             throws DocumentException {
 
-        Font sectionTitle = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12);
-        Font labelFont = FontFactory.getFont(FontFactory.HELVETICA, 10);
-        Font valueFont = FontFactory.getFont(FontFactory.HELVETICA, 10);
+        Font sectionTitle = BOLD_12;
+        Font labelFont = NORMAL_10;
+        Font valueFont = NORMAL_10;
 
         Paragraph p = new Paragraph(
                 t("OBSERVATIONS GÉNÉRALES", "GENERAL OBSERVATIONS", language),
@@ -1100,8 +1028,8 @@ public class PDFGeneratorService {
     }
 
     private void addTeacherSignature(Document document, String language, String teacherName, String studentName) throws DocumentException {
-        Font italicFont = FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 11);
-        Font boldFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
+        Font italicFont = ITALIC_11;
+        Font boldFont = BOLD_10;
 
         LocalDate today = LocalDate.now();
         String formattedDate = today.format(DATE_FORMATTER);
@@ -1166,22 +1094,19 @@ public class PDFGeneratorService {
 
 
     private void addGeneralComments(Document document, EvaluationEmployerFormData formData, String language) throws DocumentException {
-        Object general = invokeGetter(formData, "generalComment", "getGeneralComment", "globalAppreciation", "getGlobalAppreciation");
-        if (general != null) {
-            String commentText = String.valueOf(general);
-            if (!commentText.isBlank()) {
-                Font sectionFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, BaseColor.BLACK);
-                Font commentFont = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.BLACK);
-                String commentaireText = "en".equals(language) ? "General Comments" : "Commentaire généreaux";
-                Paragraph commentsTitle = new Paragraph(commentaireText, sectionFont);
-                commentsTitle.setSpacingBefore(6f);
-                commentsTitle.setSpacingAfter(4f);
-                document.add(commentsTitle);
-                Paragraph comments = new Paragraph(commentText, commentFont);
-                comments.setAlignment(Element.ALIGN_JUSTIFIED);
-                comments.setSpacingAfter(6f);
-                document.add(comments);
-            }
+        String commentText = formData.generalComment();
+        if (commentText != null && !commentText.isBlank()) {
+            Font sectionFont = BOLD_11;
+            Font commentFont = NORMAL_9;
+            String commentaireText = "en".equals(language) ? "General Comments" : "Commentaire généreaux";
+            Paragraph commentsTitle = new Paragraph(commentaireText, sectionFont);
+            commentsTitle.setSpacingBefore(6f);
+            commentsTitle.setSpacingAfter(4f);
+            document.add(commentsTitle);
+            Paragraph comments = new Paragraph(commentText, commentFont);
+            comments.setAlignment(Element.ALIGN_JUSTIFIED);
+            comments.setSpacingAfter(6f);
+            document.add(comments);
         }
     }
     private List<String> getRatingLabels(String language) {
@@ -1208,7 +1133,7 @@ public class PDFGeneratorService {
 
 
     private void addFooterEvaluation(Document document, String language) throws DocumentException {
-        Font footerFont = FontFactory.getFont(FontFactory.HELVETICA, 8, BaseColor.GRAY);
+        Font footerFont = NORMAL_8_GRAY;
         String naText = "en".equals(language) ? "* N/A = not applicable" : "* N/A = non applicable";
         String generatedText = "en".equals(language) ? "Document generated on " : "Document généré le ";
         Paragraph footer = new Paragraph("\n" + naText + "\n\n" + generatedText + LocalDate.now().format(DATE_FORMATTER), footerFont);
@@ -1306,14 +1231,15 @@ public class PDFGeneratorService {
    private void addGenericEvaluationContent(
            Document document,
            EvaluationForm formData,
-           String language,
+           RenderContext context,
            Map<String, CategoryData> categories,
            boolean includesComments
 
    ) throws DocumentException{
-       Font categoryFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, BaseColor.BLACK);
-       Font questionFont = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.BLACK);
-       Font commentFont = FontFactory.getFont(FontFactory.HELVETICA, 8.5f, BaseColor.DARK_GRAY);
+       String language = context.language();
+       Font categoryFont = BOLD_11;
+       Font questionFont = NORMAL_9;
+       Font commentFont = NORMAL_8_5_DARK_GRAY;
 
        List<String> ratingKeys = List.of("EXCELLENT", "TRES_BIEN", "SATISFAISANT", "A_AMELIORER");
        List<String> ratingLabels = getRatingLabels(language);
@@ -1351,7 +1277,7 @@ public class PDFGeneratorService {
                    String key = ratingKeys.get(k);
                    boolean isSelected = key.equals(selectedRating);
 
-                   Image checkboxImg = createCheckboxImage(isSelected);
+                   Image checkboxImg = createCheckboxImage(context, isSelected);
                    PdfPCell cell;
                    if (checkboxImg != null) {
                        Paragraph p = new Paragraph();
@@ -1412,4 +1338,53 @@ public class PDFGeneratorService {
         return null;
     }
 
-}
\ No newline at end of file
+    private static PdfTemplate drawCheckbox(PdfContentByte cb, boolean checked) {
+        float size = CHECKBOX_SIZE;
+        PdfTemplate tpl = cb.createTemplate(size, size);
+        tpl.setLineWidth(0.7f);
+        tpl.rectangle(0.6f, 0.6f, size - 1.2f, size - 1.2f);
+        tpl.stroke();
+        if (checked) {
+            tpl.setLineWidth(1.0f);
+            tpl.moveTo(size * 0.18f, size * 0.55f);
+            tpl.lineTo(size * 0.45f, size * 0.2f);
+            tpl.lineTo(size * 0.85f, size * 0.75f);
+            tpl.stroke();
+        }
+        return tpl;
+    }
+
+    private static final class RenderContext {
+        private final PdfWriter writer;
+        private final String language;
+        private final boolean reuseCheckboxes;
+        private PdfTemplate checkedBox;
+        private PdfTemplate emptyBox;
+
+        private RenderContext(PdfWriter writer, String language, boolean reuseCheckboxes) {
+            this.writer = writer;
+            this.language = language;
+            this.reuseCheckboxes = reuseCheckboxes;
+        }
+
+        private String language() {
+            return language;
+        }
+
+        private PdfTemplate checkbox(boolean checked) {
+            if (!reuseCheckboxes) {
+                return drawCheckbox(writer.getDirectContent(), checked);
+            }
+            if (checked) {
+                if (checkedBox == null) {
+                    checkedBox = drawCheckbox(writer.getDirectContent(), true);
+                }
+                return checkedBox;
+            }
+            if (emptyBox == null) {
+                emptyBox = drawCheckbox(writer.getDirectContent(), false);
+            }
+            return emptyBox;
+        }
+    }
+}
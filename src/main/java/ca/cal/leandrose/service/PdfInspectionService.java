@@ -0,0 +1,275 @@
+package ca.cal.leandrose.service;
+
+import ca.cal.leandrose.model.CounterCell;
+import ca.cal.leandrose.model.Cv;
+import ca.cal.leandrose.model.InternshipOffer;
+import ca.cal.leandrose.repository.CvRepository;
+import ca.cal.leandrose.repository.InternshipOfferRepository;
+import ca.cal.leandrose.service.event.PdfInspectionRequestedEvent;
+import ca.cal.leandrose.service.event.StatusCountersChangedEvent;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.DocumentStore;
+import ca.cal.leandrose.service.storage.SpooledUpload;
+import ca.cal.leandrose.service.storage.UploadSpooler;
+import com.itextpdf.text.exceptions.BadPasswordException;
+import com.itextpdf.text.pdf.PdfReader;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@Slf4j
+public class PdfInspectionService {
+
+  static final String ENCRYPTED = "PDF chiffré refusé.";
+  static final String NO_PAGES = "PDF invalide : aucune page trouvée.";
+  static final String MALFORMED = "PDF invalide ou corrompu.";
+  static final String MISSING = "Document introuvable.";
+  private static final int MAX_METADATA_LENGTH = 255;
+
+  private final CvRepository cvRepository;
+  private final InternshipOfferRepository internshipOfferRepository;
+  private final DocumentStore documentStore;
+  private final BlobStore blobStore;
+  private final UploadSpooler uploadSpooler;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final ThreadPoolExecutor workers;
+  private final Set<PdfInspectionRequestedEvent> queued = ConcurrentHashMap.newKeySet();
+
+  public PdfInspectionService(
+      CvRepository cvRepository,
+      InternshipOfferRepository internshipOfferRepository,
+      DocumentStore documentStore,
+      BlobStore blobStore,
+      UploadSpooler uploadSpooler,
+      ApplicationEventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.pdf.inspection.workers:2}") int workers,
+      @Value("${app.pdf.inspection.queue-capacity:100}") int queueCapacity) {
+    this.cvRepository = cvRepository;
+    this.internshipOfferRepository = internshipOfferRepository;
+    this.documentStore = documentStore;
+    this.blobStore = blobStore;
+    this.uploadSpooler = uploadSpooler;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.workers =
+        new ThreadPoolExecutor(
+            Math.max(1, workers),
+            Math.max(1, workers),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            Thread.ofPlatform().daemon().name("pdf-inspection-", 0).factory());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onInspectionRequested(PdfInspectionRequestedEvent event) {
+    submit(event);
+  }
+
+  @Scheduled(fixedDelayString = "${app.pdf.inspection.poll-interval:PT1M}")
+  public void resumePending() {
+    cvRepository.findIdsByStatus(Cv.Status.PROCESSING).stream()
+        .map(PdfInspectionRequestedEvent::cv)
+        .forEach(this::submit);
+    internshipOfferRepository.findIdsByStatus(InternshipOffer.Status.PROCESSING).stream()
+        .map(PdfInspectionRequestedEvent::offer)
+        .forEach(this::submit);
+  }
+
+  @PreDestroy
+  public void stop() {
+    workers.shutdownNow();
+  }
+
+  public boolean inspect(PdfInspectionRequestedEvent request) throws IOException {
+    Optional<String> key = transactionTemplate.execute(status -> awaitingInspection(request));
+    if (key == null || key.isEmpty()) {
+      return false;
+    }
+    Inspection inspection = inspect(key.get());
+    transactionTemplate.executeWithoutResult(status -> apply(request, key.get(), inspection));
+    return true;
+  }
+
+  private void submit(PdfInspectionRequestedEvent request) {
+    if (!queued.add(request)) {
+      return;
+    }
+    try {
+      workers.execute(
+          () -> {
+            try {
+              inspect(request);
+            } catch (IOException | RuntimeException e) {
+              log.warn("Inspection de {} reportée: {}", request, e.getMessage());
+            } finally {
+              queued.remove(request);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      queued.remove(request);
+      log.debug("File d'inspection pleine, {} sera repris plus tard", request);
+    }
+  }
+
+  private Optional<String> awaitingInspection(PdfInspectionRequestedEvent request) {
+    return switch (request.target()) {
+      case CV ->
+          cvRepository
+              .findById(request.id())
+              .filter(cv -> cv.getStatus() == Cv.Status.PROCESSING)
+              .map(Cv::getPdfPath);
+      case OFFER ->
+          internshipOfferRepository
+              .findById(request.id())
+              .filter(offer -> offer.getStatus() == InternshipOffer.Status.PROCESSING)
+              .map(InternshipOffer::getPdfPath);
+    };
+  }
+
+  private Inspection inspect(String key) throws IOException {
+    Optional<Path> local = documentStore.localPath(key).filter(Files::isRegularFile);
+    if (local.isPresent()) {
+      return parse(() -> uploadSpooler.openPdf(local.get()));
+    }
+    try (InputStream in = documentStore.get(key).getInputStream();
+        SpooledUpload copy = uploadSpooler.spool(in, blobStore.getSpoolDirectory())) {
+      return parse(() -> uploadSpooler.openPdf(copy));
+    } catch (NoSuchFileException e) {
+      return Inspection.quarantined(MISSING);
+    }
+  }
+
+  private static Inspection parse(PdfSource source) {
+    PdfReader reader = null;
+    try {
+      reader = source.open();
+      if (reader.isEncrypted()) {
+        return Inspection.quarantined(ENCRYPTED);
+      }
+      int pages = reader.getNumberOfPages();
+      if (pages <= 0) {
+        return Inspection.quarantined(NO_PAGES);
+      }
+      for (int page = 1; page <= pages; page++) {
+        reader.getPageContent(page);
+      }
+      return Inspection.passed(pages, reader.getInfo());
+    } catch (BadPasswordException e) {
+      return Inspection.quarantined(ENCRYPTED);
+    } catch (Exception e) {
+      return Inspection.quarantined(MALFORMED);
+    } finally {
+      if (reader != null) {
+        reader.close();
+      }
+    }
+  }
+
+  private void apply(PdfInspectionRequestedEvent request, String key, Inspection inspection) {
+    switch (request.target()) {
+      case CV ->
+          cvRepository
+              .findById(request.id())
+              .filter(cv -> cv.getStatus() == Cv.Status.PROCESSING)
+              .filter(cv -> key.equals(cv.getPdfPath()))
+              .ifPresent(
+                  cv -> {
+                    Set<CounterCell> before = CounterCell.cellsOf(cv);
+                    cv.setPdfPageCount(inspection.pageCount());
+                    cv.setPdfTitle(inspection.title());
+                    cv.setPdfAuthor(inspection.author());
+                    cv.setPdfProducer(inspection.producer());
+                    cv.setStatus(inspection.passed() ? Cv.Status.PENDING : Cv.Status.QUARANTINED);
+                    cv.setRejectionComment(inspection.reason());
+                    cvRepository.save(cv);
+                    eventPublisher.publishEvent(
+                        new StatusCountersChangedEvent(before, CounterCell.cellsOf(cv)));
+                  });
+      case OFFER ->
+          internshipOfferRepository
+              .findById(request.id())
+              .filter(offer -> offer.getStatus() == InternshipOffer.Status.PROCESSING)
+              .filter(offer -> key.equals(offer.getPdfPath()))
+              .ifPresent(
+                  offer -> {
+                    Set<CounterCell> before = CounterCell.cellsOf(offer);
+                    offer.setPdfPageCount(inspection.pageCount());
+                    offer.setPdfTitle(inspection.title());
+                    offer.setPdfAuthor(inspection.author());
+                    offer.setPdfProducer(inspection.producer());
+                    offer.setStatus(
+                        inspection.passed()
+                            ? InternshipOffer.Status.PENDING_VALIDATION
+                            : InternshipOffer.Status.QUARANTINED);
+                    offer.setRejectionComment(inspection.reason());
+                    internshipOfferRepository.save(offer);
+                    eventPublisher.publishEvent(
+                        new StatusCountersChangedEvent(before, CounterCell.cellsOf(offer)));
+                  });
+    }
+    if (!inspection.passed()) {
+      log.info("Document {} mis en quarantaine: {}", request, inspection.reason());
+    }
+  }
+
+  @FunctionalInterface
+  private interface PdfSource {
+    PdfReader open() throws IOException;
+  }
+
+  private record Inspection(
+      boolean passed,
+      Integer pageCount,
+      String title,
+      String author,
+      String producer,
+      String reason) {
+
+    static Inspection passed(int pageCount, Map<String, String> info) {
+      return new Inspection(
+          true,
+          pageCount,
+          metadata(info, "Title"),
+          metadata(info, "Author"),
+          metadata(info, "Producer"),
+          null);
+    }
+
+    static Inspection quarantined(String reason) {
+      return new Inspection(false, null, null, null, null, reason);
+    }
+
+    private static String metadata(Map<String, String> info, String name) {
+      String value = info == null ? null : info.get(name);
+      if (value == null || value.isBlank()) {
+        return null;
+      }
+      value = value.strip();
+      return value.length() > MAX_METADATA_LENGTH ? value.substring(0, MAX_METADATA_LENGTH) : value;
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package ca.cal.leandrose.service;
+
+import ca.cal.leandrose.model.SchoolTerm;
+import ca.cal.leandrose.service.dto.PlacementReportDto;
+import ca.cal.leandrose.service.dto.ReportDto;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+@Service
+@Slf4j
+public class ReportService {
+
+  static final String PLACEMENT_VIEW = "report_placement";
+
+  static final String PLACEMENT_VIEW_QUERY =
+      """
+      select c.term_key,
+             case when grouping(s.program) = 0 then 'PROGRAM'
+                  when grouping(e.field) = 0 then 'FIELD'
+                  else 'TERM' end as dimension,
+             case when grouping(s.program) = 0 then s.program
+                  when grouping(e.field) = 0 then e.field
+                  else '' end as dimension_value,
+             case when grouping(s.program) = 0 then coalesce('v:' || s.program, 'null')
+                  when grouping(e.field) = 0 then coalesce('v:' || e.field, 'null')
+                  else '' end as dimension_key,
+             count(distinct c.student_id) as applicants,
+             count(distinct c.student_id) filter (where es.statut = 'VALIDEE') as placed,
+             count(es.id) as ententes,
+             avg(o.remuneration) filter (where es.id is not null) as average_remuneration,
+             avg(extract(epoch from greatest(es.date_signature_etudiant,
+                                             es.date_signature_employeur,
+                                             es.date_signature_gestionnaire)
+                                    - c.application_date) / 86400)
+               filter (where es.statut = 'VALIDEE') as average_days_to_signature
+        from candidature c
+        join internship_offer o on o.id = c.internship_offer_id
+        join student s on s.id = c.student_id
+        left join employeur e on e.id = o.employeur_id
+        left join entente_stage es on es.candidature_id = c.id
+       where c.term_key is not null
+       group by grouping sets ((c.term_key, s.program), (c.term_key, e.field), (c.term_key))
+      """;
+
+  static final String PLACEMENT_DEFINITION =
+      DigestUtils.md5DigestAsHex(PLACEMENT_VIEW_QUERY.getBytes(StandardCharsets.UTF_8));
+
+  private static final String LOCK_SQL =
+      "select pg_advisory_xact_lock(hashtext('" + PLACEMENT_VIEW + "'))";
+  private static final String TRY_LOCK_SQL =
+      "select pg_try_advisory_xact_lock(hashtext('" + PLACEMENT_VIEW + "'))";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  public ReportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void createViews() {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            jdbcTemplate.queryForList(LOCK_SQL);
+            jdbcTemplate.execute(
+                "create table if not exists report_refresh (view_name varchar(63) primary key,"
+                    + " definition varchar(32) not null, refreshed_at timestamp)");
+            List<String> definitions =
+                jdbcTemplate.queryForList(
+                    "select r.definition from report_refresh r"
+                        + " join pg_matviews m on m.matviewname = r.view_name"
+                        + " where r.view_name = ?",
+                    String.class,
+                    PLACEMENT_VIEW);
+            if (!definitions.equals(List.of(PLACEMENT_DEFINITION))) {
+              recreatePlacementView();
+            }
+          });
+    } catch (DataAccessException e) {
+      log.warn("Création des vues de rapports impossible: {}", e.getMessage());
+    }
+  }
+
+  @Scheduled(cron = "${app.reports.refresh-cron:0 */10 * * * *}")
+  public void refreshViews() {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class))) {
+              log.debug("Rafraîchissement de {} déjà en cours ailleurs", PLACEMENT_VIEW);
+              return;
+            }
+            jdbcTemplate.execute("refresh materialized view concurrently " + PLACEMENT_VIEW);
+            jdbcTemplate.update(
+                "update report_refresh set refreshed_at = localtimestamp where view_name = ?",
+                PLACEMENT_VIEW);
+          });
+    } catch (DataAccessException e) {
+      log.warn("Rafraîchissement de {} impossible: {}", PLACEMENT_VIEW, e.getMessage());
+    }
+  }
+
+  public ReportDto<PlacementReportDto> getPlacementReport(
+      Dimension dimension, SchoolTerm schoolTerm) {
+    String sql =
+        "select * from "
+            + PLACEMENT_VIEW
+            + " where dimension = ?"
+            + (schoolTerm != null ? " and term_key = ?" : "")
+            + " order by term_key desc, dimension_value";
+    Object[] params =
+        schoolTerm != null
+            ? new Object[] {dimension.name(), schoolTerm.toTermKey()}
+            : new Object[] {dimension.name()};
+    List<PlacementReportDto> rows = jdbcTemplate.query(sql, this::toPlacementRow, params);
+    return ReportDto.<PlacementReportDto>builder()
+        .report(PLACEMENT_VIEW + "." + dimension.name().toLowerCase())
+        .refreshedAt(refreshedAt(PLACEMENT_VIEW))
+        .rows(rows)
+        .build();
+  }
+
+  private void recreatePlacementView() {
+    jdbcTemplate.execute("drop materialized view if exists " + PLACEMENT_VIEW);
+    jdbcTemplate.execute(
+        "create materialized view " + PLACEMENT_VIEW + " as " + PLACEMENT_VIEW_QUERY);
+    jdbcTemplate.execute(
+        "create unique index "
+            + PLACEMENT_VIEW
+            + "_key on "
+            + PLACEMENT_VIEW
+            + " (dimension, term_key, dimension_key)");
+    jdbcTemplate.update(
+        "insert into report_refresh (view_name, definition, refreshed_at)"
+            + " values (?, ?, localtimestamp) on conflict (view_name)"
+            + " do update set definition = excluded.definition,"
+            + " refreshed_at = excluded.refreshed_at",
+        PLACEMENT_VIEW,
+        PLACEMENT_DEFINITION);
+    log.info("Vue {} recréée (définition {})", PLACEMENT_VIEW, PLACEMENT_DEFINITION);
+  }
+
+  private LocalDateTime refreshedAt(String view) {
+    try {
+      return jdbcTemplate
+          .queryForList(
+              "select refreshed_at from report_refresh where view_name = ?",
+              LocalDateTime.class,
+              view)
+          .stream()
+          .findFirst()
+          .orElse(null);
+    } catch (DataAccessException e) {
+      return null;
+    }
+  }
+
+  private PlacementReportDto toPlacementRow(ResultSet rs, int rowNum) throws SQLException {
+    int termKey = rs.getInt("term_key");
+    long applicants = rs.getLong("applicants");
+    long placed = rs.getLong("placed");
+    return PlacementReportDto.builder()
+        .termKey(termKey)
+        .term(SchoolTerm.fromTermKey(termKey).getTermAsString())
+        .value(rs.getString("dimension_value"))
+        .applicants(applicants)
+        .placed(placed)
+        .placementRate(applicants > 0 ? (double) placed / applicants : null)
+        .ententes(rs.getLong("ententes"))
+        .averageRemuneration(rs.getObject("average_remuneration", Double.class))
+        .averageDaysToSignature(rs.getObject("average_days_to_signature", Double.class))
+        .build();
+  }
+
+  public enum Dimension {
+    PROGRAM,
+    FIELD,
+    TERM;
+
+    public static Optional<Dimension> fromName(Object name) {
+      return Arrays.stream(values()).filter(dimension -> dimension.name().equals(name)).findFirst();
+    }
+  }
+}
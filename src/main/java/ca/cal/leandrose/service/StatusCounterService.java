@@ -0,0 +1,224 @@
+package ca.cal.leandrose.service;
+
+import ca.cal.leandrose.model.CounterCell;
+import ca.cal.leandrose.model.CounterScope;
+import ca.cal.leandrose.model.EntenteStage;
+import ca.cal.leandrose.model.StatusCounter;
+import ca.cal.leandrose.model.auth.Role;
+import ca.cal.leandrose.repository.CandidatureRepository;
+import ca.cal.leandrose.repository.CvRepository;
+import ca.cal.leandrose.repository.EntenteViewRepository;
+import ca.cal.leandrose.repository.InternshipOfferRepository;
+import ca.cal.leandrose.repository.StatusCount;
+import ca.cal.leandrose.repository.StatusCounterRepository;
+import ca.cal.leandrose.service.dto.StatusCountersDto;
+import ca.cal.leandrose.service.event.StatusCountersChangedEvent;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatusCounterService {
+
+  private final StatusCounterRepository statusCounterRepository;
+  private final CvRepository cvRepository;
+  private final InternshipOfferRepository internshipOfferRepository;
+  private final CandidatureRepository candidatureRepository;
+  private final EntenteViewRepository ententeViewRepository;
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onStatusCountersChanged(StatusCountersChangedEvent event) {
+    apply(event.before(), event.after());
+  }
+
+  public void apply(Set<CounterCell> before, Set<CounterCell> after) {
+    before.stream().filter(cell -> !after.contains(cell)).forEach(cell -> increment(cell, -1));
+    after.stream().filter(cell -> !before.contains(cell)).forEach(cell -> increment(cell, 1));
+  }
+
+  public StatusCountersDto getCounters(Role role, Long userId) {
+    List<StatusCounter> rows =
+        switch (role) {
+          case GESTIONNAIRE ->
+              statusCounterRepository.findAllByScopeAndScopeId(
+                  CounterScope.GLOBAL, CounterCell.GLOBAL_SCOPE_ID);
+          case EMPLOYEUR -> statusCounterRepository.findAllForEmployeur(userId);
+          case STUDENT ->
+              statusCounterRepository.findAllByScopeAndScopeId(CounterScope.STUDENT, userId);
+          case PROF -> statusCounterRepository.findAllByScopeAndScopeId(CounterScope.PROF, userId);
+        };
+
+    Map<String, Long> counters = new TreeMap<>();
+    Map<Long, Map<String, Long>> offers = new TreeMap<>();
+    for (StatusCounter row : rows) {
+      if (row.getScope() == CounterScope.OFFER) {
+        offers
+            .computeIfAbsent(row.getScopeId(), offerId -> new TreeMap<>())
+            .put(row.getCounterKey(), row.getValue());
+      } else {
+        counters.put(row.getCounterKey(), row.getValue());
+      }
+    }
+    return StatusCountersDto.builder().counters(counters).offers(offers).build();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${app.counters.reconcile-cron:0 */15 * * * *}")
+  @Transactional
+  public void reconcile() {
+    statusCounterRepository.lockExclusively();
+
+    Map<CounterCell, Long> expected = new HashMap<>();
+    tally(expected, "cv.", CounterScope.STUDENT, cvRepository.countByStatusAndStudent(), true);
+    tally(
+        expected,
+        "offer.",
+        CounterScope.EMPLOYEUR,
+        internshipOfferRepository.countByStatusAndEmployeur(),
+        true);
+    tally(
+        expected,
+        "candidature.",
+        CounterScope.STUDENT,
+        candidatureRepository.countByStatusAndStudent(),
+        true);
+    tally(
+        expected,
+        "candidature.",
+        CounterScope.EMPLOYEUR,
+        candidatureRepository.countByStatusAndEmployeur(),
+        false);
+    tally(
+        expected,
+        "candidature.",
+        CounterScope.OFFER,
+        candidatureRepository.countByStatusAndOffer(),
+        false);
+    tally(
+        expected,
+        "entente.",
+        CounterScope.EMPLOYEUR,
+        ententeViewRepository.countByStatutAndEmployeur(),
+        true);
+    tally(
+        expected,
+        "entente.",
+        CounterScope.STUDENT,
+        ententeViewRepository.countByStatutAndStudent(),
+        false);
+    tally(
+        expected, "entente.", CounterScope.PROF, ententeViewRepository.countByStatutAndProf(), false);
+
+    EntenteStage.StatutEntente awaiting = EntenteStage.StatutEntente.EN_ATTENTE_SIGNATURE;
+    EntenteStage.StatutEntente validee = EntenteStage.StatutEntente.VALIDEE;
+    tally(
+        expected,
+        CounterCell.ENTENTE_AWAITING_SIGNATURE,
+        CounterScope.STUDENT,
+        ententeViewRepository.countAwaitingStudentSignature(awaiting));
+    tally(
+        expected,
+        CounterCell.ENTENTE_AWAITING_SIGNATURE,
+        CounterScope.EMPLOYEUR,
+        ententeViewRepository.countAwaitingEmployeurSignature(awaiting));
+    long awaitingGestionnaire =
+        ententeViewRepository.countByStatutAndDateSignatureGestionnaireIsNull(awaiting);
+    if (awaitingGestionnaire > 0) {
+      expected.put(
+          new CounterCell(
+              CounterScope.GLOBAL,
+              CounterCell.GLOBAL_SCOPE_ID,
+              CounterCell.ENTENTE_AWAITING_SIGNATURE),
+          awaitingGestionnaire);
+    }
+    tally(
+        expected,
+        CounterCell.EVALUATION_TO_DO,
+        CounterScope.EMPLOYEUR,
+        ententeViewRepository.countEvaluationsDueByEmployeur(validee));
+    tally(
+        expected,
+        CounterCell.EVALUATION_TO_DO,
+        CounterScope.PROF,
+        ententeViewRepository.countEvaluationsDueByProf(validee));
+
+    Map<CounterCell, StatusCounter> stored =
+        statusCounterRepository.findAll().stream()
+            .collect(Collectors.toMap(StatusCounter::toCell, Function.identity()));
+
+    int corrected = 0;
+    for (Map.Entry<CounterCell, StatusCounter> entry : stored.entrySet()) {
+      long value = expected.getOrDefault(entry.getKey(), 0L);
+      if (entry.getValue().getValue() != value) {
+        entry.getValue().setValue(value);
+        corrected++;
+      }
+    }
+    for (Map.Entry<CounterCell, Long> entry : expected.entrySet()) {
+      if (!stored.containsKey(entry.getKey())) {
+        CounterCell cell = entry.getKey();
+        statusCounterRepository.save(
+            StatusCounter.builder()
+                .scope(cell.scope())
+                .scopeId(cell.scopeId())
+                .counterKey(cell.counterKey())
+                .value(entry.getValue())
+                .build());
+        corrected++;
+      }
+    }
+
+    if (corrected > 0) {
+      log.info("Compteurs de statut réconciliés: {} cellules corrigées", corrected);
+    }
+  }
+
+  private void increment(CounterCell cell, long delta) {
+    statusCounterRepository.increment(
+        cell.scope().name(), cell.scopeId(), cell.counterKey(), delta);
+  }
+
+  private static void tally(
+      Map<CounterCell, Long> expected,
+      String prefix,
+      CounterScope scope,
+      List<StatusCount> counts,
+      boolean global) {
+    for (StatusCount count : counts) {
+      String key = prefix + count.getStatus().name();
+      if (global) {
+        expected.merge(
+            new CounterCell(CounterScope.GLOBAL, CounterCell.GLOBAL_SCOPE_ID, key),
+            count.getCount(),
+            Long::sum);
+      }
+      if (count.getScopeId() != null) {
+        expected.merge(new CounterCell(scope, count.getScopeId(), key), count.getCount(), Long::sum);
+      }
+    }
+  }
+
+  private static void tally(
+      Map<CounterCell, Long> expected, String key, CounterScope scope, List<StatusCount> counts) {
+    for (StatusCount count : counts) {
+      if (count.getScopeId() != null) {
+        expected.merge(new CounterCell(scope, count.getScopeId(), key), count.getCount(), Long::sum);
+      }
+    }
+  }
+}
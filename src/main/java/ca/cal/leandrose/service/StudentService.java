@@ -10,10 +10,12 @@ import ca.cal.leandrose.service.dto.EmployeurDto;
 import ca.cal.leandrose.service.dto.GestionnaireDto;
 import ca.cal.leandrose.service.dto.ProfDto;
 import ca.cal.leandrose.service.dto.StudentDto;
+import ca.cal.leandrose.service.event.ResponseDataChangedEvent;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +26,7 @@ public class StudentService {
   private final StudentRepository studentRepository;
   private final PasswordEncoder passwordEncoder;
   private final EntenteStageRepository ententeStageRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional
   public StudentDto createStudent(
@@ -103,6 +106,7 @@ public class StudentService {
     student.setInternshipTerm(SchoolTerm.getNextTerm());
 
     Student updated = studentRepository.save(student);
+    eventPublisher.publishEvent(new ResponseDataChangedEvent());
 
     return StudentDto.create(updated);
   }
@@ -0,0 +1,180 @@
+package ca.cal.leandrose.service;
+
+import ca.cal.leandrose.model.SchoolTerm;
+import ca.cal.leandrose.repository.CvRepository;
+import ca.cal.leandrose.repository.EntenteStageRepository;
+import ca.cal.leandrose.repository.EvaluationStagiaireRepository;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.DocumentStore;
+import ca.cal.leandrose.service.storage.TermArchiveStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@Slf4j
+public class TermArchiveService {
+
+  private static final int DEFAULT_RETAINED_TERMS = 1;
+  private static final String TRY_LOCK_SQL =
+      "select pg_try_advisory_lock(hashtext('term_archive'), ?)";
+  private static final String UNLOCK_SQL = "select pg_advisory_unlock(hashtext('term_archive'), ?)";
+
+  private final TermArchiveStore termArchiveStore;
+  private final DocumentStore documentStore;
+  private final BlobMaintenanceService blobMaintenanceService;
+  private final FileCleanupService fileCleanupService;
+  private final CvRepository cvRepository;
+  private final EntenteStageRepository ententeStageRepository;
+  private final EvaluationStagiaireRepository evaluationStagiaireRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final JdbcTemplate jdbcTemplate;
+  private final int retainedTerms;
+
+  public TermArchiveService(
+      TermArchiveStore termArchiveStore,
+      DocumentStore documentStore,
+      BlobMaintenanceService blobMaintenanceService,
+      FileCleanupService fileCleanupService,
+      CvRepository cvRepository,
+      EntenteStageRepository ententeStageRepository,
+      EvaluationStagiaireRepository evaluationStagiaireRepository,
+      PlatformTransactionManager transactionManager,
+      JdbcTemplate jdbcTemplate,
+      @Value("${app.storage.archive.retained-terms:" + DEFAULT_RETAINED_TERMS + "}")
+          int retainedTerms) {
+    this.termArchiveStore = termArchiveStore;
+    this.documentStore = documentStore;
+    this.blobMaintenanceService = blobMaintenanceService;
+    this.fileCleanupService = fileCleanupService;
+    this.cvRepository = cvRepository;
+    this.ententeStageRepository = ententeStageRepository;
+    this.evaluationStagiaireRepository = evaluationStagiaireRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.jdbcTemplate = jdbcTemplate;
+    this.retainedTerms = retainedTerms;
+  }
+
+  @Scheduled(cron = "${app.storage.archive.cron:0 0 4 * * *}")
+  public void archiveFinishedTerms() {
+    for (int termKey : archivableTerms(oldestRetainedTerm().toTermKey())) {
+      try {
+        archiveTerm(termKey);
+      } catch (IOException e) {
+        log.warn("Archivage du trimestre {} impossible: {}", termKey, e.getMessage());
+      }
+    }
+  }
+
+  public int archiveTerm(int termKey) throws IOException {
+    try {
+      Integer archived =
+          jdbcTemplate.execute(
+              (ConnectionCallback<Integer>)
+                  connection -> {
+                    if (!advisoryLock(connection, TRY_LOCK_SQL, termKey)) {
+                      log.info("Archivage du trimestre {} déjà en cours ailleurs", termKey);
+                      return 0;
+                    }
+                    try {
+                      return archiveLocked(termKey);
+                    } catch (IOException e) {
+                      throw new UncheckedIOException(e);
+                    } finally {
+                      advisoryLock(connection, UNLOCK_SQL, termKey);
+                    }
+                  });
+      return archived == null ? 0 : archived;
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private int archiveLocked(int termKey) throws IOException {
+    Map<String, String> blobs = new TreeMap<>();
+    for (String key : documentKeys(termKey)) {
+      if (documentStore.exists(key)) {
+        blobs.put(key, BlobStore.hashOf(key).orElseThrow());
+      } else {
+        log.warn("Document introuvable, archivage ignoré : {}", key);
+      }
+    }
+    if (blobs.isEmpty()) {
+      return 0;
+    }
+
+    Map<String, TermArchiveStore.Source> sources = new LinkedHashMap<>();
+    blobs.forEach(
+        (key, sha256) -> sources.put(sha256, () -> documentStore.get(key).getInputStream()));
+    termArchiveStore.write(termKey, sources);
+
+    transactionTemplate.executeWithoutResult(
+        status ->
+            blobs.forEach(
+                (key, sha256) -> {
+                  blobMaintenanceService.relocateTerm(
+                      termKey, key, TermArchiveStore.locatorFor(termKey, sha256), sha256);
+                  fileCleanupService.schedule(key);
+                }));
+
+    log.info("{} document(s) archivé(s) pour le trimestre {}", blobs.size(), termKey);
+    return blobs.size();
+  }
+
+  private static boolean advisoryLock(Connection connection, String sql, int termKey)
+      throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      statement.setInt(1, termKey);
+      try (ResultSet result = statement.executeQuery()) {
+        return result.next() && result.getBoolean(1);
+      }
+    }
+  }
+
+  private Set<Integer> archivableTerms(int before) {
+    Set<Integer> terms = new TreeSet<>();
+    terms.addAll(ententeStageRepository.findTermKeysWithBlobsBefore(before));
+    terms.addAll(evaluationStagiaireRepository.findTermKeysWithBlobsBefore(before));
+    cvRepository.findTermsWithBlobs().stream()
+        .filter(term -> term != null && term.getSeason() != null)
+        .map(SchoolTerm::toTermKey)
+        .filter(termKey -> termKey < before)
+        .forEach(terms::add);
+    return terms;
+  }
+
+  private Set<String> documentKeys(int termKey) {
+    SchoolTerm term = SchoolTerm.fromTermKey(termKey);
+    Set<String> keys = new TreeSet<>();
+    keys.addAll(ententeStageRepository.findBlobPathsByTermKey(termKey));
+    keys.addAll(evaluationStagiaireRepository.findEmployerBlobPathsByTermKey(termKey));
+    keys.addAll(evaluationStagiaireRepository.findProfessorBlobPathsByTermKey(termKey));
+    keys.addAll(cvRepository.findBlobPathsByTerm(term.getSeason(), term.getYear()));
+    keys.removeIf(key -> !BlobStore.isKey(key));
+    return keys;
+  }
+
+  private SchoolTerm oldestRetainedTerm() {
+    SchoolTerm term = SchoolTerm.getCurrentTerm();
+    for (int i = 0; i < retainedTerms; i++) {
+      term = term.calculatePreviousTerm();
+    }
+    return term;
+  }
+}
@@ -0,0 +1,235 @@
+package ca.cal.leandrose.service;
+
+import ca.cal.leandrose.model.EntenteStage;
+import ca.cal.leandrose.model.EntenteView;
+import ca.cal.leandrose.model.EvaluationStagiaire;
+import ca.cal.leandrose.model.SchoolTerm;
+import ca.cal.leandrose.repository.EntenteViewRepository;
+import ca.cal.leandrose.repository.EvaluationStagiaireRepository;
+import ca.cal.leandrose.service.storage.DocumentStore;
+import ca.cal.leandrose.service.storage.StoredDocument;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class TermExportService {
+
+  public static final String MANIFEST = "manifeste.csv";
+
+  private static final int DEFAULT_PAGE_SIZE = 500;
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String MANIFEST_HEADER =
+      "fichier,type,entente_id,evaluation_id,etudiant,numero_etudiant,programme,entreprise,"
+          + "statut,octets,etat\r\n";
+
+  private final EntenteViewRepository ententeViewRepository;
+  private final EvaluationStagiaireRepository evaluationStagiaireRepository;
+  private final DocumentStore documentStore;
+  private final int pageSize;
+  @Getter private final Duration timeout;
+
+  public TermExportService(
+      EntenteViewRepository ententeViewRepository,
+      EvaluationStagiaireRepository evaluationStagiaireRepository,
+      DocumentStore documentStore,
+      @Value("${app.exports.page-size:" + DEFAULT_PAGE_SIZE + "}") int pageSize,
+      @Value("${app.exports.timeout:PT30M}") Duration timeout) {
+    this.ententeViewRepository = ententeViewRepository;
+    this.evaluationStagiaireRepository = evaluationStagiaireRepository;
+    this.documentStore = documentStore;
+    this.pageSize = pageSize;
+    this.timeout = timeout;
+  }
+
+  public record Filter(String program, Long employeurId, EntenteStage.StatutEntente statut) {
+
+    public static final Filter NONE = new Filter(null, null, null);
+  }
+
+  public static String filenameFor(SchoolTerm term) {
+    return "export_" + term.getSeason().name().toLowerCase() + "_" + term.getYear() + ".zip";
+  }
+
+  public int export(SchoolTerm term, Filter filter, OutputStream target) throws IOException {
+    Path manifestFile = Files.createTempFile("manifeste-", ".csv");
+    try {
+      ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(target, BUFFER_SIZE));
+      zip.setLevel(Deflater.BEST_SPEED);
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int exported;
+      try (Writer manifest = Files.newBufferedWriter(manifestFile, StandardCharsets.UTF_8)) {
+        manifest.write(MANIFEST_HEADER);
+        exported = writeDocuments(term, filter, zip, manifest, buffer);
+      }
+      zip.putNextEntry(new ZipEntry(MANIFEST));
+      Files.copy(manifestFile, zip);
+      zip.closeEntry();
+      zip.finish();
+      zip.flush();
+      log.info("Export du trimestre {}: {} document(s)", term.getTermAsString(), exported);
+      return exported;
+    } finally {
+      Files.deleteIfExists(manifestFile);
+    }
+  }
+
+  private int writeDocuments(
+      SchoolTerm term, Filter filter, ZipOutputStream zip, Writer manifest, byte[] buffer)
+      throws IOException {
+    int exported = 0;
+    long after = 0;
+    List<EntenteView> page;
+    do {
+      page =
+          ententeViewRepository.findExportPage(
+              term.getSeason(),
+              term.getYear(),
+              filter.program(),
+              filter.employeurId(),
+              filter.statut(),
+              after,
+              PageRequest.ofSize(pageSize));
+      Map<Long, EvaluationStagiaire> evaluations = evaluationsOf(page);
+      for (EntenteView view : page) {
+        exported +=
+            write(
+                zip,
+                manifest,
+                buffer,
+                "ententes/entente_" + view.getEntenteId() + ".pdf",
+                "ENTENTE",
+                view,
+                view.getCheminDocumentPDF());
+        EvaluationStagiaire evaluation = evaluations.get(view.getEvaluationId());
+        if (evaluation != null) {
+          String prefix = "evaluations/evaluation_" + evaluation.getId();
+          exported +=
+              write(
+                  zip,
+                  manifest,
+                  buffer,
+                  prefix + "_employeur.pdf",
+                  "EVALUATION_EMPLOYEUR",
+                  view,
+                  evaluation.getEmployerPdfFilePath());
+          exported +=
+              write(
+                  zip,
+                  manifest,
+                  buffer,
+                  prefix + "_professeur.pdf",
+                  "EVALUATION_PROFESSEUR",
+                  view,
+                  evaluation.getProfessorPdfFilePath());
+        }
+        after = view.getEntenteId();
+      }
+    } while (page.size() == pageSize);
+    return exported;
+  }
+
+  private Map<Long, EvaluationStagiaire> evaluationsOf(List<EntenteView> page) {
+    List<Long> ids =
+        page.stream().map(EntenteView::getEvaluationId).filter(id -> id != null).toList();
+    if (ids.isEmpty()) {
+      return Map.of();
+    }
+    return evaluationStagiaireRepository.findAllById(ids).stream()
+        .collect(Collectors.toMap(EvaluationStagiaire::getId, Function.identity()));
+  }
+
+  private int write(
+      ZipOutputStream zip,
+      Writer manifest,
+      byte[] buffer,
+      String entryName,
+      String type,
+      EntenteView view,
+      String key)
+      throws IOException {
+    if (key == null || key.isBlank()) {
+      return 0;
+    }
+    Optional<StoredDocument> stored = stat(key);
+    if (stored.isEmpty()) {
+      log.warn("Document introuvable, exclu de l'export : {}", key);
+      appendManifest(manifest, entryName, type, view, 0, "MANQUANT");
+      return 0;
+    }
+    long size = stored.get().size();
+    zip.putNextEntry(new ZipEntry(entryName));
+    try (InputStream in = documentStore.stream(key, 0, size)) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        zip.write(buffer, 0, read);
+      }
+    }
+    zip.closeEntry();
+    appendManifest(manifest, entryName, type, view, size, "INCLUS");
+    return 1;
+  }
+
+  private Optional<StoredDocument> stat(String key) throws IOException {
+    try {
+      return documentStore.stat(key);
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static void appendManifest(
+      Writer manifest, String entryName, String type, EntenteView view, long size, String state)
+      throws IOException {
+    manifest
+        .append(csv(entryName))
+        .append(',')
+        .append(type)
+        .append(',')
+        .append(String.valueOf(view.getEntenteId()))
+        .append(',')
+        .append(view.getEvaluationId() != null ? view.getEvaluationId().toString() : "")
+        .append(',')
+        .append(csv(view.getStudentLastName() + ", " + view.getStudentFirstName()))
+        .append(',')
+        .append(csv(view.getStudentNumber()))
+        .append(',')
+        .append(csv(view.getStudentProgram()))
+        .append(',')
+        .append(csv(view.getCompanyName()))
+        .append(',')
+        .append(view.getStatut() != null ? view.getStatut().name() : "")
+        .append(',')
+        .append(String.valueOf(size))
+        .append(',')
+        .append(state)
+        .append("\r\n");
+  }
+
+  private static String csv(String value) {
+    if (value == null) {
+      return "";
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
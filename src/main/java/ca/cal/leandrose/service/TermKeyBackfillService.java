@@ -0,0 +1,62 @@
+package ca.cal.leandrose.service;
+
+import ca.cal.leandrose.model.SchoolTerm;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TermKeyBackfillService {
+
+  static final Map<String, String> TERM_KEYED_TABLES =
+      Map.of(
+          "candidature",
+          "from internship_offer o where o.id = t.internship_offer_id",
+          "entente_stage",
+          "from candidature c join internship_offer o on o.id = c.internship_offer_id"
+              + " where c.id = t.candidature_id",
+          "evaluation_stagiaire",
+          "from internship_offer o where o.id = t.internship_id");
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillTermKeys() {
+    TERM_KEYED_TABLES.forEach(
+        (table, source) -> {
+          try {
+            int backfilled = jdbcTemplate.update(backfillSql(table, source));
+            if (backfilled > 0) {
+              log.info("Trimestre renseigné pour {} lignes de {}", backfilled, table);
+            }
+          } catch (DataAccessException e) {
+            log.warn("Renseignement du trimestre impossible pour {}: {}", table, e.getMessage());
+          }
+        });
+  }
+
+  static String backfillSql(String table, String source) {
+    return "update "
+        + table
+        + " t set term_key = o.year * 10 + "
+        + seasonOrdinal("o.season")
+        + " "
+        + source
+        + " and t.term_key is null";
+  }
+
+  private static String seasonOrdinal(String column) {
+    return Arrays.stream(SchoolTerm.Season.values())
+        .map(season -> " when '" + season.name() + "' then " + season.ordinal())
+        .collect(Collectors.joining("", "(case " + column, " end)"));
+  }
+}
@@ -0,0 +1,179 @@
+package ca.cal.leandrose.service;
+
+import ca.cal.leandrose.model.UploadSession;
+import ca.cal.leandrose.repository.UploadSessionRepository;
+import ca.cal.leandrose.service.dto.UploadSessionDto;
+import ca.cal.leandrose.service.storage.ChunkedUploadStore;
+import ca.cal.leandrose.service.storage.SpooledUpload;
+import jakarta.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class UploadSessionService {
+
+  private static final long MEGABYTE = 1024L * 1024L;
+  private static final int DEFAULT_MAX_SIZE_MB = 20;
+  private static final String DEFAULT_TTL = "PT24H";
+
+  private final UploadSessionRepository uploadSessionRepository;
+  private final ChunkedUploadStore chunkedUploadStore;
+  private final Duration ttl;
+  private final int maxSizeMb;
+
+  public UploadSessionService(
+      UploadSessionRepository uploadSessionRepository,
+      ChunkedUploadStore chunkedUploadStore,
+      @Value("${app.uploads.session-ttl:" + DEFAULT_TTL + "}") Duration ttl,
+      @Value("${app.uploads.max-size-mb:" + DEFAULT_MAX_SIZE_MB + "}") int maxSizeMb) {
+    this.uploadSessionRepository = uploadSessionRepository;
+    this.chunkedUploadStore = chunkedUploadStore;
+    this.ttl = ttl;
+    this.maxSizeMb = maxSizeMb;
+  }
+
+  @FunctionalInterface
+  public interface Completion<T> {
+    T complete(UploadSession session, SpooledUpload upload) throws IOException;
+  }
+
+  public UploadSessionDto create(
+      Long ownerId,
+      UploadSession.Purpose purpose,
+      String filename,
+      String contentType,
+      long size)
+      throws IOException {
+    if (filename == null || filename.isBlank()) {
+      throw new IllegalArgumentException("Nom de fichier manquant.");
+    }
+    if (size <= 0) {
+      throw new IllegalArgumentException("Fichier vide ou manquant.");
+    }
+    if (size > maxSizeMb * MEGABYTE) {
+      throw new IllegalArgumentException(
+          "Fichier trop volumineux. Taille maximale : " + maxSizeMb + " Mo");
+    }
+    Instant now = Instant.now();
+    UploadSession session =
+        UploadSession.builder()
+            .id(UUID.randomUUID().toString())
+            .ownerId(ownerId)
+            .purpose(purpose)
+            .filename(filename)
+            .contentType(contentType)
+            .size(size)
+            .createdAt(now)
+            .expiresAt(now.plus(ttl))
+            .build();
+    chunkedUploadStore.open(session.getId());
+    try {
+      session = uploadSessionRepository.save(session);
+    } catch (RuntimeException e) {
+      chunkedUploadStore.discard(session.getId());
+      throw e;
+    }
+    return UploadSessionDto.create(session, 0);
+  }
+
+  public UploadSessionDto getStatus(String id, Long ownerId, UploadSession.Purpose purpose)
+      throws IOException {
+    UploadSession session = find(id, ownerId, purpose);
+    return UploadSessionDto.create(session, chunkedUploadStore.offset(id));
+  }
+
+  public UploadSessionDto append(
+      String id, Long ownerId, UploadSession.Purpose purpose, long offset, InputStream chunk)
+      throws IOException {
+    UploadSession session = find(id, ownerId, purpose);
+    try {
+      long committed = chunkedUploadStore.append(id, offset, chunk, session.getSize());
+      return UploadSessionDto.create(session, committed);
+    } finally {
+      session.setExpiresAt(Instant.now().plus(ttl));
+      uploadSessionRepository.save(session);
+    }
+  }
+
+  public <T> T complete(
+      String id,
+      Long ownerId,
+      UploadSession.Purpose purpose,
+      String sha256,
+      Completion<T> completion)
+      throws IOException {
+    UploadSession session = find(id, ownerId, purpose);
+    long committed = chunkedUploadStore.offset(id);
+    if (committed != session.getSize()) {
+      throw new IllegalStateException(
+          "Téléversement incomplet : "
+              + committed
+              + " octet(s) reçus sur "
+              + session.getSize());
+    }
+    T result;
+    try (SpooledUpload upload = chunkedUploadStore.complete(id)) {
+      try {
+        if (sha256 != null && !sha256.equalsIgnoreCase(upload.getSha256())) {
+          throw new IllegalArgumentException("Somme de contrôle invalide.");
+        }
+        result = completion.complete(session, upload);
+      } catch (IllegalArgumentException e) {
+        upload.keep();
+        throw e;
+      } catch (IOException | RuntimeException e) {
+        uploadSessionRepository.delete(session);
+        throw e;
+      }
+    }
+    uploadSessionRepository.delete(session);
+    return result;
+  }
+
+  public void cancel(String id, Long ownerId, UploadSession.Purpose purpose) throws IOException {
+    UploadSession session = find(id, ownerId, purpose);
+    uploadSessionRepository.delete(session);
+    chunkedUploadStore.discard(id);
+  }
+
+  @Scheduled(fixedDelayString = "${app.uploads.expiry-interval:PT15M}")
+  public int expireSessions() {
+    Instant now = Instant.now();
+    int expired = 0;
+    for (UploadSession session : uploadSessionRepository.findAllByExpiresAtBefore(now)) {
+      try {
+        chunkedUploadStore.discard(session.getId());
+        uploadSessionRepository.delete(session);
+        expired++;
+      } catch (IOException e) {
+        log.warn(
+            "Suppression du téléversement {} impossible: {}", session.getId(), e.getMessage());
+      }
+    }
+    try {
+      expired += chunkedUploadStore.purgeIdle(now.minus(ttl));
+    } catch (IOException e) {
+      log.warn("Nettoyage des téléversements interrompu: {}", e.getMessage());
+    }
+    if (expired > 0) {
+      log.info("{} téléversement(s) expiré(s) supprimé(s)", expired);
+    }
+    return expired;
+  }
+
+  private UploadSession find(String id, Long ownerId, UploadSession.Purpose purpose) {
+    return uploadSessionRepository
+        .findByIdAndOwnerIdAndPurpose(id, ownerId, purpose)
+        .filter(session -> session.getExpiresAt().isAfter(Instant.now()))
+        .orElseThrow(
+            () -> new EntityNotFoundException("Session de téléversement introuvable : " + id));
+  }
+}
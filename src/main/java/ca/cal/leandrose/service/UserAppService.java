@@ -6,10 +6,13 @@ import ca.cal.leandrose.repository.*;
 import ca.cal.leandrose.security.JwtTokenProvider;
 import ca.cal.leandrose.security.exception.UserNotFoundException;
 import ca.cal.leandrose.service.dto.*;
+import ca.cal.leandrose.service.event.ResponseDataChangedEvent;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +25,7 @@ public class UserAppService {
     private final GestionnaireRepository gestionnaireRepository;
     private final ProfRepository profRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
 
 
@@ -86,6 +90,7 @@ public class UserAppService {
     }
 
 
+    @Transactional
     public UserDTO updateProfile(String authHeader, UpdateUserRequest req) {
         UserApp user = getUserFromAuthHeader(authHeader);
 
@@ -145,6 +150,7 @@ public class UserAppService {
         }
 
         userAppRepository.save(user);
+        eventPublisher.publishEvent(new ResponseDataChangedEvent());
 
         return getMe(authHeader);
     }
@@ -0,0 +1,205 @@
+package ca.cal.leandrose.service.cache;
+
+import ca.cal.leandrose.service.dto.CacheStatsDto;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+public class BoundedCache<K, V> {
+
+  private final String name;
+  private final int maxEntries;
+  private final long maxWeight;
+  private final ToLongFunction<? super V> weigher;
+  private final Duration ttl;
+  private final Clock clock;
+  private final LinkedHashMap<K, Entry<V>> entries;
+  private final Map<K, Load<V>> loads = new HashMap<>();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+  private long generation;
+  private long weight;
+
+  public BoundedCache(String name, int maxEntries, Duration ttl) {
+    this(name, maxEntries, ttl, Clock.systemUTC());
+  }
+
+  public BoundedCache(String name, int maxEntries, Duration ttl, Clock clock) {
+    this(name, maxEntries, 0, value -> 0, ttl, clock);
+  }
+
+  public BoundedCache(
+      String name,
+      int maxEntries,
+      long maxWeight,
+      ToLongFunction<? super V> weigher,
+      Duration ttl,
+      Clock clock) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("La taille maximale du cache doit être positive");
+    }
+    this.name = name;
+    this.maxEntries = maxEntries;
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+    this.ttl = ttl;
+    this.clock = clock;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    Load<V> load;
+    boolean leader;
+    synchronized (this) {
+      Entry<V> entry = entries.get(key);
+      if (entry != null && !isExpired(entry)) {
+        hits.incrementAndGet();
+        return entry.value();
+      }
+      if (entry != null) {
+        entries.remove(key);
+        weight -= entry.weight();
+      }
+      misses.incrementAndGet();
+      load = loads.get(key);
+      leader = load == null || load.generation() != generation;
+      if (leader) {
+        load = new Load<>(generation, new CompletableFuture<>());
+        loads.put(key, load);
+      }
+    }
+    if (!leader) {
+      return await(load);
+    }
+
+    V value;
+    try {
+      value = loader.apply(key);
+    } catch (RuntimeException | Error e) {
+      synchronized (this) {
+        loads.remove(key, load);
+      }
+      load.result().completeExceptionally(e);
+      throw e;
+    }
+
+    synchronized (this) {
+      loads.remove(key, load);
+      if (value != null && load.generation() == generation) {
+        store(key, value);
+      }
+    }
+    load.result().complete(value);
+    return value;
+  }
+
+  public synchronized void invalidate(K key) {
+    generation++;
+    Entry<V> removed = entries.remove(key);
+    if (removed != null) {
+      weight -= removed.weight();
+      invalidations.incrementAndGet();
+    }
+  }
+
+  public synchronized void invalidateIf(Predicate<? super K> predicate) {
+    generation++;
+    Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<K, Entry<V>> entry = iterator.next();
+      if (predicate.test(entry.getKey())) {
+        weight -= entry.getValue().weight();
+        iterator.remove();
+        invalidations.incrementAndGet();
+      }
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    generation++;
+    invalidations.addAndGet(entries.size());
+    entries.clear();
+    weight = 0;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized long weight() {
+    return weight;
+  }
+
+  public CacheStatsDto stats() {
+    long hitCount = hits.get();
+    long total = hitCount + misses.get();
+    return CacheStatsDto.builder()
+        .name(name)
+        .size(size())
+        .maxEntries(maxEntries)
+        .weight(weight())
+        .maxWeight(maxWeight)
+        .hits(hitCount)
+        .misses(misses.get())
+        .evictions(evictions.get())
+        .invalidations(invalidations.get())
+        .hitRate(total == 0 ? 0.0 : (double) hitCount / total)
+        .build();
+  }
+
+  private void store(K key, V value) {
+    long valueWeight = weigher.applyAsLong(value);
+    if (maxWeight > 0 && valueWeight > maxWeight) {
+      return;
+    }
+    Entry<V> previous = entries.put(key, new Entry<>(value, valueWeight, clock.instant()));
+    if (previous != null) {
+      weight -= previous.weight();
+    }
+    weight += valueWeight;
+
+    Iterator<Entry<V>> eldest = entries.values().iterator();
+    while (entries.size() > maxEntries || (maxWeight > 0 && weight > maxWeight)) {
+      weight -= eldest.next().weight();
+      eldest.remove();
+      evictions.incrementAndGet();
+    }
+  }
+
+  private V await(Load<V> load) {
+    try {
+      return load.result().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private boolean isExpired(Entry<V> entry) {
+    return ttl != null
+        && !ttl.isZero()
+        && entry.loadedAt().plus(ttl).isBefore(clock.instant());
+  }
+
+  private record Entry<V>(V value, long weight, Instant loadedAt) {}
+
+  private record Load<V>(long generation, CompletableFuture<V> result) {}
+}
@@ -0,0 +1,91 @@
+package ca.cal.leandrose.service.cache;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import org.springframework.core.io.AbstractResource;
+
+public class CachedDocumentResource extends AbstractResource {
+
+  private final Path path;
+  private final ByteBuffer content;
+  private final long lastModified;
+
+  public CachedDocumentResource(Path path, ByteBuffer content, long lastModified) {
+    this.path = path;
+    this.content = content.asReadOnlyBuffer();
+    this.lastModified = lastModified;
+  }
+
+  public ByteBuffer getContent() {
+    return content.duplicate();
+  }
+
+  @Override
+  public boolean exists() {
+    return true;
+  }
+
+  @Override
+  public long contentLength() {
+    return content.remaining();
+  }
+
+  @Override
+  public long lastModified() {
+    return lastModified;
+  }
+
+  @Override
+  public String getFilename() {
+    return path.getFileName().toString();
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    return new ByteBufferInputStream(getContent());
+  }
+
+  @Override
+  public String getDescription() {
+    return "Document en cache [" + path + "]";
+  }
+
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) {
+      if (length == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int count = Math.min(length, buffer.remaining());
+      buffer.get(target, offset, count);
+      return count;
+    }
+
+    @Override
+    public long skip(long n) {
+      int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+      buffer.position(buffer.position() + count);
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+}
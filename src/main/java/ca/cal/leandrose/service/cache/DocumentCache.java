@@ -0,0 +1,104 @@
+package ca.cal.leandrose.service.cache;
+
+import ca.cal.leandrose.service.dto.CacheStatsDto;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Clock;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DocumentCache {
+
+  private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+  private static final long DEFAULT_MAX_DOCUMENT_BYTES = 8L * 1024 * 1024;
+  private static final int DEFAULT_MAX_ENTRIES = 1024;
+
+  private final long maxDocumentBytes;
+  private final BoundedCache<DocumentKey, ByteBuffer> documents;
+
+  public DocumentCache(
+      @Value("${app.documents.cache.max-bytes:" + DEFAULT_MAX_BYTES + "}") long maxBytes,
+      @Value("${app.documents.cache.max-document-bytes:" + DEFAULT_MAX_DOCUMENT_BYTES + "}")
+          long maxDocumentBytes,
+      @Value("${app.documents.cache.max-entries:" + DEFAULT_MAX_ENTRIES + "}") int maxEntries) {
+    this.maxDocumentBytes = Math.min(maxDocumentBytes, maxBytes);
+    this.documents =
+        new BoundedCache<>(
+            "documents",
+            maxEntries,
+            maxBytes,
+            ByteBuffer::capacity,
+            Duration.ZERO,
+            Clock.systemUTC());
+  }
+
+  public Resource getResource(Path path) throws IOException {
+    Path normalized = path.toAbsolutePath().normalize();
+    BasicFileAttributes attributes = Files.readAttributes(normalized, BasicFileAttributes.class);
+    if (attributes.size() > maxDocumentBytes) {
+      return new FileSystemResource(normalized);
+    }
+    return new CachedDocumentResource(
+        normalized, read(normalized, attributes), attributes.lastModifiedTime().toMillis());
+  }
+
+  public ByteBuffer read(Path path) throws IOException {
+    Path normalized = path.toAbsolutePath().normalize();
+    return read(normalized, Files.readAttributes(normalized, BasicFileAttributes.class));
+  }
+
+  public void invalidate(Path path) {
+    Path normalized = path.toAbsolutePath().normalize();
+    documents.invalidateIf(key -> key.path().equals(normalized));
+  }
+
+  public CacheStatsDto getStats() {
+    return documents.stats();
+  }
+
+  private ByteBuffer read(Path normalized, BasicFileAttributes attributes) throws IOException {
+    if (attributes.size() > maxDocumentBytes) {
+      return map(normalized);
+    }
+    DocumentKey key =
+        new DocumentKey(normalized, attributes.lastModifiedTime().toMillis(), attributes.size());
+    try {
+      return documents.get(key, this::load).duplicate();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private ByteBuffer load(DocumentKey key) {
+    try (FileChannel channel = FileChannel.open(key.path(), StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(Math.toIntExact(channel.size()));
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) < 0) {
+          break;
+        }
+      }
+      buffer.flip();
+      return buffer.asReadOnlyBuffer();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static ByteBuffer map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asReadOnlyBuffer();
+    }
+  }
+
+  private record DocumentKey(Path path, long lastModified, long size) {}
+}
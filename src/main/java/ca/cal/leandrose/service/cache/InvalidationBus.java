@@ -0,0 +1,209 @@
+package ca.cal.leandrose.service.cache;
+
+import ca.cal.leandrose.repository.EntenteStageRepository;
+import ca.cal.leandrose.repository.InternshipOfferRepository;
+import ca.cal.leandrose.service.event.CacheInvalidationEvent;
+import ca.cal.leandrose.service.event.EntenteChangedEvent;
+import ca.cal.leandrose.service.event.EntenteDeletedEvent;
+import ca.cal.leandrose.service.event.OfferStatusChangedEvent;
+import ca.cal.leandrose.service.event.ResponseDataChangedEvent;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@Slf4j
+public class InvalidationBus {
+
+  private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EntenteStageRepository ententeStageRepository;
+  private final InternshipOfferRepository internshipOfferRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final DataSourceProperties dataSourceProperties;
+  private final String channel;
+  private final boolean enabled;
+  private final Duration pollTimeout;
+  private final Duration reconnectDelay;
+  private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+  private volatile boolean running;
+  private volatile Connection connection;
+  private Thread listener;
+
+  public InvalidationBus(
+      JdbcTemplate jdbcTemplate,
+      EntenteStageRepository ententeStageRepository,
+      InternshipOfferRepository internshipOfferRepository,
+      ApplicationEventPublisher eventPublisher,
+      DataSourceProperties dataSourceProperties,
+      @Value("${app.invalidation.channel:leandrose_invalidation}") String channel,
+      @Value("${app.invalidation.enabled:true}") boolean enabled,
+      @Value("${app.invalidation.poll-timeout:PT1S}") Duration pollTimeout,
+      @Value("${app.invalidation.reconnect-delay:PT5S}") Duration reconnectDelay) {
+    if (!CHANNEL_NAME.matcher(channel).matches()) {
+      throw new IllegalArgumentException("Nom de canal d'invalidation invalide: " + channel);
+    }
+    this.jdbcTemplate = jdbcTemplate;
+    this.ententeStageRepository = ententeStageRepository;
+    this.internshipOfferRepository = internshipOfferRepository;
+    this.eventPublisher = eventPublisher;
+    this.dataSourceProperties = dataSourceProperties;
+    this.channel = channel;
+    this.enabled = enabled;
+    this.pollTimeout = pollTimeout;
+    this.reconnectDelay = reconnectDelay;
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onOfferStatusChanged(OfferStatusChangedEvent event) {
+    publish(
+        new CacheInvalidationEvent(
+            CacheInvalidationEvent.OFFER,
+            event.offerId(),
+            internshipOfferRepository.findPublishedVersionById(event.offerId()).orElse(null)));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onEntenteChanged(EntenteChangedEvent event) {
+    publish(
+        new CacheInvalidationEvent(
+            CacheInvalidationEvent.ENTENTE,
+            event.ententeId(),
+            ententeStageRepository.findAggregateVersionById(event.ententeId()).orElse(null)));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onEntenteDeleted(EntenteDeletedEvent event) {
+    publish(new CacheInvalidationEvent(CacheInvalidationEvent.ENTENTE, event.ententeId(), null));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onResponseDataChanged(ResponseDataChangedEvent event) {
+    publish(new CacheInvalidationEvent(CacheInvalidationEvent.RESPONSES, null, null));
+  }
+
+  public void publish(CacheInvalidationEvent event) {
+    if (!enabled) {
+      return;
+    }
+    jdbcTemplate.queryForList(
+        "select pg_notify(?, ?)", channel, new InvalidationMessage(nodeId, event).encode());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void start() {
+    if (!enabled || running) {
+      return;
+    }
+    running = true;
+    listener = Thread.ofPlatform().daemon().name("invalidation-bus").start(this::listen);
+  }
+
+  @PreDestroy
+  public synchronized void stop() {
+    running = false;
+    if (listener != null) {
+      listener.interrupt();
+      closeQuietly(connection);
+      listener = null;
+    }
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  void receive(String payload) {
+    Optional<InvalidationMessage> message = InvalidationMessage.decode(payload);
+    if (message.isEmpty()) {
+      log.warn("Message d'invalidation ignoré: {}", payload);
+      return;
+    }
+    if (!nodeId.equals(message.get().origin())) {
+      eventPublisher.publishEvent(message.get().event());
+    }
+  }
+
+  private void listen() {
+    boolean reconnecting = false;
+    while (running) {
+      try (Connection listening = openConnection()) {
+        connection = listening;
+        try (Statement statement = listening.createStatement()) {
+          statement.execute("listen " + channel);
+        }
+        if (reconnecting) {
+          log.info("Bus d'invalidation reconnecté, vidage complet des caches locaux");
+          eventPublisher.publishEvent(CacheInvalidationEvent.flushAll());
+        }
+        reconnecting = true;
+        PGConnection notifications = listening.unwrap(PGConnection.class);
+        while (running) {
+          PGNotification[] received =
+              notifications.getNotifications((int) pollTimeout.toMillis());
+          if (received == null) {
+            continue;
+          }
+          for (PGNotification notification : received) {
+            receive(notification.getParameter());
+          }
+        }
+      } catch (SQLException e) {
+        if (!running) {
+          return;
+        }
+        reconnecting = true;
+        log.warn(
+            "Connexion au bus d'invalidation perdue, nouvel essai dans {}: {}",
+            reconnectDelay,
+            e.getMessage());
+        try {
+          Thread.sleep(reconnectDelay);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      } finally {
+        connection = null;
+      }
+    }
+  }
+
+  private Connection openConnection() throws SQLException {
+    return DriverManager.getConnection(
+        dataSourceProperties.determineUrl(),
+        dataSourceProperties.determineUsername(),
+        dataSourceProperties.determinePassword());
+  }
+
+  private static void closeQuietly(Connection connection) {
+    if (connection == null) {
+      return;
+    }
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      log.debug("Fermeture de la connexion d'écoute: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package ca.cal.leandrose.service.cache;
+
+import ca.cal.leandrose.service.event.CacheInvalidationEvent;
+import java.util.Optional;
+
+public record InvalidationMessage(String origin, CacheInvalidationEvent event) {
+
+  private static final String SEPARATOR = "|";
+
+  public String encode() {
+    return String.join(
+        SEPARATOR, origin, event.type(), toField(event.id()), toField(event.version()));
+  }
+
+  public static Optional<InvalidationMessage> decode(String payload) {
+    if (payload == null) {
+      return Optional.empty();
+    }
+    String[] fields = payload.split("\\|", -1);
+    if (fields.length != 4 || fields[0].isEmpty() || fields[1].isEmpty()) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(
+          new InvalidationMessage(
+              fields[0],
+              new CacheInvalidationEvent(fields[1], toLong(fields[2]), toLong(fields[3]))));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static String toField(Long value) {
+    return value == null ? "" : value.toString();
+  }
+
+  private static Long toLong(String field) {
+    return field.isEmpty() ? null : Long.valueOf(field);
+  }
+}
@@ -0,0 +1,92 @@
+package ca.cal.leandrose.service.cache;
+
+import ca.cal.leandrose.service.dto.CacheStatsDto;
+import ca.cal.leandrose.service.event.CacheInvalidationEvent;
+import ca.cal.leandrose.service.event.ResponseDataChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class SerializedResponseCache {
+
+  private static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+  private static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+  private final ObjectMapper objectMapper;
+  private final BoundedCache<ResponseKey, byte[]> responses;
+
+  public SerializedResponseCache(
+      ObjectMapper objectMapper,
+      @Value("${app.responses.cache.max-bytes:" + DEFAULT_MAX_BYTES + "}") long maxBytes,
+      @Value("${app.responses.cache.max-entries:" + DEFAULT_MAX_ENTRIES + "}") int maxEntries) {
+    this.objectMapper = objectMapper;
+    this.responses =
+        new BoundedCache<>(
+            "serialized-responses",
+            maxEntries,
+            maxBytes,
+            bytes -> bytes.length,
+            Duration.ZERO,
+            Clock.systemUTC());
+  }
+
+  public byte[] get(String type, Long id, long version, Supplier<?> loader) {
+    return responses.get(new ResponseKey(type, id, version), key -> serialize(loader.get()));
+  }
+
+  public void evict(String type, Long id) {
+    responses.invalidateIf(key -> key.type().equals(type) && key.id().equals(id));
+  }
+
+  public void evictOlderThan(String type, Long id, long version) {
+    responses.invalidateIf(
+        key -> key.type().equals(type) && key.id().equals(id) && key.version() < version);
+  }
+
+  public void evictAll() {
+    responses.invalidateAll();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onResponseDataChanged(ResponseDataChangedEvent event) {
+    evictAll();
+  }
+
+  @EventListener
+  public void onCacheInvalidation(CacheInvalidationEvent event) {
+    if (event.concerns(CacheInvalidationEvent.RESPONSES)) {
+      evictAll();
+      return;
+    }
+    if (event.id() == null) {
+      return;
+    }
+    if (event.version() == null) {
+      evict(event.type(), event.id());
+    } else {
+      evictOlderThan(event.type(), event.id(), event.version());
+    }
+  }
+
+  public CacheStatsDto getStats() {
+    return responses.stats();
+  }
+
+  private byte[] serialize(Object value) {
+    try {
+      return objectMapper.writeValueAsBytes(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Sérialisation de la réponse impossible", e);
+    }
+  }
+
+  private record ResponseKey(String type, Long id, long version) {}
+}
@@ -0,0 +1,22 @@
+package ca.cal.leandrose.service.cache;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SingleFlightConfiguration {
+
+  @Bean
+  public static SingleFlightGroup singleFlightGroup() {
+    return new SingleFlightGroup();
+  }
+
+  @Bean
+  public static SingleFlightPostProcessor singleFlightPostProcessor(
+      SingleFlightGroup singleFlightGroup,
+      @Value("${app.single-flight.reuse-window:PT0.25S}") Duration reuseWindow) {
+    return new SingleFlightPostProcessor(singleFlightGroup, reuseWindow);
+  }
+}
@@ -0,0 +1,162 @@
+package ca.cal.leandrose.service.cache;
+
+import ca.cal.leandrose.service.dto.SingleFlightStatsDto;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class SingleFlightGroup {
+
+  private static final int SWEEP_INTERVAL = 64;
+
+  private final Map<FlightKey, Flight> flights = new ConcurrentHashMap<>();
+  private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+  private final AtomicLong launches = new AtomicLong();
+  private final AtomicLong generation = new AtomicLong();
+  private final LongSupplier nanoClock;
+
+  public SingleFlightGroup() {
+    this(System::nanoTime);
+  }
+
+  SingleFlightGroup(LongSupplier nanoClock) {
+    this.nanoClock = nanoClock;
+  }
+
+  public Object execute(String name, List<Object> args, long reuseNanos, Call call)
+      throws Throwable {
+    FlightKey key = new FlightKey(name, args);
+    Counters stats = counters.computeIfAbsent(name, ignored -> new Counters());
+    while (true) {
+      long current = generation.get();
+      Flight existing = flights.get(key);
+      if (existing != null) {
+        if (existing.generation != current) {
+          flights.remove(key, existing);
+          continue;
+        }
+        if (!existing.result.isDone()) {
+          stats.joined.incrementAndGet();
+          return await(existing);
+        }
+        if (existing.isReusable(nanoClock.getAsLong())) {
+          stats.reused.incrementAndGet();
+          return await(existing);
+        }
+        flights.remove(key, existing);
+        continue;
+      }
+
+      Flight flight = new Flight(reuseNanos, current);
+      if (flights.putIfAbsent(key, flight) != null) {
+        continue;
+      }
+      stats.executions.incrementAndGet();
+      sweepIfDue();
+      return run(key, flight, call);
+    }
+  }
+
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    flights.entrySet().removeIf(entry -> entry.getValue().result.isDone());
+  }
+
+  public List<SingleFlightStatsDto> getStats() {
+    return counters.entrySet().stream()
+        .map(
+            entry ->
+                SingleFlightStatsDto.builder()
+                    .name(entry.getKey())
+                    .executions(entry.getValue().executions.get())
+                    .joined(entry.getValue().joined.get())
+                    .reused(entry.getValue().reused.get())
+                    .inFlight(inFlight(entry.getKey()))
+                    .build())
+        .sorted(Comparator.comparing(SingleFlightStatsDto::getName))
+        .toList();
+  }
+
+  private Object run(FlightKey key, Flight flight, Call call) throws Throwable {
+    try {
+      Object value = call.proceed();
+      flight.complete(value, nanoClock.getAsLong());
+      if (flight.reuseNanos <= 0) {
+        flights.remove(key, flight);
+      }
+      return value;
+    } catch (Throwable e) {
+      flights.remove(key, flight);
+      flight.result.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private int inFlight(String name) {
+    return (int)
+        flights.entrySet().stream()
+            .filter(entry -> entry.getKey().name().equals(name))
+            .filter(entry -> !entry.getValue().result.isDone())
+            .count();
+  }
+
+  private void sweepIfDue() {
+    if (launches.incrementAndGet() % SWEEP_INTERVAL != 0) {
+      return;
+    }
+    long now = nanoClock.getAsLong();
+    flights
+        .entrySet()
+        .removeIf(entry -> entry.getValue().result.isDone() && !entry.getValue().isReusable(now));
+  }
+
+  private static Object await(Flight flight) throws Throwable {
+    try {
+      return flight.result.join();
+    } catch (CompletionException e) {
+      throw e.getCause() != null ? e.getCause() : e;
+    }
+  }
+
+  @FunctionalInterface
+  public interface Call {
+    Object proceed() throws Throwable;
+  }
+
+  private record FlightKey(String name, List<Object> args) {}
+
+  private static final class Flight {
+    private final CompletableFuture<Object> result = new CompletableFuture<>();
+    private final long reuseNanos;
+    private final long generation;
+    private volatile long completedAt;
+
+    private Flight(long reuseNanos, long generation) {
+      this.reuseNanos = reuseNanos;
+      this.generation = generation;
+    }
+
+    private void complete(Object value, long now) {
+      completedAt = now;
+      result.complete(value);
+    }
+
+    private boolean isReusable(long now) {
+      return reuseNanos > 0
+          && result.isDone()
+          && !result.isCompletedExceptionally()
+          && now - completedAt < reuseNanos;
+    }
+  }
+
+  private static final class Counters {
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+  }
+}
@@ -0,0 +1,42 @@
+package ca.cal.leandrose.service.cache;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotationUtils;
+
+public class SingleFlightInterceptor implements MethodInterceptor {
+
+  private final SingleFlightGroup group;
+  private final Duration defaultReuseWindow;
+
+  public SingleFlightInterceptor(SingleFlightGroup group, Duration defaultReuseWindow) {
+    this.group = group;
+    this.defaultReuseWindow = defaultReuseWindow;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    Method method = invocation.getMethod();
+    SingleFlight singleFlight = AnnotationUtils.findAnnotation(method, SingleFlight.class);
+    if (singleFlight == null) {
+      return invocation.proceed();
+    }
+    Duration reuseWindow =
+        singleFlight.reuseMillis() >= 0
+            ? Duration.ofMillis(singleFlight.reuseMillis())
+            : defaultReuseWindow;
+    return group.execute(
+        method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+        Arrays.asList(invocation.getArguments()),
+        reuseWindow.toNanos(),
+        () -> shareable(invocation.proceed()));
+  }
+
+  private static Object shareable(Object value) {
+    return value instanceof List<?> list ? List.copyOf(list) : value;
+  }
+}
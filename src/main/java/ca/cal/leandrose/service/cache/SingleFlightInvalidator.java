@@ -0,0 +1,50 @@
+package ca.cal.leandrose.service.cache;
+
+import ca.cal.leandrose.service.event.CacheInvalidationEvent;
+import ca.cal.leandrose.service.event.EntenteChangedEvent;
+import ca.cal.leandrose.service.event.EntenteDeletedEvent;
+import ca.cal.leandrose.service.event.OfferStatusChangedEvent;
+import ca.cal.leandrose.service.event.ResponseDataChangedEvent;
+import ca.cal.leandrose.service.event.StatusCountersChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class SingleFlightInvalidator {
+
+  private final SingleFlightGroup singleFlightGroup;
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onEntenteChanged(EntenteChangedEvent event) {
+    singleFlightGroup.invalidateAll();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onEntenteDeleted(EntenteDeletedEvent event) {
+    singleFlightGroup.invalidateAll();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onOfferStatusChanged(OfferStatusChangedEvent event) {
+    singleFlightGroup.invalidateAll();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStatusCountersChanged(StatusCountersChangedEvent event) {
+    singleFlightGroup.invalidateAll();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onResponseDataChanged(ResponseDataChangedEvent event) {
+    singleFlightGroup.invalidateAll();
+  }
+
+  @EventListener
+  public void onCacheInvalidation(CacheInvalidationEvent event) {
+    singleFlightGroup.invalidateAll();
+  }
+}
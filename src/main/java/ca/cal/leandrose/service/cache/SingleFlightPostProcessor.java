@@ -0,0 +1,18 @@
+package ca.cal.leandrose.service.cache;
+
+import java.time.Duration;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+
+public class SingleFlightPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+  public SingleFlightPostProcessor(SingleFlightGroup group, Duration defaultReuseWindow) {
+    this.advisor =
+        new DefaultPointcutAdvisor(
+            new AnnotationMatchingPointcut(null, SingleFlight.class, true),
+            new SingleFlightInterceptor(group, defaultReuseWindow));
+    setBeforeExistingAdvisors(true);
+    setProxyTargetClass(true);
+  }
+}
@@ -0,0 +1,18 @@
+package ca.cal.leandrose.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlobCollectionDto {
+  private int blobs;
+  private int referencedBlobs;
+  private long references;
+  private int deleted;
+  private long reclaimedBytes;
+}
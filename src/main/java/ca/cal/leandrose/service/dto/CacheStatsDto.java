@@ -0,0 +1,23 @@
+package ca.cal.leandrose.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+  private String name;
+  private int size;
+  private int maxEntries;
+  private long weight;
+  private long maxWeight;
+  private long hits;
+  private long misses;
+  private long evictions;
+  private long invalidations;
+  private double hitRate;
+}
@@ -0,0 +1,32 @@
+package ca.cal.leandrose.service.dto;
+
+import ca.cal.leandrose.model.EntentePdfJob;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntentePdfJobDto {
+  private Long ententeId;
+  private EntentePdfJob.Status status;
+  private int attempts;
+  private Instant nextAttemptAt;
+  private String lastError;
+  private Instant updatedAt;
+
+  public static EntentePdfJobDto create(EntentePdfJob job) {
+    return EntentePdfJobDto.builder()
+        .ententeId(job.getEntenteId())
+        .status(job.getStatus())
+        .attempts(job.getAttempts())
+        .nextAttemptAt(job.getNextAttemptAt())
+        .lastError(job.getLastError())
+        .updatedAt(job.getUpdatedAt())
+        .build();
+  }
+}
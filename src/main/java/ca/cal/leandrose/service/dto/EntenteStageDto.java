@@ -1,6 +1,7 @@
 package ca.cal.leandrose.service.dto;
 
 import ca.cal.leandrose.model.*;
+import ca.cal.leandrose.model.auth.Role;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -104,6 +105,109 @@ public class EntenteStageDto {
         .build();
   }
 
+  public static EntenteStageDto fromView(EntenteView view) {
+    if (view == null) return null;
+
+    String schoolTerm = view.getSchoolTerm() != null ? view.getSchoolTerm().getTermAsString() : null;
+    SchoolTerm studentTerm =
+        view.getStudentTerm() != null && view.getStudentTerm().getSeason() != null
+            ? view.getStudentTerm()
+            : null;
+    EmployeurDto employeurDto =
+        view.getEmployeurId() != null
+            ? EmployeurDto.builder()
+                .id(view.getEmployeurId())
+                .firstName(view.getEmployeurFirstName())
+                .lastname(view.getEmployeurLastName())
+                .email(view.getEmployeurEmail())
+                .role(Role.EMPLOYEUR)
+                .companyName(view.getCompanyName())
+                .field(view.getEmployeurField())
+                .phoneNumber(view.getEmployeurPhoneNumber())
+                .build()
+            : null;
+
+    return EntenteStageDto.builder()
+        .id(view.getEntenteId())
+        .candidatureId(view.getCandidatureId())
+        .student(
+            StudentDto.builder()
+                .id(view.getStudentId())
+                .firstName(view.getStudentFirstName())
+                .lastName(view.getStudentLastName())
+                .email(view.getStudentEmail())
+                .role(Role.STUDENT)
+                .studentNumber(view.getStudentNumber())
+                .program(view.getStudentProgram())
+                .internshipTerm(
+                    studentTerm != null
+                        ? studentTerm.getSeason() + " " + studentTerm.getYear()
+                        : null)
+                .phoneNumber(view.getStudentPhoneNumber())
+                .isExpired(studentTerm != null && studentTerm.isBeforeNextTerm())
+                .build())
+        .internshipOffer(
+            InternshipOfferDto.builder()
+                .id(view.getOfferId())
+                .description(view.getOfferDescription())
+                .startDate(view.getStartDate())
+                .durationInWeeks(view.getDurationInWeeks())
+                .address(view.getAddress())
+                .remuneration(view.getRemuneration())
+                .schoolTerm(schoolTerm)
+                .status(view.getOfferStatus())
+                .employeurId(view.getEmployeurId())
+                .companyName(view.getCompanyName())
+                .pdfPath(view.getOfferPdfPath())
+                .validationDate(view.getOfferValidationDate())
+                .rejectionComment(view.getOfferRejectionComment())
+                .employeurDto(employeurDto)
+                .build())
+        .prof(
+            view.getProfId() != null
+                ? ProfDto.builder()
+                    .id(view.getProfId())
+                    .firstName(view.getProfFirstName())
+                    .lastName(view.getProfLastName())
+                    .email(view.getProfEmail())
+                    .role(Role.PROF)
+                    .employeeNumber(view.getProfEmployeeNumber())
+                    .nameCollege(view.getProfNameCollege())
+                    .address(view.getProfAddress())
+                    .fax_machine(view.getProfFax())
+                    .department(view.getProfDepartment())
+                    .phoneNumber(view.getProfPhoneNumber())
+                    .build()
+                : null)
+        .gestionnaire(
+            view.getGestionnaireId() != null
+                ? GestionnaireDto.builder()
+                    .id(view.getGestionnaireId())
+                    .firstName(view.getGestionnaireFirstName())
+                    .lastname(view.getGestionnaireLastName())
+                    .email(view.getGestionnaireEmail())
+                    .role(Role.GESTIONNAIRE)
+                    .phoneNumber(view.getGestionnairePhoneNumber())
+                    .build()
+                : null)
+        .missionsObjectifs(view.getMissionsObjectifs())
+        .statut(view.getStatut())
+        .dateDebut(view.getStartDate())
+        .duree(view.getDurationInWeeks())
+        .remuneration(view.getRemuneration())
+        .schoolTerm(schoolTerm)
+        .lieu(view.getAddress())
+        .contactEntreprise(view.getEmployeurEmail())
+        .dateCreation(view.getDateCreation())
+        .dateModification(view.getDateModification())
+        .cheminDocumentPDF(view.getCheminDocumentPDF())
+        .dateSignatureEtudiant(view.getDateSignatureEtudiant())
+        .dateSignatureEmployeur(view.getDateSignatureEmployeur())
+        .dateSignatureGestionnaire(view.getDateSignatureGestionnaire())
+        .employeurASigner(view.getDateSignatureEmployeur() != null)
+        .build();
+  }
+
   public static EntenteStageDto withErrorMessage(String message) {
     EntenteStageDto dto = new EntenteStageDto();
     dto.setError(Map.of("message", message));
@@ -0,0 +1,14 @@
+package ca.cal.leandrose.service.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntentesDto {
+  private List<EntenteStageDto> ententes;
+  private String etag;
+}
@@ -0,0 +1,22 @@
+package ca.cal.leandrose.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlacementReportDto {
+  private String term;
+  private Integer termKey;
+  private String value;
+  private long applicants;
+  private long placed;
+  private Double placementRate;
+  private long ententes;
+  private Double averageRemuneration;
+  private Double averageDaysToSignature;
+}
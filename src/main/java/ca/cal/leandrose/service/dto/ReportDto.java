@@ -0,0 +1,18 @@
+package ca.cal.leandrose.service.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportDto<T> {
+  private String report;
+  private LocalDateTime refreshedAt;
+  private List<T> rows;
+}
@@ -0,0 +1,18 @@
+package ca.cal.leandrose.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SingleFlightStatsDto {
+  private String name;
+  private long executions;
+  private long joined;
+  private long reused;
+  private int inFlight;
+}
@@ -0,0 +1,16 @@
+package ca.cal.leandrose.service.dto;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusCountersDto {
+  private Map<String, Long> counters;
+  private Map<Long, Map<String, Long>> offers;
+}
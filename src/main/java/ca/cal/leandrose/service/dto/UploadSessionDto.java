@@ -0,0 +1,32 @@
+package ca.cal.leandrose.service.dto;
+
+import ca.cal.leandrose.model.UploadSession;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDto {
+  private String id;
+  private UploadSession.Purpose purpose;
+  private String filename;
+  private long size;
+  private long offset;
+  private Instant expiresAt;
+
+  public static UploadSessionDto create(UploadSession session, long offset) {
+    return UploadSessionDto.builder()
+        .id(session.getId())
+        .purpose(session.getPurpose())
+        .filename(session.getFilename())
+        .size(session.getSize())
+        .offset(offset)
+        .expiresAt(session.getExpiresAt())
+        .build();
+  }
+}
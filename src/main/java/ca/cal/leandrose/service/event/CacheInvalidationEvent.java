@@ -0,0 +1,21 @@
+package ca.cal.leandrose.service.event;
+
+public record CacheInvalidationEvent(String type, Long id, Long version) {
+
+  public static final String OFFER = "offer";
+  public static final String ENTENTE = "entente";
+  public static final String RESPONSES = "responses";
+  public static final String FLUSH = "*";
+
+  public static CacheInvalidationEvent flushAll() {
+    return new CacheInvalidationEvent(FLUSH, null, null);
+  }
+
+  public boolean isFlush() {
+    return FLUSH.equals(type);
+  }
+
+  public boolean concerns(String cachedType) {
+    return isFlush() || cachedType.equals(type);
+  }
+}
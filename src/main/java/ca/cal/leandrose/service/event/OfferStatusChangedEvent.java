@@ -0,0 +1,14 @@
+package ca.cal.leandrose.service.event;
+
+import ca.cal.leandrose.model.InternshipOffer;
+import ca.cal.leandrose.model.SchoolTerm;
+
+public record OfferStatusChangedEvent(Long offerId, String program, SchoolTerm schoolTerm) {
+
+  public static OfferStatusChangedEvent of(InternshipOffer offer) {
+    return new OfferStatusChangedEvent(
+        offer.getId(),
+        offer.getEmployeur() != null ? offer.getEmployeur().getField() : null,
+        offer.getSchoolTerm());
+  }
+}
@@ -0,0 +1,17 @@
+package ca.cal.leandrose.service.event;
+
+public record PdfInspectionRequestedEvent(Target target, Long id) {
+
+  public enum Target {
+    CV,
+    OFFER
+  }
+
+  public static PdfInspectionRequestedEvent cv(Long cvId) {
+    return new PdfInspectionRequestedEvent(Target.CV, cvId);
+  }
+
+  public static PdfInspectionRequestedEvent offer(Long offerId) {
+    return new PdfInspectionRequestedEvent(Target.OFFER, offerId);
+  }
+}
@@ -0,0 +1,3 @@
+package ca.cal.leandrose.service.event;
+
+public record ResponseDataChangedEvent() {}
@@ -0,0 +1,15 @@
+package ca.cal.leandrose.service.event;
+
+import ca.cal.leandrose.model.CounterCell;
+import java.util.Set;
+
+public record StatusCountersChangedEvent(Set<CounterCell> before, Set<CounterCell> after) {
+
+  public static StatusCountersChangedEvent created(Set<CounterCell> after) {
+    return new StatusCountersChangedEvent(Set.of(), after);
+  }
+
+  public static StatusCountersChangedEvent deleted(Set<CounterCell> before) {
+    return new StatusCountersChangedEvent(before, Set.of());
+  }
+}
@@ -0,0 +1,135 @@
+package ca.cal.leandrose.service.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BlobStore {
+
+  private static final String DEFAULT_SPOOL_DIRECTORY = "uploads/spool";
+  private static final String PREFIX = "blobs/";
+  private static final String EXTENSION = ".pdf";
+  private static final Pattern BLOB_NAME = Pattern.compile("[0-9a-f]{64}\\.pdf");
+  private static final Pattern BLOB_KEY =
+      Pattern.compile("blobs/([0-9a-f]{2})/([0-9a-f]{2})/(\\1\\2[0-9a-f]{60})\\.pdf");
+
+  private final UploadSpooler uploadSpooler;
+  private final DocumentStore documentStore;
+  private final Path spoolDirectory;
+
+  public BlobStore(
+      UploadSpooler uploadSpooler,
+      DocumentStore documentStore,
+      @Value("${app.storage.spool-dir:" + DEFAULT_SPOOL_DIRECTORY + "}") String spoolDirectory) {
+    this.uploadSpooler = uploadSpooler;
+    this.documentStore = documentStore;
+    this.spoolDirectory = Paths.get(spoolDirectory).toAbsolutePath().normalize();
+  }
+
+  public Path getSpoolDirectory() {
+    return spoolDirectory;
+  }
+
+  public static String keyFor(String sha256) {
+    return PREFIX
+        + sha256.substring(0, 2)
+        + "/"
+        + sha256.substring(2, 4)
+        + "/"
+        + sha256
+        + EXTENSION;
+  }
+
+  public String store(SpooledUpload upload) throws IOException {
+    String key = keyFor(upload.getSha256());
+    if (!reuse(key)) {
+      documentStore.put(key, upload);
+    }
+    return key;
+  }
+
+  public String adopt(Path file) throws IOException {
+    try (SpooledUpload upload = uploadSpooler.claim(file)) {
+      return store(upload);
+    }
+  }
+
+  public String copyOf(Path file) throws IOException {
+    try (SpooledUpload upload = uploadSpooler.spool(file, spoolDirectory)) {
+      return store(upload);
+    }
+  }
+
+  public void release(String reference) throws IOException {
+    if (!isKey(reference) && !TermArchiveStore.isLocator(reference)) {
+      Files.deleteIfExists(Paths.get(reference));
+    }
+  }
+
+  public void delete(String key) throws IOException {
+    documentStore.delete(key);
+  }
+
+  public static boolean isKey(String reference) {
+    return reference != null && BLOB_KEY.matcher(reference).matches();
+  }
+
+  public static Optional<String> hashOf(String reference) {
+    if (reference == null) {
+      return Optional.empty();
+    }
+    Matcher matcher = BLOB_KEY.matcher(reference);
+    return matcher.matches() ? Optional.of(matcher.group(3)) : Optional.empty();
+  }
+
+  public static Optional<String> hashOfName(String filename) {
+    if (filename == null || !BLOB_NAME.matcher(filename).matches()) {
+      return Optional.empty();
+    }
+    return Optional.of(filename.substring(0, filename.length() - EXTENSION.length()));
+  }
+
+  public List<StoredDocument> listBlobs() throws IOException {
+    return documentStore.list(PREFIX).stream().filter(blob -> isKey(blob.key())).toList();
+  }
+
+  public List<Path> listAbandonedParts(Instant olderThan) throws IOException {
+    if (!Files.isDirectory(spoolDirectory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(spoolDirectory)) {
+      return files
+          .filter(file -> file.getFileName().toString().startsWith(UploadSpooler.TEMP_PREFIX))
+          .filter(file -> isOlderThan(file, olderThan))
+          .toList();
+    }
+  }
+
+  public boolean isOlderThan(Path file, Instant instant) {
+    try {
+      return Files.getLastModifiedTime(file).toInstant().isBefore(instant);
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private boolean reuse(String key) throws IOException {
+    try {
+      documentStore.touch(key);
+      return true;
+    } catch (NoSuchFileException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package ca.cal.leandrose.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChunkedUploadStore {
+
+  private static final String SESSION_DIRECTORY = "sessions";
+  private static final String SUFFIX = ".part";
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final Pattern SESSION_ID =
+      Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+  private final UploadSpooler uploadSpooler;
+  private final Path directory;
+  private final Map<String, RollingDigest> digests = new ConcurrentHashMap<>();
+
+  public ChunkedUploadStore(UploadSpooler uploadSpooler, BlobStore blobStore) {
+    this.uploadSpooler = uploadSpooler;
+    this.directory = blobStore.getSpoolDirectory().resolve(SESSION_DIRECTORY);
+  }
+
+  public void open(String id) throws IOException {
+    Path file = pathOf(id);
+    Files.createDirectories(directory);
+    Files.createFile(file);
+    digests.put(id, new RollingDigest());
+  }
+
+  public long offset(String id) throws IOException {
+    return Files.size(pathOf(id));
+  }
+
+  public long append(String id, long offset, InputStream in, long maxBytes) throws IOException {
+    Path file = pathOf(id);
+    RollingDigest rolling = digests.computeIfAbsent(id, ignored -> new RollingDigest());
+    synchronized (rolling) {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        long committed = channel.size();
+        if (offset != committed) {
+          throw new IllegalStateException(
+              "Décalage invalide : " + committed + " octet(s) déjà reçus");
+        }
+        if (rolling.offset != committed) {
+          rolling.rebuild(file, committed);
+        }
+        long position = committed;
+        try {
+          byte[] buffer = new byte[BUFFER_SIZE];
+          int read;
+          while ((read = in.read(buffer)) != -1) {
+            if (position + read > maxBytes) {
+              throw new IllegalArgumentException("Fichier trop volumineux.");
+            }
+            ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+            while (chunk.hasRemaining()) {
+              channel.write(chunk, position + chunk.position());
+            }
+            rolling.digest.update(buffer, 0, read);
+            position += read;
+          }
+          channel.force(false);
+        } finally {
+          if (channel.size() != position) {
+            channel.truncate(position);
+          }
+          rolling.offset = position;
+        }
+        return position;
+      }
+    }
+  }
+
+  public SpooledUpload complete(String id) throws IOException {
+    Path file = pathOf(id);
+    RollingDigest rolling = digests.remove(id);
+    if (rolling == null) {
+      return uploadSpooler.claim(file);
+    }
+    synchronized (rolling) {
+      long size = Files.size(file);
+      if (rolling.offset != size) {
+        return uploadSpooler.claim(file);
+      }
+      return new SpooledUpload(file, size, HexFormat.of().formatHex(rolling.digest.digest()));
+    }
+  }
+
+  public void discard(String id) throws IOException {
+    digests.remove(id);
+    Files.deleteIfExists(pathOf(id));
+  }
+
+  public int purgeIdle(Instant olderThan) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return 0;
+    }
+    List<Path> idle;
+    try (Stream<Path> files = Files.list(directory)) {
+      idle =
+          files
+              .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+              .filter(file -> isOlderThan(file, olderThan))
+              .toList();
+    }
+    int purged = 0;
+    for (Path file : idle) {
+      String name = file.getFileName().toString();
+      digests.remove(name.substring(0, name.length() - SUFFIX.length()));
+      if (Files.deleteIfExists(file)) {
+        purged++;
+      }
+    }
+    return purged;
+  }
+
+  private Path pathOf(String id) {
+    if (id == null || !SESSION_ID.matcher(id).matches()) {
+      throw new IllegalArgumentException("Session de téléversement invalide : " + id);
+    }
+    return directory.resolve(id + SUFFIX);
+  }
+
+  private static boolean isOlderThan(Path file, Instant instant) {
+    try {
+      return Files.getLastModifiedTime(file).toInstant().isBefore(instant);
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static final class RollingDigest {
+
+    private MessageDigest digest = UploadSpooler.sha256();
+    private long offset;
+
+    private void rebuild(Path file, long length) throws IOException {
+      MessageDigest rebuilt = UploadSpooler.sha256();
+      try (InputStream in = new BoundedInputStream(Files.newInputStream(file), length)) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+          rebuilt.update(buffer, 0, read);
+        }
+      }
+      digest = rebuilt;
+      offset = length;
+    }
+  }
+}
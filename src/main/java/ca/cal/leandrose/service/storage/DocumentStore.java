@@ -0,0 +1,35 @@
+package ca.cal.leandrose.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.core.io.Resource;
+
+public interface DocumentStore {
+
+  String DRIVER = "documentStoreDriver";
+
+  void put(String key, SpooledUpload upload) throws IOException;
+
+  Resource get(String key) throws IOException;
+
+  InputStream stream(String key, long offset, long length) throws IOException;
+
+  Optional<StoredDocument> stat(String key) throws IOException;
+
+  void touch(String key) throws IOException;
+
+  void delete(String key) throws IOException;
+
+  List<StoredDocument> list(String prefix) throws IOException;
+
+  default boolean exists(String key) throws IOException {
+    return stat(key).isPresent();
+  }
+
+  default Optional<Path> localPath(String key) {
+    return Optional.empty();
+  }
+}
@@ -0,0 +1,136 @@
+package ca.cal.leandrose.service.storage;
+
+import ca.cal.leandrose.service.cache.DocumentCache;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+@Component
+@Qualifier(DocumentStore.DRIVER)
+@ConditionalOnProperty(name = "app.storage.driver", havingValue = "local", matchIfMissing = true)
+public class LocalDocumentStore implements DocumentStore {
+
+  private static final String DEFAULT_ROOT = "uploads";
+
+  private final Path root;
+  private final DocumentCache documentCache;
+
+  public LocalDocumentStore(
+      @Value("${app.storage.local.root:" + DEFAULT_ROOT + "}") String root,
+      DocumentCache documentCache) {
+    this.root = Paths.get(root).toAbsolutePath().normalize();
+    this.documentCache = documentCache;
+  }
+
+  @Override
+  public void put(String key, SpooledUpload upload) throws IOException {
+    Path target = resolve(key);
+    Files.createDirectories(target.getParent());
+    upload.moveTo(target);
+  }
+
+  @Override
+  public Resource get(String key) throws IOException {
+    return documentCache.getResource(resolve(key));
+  }
+
+  @Override
+  public InputStream stream(String key, long offset, long length) throws IOException {
+    FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ);
+    try {
+      channel.position(offset);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    return new BoundedInputStream(Channels.newInputStream(channel), length);
+  }
+
+  @Override
+  public Optional<StoredDocument> stat(String key) throws IOException {
+    try {
+      return Optional.of(toStoredDocument(key, resolve(key)));
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public boolean exists(String key) {
+    return Files.isRegularFile(resolve(key));
+  }
+
+  @Override
+  public void touch(String key) throws IOException {
+    Files.setLastModifiedTime(resolve(key), FileTime.from(Instant.now()));
+  }
+
+  @Override
+  public void delete(String key) throws IOException {
+    Path path = resolve(key);
+    Files.deleteIfExists(path);
+    documentCache.invalidate(path);
+  }
+
+  @Override
+  public List<StoredDocument> list(String prefix) throws IOException {
+    Path directory = resolve(prefix);
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.walk(directory)) {
+      return files
+          .filter(Files::isRegularFile)
+          .map(this::toStoredDocumentQuietly)
+          .flatMap(Optional::stream)
+          .toList();
+    }
+  }
+
+  @Override
+  public Optional<Path> localPath(String key) {
+    return Optional.of(resolve(key));
+  }
+
+  private Path resolve(String key) {
+    Path path = root.resolve(key).normalize();
+    if (!path.startsWith(root)) {
+      throw new IllegalArgumentException("Clé de document invalide : " + key);
+    }
+    return path;
+  }
+
+  private Optional<StoredDocument> toStoredDocumentQuietly(Path file) {
+    String key = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    try {
+      return Optional.of(toStoredDocument(key, file));
+    } catch (IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static StoredDocument toStoredDocument(String key, Path file) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    if (!attributes.isRegularFile()) {
+      throw new NoSuchFileException(file.toString());
+    }
+    return new StoredDocument(key, attributes.size(), attributes.lastModifiedTime().toInstant());
+  }
+}
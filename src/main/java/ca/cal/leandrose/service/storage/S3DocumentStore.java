@@ -0,0 +1,377 @@
+package ca.cal.leandrose.service.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+@Slf4j
+@Component
+@Qualifier(DocumentStore.DRIVER)
+@ConditionalOnProperty(name = "app.storage.driver", havingValue = "s3")
+public class S3DocumentStore implements DocumentStore {
+
+  private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+  private static final long DEFAULT_PART_SIZE = 8L * 1024 * 1024;
+  private static final String DEFAULT_REGION = "us-east-1";
+  private static final String CONTENT_TYPE = "application/pdf";
+
+  private final HttpClient httpClient;
+  private final S3RequestSigner signer;
+  private final String endpoint;
+  private final String bucket;
+  private final long partSize;
+  private final Clock clock;
+
+  public S3DocumentStore(
+      @Value("${app.storage.s3.endpoint}") String endpoint,
+      @Value("${app.storage.s3.bucket}") String bucket,
+      @Value("${app.storage.s3.region:" + DEFAULT_REGION + "}") String region,
+      @Value("${app.storage.s3.access-key}") String accessKey,
+      @Value("${app.storage.s3.secret-key}") String secretKey,
+      @Value("${app.storage.s3.part-size:" + DEFAULT_PART_SIZE + "}") long partSize) {
+    this.httpClient =
+        HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    this.signer = new S3RequestSigner(region, accessKey, secretKey);
+    this.endpoint = endpoint.replaceAll("/+$", "");
+    this.bucket = bucket;
+    this.partSize = Math.max(partSize, MIN_PART_SIZE);
+    this.clock = Clock.systemUTC();
+  }
+
+  @Override
+  public void put(String key, SpooledUpload upload) throws IOException {
+    if (upload.getSize() <= partSize) {
+      HttpResponse<byte[]> response =
+          send(
+              "PUT",
+              uri(key, null),
+              Map.of("Content-Type", CONTENT_TYPE),
+              slice(upload.getFile(), 0, upload.getSize()),
+              S3RequestSigner.UNSIGNED_PAYLOAD);
+      expectSuccess(response, key);
+      return;
+    }
+    putMultipart(key, upload);
+  }
+
+  @Override
+  public Resource get(String key) throws IOException {
+    StoredDocument document = stat(key).orElseThrow(() -> new NoSuchFileException(key));
+    return new StoredDocumentResource(this, document);
+  }
+
+  @Override
+  public InputStream stream(String key, long offset, long length) throws IOException {
+    if (length <= 0) {
+      return InputStream.nullInputStream();
+    }
+    HttpRequest request =
+        request(
+            "GET",
+            uri(key, null),
+            Map.of("Range", "bytes=" + offset + "-" + (offset + length - 1)),
+            HttpRequest.BodyPublishers.noBody(),
+            S3RequestSigner.EMPTY_PAYLOAD);
+    HttpResponse<InputStream> response =
+        execute(request, HttpResponse.BodyHandlers.ofInputStream());
+    if (response.statusCode() == 200 || response.statusCode() == 206) {
+      InputStream body = response.body();
+      return response.statusCode() == 200 ? skipTo(body, offset, length) : body;
+    }
+    byte[] error;
+    try (InputStream body = response.body()) {
+      error = body.readAllBytes();
+    }
+    if (response.statusCode() == 404) {
+      throw new NoSuchFileException(key);
+    }
+    throw failure(response.statusCode(), error, key);
+  }
+
+  @Override
+  public Optional<StoredDocument> stat(String key) throws IOException {
+    HttpResponse<byte[]> response = send("HEAD", uri(key, null), Map.of());
+    if (response.statusCode() == 404) {
+      return Optional.empty();
+    }
+    expectSuccess(response, key);
+    long size = response.headers().firstValueAsLong("Content-Length").orElse(0);
+    Instant lastModified =
+        response
+            .headers()
+            .firstValue("Last-Modified")
+            .map(value -> ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME))
+            .map(ZonedDateTime::toInstant)
+            .orElse(Instant.EPOCH);
+    return Optional.of(new StoredDocument(key, size, lastModified));
+  }
+
+  @Override
+  public void touch(String key) throws IOException {
+    Map<String, String> headers = new LinkedHashMap<>();
+    headers.put("Content-Type", CONTENT_TYPE);
+    headers.put("x-amz-copy-source", "/" + bucket + "/" + S3RequestSigner.encodePath(key));
+    headers.put("x-amz-metadata-directive", "REPLACE");
+    HttpResponse<byte[]> response = send("PUT", uri(key, null), headers);
+    if (response.statusCode() == 404) {
+      throw new NoSuchFileException(key);
+    }
+    expectSuccess(response, key);
+  }
+
+  @Override
+  public void delete(String key) throws IOException {
+    HttpResponse<byte[]> response = send("DELETE", uri(key, null), Map.of());
+    if (response.statusCode() != 404) {
+      expectSuccess(response, key);
+    }
+  }
+
+  @Override
+  public List<StoredDocument> list(String prefix) throws IOException {
+    List<StoredDocument> documents = new ArrayList<>();
+    String continuationToken = null;
+    do {
+      String query = "list-type=2&prefix=" + S3RequestSigner.encode(prefix);
+      if (continuationToken != null) {
+        query += "&continuation-token=" + S3RequestSigner.encode(continuationToken);
+      }
+      HttpResponse<byte[]> response = send("GET", bucketUri(query), Map.of());
+      expectSuccess(response, prefix);
+      org.w3c.dom.Document xml = parse(response.body());
+      NodeList contents = xml.getElementsByTagName("Contents");
+      for (int i = 0; i < contents.getLength(); i++) {
+        Element entry = (Element) contents.item(i);
+        documents.add(
+            new StoredDocument(
+                text(entry, "Key"),
+                Long.parseLong(text(entry, "Size")),
+                Instant.parse(text(entry, "LastModified"))));
+      }
+      continuationToken =
+          "true".equals(text(xml.getDocumentElement(), "IsTruncated"))
+              ? text(xml.getDocumentElement(), "NextContinuationToken")
+              : null;
+    } while (continuationToken != null);
+    return documents;
+  }
+
+  private void putMultipart(String key, SpooledUpload upload) throws IOException {
+    HttpResponse<byte[]> created =
+        send(
+            "POST",
+            uri(key, "uploads"),
+            Map.of("Content-Type", CONTENT_TYPE),
+            HttpRequest.BodyPublishers.noBody(),
+            S3RequestSigner.EMPTY_PAYLOAD);
+    expectSuccess(created, key);
+    String uploadId = text(parse(created.body()).getDocumentElement(), "UploadId");
+    try {
+      StringBuilder completion = new StringBuilder("<CompleteMultipartUpload>");
+      int partNumber = 1;
+      for (long offset = 0; offset < upload.getSize(); offset += partSize, partNumber++) {
+        long length = Math.min(partSize, upload.getSize() - offset);
+        HttpResponse<byte[]> part =
+            send(
+                "PUT",
+                uri(
+                    key,
+                    "partNumber=" + partNumber + "&uploadId=" + S3RequestSigner.encode(uploadId)),
+                Map.of(),
+                slice(upload.getFile(), offset, length),
+                S3RequestSigner.UNSIGNED_PAYLOAD);
+        expectSuccess(part, key);
+        String etag =
+            part.headers()
+                .firstValue("ETag")
+                .orElseThrow(() -> new IOException("ETag manquant pour la partie de " + key));
+        completion
+            .append("<Part><PartNumber>")
+            .append(partNumber)
+            .append("</PartNumber><ETag>")
+            .append(escapeXml(etag))
+            .append("</ETag></Part>");
+      }
+      completion.append("</CompleteMultipartUpload>");
+      HttpResponse<byte[]> completed =
+          send(
+              "POST",
+              uri(key, "uploadId=" + S3RequestSigner.encode(uploadId)),
+              Map.of("Content-Type", "application/xml"),
+              HttpRequest.BodyPublishers.ofString(completion.toString()),
+              S3RequestSigner.UNSIGNED_PAYLOAD);
+      expectSuccess(completed, key);
+    } catch (IOException | RuntimeException e) {
+      abortMultipart(key, uploadId);
+      throw e;
+    }
+  }
+
+  private void abortMultipart(String key, String uploadId) {
+    try {
+      send("DELETE", uri(key, "uploadId=" + S3RequestSigner.encode(uploadId)), Map.of());
+    } catch (IOException e) {
+      log.warn("Annulation du téléversement {} impossible: {}", uploadId, e.getMessage());
+    }
+  }
+
+  private HttpResponse<byte[]> send(String method, URI uri, Map<String, String> headers)
+      throws IOException {
+    return send(
+        method, uri, headers, HttpRequest.BodyPublishers.noBody(), S3RequestSigner.EMPTY_PAYLOAD);
+  }
+
+  private HttpResponse<byte[]> send(
+      String method,
+      URI uri,
+      Map<String, String> headers,
+      HttpRequest.BodyPublisher publisher,
+      String payloadHash)
+      throws IOException {
+    return execute(
+        request(method, uri, headers, publisher, payloadHash),
+        HttpResponse.BodyHandlers.ofByteArray());
+  }
+
+  private HttpRequest request(
+      String method,
+      URI uri,
+      Map<String, String> headers,
+      HttpRequest.BodyPublisher publisher,
+      String payloadHash) {
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(uri).timeout(Duration.ofMinutes(5)).method(method, publisher);
+    signer
+        .sign(method, uri, headers, payloadHash, clock.instant())
+        .forEach(builder::header);
+    return builder.build();
+  }
+
+  private <T> HttpResponse<T> execute(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+      throws IOException {
+    try {
+      return httpClient.send(request, handler);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Requête de stockage interrompue");
+    }
+  }
+
+  private static HttpRequest.BodyPublisher slice(Path file, long offset, long length) {
+    return HttpRequest.BodyPublishers.fromPublisher(
+        HttpRequest.BodyPublishers.ofInputStream(
+            () -> {
+              try {
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                channel.position(offset);
+                return new BoundedInputStream(Channels.newInputStream(channel), length);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            }),
+        length);
+  }
+
+  private static InputStream skipTo(InputStream body, long offset, long length)
+      throws IOException {
+    body.skipNBytes(offset);
+    return new BoundedInputStream(body, length);
+  }
+
+  private URI uri(String key, String query) {
+    return URI.create(
+        endpoint
+            + "/"
+            + bucket
+            + "/"
+            + S3RequestSigner.encodePath(key)
+            + (query == null ? "" : "?" + query));
+  }
+
+  private URI bucketUri(String query) {
+    return URI.create(endpoint + "/" + bucket + "?" + query);
+  }
+
+  private static void expectSuccess(HttpResponse<byte[]> response, String key)
+      throws IOException {
+    if (response.statusCode() / 100 != 2) {
+      throw failure(response.statusCode(), response.body(), key);
+    }
+    byte[] body = response.body();
+    if (body != null
+        && body.length > 0
+        && new String(body, StandardCharsets.UTF_8).contains("<Error>")) {
+      throw failure(response.statusCode(), body, key);
+    }
+  }
+
+  private static IOException failure(int status, byte[] body, String key) {
+    String code = "";
+    if (body != null && body.length > 0) {
+      try {
+        code = " " + text(parse(body).getDocumentElement(), "Code");
+      } catch (IOException e) {
+        code = "";
+      }
+    }
+    return new IOException("Stockage S3 : échec " + status + code + " pour " + key);
+  }
+
+  private static org.w3c.dom.Document parse(byte[] xml) throws IOException {
+    try {
+      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+      factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+      factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+      factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+      return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+    } catch (ParserConfigurationException | SAXException e) {
+      throw new IOException("Réponse S3 illisible", e);
+    }
+  }
+
+  private static String text(Element parent, String tag) {
+    NodeList nodes = parent.getElementsByTagName(tag);
+    return nodes.getLength() == 0 ? "" : nodes.item(0).getTextContent();
+  }
+
+  private static String escapeXml(String value) {
+    return value.replace("&", "&amp;").replace("<", "&lt;").replace("\"", "&quot;");
+  }
+}
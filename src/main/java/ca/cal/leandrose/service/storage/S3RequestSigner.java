@@ -0,0 +1,157 @@
+package ca.cal.leandrose.service.storage;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+final class S3RequestSigner {
+
+  static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+  static final String EMPTY_PAYLOAD = sha256Hex(new byte[0]);
+
+  private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+  private static final String SERVICE = "s3";
+  private static final DateTimeFormatter TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+  private final String region;
+  private final String accessKey;
+  private final String secretKey;
+
+  S3RequestSigner(String region, String accessKey, String secretKey) {
+    this.region = region;
+    this.accessKey = accessKey;
+    this.secretKey = secretKey;
+  }
+
+  Map<String, String> sign(
+      String method, URI uri, Map<String, String> headers, String payloadHash, Instant now) {
+    String timestamp = TIMESTAMP.format(now);
+    String date = timestamp.substring(0, 8);
+
+    Map<String, String> signed = new LinkedHashMap<>(headers);
+    signed.put("x-amz-content-sha256", payloadHash);
+    signed.put("x-amz-date", timestamp);
+
+    TreeMap<String, String> canonicalHeaders = new TreeMap<>();
+    signed.forEach(
+        (name, value) -> canonicalHeaders.put(name.toLowerCase(Locale.ROOT), value.trim()));
+    canonicalHeaders.put("host", host(uri));
+    String signedHeaders = String.join(";", canonicalHeaders.keySet());
+
+    String canonicalRequest =
+        String.join(
+            "\n",
+            method,
+            uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath(),
+            canonicalQuery(uri.getRawQuery()),
+            canonicalHeaders.entrySet().stream()
+                .map(header -> header.getKey() + ":" + header.getValue() + "\n")
+                .collect(Collectors.joining()),
+            signedHeaders,
+            payloadHash);
+
+    String scope = date + "/" + region + "/" + SERVICE + "/aws4_request";
+    String stringToSign =
+        String.join(
+            "\n",
+            ALGORITHM,
+            timestamp,
+            scope,
+            sha256Hex(canonicalRequest.getBytes(StandardCharsets.UTF_8)));
+
+    byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+    signingKey = hmac(signingKey, region);
+    signingKey = hmac(signingKey, SERVICE);
+    signingKey = hmac(signingKey, "aws4_request");
+    String signature = HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+
+    signed.put(
+        "Authorization",
+        ALGORITHM
+            + " Credential="
+            + accessKey
+            + "/"
+            + scope
+            + ",SignedHeaders="
+            + signedHeaders
+            + ",Signature="
+            + signature);
+    return signed;
+  }
+
+  static String encode(String value) {
+    StringBuilder encoded = new StringBuilder();
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      char c = (char) (b & 0xff);
+      if (c >= 'A' && c <= 'Z'
+          || c >= 'a' && c <= 'z'
+          || c >= '0' && c <= '9'
+          || c == '-'
+          || c == '_'
+          || c == '.'
+          || c == '~') {
+        encoded.append(c);
+      } else {
+        encoded.append('%').append(String.format("%02X", b & 0xff));
+      }
+    }
+    return encoded.toString();
+  }
+
+  static String encodePath(String key) {
+    return Arrays.stream(key.split("/", -1))
+        .map(S3RequestSigner::encode)
+        .collect(Collectors.joining("/"));
+  }
+
+  private static String canonicalQuery(String rawQuery) {
+    if (rawQuery == null || rawQuery.isEmpty()) {
+      return "";
+    }
+    return Arrays.stream(rawQuery.split("&"))
+        .map(parameter -> parameter.contains("=") ? parameter : parameter + "=")
+        .sorted()
+        .collect(Collectors.joining("&"));
+  }
+
+  private static String host(URI uri) {
+    int port = uri.getPort();
+    boolean defaultPort =
+        port == -1
+            || port == 80 && "http".equals(uri.getScheme())
+            || port == 443 && "https".equals(uri.getScheme());
+    return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+  }
+
+  private static byte[] hmac(byte[] key, String data) {
+    try {
+      Mac mac = Mac.getInstance("HmacSHA256");
+      mac.init(new SecretKeySpec(key, "HmacSHA256"));
+      return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("HmacSHA256 indisponible", e);
+    }
+  }
+
+  private static String sha256Hex(byte[] data) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("SHA-256 indisponible", e);
+    }
+  }
+}
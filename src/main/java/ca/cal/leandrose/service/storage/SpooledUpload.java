@@ -0,0 +1,55 @@
+package ca.cal.leandrose.service.storage;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+public final class SpooledUpload implements AutoCloseable {
+
+  private final Path file;
+  private final long size;
+  private final String sha256;
+  private boolean moved;
+  private boolean kept;
+
+  SpooledUpload(Path file, long size, String sha256) {
+    this.file = file;
+    this.size = size;
+    this.sha256 = sha256;
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public String getSha256() {
+    return sha256;
+  }
+
+  public Path moveTo(Path target) throws IOException {
+    try {
+      Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+    moved = true;
+    return target;
+  }
+
+  public void keep() {
+    kept = true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!moved && !kept) {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package ca.cal.leandrose.service.storage;
+
+import java.time.Instant;
+
+public record StoredDocument(String key, long size, Instant lastModified) {
+
+  public String filename() {
+    return key.substring(key.lastIndexOf('/') + 1);
+  }
+}
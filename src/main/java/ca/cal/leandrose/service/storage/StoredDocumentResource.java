@@ -0,0 +1,50 @@
+package ca.cal.leandrose.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.core.io.AbstractResource;
+
+public class StoredDocumentResource extends AbstractResource {
+
+  private final DocumentStore store;
+  private final StoredDocument document;
+
+  public StoredDocumentResource(DocumentStore store, StoredDocument document) {
+    this.store = store;
+    this.document = document;
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    return store.stream(document.key(), 0, document.size());
+  }
+
+  public InputStream getInputStream(long offset, long length) throws IOException {
+    return store.stream(document.key(), offset, length);
+  }
+
+  @Override
+  public boolean exists() {
+    return true;
+  }
+
+  @Override
+  public long contentLength() {
+    return document.size();
+  }
+
+  @Override
+  public long lastModified() {
+    return document.lastModified().toEpochMilli();
+  }
+
+  @Override
+  public String getFilename() {
+    return document.filename();
+  }
+
+  @Override
+  public String getDescription() {
+    return "Document stocké [" + document.key() + "]";
+  }
+}
@@ -0,0 +1,127 @@
+package ca.cal.leandrose.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+final class TermArchive {
+
+  static final int MAGIC = 0x4C444958;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 16;
+  static final int ENTRY_SIZE = 64;
+  static final int HASH_SIZE = 32;
+  static final byte STORED = 0;
+  static final byte DEFLATED = 1;
+
+  record Entry(String sha256, long offset, long storedLength, long size, boolean deflated) {}
+
+  private final ByteBuffer index;
+  private final int count;
+  private final Instant lastModified;
+
+  private TermArchive(ByteBuffer index, int count, Instant lastModified) {
+    this.index = index;
+    this.count = count;
+    this.lastModified = lastModified;
+  }
+
+  static TermArchive parse(byte[] content, Instant lastModified, String indexKey)
+      throws IOException {
+    ByteBuffer index = ByteBuffer.wrap(content).asReadOnlyBuffer();
+    if (index.limit() < HEADER_SIZE
+        || index.getInt(0) != MAGIC
+        || index.getInt(4) != VERSION
+        || (long) HEADER_SIZE + (long) index.getInt(8) * ENTRY_SIZE != index.limit()) {
+      throw new IOException("Index d'archive invalide : " + indexKey);
+    }
+    return new TermArchive(index, index.getInt(8), lastModified);
+  }
+
+  int size() {
+    return count;
+  }
+
+  Instant lastModified() {
+    return lastModified;
+  }
+
+  Optional<Entry> find(String sha256) {
+    byte[] hash = HexFormat.of().parseHex(sha256);
+    int low = 0;
+    int high = count - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int comparison = compare(middle, hash);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return Optional.of(entry(middle));
+      }
+    }
+    return Optional.empty();
+  }
+
+  List<Entry> entries() {
+    List<Entry> entries = new ArrayList<>(count);
+    for (int slot = 0; slot < count; slot++) {
+      entries.add(entry(slot));
+    }
+    return entries;
+  }
+
+  static InputStream inflate(Entry entry, InputStream stored, long offset, long length)
+      throws IOException {
+    Inflater inflater = new Inflater(true);
+    InputStream inflated =
+        new InflaterInputStream(stored, inflater) {
+          @Override
+          public void close() throws IOException {
+            try {
+              super.close();
+            } finally {
+              inflater.end();
+            }
+          }
+        };
+    try {
+      inflated.skipNBytes(Math.min(offset, entry.size()));
+    } catch (IOException e) {
+      inflated.close();
+      throw e;
+    }
+    return new BoundedInputStream(inflated, length);
+  }
+
+  private Entry entry(int slot) {
+    int base = HEADER_SIZE + slot * ENTRY_SIZE;
+    byte[] hash = new byte[HASH_SIZE];
+    index.get(base, hash);
+    return new Entry(
+        HexFormat.of().formatHex(hash),
+        index.getLong(base + HASH_SIZE),
+        index.getLong(base + HASH_SIZE + 8),
+        index.getLong(base + HASH_SIZE + 16),
+        index.get(base + HASH_SIZE + 24) == DEFLATED);
+  }
+
+  private int compare(int slot, byte[] hash) {
+    int base = HEADER_SIZE + slot * ENTRY_SIZE;
+    for (int i = 0; i < HASH_SIZE; i++) {
+      int comparison = Byte.compareUnsigned(index.get(base + i), hash[i]);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,256 @@
+package ca.cal.leandrose.service.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TermArchiveStore {
+
+  private static final String DEFAULT_SPOOL_DIRECTORY = "uploads/spool";
+  private static final String PREFIX = "archives/";
+  private static final String PACK_EXTENSION = ".pack";
+  private static final String INDEX_EXTENSION = ".idx";
+  private static final Pattern LOCATOR =
+      Pattern.compile("archives/([0-9]{5})/([0-9a-f]{64})\\.pdf");
+
+  @FunctionalInterface
+  public interface Source {
+    InputStream open() throws IOException;
+  }
+
+  private record Located(TermArchive archive, TermArchive.Entry entry) {}
+
+  private final DocumentStore driver;
+  private final UploadSpooler uploadSpooler;
+  private final Path spoolDirectory;
+  private final Map<Integer, TermArchive> openArchives = new ConcurrentHashMap<>();
+
+  public TermArchiveStore(
+      @Qualifier(DocumentStore.DRIVER) DocumentStore driver,
+      UploadSpooler uploadSpooler,
+      @Value("${app.storage.spool-dir:" + DEFAULT_SPOOL_DIRECTORY + "}") String spoolDirectory) {
+    this.driver = driver;
+    this.uploadSpooler = uploadSpooler;
+    this.spoolDirectory = Paths.get(spoolDirectory).toAbsolutePath().normalize();
+  }
+
+  public static String locatorFor(int termKey, String sha256) {
+    return PREFIX + termKey + "/" + sha256 + ".pdf";
+  }
+
+  public static String packKey(int termKey) {
+    return PREFIX + termKey + PACK_EXTENSION;
+  }
+
+  public static String indexKey(int termKey) {
+    return PREFIX + termKey + INDEX_EXTENSION;
+  }
+
+  public static boolean isLocator(String reference) {
+    return reference != null && LOCATOR.matcher(reference).matches();
+  }
+
+  public static Optional<String> hashOf(String reference) {
+    if (reference == null) {
+      return Optional.empty();
+    }
+    Matcher matcher = LOCATOR.matcher(reference);
+    return matcher.matches() ? Optional.of(matcher.group(2)) : Optional.empty();
+  }
+
+  public Optional<StoredDocument> stat(String locator) throws IOException {
+    Matcher matcher = parse(locator);
+    return locate(Integer.parseInt(matcher.group(1)), matcher.group(2))
+        .map(
+            located ->
+                new StoredDocument(
+                    locator, located.entry().size(), located.archive().lastModified()));
+  }
+
+  public InputStream stream(String locator, long offset, long length) throws IOException {
+    Matcher matcher = parse(locator);
+    int termKey = Integer.parseInt(matcher.group(1));
+    TermArchive.Entry entry =
+        locate(termKey, matcher.group(2))
+            .orElseThrow(() -> new NoSuchFileException(locator))
+            .entry();
+    if (entry.deflated()) {
+      InputStream stored = driver.stream(packKey(termKey), entry.offset(), entry.storedLength());
+      return TermArchive.inflate(entry, stored, offset, length);
+    }
+    long start = Math.min(offset, entry.size());
+    return driver.stream(
+        packKey(termKey), entry.offset() + start, Math.min(length, entry.size() - start));
+  }
+
+  public synchronized int write(int termKey, Map<String, Source> documents) throws IOException {
+    Files.createDirectories(spoolDirectory);
+    Path packTemp = Files.createTempFile(spoolDirectory, termKey + "-", PACK_EXTENSION);
+    Path indexTemp = Files.createTempFile(spoolDirectory, termKey + "-", INDEX_EXTENSION);
+
+    Optional<TermArchive> existing = load(termKey);
+    TreeMap<String, TermArchive.Entry> entries = new TreeMap<>();
+    existing.ifPresent(
+        archive -> archive.entries().forEach(entry -> entries.put(entry.sha256(), entry)));
+
+    int added = 0;
+    try {
+      if (existing.isPresent()) {
+        StoredDocument pack =
+            driver
+                .stat(packKey(termKey))
+                .orElseThrow(() -> new NoSuchFileException(packKey(termKey)));
+        try (InputStream in = driver.stream(pack.key(), 0, pack.size())) {
+          Files.copy(in, packTemp, StandardCopyOption.REPLACE_EXISTING);
+        }
+      }
+      try (FileChannel pack = FileChannel.open(packTemp, StandardOpenOption.WRITE)) {
+        pack.position(pack.size());
+        for (Map.Entry<String, Source> document : new TreeMap<>(documents).entrySet()) {
+          if (entries.containsKey(document.getKey())) {
+            continue;
+          }
+          entries.put(document.getKey(), append(pack, document.getKey(), document.getValue()));
+          added++;
+        }
+        pack.force(true);
+      }
+      if (added == 0) {
+        return 0;
+      }
+      writeIndex(indexTemp, entries);
+
+      try (SpooledUpload pack = uploadSpooler.claim(packTemp)) {
+        driver.put(packKey(termKey), pack);
+      }
+      try (SpooledUpload index = uploadSpooler.claim(indexTemp)) {
+        driver.put(indexKey(termKey), index);
+      }
+    } finally {
+      Files.deleteIfExists(packTemp);
+      Files.deleteIfExists(indexTemp);
+      openArchives.remove(termKey);
+    }
+    return added;
+  }
+
+  private Optional<Located> locate(int termKey, String sha256) throws IOException {
+    TermArchive cached = openArchives.get(termKey);
+    if (cached != null) {
+      Optional<TermArchive.Entry> entry = cached.find(sha256);
+      if (entry.isPresent()) {
+        return Optional.of(new Located(cached, entry.get()));
+      }
+    }
+    return load(termKey)
+        .flatMap(archive -> archive.find(sha256).map(entry -> new Located(archive, entry)));
+  }
+
+  private Optional<TermArchive> load(int termKey) throws IOException {
+    Optional<StoredDocument> index = driver.stat(indexKey(termKey));
+    if (index.isEmpty()) {
+      openArchives.remove(termKey);
+      return Optional.empty();
+    }
+    byte[] content;
+    try (InputStream in = driver.stream(index.get().key(), 0, index.get().size())) {
+      content = in.readAllBytes();
+    }
+    TermArchive archive =
+        TermArchive.parse(content, index.get().lastModified(), index.get().key());
+    openArchives.put(termKey, archive);
+    return Optional.of(archive);
+  }
+
+  private static TermArchive.Entry append(FileChannel pack, String sha256, Source source)
+      throws IOException {
+    byte[] content;
+    try (InputStream in = source.open()) {
+      content = in.readAllBytes();
+    }
+    byte[] deflated = deflate(content);
+    boolean compress = deflated.length < content.length;
+    ByteBuffer payload = ByteBuffer.wrap(compress ? deflated : content);
+    long offset = pack.position();
+    while (payload.hasRemaining()) {
+      pack.write(payload);
+    }
+    return new TermArchive.Entry(
+        sha256, offset, pack.position() - offset, content.length, compress);
+  }
+
+  private static byte[] deflate(byte[] content) {
+    Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+    try {
+      deflater.setInput(content);
+      deflater.finish();
+      byte[] buffer = new byte[8192];
+      ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2);
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static void writeIndex(Path target, TreeMap<String, TermArchive.Entry> entries)
+      throws IOException {
+    ByteBuffer index =
+        ByteBuffer.allocate(TermArchive.HEADER_SIZE + entries.size() * TermArchive.ENTRY_SIZE)
+            .order(ByteOrder.BIG_ENDIAN);
+    index.putInt(TermArchive.MAGIC).putInt(TermArchive.VERSION).putInt(entries.size()).putInt(0);
+    for (TermArchive.Entry entry : entries.values()) {
+      int base = index.position();
+      index
+          .put(HexFormat.of().parseHex(entry.sha256()))
+          .putLong(entry.offset())
+          .putLong(entry.storedLength())
+          .putLong(entry.size())
+          .put(entry.deflated() ? TermArchive.DEFLATED : TermArchive.STORED);
+      index.position(base + TermArchive.ENTRY_SIZE);
+    }
+    index.flip();
+    try (FileChannel channel =
+        FileChannel.open(
+            target,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      while (index.hasRemaining()) {
+        channel.write(index);
+      }
+      channel.force(true);
+    }
+  }
+
+  private Matcher parse(String locator) {
+    Matcher matcher = LOCATOR.matcher(locator);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException("Référence d'archive invalide : " + locator);
+    }
+    return matcher;
+  }
+}
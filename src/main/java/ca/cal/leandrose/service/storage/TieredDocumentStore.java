@@ -0,0 +1,87 @@
+package ca.cal.leandrose.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+@Component
+@Primary
+public class TieredDocumentStore implements DocumentStore {
+
+  private final DocumentStore driver;
+  private final TermArchiveStore termArchiveStore;
+
+  public TieredDocumentStore(
+      @Qualifier(DocumentStore.DRIVER) DocumentStore driver, TermArchiveStore termArchiveStore) {
+    this.driver = driver;
+    this.termArchiveStore = termArchiveStore;
+  }
+
+  @Override
+  public void put(String key, SpooledUpload upload) throws IOException {
+    if (TermArchiveStore.isLocator(key)) {
+      throw new IllegalArgumentException(
+          "Les archives de trimestre sont en lecture seule : " + key);
+    }
+    driver.put(key, upload);
+  }
+
+  @Override
+  public Resource get(String key) throws IOException {
+    if (!TermArchiveStore.isLocator(key)) {
+      return driver.get(key);
+    }
+    return new StoredDocumentResource(
+        this, termArchiveStore.stat(key).orElseThrow(() -> new NoSuchFileException(key)));
+  }
+
+  @Override
+  public InputStream stream(String key, long offset, long length) throws IOException {
+    return TermArchiveStore.isLocator(key)
+        ? termArchiveStore.stream(key, offset, length)
+        : driver.stream(key, offset, length);
+  }
+
+  @Override
+  public Optional<StoredDocument> stat(String key) throws IOException {
+    return TermArchiveStore.isLocator(key) ? termArchiveStore.stat(key) : driver.stat(key);
+  }
+
+  @Override
+  public boolean exists(String key) throws IOException {
+    return TermArchiveStore.isLocator(key)
+        ? termArchiveStore.stat(key).isPresent()
+        : driver.exists(key);
+  }
+
+  @Override
+  public void touch(String key) throws IOException {
+    if (!TermArchiveStore.isLocator(key)) {
+      driver.touch(key);
+    }
+  }
+
+  @Override
+  public void delete(String key) throws IOException {
+    if (!TermArchiveStore.isLocator(key)) {
+      driver.delete(key);
+    }
+  }
+
+  @Override
+  public List<StoredDocument> list(String prefix) throws IOException {
+    return driver.list(prefix);
+  }
+
+  @Override
+  public Optional<Path> localPath(String key) {
+    return TermArchiveStore.isLocator(key) ? Optional.empty() : driver.localPath(key);
+  }
+}
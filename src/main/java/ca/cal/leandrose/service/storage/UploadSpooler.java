@@ -0,0 +1,137 @@
+package ca.cal.leandrose.service.storage;
+
+import com.itextpdf.text.io.RandomAccessSourceFactory;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.RandomAccessFileOrArray;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+@Component
+public class UploadSpooler {
+
+  static final String TEMP_PREFIX = ".upload-";
+  static final String TEMP_SUFFIX = ".part";
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int ENVELOPE_WINDOW = 1024;
+  private static final byte[] PDF_HEADER = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] PDF_EOF = "%%EOF".getBytes(StandardCharsets.US_ASCII);
+
+  public SpooledUpload spool(MultipartFile file, Path directory) throws IOException {
+    return spool(file, directory, Long.MAX_VALUE);
+  }
+
+  public SpooledUpload spool(MultipartFile file, Path directory, long maxBytes)
+      throws IOException {
+    try (InputStream in = file.getInputStream()) {
+      return spool(in, directory, maxBytes);
+    }
+  }
+
+  public SpooledUpload spool(Path source, Path directory) throws IOException {
+    try (InputStream in = Files.newInputStream(source)) {
+      return spool(in, directory);
+    }
+  }
+
+  public SpooledUpload spool(InputStream in, Path directory) throws IOException {
+    return spool(in, directory, Long.MAX_VALUE);
+  }
+
+  private SpooledUpload spool(InputStream in, Path directory, long maxBytes) throws IOException {
+    Files.createDirectories(directory);
+    Path temp = Files.createTempFile(directory, TEMP_PREFIX, TEMP_SUFFIX);
+    MessageDigest digest = sha256();
+    long size = 0;
+    try (OutputStream out = Files.newOutputStream(temp)) {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        size += read;
+        if (size > maxBytes) {
+          throw new IllegalArgumentException("Fichier trop volumineux.");
+        }
+        digest.update(buffer, 0, read);
+        out.write(buffer, 0, read);
+      }
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+    return new SpooledUpload(temp, size, HexFormat.of().formatHex(digest.digest()));
+  }
+
+  public PdfReader openPdf(SpooledUpload upload) throws IOException {
+    return openPdf(upload.getFile());
+  }
+
+  public PdfReader openPdf(Path file) throws IOException {
+    return new PdfReader(
+        new RandomAccessFileOrArray(
+            new RandomAccessSourceFactory().setForceRead(false).createBestSource(file.toString())),
+        null);
+  }
+
+  public void checkPdfEnvelope(SpooledUpload upload) throws IOException {
+    try (FileChannel channel = FileChannel.open(upload.getFile(), StandardOpenOption.READ)) {
+      byte[] head = read(channel, 0, ENVELOPE_WINDOW);
+      byte[] tail = read(channel, Math.max(0, channel.size() - ENVELOPE_WINDOW), ENVELOPE_WINDOW);
+      if (!contains(head, PDF_HEADER) || !contains(tail, PDF_EOF)) {
+        throw new IllegalArgumentException("PDF invalide : en-tête ou fin de fichier manquant.");
+      }
+    }
+  }
+
+  public SpooledUpload claim(Path file) throws IOException {
+    MessageDigest digest = sha256();
+    long size = 0;
+    try (InputStream in = Files.newInputStream(file)) {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        size += read;
+        digest.update(buffer, 0, read);
+      }
+    }
+    return new SpooledUpload(file, size, HexFormat.of().formatHex(digest.digest()));
+  }
+
+  private static byte[] read(FileChannel channel, long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) <= 0) {
+        break;
+      }
+    }
+    return Arrays.copyOf(buffer.array(), buffer.position());
+  }
+
+  private static boolean contains(byte[] window, byte[] marker) {
+    for (int i = 0; i <= window.length - marker.length; i++) {
+      if (Arrays.equals(window, i, i + marker.length, marker, 0, marker.length)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 indisponible", e);
+    }
+  }
+}
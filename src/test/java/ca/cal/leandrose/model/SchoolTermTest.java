@@ -206,4 +206,33 @@ class SchoolTermTest {
     assertEquals(2024, fall.getYear());
     assertEquals(2025, nextWinter.getYear());
   }
+
+  @Test
+  void testTermKeyRoundTrip() {
+    SchoolTerm fall = new SchoolTerm(SchoolTerm.Season.FALL, 2026);
+
+    assertEquals(20262, fall.toTermKey());
+    assertEquals(fall, SchoolTerm.fromTermKey(fall.toTermKey()));
+  }
+
+  @Test
+  void testTermKeyOrdersChronologically() {
+    SchoolTerm fall = new SchoolTerm(SchoolTerm.Season.FALL, 2025);
+    SchoolTerm winter = new SchoolTerm(SchoolTerm.Season.WINTER, 2026);
+
+    assertTrue(fall.toTermKey() < winter.toTermKey());
+  }
+
+  @Test
+  void testCalculatePreviousTerm() {
+    assertEquals(
+        new SchoolTerm(SchoolTerm.Season.FALL, 2025),
+        new SchoolTerm(SchoolTerm.Season.WINTER, 2026).calculatePreviousTerm());
+    assertEquals(
+        new SchoolTerm(SchoolTerm.Season.WINTER, 2026),
+        new SchoolTerm(SchoolTerm.Season.SUMMER, 2026).calculatePreviousTerm());
+    assertEquals(
+        new SchoolTerm(SchoolTerm.Season.SUMMER, 2026),
+        new SchoolTerm(SchoolTerm.Season.FALL, 2026).calculatePreviousTerm());
+  }
 }
@@ -8,6 +8,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import ca.cal.leandrose.presentation.request.ChatRequest;
 import ca.cal.leandrose.security.TestSecurityConfiguration;
 import ca.cal.leandrose.service.*;
+import ca.cal.leandrose.service.cache.DocumentCache;
+import ca.cal.leandrose.service.cache.SerializedResponseCache;
+import ca.cal.leandrose.service.cache.SingleFlightGroup;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.HashMap;
 import java.util.Map;
@@ -46,6 +49,17 @@ class ChatControllerTest {
 
   @MockitoBean private ProfService profService;
 
+  @MockitoBean private EntenteViewService ententeViewService;
+
+  @MockitoBean private ReportService reportService;
+
+  @MockitoBean private OfferCatalogService offerCatalogService;
+
+  @MockitoBean private SerializedResponseCache serializedResponseCache;
+  @MockitoBean private SingleFlightGroup singleFlightGroup;
+  @MockitoBean private DocumentCache documentCache;
+  @MockitoBean private TermExportService termExportService;
+
   private ChatRequest chatRequest;
   private String testSessionId;
 
@@ -0,0 +1,51 @@
+package ca.cal.leandrose.presentation;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import ca.cal.leandrose.model.auth.Role;
+import ca.cal.leandrose.security.TestSecurityConfiguration;
+import ca.cal.leandrose.service.StatusCounterService;
+import ca.cal.leandrose.service.UserAppService;
+import ca.cal.leandrose.service.dto.EmployeurDto;
+import ca.cal.leandrose.service.dto.StatusCountersDto;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = CounterController.class)
+@ActiveProfiles("test")
+@Import(TestSecurityConfiguration.class)
+class CounterControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private UserAppService userAppService;
+
+  @MockitoBean private StatusCounterService statusCounterService;
+
+  @Test
+  void getMyCounters_returnsCountersForCurrentUser() throws Exception {
+    EmployeurDto me = EmployeurDto.builder().id(3L).role(Role.EMPLOYEUR).build();
+    when(userAppService.getMe(anyString())).thenReturn(me);
+    when(statusCounterService.getCounters(Role.EMPLOYEUR, 3L))
+        .thenReturn(
+            StatusCountersDto.builder()
+                .counters(Map.of("offer.PUBLISHED", 2L))
+                .offers(Map.of(40L, Map.of("candidature.PENDING", 4L)))
+                .build());
+
+    mockMvc
+        .perform(get("/counters").header("Authorization", "Bearer token"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.counters['offer.PUBLISHED']").value(2))
+        .andExpect(jsonPath("$.offers['40']['candidature.PENDING']").value(4));
+  }
+}
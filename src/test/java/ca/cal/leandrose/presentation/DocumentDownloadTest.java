@@ -0,0 +1,297 @@
+package ca.cal.leandrose.presentation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ca.cal.leandrose.service.cache.DocumentCache;
+import ca.cal.leandrose.service.storage.LocalDocumentStore;
+import ca.cal.leandrose.service.storage.StoredDocument;
+import ca.cal.leandrose.service.storage.StoredDocumentResource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class DocumentDownloadTest {
+
+  private static final int LARGE_PDF_BYTES = 16 * 1024 * 1024;
+
+  @TempDir Path tempDir;
+
+  @Test
+  void serve_StreamsWholeDocumentWithValidators() throws Exception {
+    Resource pdf = pdf("0123456789");
+
+    ResponseEntity<?> response =
+        DocumentDownload.serve(new MockHttpServletRequest(), pdf, "inline; filename=offer_1.pdf");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertInstanceOf(InputStreamResource.class, response.getBody());
+    assertEquals(10, response.getHeaders().getContentLength());
+    assertEquals(MediaType.APPLICATION_PDF, response.getHeaders().getContentType());
+    assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+    assertEquals(
+        "inline; filename=offer_1.pdf",
+        response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+    assertNotNull(response.getHeaders().getETag());
+    assertEquals(pdf.lastModified() / 1000, response.getHeaders().getLastModified() / 1000);
+  }
+
+  @Test
+  void serve_UsesContentHashAsStrongEtagForBlobs() throws Exception {
+    String hash = "ab".repeat(32);
+    Resource blob =
+        new FileSystemResource(Files.writeString(tempDir.resolve(hash + ".pdf"), "0123456789"));
+
+    ResponseEntity<?> response =
+        DocumentDownload.serve(new MockHttpServletRequest(), blob, "inline");
+
+    assertEquals("\"" + hash + "\"", response.getHeaders().getETag());
+  }
+
+  @Test
+  void serve_ReturnsRequestedRange() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+    ResponseEntity<?> response =
+        DocumentDownload.serve(request, pdf("0123456789"), "inline; filename=offer_1.pdf");
+
+    assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+    ResourceRegion region = assertInstanceOf(ResourceRegion.class, response.getBody());
+    assertEquals(2, region.getPosition());
+    assertEquals(4, region.getCount());
+  }
+
+  @Test
+  void serve_ReadsRangeDirectlyFromStoredDocuments() throws Exception {
+    Files.createDirectories(tempDir.resolve("store/blobs"));
+    Files.writeString(tempDir.resolve("store/blobs/offre.pdf"), "0123456789");
+    LocalDocumentStore store =
+        new LocalDocumentStore(
+            tempDir.resolve("store").toString(), new DocumentCache(1024, 1024, 4));
+    Resource stored =
+        new StoredDocumentResource(
+            store, new StoredDocument("blobs/offre.pdf", 10, Instant.now()));
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.RANGE, "bytes=6-");
+
+    ResponseEntity<?> response = DocumentDownload.serve(request, stored, "inline");
+
+    assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+    assertEquals(4, response.getHeaders().getContentLength());
+    assertEquals("bytes 6-9/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    InputStreamResource body = assertInstanceOf(InputStreamResource.class, response.getBody());
+    assertEquals("6789", new String(body.getInputStream().readAllBytes()));
+  }
+
+  @Test
+  void serve_RejectsUnsatisfiableRange() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.RANGE, "bytes=50-60");
+
+    ResponseEntity<?> response =
+        DocumentDownload.serve(request, pdf("0123456789"), "inline; filename=offer_1.pdf");
+
+    assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+    assertEquals("bytes */10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+  }
+
+  @Test
+  void serve_IgnoresMalformedRange() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.RANGE, "octets=0-4");
+
+    ResponseEntity<?> response =
+        DocumentDownload.serve(request, pdf("0123456789"), "inline; filename=offer_1.pdf");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(10, response.getHeaders().getContentLength());
+    assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+  }
+
+  @Test
+  void serve_IgnoresRangeWhenIfRangeIsStale() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+    request.addHeader(HttpHeaders.IF_RANGE, "\"ancienne-version\"");
+
+    ResponseEntity<?> response =
+        DocumentDownload.serve(request, pdf("0123456789"), "inline; filename=offer_1.pdf");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(10, response.getHeaders().getContentLength());
+  }
+
+  @Test
+  void serve_HonoursRangeWhenIfRangeMatchesEtag() throws Exception {
+    Resource pdf = pdf("0123456789");
+    String etag =
+        DocumentDownload.serve(new MockHttpServletRequest(), pdf, "inline")
+            .getHeaders()
+            .getETag();
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+    request.addHeader(HttpHeaders.IF_RANGE, etag);
+
+    ResponseEntity<?> response = DocumentDownload.serve(request, pdf, "inline");
+
+    assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+    assertEquals(7, ((ResourceRegion) response.getBody()).getPosition());
+  }
+
+  @Test
+  void serve_ReturnsNotModifiedForMatchingEtag() throws Exception {
+    Resource pdf = pdf("0123456789");
+    String etag =
+        DocumentDownload.serve(new MockHttpServletRequest(), pdf, "inline")
+            .getHeaders()
+            .getETag();
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+    ResponseEntity<?> response = DocumentDownload.serve(request, pdf, "inline");
+
+    assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    assertNull(response.getBody());
+  }
+
+  @Test
+  void serve_DelegatesFileToSendfileWhenContainerSupportsIt() throws Exception {
+    Resource pdf = pdf("0123456789");
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setAttribute(DocumentDownload.SENDFILE_SUPPORT, Boolean.TRUE);
+    request.addHeader(HttpHeaders.RANGE, "bytes=4-");
+
+    ResponseEntity<?> response = DocumentDownload.serve(request, pdf, "inline");
+
+    assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+    assertNull(response.getBody());
+    assertEquals(
+        pdf.getFile().getAbsolutePath(), request.getAttribute(DocumentDownload.SENDFILE_FILENAME));
+    assertEquals(4L, request.getAttribute(DocumentDownload.SENDFILE_START));
+    assertEquals(10L, request.getAttribute(DocumentDownload.SENDFILE_END));
+    assertEquals(6, response.getHeaders().getContentLength());
+    assertEquals("bytes 4-9/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+  }
+
+  @Test
+  void serve_WritesCachedDocumentsFromMemoryInsteadOfSendfile() throws Exception {
+    Path file = Files.writeString(tempDir.resolve("cv.pdf"), "0123456789");
+    Resource cached = new DocumentCache(1024, 1024, 16).getResource(file);
+    Files.delete(file);
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setAttribute(DocumentDownload.SENDFILE_SUPPORT, Boolean.TRUE);
+
+    ResponseEntity<?> response = DocumentDownload.serve(request, cached, "inline");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertNull(request.getAttribute(DocumentDownload.SENDFILE_FILENAME));
+    InputStreamResource body = assertInstanceOf(InputStreamResource.class, response.getBody());
+    assertEquals("0123456789", new String(body.getInputStream().readAllBytes()));
+  }
+
+  @Test
+  void serve_AllocatesFarLessHeapThanReadAllBytes() throws Exception {
+    Path file = largePdf();
+    Resource pdf = new FileSystemResource(file);
+    MockHttpServletRequest ranged = new MockHttpServletRequest();
+    ranged.addHeader(HttpHeaders.RANGE, "bytes=1048576-");
+
+    write(DocumentDownload.serve(new MockHttpServletRequest(), pdf, "inline"));
+    long streamed = allocatedBytes();
+    write(DocumentDownload.serve(new MockHttpServletRequest(), pdf, "inline"));
+    write(DocumentDownload.serve(ranged, pdf, "inline"));
+    streamed = allocatedBytes() - streamed;
+
+    long buffered = allocatedBytes();
+    OutputStream.nullOutputStream().write(Files.readAllBytes(file));
+    byte[] all = Files.readAllBytes(file);
+    OutputStream.nullOutputStream().write(all, 1048576, all.length - 1048576);
+    buffered = allocatedBytes() - buffered;
+
+    assertTrue(buffered >= 2L * LARGE_PDF_BYTES, "readAllBytes: " + buffered);
+    assertTrue(streamed < LARGE_PDF_BYTES / 16, "streaming: " + streamed);
+  }
+
+  @Test
+  @Tag("benchmark")
+  void benchmarkServe_StreamingComparedToReadAllBytes() throws Exception {
+    Path file = largePdf();
+    Resource pdf = new FileSystemResource(file);
+    MockHttpServletRequest ranged = new MockHttpServletRequest();
+    ranged.addHeader(HttpHeaders.RANGE, "bytes=1048576-");
+    write(DocumentDownload.serve(new MockHttpServletRequest(), pdf, "inline"));
+
+    long start = System.nanoTime();
+    write(DocumentDownload.serve(new MockHttpServletRequest(), pdf, "inline"));
+    write(DocumentDownload.serve(ranged, pdf, "inline"));
+    long streamedNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    OutputStream.nullOutputStream().write(Files.readAllBytes(file));
+    byte[] all = Files.readAllBytes(file);
+    OutputStream.nullOutputStream().write(all, 1048576, all.length - 1048576);
+    long bufferedNanos = System.nanoTime() - start;
+
+    System.out.printf(
+        "téléchargement : flux %.1f ms, readAllBytes %.1f ms%n",
+        streamedNanos / 1e6, bufferedNanos / 1e6);
+  }
+
+  private Path largePdf() throws IOException {
+    byte[] content = new byte[LARGE_PDF_BYTES];
+    new Random(42).nextBytes(content);
+    return Files.write(tempDir.resolve("entente.pdf"), content);
+  }
+
+  private Resource pdf(String content) throws IOException {
+    return new FileSystemResource(Files.writeString(tempDir.resolve("document.pdf"), content));
+  }
+
+  private static void write(ResponseEntity<?> response) throws IOException {
+    HttpOutputMessage output =
+        new HttpOutputMessage() {
+          private final HttpHeaders headers = new HttpHeaders();
+
+          @Override
+          public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+          }
+
+          @Override
+          public HttpHeaders getHeaders() {
+            return headers;
+          }
+        };
+    if (response.getBody() instanceof ResourceRegion region) {
+      new ResourceRegionHttpMessageConverter()
+          .write(region, MediaType.APPLICATION_PDF, output);
+    } else {
+      new ResourceHttpMessageConverter()
+          .write((Resource) response.getBody(), MediaType.APPLICATION_PDF, output);
+    }
+  }
+
+  private static long allocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+        .getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+}
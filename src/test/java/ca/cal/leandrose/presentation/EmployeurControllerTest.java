@@ -5,6 +5,8 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
@@ -19,6 +21,7 @@ import ca.cal.leandrose.model.auth.Role;
 import ca.cal.leandrose.presentation.request.InternshipOfferRequest;
 import ca.cal.leandrose.repository.EmployeurRepository;
 import ca.cal.leandrose.security.TestSecurityConfiguration;
+import ca.cal.leandrose.security.exception.ForbiddenAccessException;
 import ca.cal.leandrose.service.*;
 import ca.cal.leandrose.service.dto.*;
 import ca.cal.leandrose.service.dto.evaluation.*;
@@ -28,6 +31,7 @@ import ca.cal.leandrose.service.dto.evaluation.employer.EvaluationEmployerInfoDt
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.nio.file.NoSuchFileException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -39,11 +43,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.multipart.MultipartFile;
 
 @WebMvcTest(controllers = EmployeurController.class)
 @ActiveProfiles("test")
@@ -67,7 +73,9 @@ class EmployeurControllerTest {
   @MockitoBean private EmployeurService employeurService;
 
   @MockitoBean private EntenteStageService ententeStageService;
+  @MockitoBean private CvService cvService;
   @MockitoBean private EvaluationStagiaireService evaluationStagiaireService;
+  @MockitoBean private UploadSessionService uploadSessionService;
 
 
   private EvaluationStagiaireDto evaluationDto;
@@ -270,8 +278,7 @@ class EmployeurControllerTest {
     CandidatureDto candidatureDto = createCandidatureDto(50L, 1L, "Alice", "Martin");
 
     when(userAppService.getMe(anyString())).thenReturn(employeurDto);
-    when(candidatureService.getCandidatureById(50L)).thenReturn(candidatureDto);
-    when(convocationService.addConvocation(anyLong(), any(), anyString(), anyString()))
+    when(convocationService.addConvocation(eq(50L), eq(1L), any(), anyString(), anyString()))
             .thenReturn(request);
 
     ObjectMapper testObjectMapper = new ObjectMapper();
@@ -293,13 +300,12 @@ class EmployeurControllerTest {
   @Test
   void createConvocation_wrongEmployeur_returnsForbidden() throws Exception {
     EmployeurDto me = EmployeurDto.builder().id(1L).role(Role.EMPLOYEUR).build();
-    CandidatureDto candidature = createCandidatureDto(77L, 2L, "Student", "X");
-
     ConvocationDto conv = new ConvocationDto();
     conv.setLocation("Wrong test");
 
     when(userAppService.getMe(anyString())).thenReturn(me);
-    when(candidatureService.getCandidatureById(77L)).thenReturn(candidature);
+    when(convocationService.addConvocation(eq(77L), eq(1L), any(), anyString(), any()))
+        .thenThrow(new ForbiddenAccessException("Cette candidature ne vous appartient pas"));
 
     mockMvc
         .perform(
@@ -317,8 +323,7 @@ class EmployeurControllerTest {
     candidatureDto.setStatus(Candidature.Status.ACCEPTEDBYEMPLOYEUR);
 
     when(userAppService.getMe(anyString())).thenReturn(employeurDto);
-    when(candidatureService.getCandidatureById(100L)).thenReturn(candidatureDto);
-    when(candidatureService.acceptByEmployeur(100L)).thenReturn(candidatureDto);
+    when(candidatureService.acceptByEmployeur(100L, 1L)).thenReturn(candidatureDto);
 
     mockMvc
         .perform(post("/employeur/candidatures/100/accept").header("Authorization", "Bearer token"))
@@ -334,8 +339,7 @@ class EmployeurControllerTest {
     candidatureDto.setStatus(Candidature.Status.REJECTED);
 
     when(userAppService.getMe(anyString())).thenReturn(employeurDto);
-    when(candidatureService.getCandidatureById(100L)).thenReturn(candidatureDto);
-    when(candidatureService.rejectByEmployeur(100L)).thenReturn(candidatureDto);
+    when(candidatureService.rejectByEmployeur(100L, 1L)).thenReturn(candidatureDto);
 
     mockMvc
         .perform(post("/employeur/candidatures/100/reject").header("Authorization", "Bearer token"))
@@ -347,10 +351,9 @@ class EmployeurControllerTest {
   @Test
   void acceptCandidature_wrongEmployeur_returnsForbidden() throws Exception {
     EmployeurDto me = EmployeurDto.builder().id(1L).role(Role.EMPLOYEUR).build();
-    CandidatureDto candidature = createCandidatureDto(200L, 2L, "Bob", "WrongEmp");
-
     when(userAppService.getMe(anyString())).thenReturn(me);
-    when(candidatureService.getCandidatureById(200L)).thenReturn(candidature);
+    when(candidatureService.acceptByEmployeur(200L, 1L))
+        .thenThrow(new ForbiddenAccessException("Cette candidature ne vous appartient pas"));
 
     mockMvc
         .perform(post("/employeur/candidatures/200/accept").header("Authorization", "Bearer token"))
@@ -361,8 +364,8 @@ class EmployeurControllerTest {
   void acceptCandidature_notFound_returnsNotFound() throws Exception {
     EmployeurDto me = EmployeurDto.builder().id(1L).role(Role.EMPLOYEUR).build();
     when(userAppService.getMe(anyString())).thenReturn(me);
-    when(candidatureService.getCandidatureById(999L))
-        .thenThrow(new RuntimeException("Candidature not found"));
+    when(candidatureService.acceptByEmployeur(999L, 1L))
+        .thenThrow(new RuntimeException("Candidature introuvable"));
 
     mockMvc
         .perform(post("/employeur/candidatures/999/accept").header("Authorization", "Bearer token"))
@@ -490,11 +493,9 @@ class EmployeurControllerTest {
     void generateEvaluationPdf_success_returnsOk() throws Exception {
         when(userAppService.getMe(anyString())).thenReturn(employeurDto);
 
-        when(evaluationStagiaireService.getEvaluationById(1L)).thenReturn(evaluationDto);
-
         EvaluationStagiaireDto evaluationWithPdf = evaluationDto;
 
-        when(evaluationStagiaireService.generateEvaluationPdfByEmployer(eq(1L), any(), eq("fr")))
+        when(evaluationStagiaireService.generateEvaluationPdfByEmployer(eq(1L), eq(1L), any(), eq("fr")))
                 .thenReturn(evaluationWithPdf);
 
         mockMvc.perform(post("/employeur/evaluations/1/generate-pdf")
@@ -518,17 +519,16 @@ class EmployeurControllerTest {
 
     @Test
     void generateEvaluationPdf_notOwner_returnsForbidden() throws Exception {
-        EvaluationStagiaireDto otherEvaluation = new EvaluationStagiaireDto(1L, LocalDate.now(), 2L,1L, 2L,
-                100L, null, null, false, false, EvaluationStatus.EN_COURS);
-
         when(userAppService.getMe(anyString())).thenReturn(employeurDto);
-        when(evaluationStagiaireService.getEvaluationById(1L)).thenReturn(otherEvaluation);
+        when(evaluationStagiaireService.generateEvaluationPdfByEmployer(eq(1L), eq(1L), any(), anyString()))
+                .thenThrow(new ForbiddenAccessException("Accès non autorisé"));
 
         mockMvc.perform(post("/employeur/evaluations/1/generate-pdf")
                         .header("Authorization", "Bearer token")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(formData)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error.message").value("Accès non autorisé"));
     }
 
     @Test
@@ -536,8 +536,8 @@ class EmployeurControllerTest {
         byte[] pdfBytes = "mock-pdf-content".getBytes();
 
         when(userAppService.getMe(anyString())).thenReturn(employeurDto);
-        when(evaluationStagiaireService.getEvaluationById(1L)).thenReturn(evaluationDto);
-        when(evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.EMPLOYER)).thenReturn(pdfBytes);
+        when(evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.EMPLOYER, 1L))
+                .thenReturn(new ByteArrayResource(pdfBytes));
 
         mockMvc.perform(get("/employeur/evaluations/1/pdf")
                         .header("Authorization", "Bearer token"))
@@ -548,8 +548,7 @@ class EmployeurControllerTest {
     @Test
     void getEvaluationPdf_notFound_returnsNotFound() throws Exception {
         when(userAppService.getMe(anyString())).thenReturn(employeurDto);
-        when(evaluationStagiaireService.getEvaluationById(1L)).thenReturn(evaluationDto);
-        when(evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.EMPLOYER))
+        when(evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.EMPLOYER, 1L))
                 .thenThrow(new RuntimeException("PDF not found"));
 
         mockMvc.perform(get("/employeur/evaluations/1/pdf")
@@ -557,6 +556,17 @@ class EmployeurControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getEvaluationPdf_notOwner_returnsForbidden() throws Exception {
+        when(userAppService.getMe(anyString())).thenReturn(employeurDto);
+        when(evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.EMPLOYER, 1L))
+                .thenThrow(new ForbiddenAccessException("Accès non autorisé"));
+
+        mockMvc.perform(get("/employeur/evaluations/1/pdf")
+                        .header("Authorization", "Bearer token"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void getMyEvaluations_success_returnsOk() throws Exception {
         when(userAppService.getMe(anyString())).thenReturn(employeurDto);
@@ -758,7 +768,7 @@ class EmployeurControllerTest {
     void uploadOffer_success_returnsOk() throws Exception {
         when(userAppService.getMe(anyString())).thenReturn(employeurDto);
         when(employeurService.getEmployeurById(1L)).thenReturn(employeurDto);
-        when(internshipOfferService.createOfferDto(anyString(), any(), anyInt(), anyString(), any(), any(), any()))
+        when(internshipOfferService.createOfferDto(anyString(), any(), anyInt(), anyString(), any(), any(), any(MultipartFile.class)))
                 .thenReturn(internshipOfferDto);
 
         InternshipOfferRequest offerRequest = new InternshipOfferRequest();
@@ -860,11 +870,12 @@ class EmployeurControllerTest {
         candidatureDto.setCv(cvDto);
 
         when(userAppService.getMe(anyString())).thenReturn(employeurDto);
-        when(candidatureService.getCandidatureById(50L)).thenReturn(candidatureDto);
+        when(candidatureService.getCandidatureForEmployeur(50L, 1L)).thenReturn(candidatureDto);
+        when(cvService.downloadCv(10L)).thenReturn(new ByteArrayResource("PDF_CONTENT".getBytes()));
 
         mockMvc.perform(get("/employeur/candidatures/50/cv")
                         .header("Authorization", "Bearer token"))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isOk());
     }
 
     @Test
@@ -878,10 +889,9 @@ class EmployeurControllerTest {
 
     @Test
     void downloadCandidateCv_wrongEmployeur_returnsForbidden() throws Exception {
-        CandidatureDto candidatureDto = createCandidatureDto(50L, 2L, "Alice", "Martin");
-
         when(userAppService.getMe(anyString())).thenReturn(employeurDto);
-        when(candidatureService.getCandidatureById(50L)).thenReturn(candidatureDto);
+        when(candidatureService.getCandidatureForEmployeur(50L, 1L))
+                .thenThrow(new ForbiddenAccessException("Cette candidature ne vous appartient pas"));
 
         mockMvc.perform(get("/employeur/candidatures/50/cv")
                         .header("Authorization", "Bearer token"))
@@ -896,11 +906,15 @@ class EmployeurControllerTest {
                 .build();
 
         when(userAppService.getMe(anyString())).thenReturn(employeurDto);
-        when(ententeStageService.getAllEntentes()).thenReturn(List.of(entente1));
+        when(ententeStageService.getEntentesByEmployeurId(employeurDto.getId()))
+                .thenReturn(List.of(entente1));
 
         mockMvc.perform(get("/employeur/ententes")
                         .header("Authorization", "Bearer token"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(10));
+
+        verify(ententeStageService, never()).getAllEntentes();
     }
 
     @Test
@@ -915,7 +929,7 @@ class EmployeurControllerTest {
     @Test
     void getEntentesPourEmployeur_serviceException_returnsInternalServerError() throws Exception {
         when(userAppService.getMe(anyString())).thenReturn(employeurDto);
-        when(ententeStageService.getAllEntentes())
+        when(ententeStageService.getEntentesByEmployeurId(employeurDto.getId()))
                 .thenThrow(new RuntimeException("Database error"));
 
         mockMvc.perform(get("/employeur/ententes")
@@ -940,6 +954,26 @@ class EmployeurControllerTest {
 
         when(userAppService.getMe(anyString())).thenReturn(employeurDto);
         when(ententeStageService.getEntenteById(10L)).thenReturn(entente);
+        when(ententeStageService.telechargerPDF(10L))
+                .thenReturn(new ByteArrayResource("PDF_CONTENT".getBytes()));
+
+        mockMvc.perform(get("/employeur/ententes/10/pdf")
+                        .header("Authorization", "Bearer token"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getEntentePdf_documentMissingFromStore_returnsNotFound() throws Exception {
+        EntenteStageDto entente = EntenteStageDto.builder()
+                .id(10L)
+                .cheminDocumentPDF("blobs/ab/cd/entente.pdf")
+                .internshipOffer(internshipOfferDto)
+                .build();
+
+        when(userAppService.getMe(anyString())).thenReturn(employeurDto);
+        when(ententeStageService.getEntenteById(10L)).thenReturn(entente);
+        when(ententeStageService.telechargerPDF(10L))
+                .thenThrow(new NoSuchFileException("blobs/ab/cd/entente.pdf"));
 
         mockMvc.perform(get("/employeur/ententes/10/pdf")
                         .header("Authorization", "Bearer token"))
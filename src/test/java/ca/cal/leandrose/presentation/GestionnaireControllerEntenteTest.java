@@ -7,22 +7,27 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import ca.cal.leandrose.model.EntentePdfJob;
 import ca.cal.leandrose.model.EntenteStage;
 import ca.cal.leandrose.security.TestSecurityConfiguration;
 import ca.cal.leandrose.service.*;
+import ca.cal.leandrose.service.cache.DocumentCache;
+import ca.cal.leandrose.service.cache.SerializedResponseCache;
+import ca.cal.leandrose.service.cache.SingleFlightGroup;
 import ca.cal.leandrose.service.dto.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -48,6 +53,16 @@ class GestionnaireControllerEntenteTest {
 
   @MockitoBean private UserAppService userAppService;
   @MockitoBean private ProfService profService;
+  @MockitoBean private EntenteViewService ententeViewService;
+
+  @MockitoBean private ReportService reportService;
+
+  @MockitoBean private OfferCatalogService offerCatalogService;
+
+  @MockitoBean private SerializedResponseCache serializedResponseCache;
+  @MockitoBean private SingleFlightGroup singleFlightGroup;
+  @MockitoBean private DocumentCache documentCache;
+  @MockitoBean private TermExportService termExportService;
 
   private EntenteStageDto ententeDto;
   private CandidatureDto candidatureDto;
@@ -191,16 +206,43 @@ class GestionnaireControllerEntenteTest {
             .statut(EntenteStage.StatutEntente.VALIDEE)
             .build();
 
-    when(ententeStageService.getAllEntentes()).thenReturn(Arrays.asList(ententeDto, entente2));
+    when(ententeStageService.getAllEntentesETag()).thenReturn("\"ententes-2-0-2\"");
+    when(ententeStageService.getAllEntentesSnapshot())
+        .thenReturn(new EntentesDto(List.of(ententeDto, entente2), "\"ententes-2-0-2\""));
 
     mockMvc
         .perform(get("/gestionnaire/ententes"))
         .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"ententes-2-0-2\""))
         .andExpect(jsonPath("$.size()").value(2))
         .andExpect(jsonPath("$[0].student.firstName").value("John"))
         .andExpect(jsonPath("$[1].internshipOffer.companyName").value("DevCorp"));
   }
 
+  @Test
+  void getAllEntentes_MatchingETag_ReturnsNotModifiedWithoutLoadingEntentes() throws Exception {
+    when(ententeStageService.getAllEntentesETag()).thenReturn("\"ententes-2-0-2\"");
+
+    mockMvc
+        .perform(get("/gestionnaire/ententes").header("If-None-Match", "\"ententes-2-0-2\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "\"ententes-2-0-2\""));
+
+    verify(ententeStageService, never()).getAllEntentesSnapshot();
+  }
+
+  @Test
+  void reconstruireVueEntentes_ShouldReturnProjectedCount() throws Exception {
+    when(ententeViewService.rebuild()).thenReturn(3);
+
+    mockMvc
+        .perform(post("/gestionnaire/ententes/vue/reconstruire"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.ententes").value(3));
+
+    verify(ententeViewService).rebuild();
+  }
+
   @Test
   void supprimerEntente_ShouldReturnNoContent() throws Exception {
     doNothing().when(ententeStageService).supprimerEntente(1L);
@@ -306,16 +348,45 @@ class GestionnaireControllerEntenteTest {
         .andExpect(jsonPath("$.error.message").value("Already signed"));
   }
 
+  @Test
+  void getStatutGenerationPDF_ShouldReturnJobStatus() throws Exception {
+    when(ententeStageService.getStatutGenerationPDF(1L))
+        .thenReturn(
+            EntentePdfJobDto.builder()
+                .ententeId(1L)
+                .status(EntentePdfJob.Status.PENDING)
+                .attempts(1)
+                .lastError("Disque plein")
+                .build());
+    mockMvc
+        .perform(get("/gestionnaire/ententes/1/pdf/statut"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("PENDING"))
+        .andExpect(jsonPath("$.attempts").value(1))
+        .andExpect(jsonPath("$.lastError").value("Disque plein"));
+  }
+
+  @Test
+  void getStatutGenerationPDF_ShouldReturnNotFound_WhenNoJob() throws Exception {
+    when(ententeStageService.getStatutGenerationPDF(1L))
+        .thenThrow(new jakarta.persistence.EntityNotFoundException("Not found"));
+    mockMvc
+        .perform(get("/gestionnaire/ententes/1/pdf/statut"))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.error.message").value("Not found"));
+  }
+
   @Test
   void telechargerPDFEntente_ShouldReturnPdfBytes() throws Exception {
     byte[] pdfBytes = "test pdf content".getBytes();
-    when(ententeStageService.telechargerPDF(1L)).thenReturn(pdfBytes);
+    when(ententeStageService.telechargerPDF(1L)).thenReturn(new ByteArrayResource(pdfBytes));
     mockMvc
         .perform(get("/gestionnaire/ententes/1/telecharger"))
         .andExpect(status().isOk())
         .andExpect(header().string("Content-Type", "application/pdf"))
         .andExpect(
-            header().string("Content-Disposition", "attachment; filename=\"entente_stage_1.pdf\""));
+            header().string("Content-Disposition", "attachment; filename=\"entente_stage_1.pdf\""))
+        .andExpect(content().bytes(pdfBytes));
     verify(ententeStageService, times(1)).telechargerPDF(1L);
   }
 
@@ -400,6 +471,22 @@ class GestionnaireControllerEntenteTest {
         .andExpect(jsonPath("$.error.message").value("déjà signé"));
   }
 
+  @Test
+  void signerEntenteParGestionnaire_ShouldReturnConflict_WhenSignedConcurrently()
+      throws Exception {
+    UserDTO gestionnaireDto = new UserDTO();
+    gestionnaireDto.setId(1L);
+    gestionnaireDto.setRole(ca.cal.leandrose.model.auth.Role.GESTIONNAIRE);
+    when(userAppService.getMe(anyString())).thenReturn(gestionnaireDto);
+    when(ententeStageService.signerParGestionnaire(1L, 1L))
+        .thenThrow(new ObjectOptimisticLockingFailureException(EntenteStage.class, 1L));
+    mockMvc
+        .perform(post("/gestionnaire/ententes/1/signer").header("Authorization", "Bearer token"))
+        .andExpect(status().isConflict())
+        .andExpect(
+            jsonPath("$.error.message").value(EntenteStageService.MODIFICATION_CONCURRENTE));
+  }
+
   @Test
   void getAllProfs_ShouldReturnListOfProfs() throws Exception {
     ProfDto prof1 = ProfDto.builder().id(1L).firstName("Jean").lastName("Dupont").build();
@@ -7,17 +7,27 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import ca.cal.leandrose.model.Cv;
+import ca.cal.leandrose.model.EntenteStage;
+import ca.cal.leandrose.model.SchoolTerm;
 import ca.cal.leandrose.repository.CvRepository;
 import ca.cal.leandrose.security.TestSecurityConfiguration;
 import ca.cal.leandrose.service.*;
+import ca.cal.leandrose.service.cache.DocumentCache;
+import ca.cal.leandrose.service.cache.SerializedResponseCache;
+import ca.cal.leandrose.service.cache.SingleFlightGroup;
 import ca.cal.leandrose.service.dto.CvDto;
 import ca.cal.leandrose.service.dto.InternshipOfferDto;
+import ca.cal.leandrose.service.dto.PlacementReportDto;
 import ca.cal.leandrose.service.dto.ProgramDto;
+import ca.cal.leandrose.service.dto.ReportDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -26,11 +36,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(GestionnaireController.class)
 @ActiveProfiles("test")
@@ -55,6 +67,16 @@ class GestionnaireControllerTest {
 
   @MockitoBean private UserAppService userAppService;
   @MockitoBean private ProfService profService;
+  @MockitoBean private EntenteViewService ententeViewService;
+
+  @MockitoBean private ReportService reportService;
+
+  @MockitoBean private OfferCatalogService offerCatalogService;
+
+  @MockitoBean private SerializedResponseCache serializedResponseCache;
+  @MockitoBean private SingleFlightGroup singleFlightGroup;
+  @MockitoBean private DocumentCache documentCache;
+  @MockitoBean private TermExportService termExportService;
 
   private CvDto sampleCvDto;
   private Cv sampleCv;
@@ -405,12 +427,13 @@ class GestionnaireControllerTest {
   @Test
   void getOfferPdf_ShouldReturnPdfBytes() throws Exception {
     byte[] pdfBytes = "test pdf content".getBytes();
-    when(internshipOfferService.getOfferPdf(1L)).thenReturn(pdfBytes);
+    when(internshipOfferService.getOfferPdf(1L)).thenReturn(new ByteArrayResource(pdfBytes));
     mockMvc
         .perform(get("/gestionnaire/offers/1/pdf"))
         .andExpect(status().isOk())
         .andExpect(header().string("Content-Type", "application/pdf"))
-        .andExpect(header().string("Content-Disposition", "inline; filename=offer_1.pdf"));
+        .andExpect(header().string("Content-Disposition", "inline; filename=offer_1.pdf"))
+        .andExpect(content().bytes(pdfBytes));
     verify(internshipOfferService, times(1)).getOfferPdf(1L);
   }
 
@@ -457,4 +480,102 @@ class GestionnaireControllerTest {
         .andExpect(jsonPath("$[1].code").value("GENIE_LOGICIEL"));
     verify(gestionnaireService, times(1)).getAllPrograms();
   }
+
+  @Test
+  void getPrograms_ShouldBeCacheableByClients() throws Exception {
+    when(gestionnaireService.getProgramsETag()).thenReturn("\"programs-1\"");
+    mockMvc
+        .perform(get("/gestionnaire/programs").header("If-None-Match", "W/\"programs-1\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("Cache-Control", "max-age=86400, public"));
+    verify(gestionnaireService, never()).getAllPrograms();
+  }
+
+  @Test
+  void getProgramReport_ShouldReturnRowsWithFreshness() throws Exception {
+    PlacementReportDto row =
+        PlacementReportDto.builder()
+            .termKey(20260)
+            .term("WINTER 2026")
+            .value("COMPUTER_SCIENCE")
+            .applicants(10)
+            .placed(4)
+            .placementRate(0.4)
+            .build();
+    when(reportService.getPlacementReport(
+            ReportService.Dimension.PROGRAM, new SchoolTerm(SchoolTerm.Season.WINTER, 2026)))
+        .thenReturn(
+            ReportDto.<PlacementReportDto>builder()
+                .report("report_placement.program")
+                .refreshedAt(LocalDateTime.of(2026, 1, 15, 10, 0))
+                .rows(List.of(row))
+                .build());
+
+    mockMvc
+        .perform(get("/gestionnaire/reports/programs?season=WINTER&year=2026"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.refreshedAt").exists())
+        .andExpect(jsonPath("$.rows[0].value").value("COMPUTER_SCIENCE"))
+        .andExpect(jsonPath("$.rows[0].placementRate").value(0.4));
+  }
+
+  @Test
+  void getTermReport_WithoutTerm_ShouldQueryAllTerms() throws Exception {
+    when(reportService.getPlacementReport(ReportService.Dimension.TERM, null))
+        .thenReturn(ReportDto.<PlacementReportDto>builder().rows(List.of()).build());
+
+    mockMvc
+        .perform(get("/gestionnaire/reports/terms"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rows.size()").value(0));
+    verify(reportService).getPlacementReport(ReportService.Dimension.TERM, null);
+  }
+
+  @Test
+  void exporterTrimestre_StreamsZipWithFilters() throws Exception {
+    when(termExportService.getTimeout()).thenReturn(Duration.ofMinutes(30));
+    when(termExportService.export(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              invocation.<OutputStream>getArgument(2).write("PK".getBytes());
+              return 1;
+            });
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                get("/gestionnaire/exports/term/fall-2025")
+                    .param("program", "COMPUTER_SCIENCE")
+                    .param("employeurId", "7")
+                    .param("statut", "VALIDEE"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/zip"))
+        .andExpect(
+            header()
+                .string(
+                    "Content-Disposition",
+                    "attachment; filename=\"export_fall_2025.zip\""))
+        .andExpect(content().bytes("PK".getBytes()));
+    verify(termExportService)
+        .export(
+            eq(new SchoolTerm(SchoolTerm.Season.FALL, 2025)),
+            eq(
+                new TermExportService.Filter(
+                    "COMPUTER_SCIENCE", 7L, EntenteStage.StatutEntente.VALIDEE)),
+            any());
+  }
+
+  @Test
+  void exporterTrimestre_InvalidTerm_ReturnsBadRequest() throws Exception {
+    mockMvc
+        .perform(get("/gestionnaire/exports/term/printemps-2025"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error.message").value("Trimestre invalide : printemps-2025"));
+    verifyNoInteractions(termExportService);
+  }
 }
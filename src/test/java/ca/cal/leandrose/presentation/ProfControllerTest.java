@@ -12,6 +12,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import ca.cal.leandrose.model.EvaluationStatus;
 import ca.cal.leandrose.model.auth.Role;
 import ca.cal.leandrose.security.TestSecurityConfiguration;
+import ca.cal.leandrose.security.exception.ForbiddenAccessException;
 import ca.cal.leandrose.service.EntenteStageService;
 import ca.cal.leandrose.service.EvaluationStagiaireService;
 import ca.cal.leandrose.service.UserAppService;
@@ -32,6 +33,7 @@ import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
@@ -298,11 +300,9 @@ class ProfControllerTest {
     void generateEvaluationPdf_success_returnsOk() throws Exception {
         when(userAppService.getMe(anyString())).thenReturn(profDto);
 
-        when(evaluationStagiaireService.getEvaluationById(1L)).thenReturn(evaluationDto);
-
         EvaluationStagiaireDto evaluationWithPdf = evaluationDto;
 
-        when(evaluationStagiaireService.generateEvaluationByTeacher(eq(1L), any(), eq("fr")))
+        when(evaluationStagiaireService.generateEvaluationByTeacher(eq(1L), eq(2L), any(), eq("fr")))
                 .thenReturn(evaluationWithPdf);
 
         mockMvc.perform(post("/prof/evaluations/1/generate-pdf")
@@ -326,17 +326,16 @@ class ProfControllerTest {
 
     @Test
     void generateEvaluationPdf_notOwner_returnsForbidden() throws Exception {
-        EvaluationStagiaireDto otherEvaluation = new EvaluationStagiaireDto(1L, LocalDate.now(), 2L,1L, 2L,
-                100L, null, null, false, false, EvaluationStatus.EN_COURS);
-
         when(userAppService.getMe(anyString())).thenReturn(profDto);
-        when(evaluationStagiaireService.getEvaluationById(1L)).thenReturn(otherEvaluation);
+        when(evaluationStagiaireService.generateEvaluationByTeacher(eq(1L), eq(2L), any(), anyString()))
+                .thenThrow(new ForbiddenAccessException("Accès non autorisé"));
 
         mockMvc.perform(post("/prof/evaluations/1/generate-pdf")
                         .header("Authorization", "Bearer token")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(formData)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error.message").value("Accès non autorisé"));
     }
 
     @Test
@@ -344,8 +343,8 @@ class ProfControllerTest {
         byte[] pdfBytes = "mock-pdf-content".getBytes();
 
         when(userAppService.getMe(anyString())).thenReturn(profDto);
-        when(evaluationStagiaireService.getEvaluationById(1L)).thenReturn(evaluationDto);
-        when(evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.PROF)).thenReturn(pdfBytes);
+        when(evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.PROF, 2L))
+                .thenReturn(new ByteArrayResource(pdfBytes));
 
         mockMvc.perform(get("/prof/evaluations/1/pdf")
                         .header("Authorization", "Bearer token"))
@@ -356,8 +355,7 @@ class ProfControllerTest {
     @Test
     void getEvaluationPdf_notFound_returnsNotFound() throws Exception {
         when(userAppService.getMe(anyString())).thenReturn(profDto);
-        when(evaluationStagiaireService.getEvaluationById(1L)).thenReturn(evaluationDto);
-        when(evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.PROF))
+        when(evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.PROF, 2L))
                 .thenThrow(new RuntimeException("PDF not found"));
 
         mockMvc.perform(get("/prof/evaluations/1/pdf")
@@ -564,8 +562,7 @@ class ProfControllerTest {
     @Test
     void generateEvaluationPdf_serviceException_returnsBadRequest() throws Exception {
         when(userAppService.getMe(anyString())).thenReturn(profDto);
-        when(evaluationStagiaireService.getEvaluationById(1L)).thenReturn(evaluationDto);
-        when(evaluationStagiaireService.generateEvaluationByTeacher(eq(1L), any(), eq("fr")))
+        when(evaluationStagiaireService.generateEvaluationByTeacher(eq(1L), eq(2L), any(), eq("fr")))
                 .thenThrow(new RuntimeException("PDF generation error"));
 
         mockMvc.perform(post("/prof/evaluations/1/generate-pdf")
@@ -579,8 +576,7 @@ class ProfControllerTest {
     @Test
     void generateEvaluationPdf_englishLanguage_returnsOk() throws Exception {
         when(userAppService.getMe(anyString())).thenReturn(profDto);
-        when(evaluationStagiaireService.getEvaluationById(1L)).thenReturn(evaluationDto);
-        when(evaluationStagiaireService.generateEvaluationByTeacher(eq(1L), any(), eq("en")))
+        when(evaluationStagiaireService.generateEvaluationByTeacher(eq(1L), eq(2L), any(), eq("en")))
                 .thenReturn(evaluationDto);
 
         mockMvc.perform(post("/prof/evaluations/1/generate-pdf")
@@ -598,13 +594,9 @@ class ProfControllerTest {
                 .role(Role.PROF)
                 .build();
 
-        EvaluationStagiaireDto otherEvaluation = new EvaluationStagiaireDto(
-                1L, LocalDate.now(), 2L, 999L, 2L, 100L,
-                null, null, false, false, EvaluationStatus.EN_COURS
-        );
-
         when(userAppService.getMe(anyString())).thenReturn(differentProf);
-        when(evaluationStagiaireService.getEvaluationById(1L)).thenReturn(otherEvaluation);
+        when(evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.PROF, 999L))
+                .thenThrow(new ForbiddenAccessException("Accès non autorisé"));
 
         mockMvc.perform(get("/prof/evaluations/1/pdf")
                         .header("Authorization", "Bearer token"))
@@ -8,12 +8,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import ca.cal.leandrose.model.Candidature;
 import ca.cal.leandrose.model.EntenteStage;
 import ca.cal.leandrose.model.InternshipOffer;
+import ca.cal.leandrose.model.UploadSession;
 import ca.cal.leandrose.presentation.request.UpdateStudentInfoRequest;
 import ca.cal.leandrose.repository.StudentRepository;
 import ca.cal.leandrose.security.TestSecurityConfiguration;
 import ca.cal.leandrose.service.*;
 import ca.cal.leandrose.service.dto.*;
 import ca.cal.leandrose.service.mapper.InternshipOfferMapper;
+import java.nio.file.NoSuchFileException;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +23,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -49,6 +53,8 @@ class StudentControllerTest {
 
   @MockitoBean private EntenteStageService ententeStageService;
 
+  @MockitoBean private UploadSessionService uploadSessionService;
+
   private StudentDto studentDto;
   private InternshipOfferDto internshipOfferDto;
   private CandidatureDto candidatureDto;
@@ -101,6 +107,89 @@ class StudentControllerTest {
         .andExpect(jsonPath("$.id").value(1));
   }
 
+  @Test
+  void createCvUpload_asStudent_returnsCreatedSession() throws Exception {
+    UploadSessionDto session =
+        UploadSessionDto.builder()
+            .id("0b8f6c2e-4a57-4e8b-9c1d-2f3a4b5c6d7e")
+            .filename("cv.pdf")
+            .size(4096)
+            .build();
+    when(userAppService.getMe(anyString())).thenReturn(studentDto);
+    when(uploadSessionService.create(
+            1L, UploadSession.Purpose.CV, "cv.pdf", "application/pdf", 4096))
+        .thenReturn(session);
+
+    mockMvc
+        .perform(
+            post("/student/cv/uploads")
+                .header("Authorization", "Bearer token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"filename\":\"cv.pdf\",\"contentType\":\"application/pdf\",\"size\":4096}"))
+        .andExpect(status().isCreated())
+        .andExpect(header().string("Location", "/student/cv/uploads/" + session.getId()))
+        .andExpect(header().string("Upload-Offset", "0"))
+        .andExpect(jsonPath("$.size").value(4096));
+    verify(cvService).checkUpload("cv.pdf", "application/pdf", 4096);
+  }
+
+  @Test
+  void createCvUpload_invalidFormat_returnsBadRequest() throws Exception {
+    when(userAppService.getMe(anyString())).thenReturn(studentDto);
+    doThrow(new IllegalArgumentException("Format de fichier invalide"))
+        .when(cvService)
+        .checkUpload("cv.docx", "application/pdf", 4096);
+
+    mockMvc
+        .perform(
+            post("/student/cv/uploads")
+                .header("Authorization", "Bearer token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"filename\":\"cv.docx\",\"contentType\":\"application/pdf\",\"size\":4096}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Format de fichier invalide"));
+    verifyNoInteractions(uploadSessionService);
+  }
+
+  @Test
+  void appendCvUpload_returnsCommittedOffset() throws Exception {
+    String id = "0b8f6c2e-4a57-4e8b-9c1d-2f3a4b5c6d7e";
+    when(userAppService.getMe(anyString())).thenReturn(studentDto);
+    when(uploadSessionService.append(
+            eq(id), eq(1L), eq(UploadSession.Purpose.CV), eq(1024L), any()))
+        .thenReturn(UploadSessionDto.builder().id(id).size(4096).offset(2048).build());
+
+    mockMvc
+        .perform(
+            put("/student/cv/uploads/" + id)
+                .header("Authorization", "Bearer token")
+                .header("Upload-Offset", "1024")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(new byte[1024]))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Upload-Offset", "2048"));
+  }
+
+  @Test
+  void appendCvUpload_wrongOffset_returnsConflict() throws Exception {
+    String id = "0b8f6c2e-4a57-4e8b-9c1d-2f3a4b5c6d7e";
+    when(userAppService.getMe(anyString())).thenReturn(studentDto);
+    when(uploadSessionService.append(eq(id), eq(1L), eq(UploadSession.Purpose.CV), eq(0L), any()))
+        .thenThrow(new IllegalStateException("Décalage invalide : 2048 octet(s) déjà reçus"));
+
+    mockMvc
+        .perform(
+            put("/student/cv/uploads/" + id)
+                .header("Authorization", "Bearer token")
+                .header("Upload-Offset", "0")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(new byte[1024]))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.message").value("Décalage invalide : 2048 octet(s) déjà reçus"));
+  }
+
   @Test
   void uploadCv_notStudent_returnsForbidden() throws Exception {
     UserDTO dto = new UserDTO(2L, null, null, null, ca.cal.leandrose.model.auth.Role.EMPLOYEUR);
@@ -144,15 +233,25 @@ class StudentControllerTest {
 
     when(userAppService.getMe(anyString())).thenReturn(studentDto);
     when(studentService.getStudentById(1L)).thenReturn(studentDto);
-    when(internshipOfferService.getPublishedOffersForStudents(anyString(), anyString()))
-        .thenReturn(List.of(offer));
+    when(internshipOfferService.getPublishedOffersETag(anyString(), anyString()))
+        .thenReturn("\"offers-1\"");
+    when(internshipOfferService.getPublishedOffersSnapshot(anyString(), anyString()))
+        .thenReturn(new PublishedOffersDto(List.of(offer), "\"offers-1\""));
 
     mockMvc
         .perform(get("/student/offers").header("Authorization", "Bearer token"))
         .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"offers-1\""))
         .andExpect(jsonPath("$[0].id").value(10));
 
-    verify(internshipOfferService).getPublishedOffersForStudents(anyString(), anyString());
+    mockMvc
+        .perform(
+            get("/student/offers")
+                .header("Authorization", "Bearer token")
+                .header("If-None-Match", "\"offers-1\""))
+        .andExpect(status().isNotModified());
+
+    verify(internshipOfferService, times(1)).getPublishedOffersSnapshot(anyString(), anyString());
   }
 
   @Test
@@ -164,7 +263,7 @@ class StudentControllerTest {
         .perform(get("/student/offers").header("Authorization", "Bearer token"))
         .andExpect(status().isForbidden());
 
-    verify(internshipOfferService, never()).getPublishedOffersForStudents(anyString(), anyString());
+    verify(internshipOfferService, never()).getPublishedOffersSnapshot(anyString(), anyString());
   }
 
   @Test
@@ -180,6 +279,19 @@ class StudentControllerTest {
         .andExpect(jsonPath("$.id").value(20));
   }
 
+  @Test
+  void getOfferDetails_cachedJson_isWrittenWithoutMapping() throws Exception {
+    when(internshipOfferService.findPublishedOfferJson(22L))
+        .thenReturn(Optional.of("{\"id\":22,\"status\":\"PUBLISHED\"}".getBytes()));
+
+    mockMvc
+        .perform(get("/student/offers/22"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(org.springframework.http.MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.id").value(22));
+    verify(internshipOfferService, never()).getOffer(anyLong());
+  }
+
   @Test
   void getOfferDetails_notPublished_returnsForbidden() throws Exception {
     InternshipOfferDto offer =
@@ -196,7 +308,8 @@ class StudentControllerTest {
         InternshipOfferMapper.toDto(
             InternshipOffer.builder().id(100L).status(InternshipOffer.Status.PUBLISHED).build());
     when(internshipOfferService.getOffer(100L)).thenReturn(offer);
-    when(internshipOfferService.getOfferPdf(100L)).thenReturn("PDF_CONTENT".getBytes());
+    when(internshipOfferService.getOfferPdf(100L))
+        .thenReturn(new org.springframework.core.io.ByteArrayResource("PDF_CONTENT".getBytes()));
 
     mockMvc
         .perform(get("/student/offers/100/pdf"))
@@ -309,6 +422,43 @@ class StudentControllerTest {
         .andExpect(jsonPath("$[0].id").value(500));
   }
 
+  @Test
+  void getMyCandidatures_matchingETag_returnsNotModifiedWithoutLoading() throws Exception {
+    UserDTO studentDto =
+        new UserDTO(1L, null, null, null, ca.cal.leandrose.model.auth.Role.STUDENT);
+    when(userAppService.getMe(anyString())).thenReturn(studentDto);
+    when(candidatureService.getCandidaturesByStudentETag(1L))
+        .thenReturn("\"candidatures-s1-2-3-4\"");
+
+    mockMvc
+        .perform(
+            get("/student/applications")
+                .header("Authorization", "Bearer token")
+                .header("If-None-Match", "\"candidatures-s1-2-3-4\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "\"candidatures-s1-2-3-4\""));
+    verify(candidatureService, never()).getCandidaturesByStudent(anyLong());
+  }
+
+  @Test
+  void getMyCandidatures_staleETag_returnsBodyWithNewETag() throws Exception {
+    UserDTO studentDto =
+        new UserDTO(1L, null, null, null, ca.cal.leandrose.model.auth.Role.STUDENT);
+    when(userAppService.getMe(anyString())).thenReturn(studentDto);
+    when(candidatureService.getCandidaturesByStudentETag(1L))
+        .thenReturn("\"candidatures-s1-3-4-4\"");
+    when(candidatureService.getCandidaturesByStudent(1L)).thenReturn(List.of());
+
+    mockMvc
+        .perform(
+            get("/student/applications")
+                .header("Authorization", "Bearer token")
+                .header("If-None-Match", "\"candidatures-s1-2-3-4\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"candidatures-s1-3-4-4\""))
+        .andExpect(header().string("Cache-Control", "no-cache, private"));
+  }
+
   @Test
   void getMyCandidatures_notStudent_returnsForbidden() throws Exception {
     UserDTO dto = new UserDTO(2L, null, null, null, ca.cal.leandrose.model.auth.Role.EMPLOYEUR);
@@ -674,10 +824,13 @@ class StudentControllerTest {
 
     when(userAppService.getMe(anyString())).thenReturn(student);
     when(ententeStageService.getEntenteById(10L)).thenReturn(entente);
+    when(ententeStageService.telechargerPDF(10L))
+        .thenReturn(new ByteArrayResource("PDF_CONTENT".getBytes()));
 
     mockMvc
         .perform(get("/student/ententes/10/pdf").header("Authorization", "Bearer token"))
-        .andExpect(status().isNotFound());
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "application/pdf"));
 
     verify(ententeStageService).getEntenteById(10L);
   }
@@ -827,7 +980,7 @@ class StudentControllerTest {
   }
 
   @Test
-  void getEntentePdf_malformedUrl_returnsInternalServerError() throws Exception {
+  void getEntentePdf_invalidDocumentKey_returnsInternalServerError() throws Exception {
     UserDTO student =
         new UserDTO(
             1L, "John", "Doe", "john@example.com", ca.cal.leandrose.model.auth.Role.STUDENT);
@@ -845,18 +998,50 @@ class StudentControllerTest {
             .id(10L)
             .candidatureId(20L)
             .student(studentDto)
-            .cheminDocumentPDF("://invalid-url")
+            .cheminDocumentPDF("../invalide.pdf")
             .statut(EntenteStage.StatutEntente.EN_ATTENTE_SIGNATURE)
             .build();
 
     when(userAppService.getMe(anyString())).thenReturn(student);
     when(ententeStageService.getEntenteById(10L)).thenReturn(entente);
+    when(ententeStageService.telechargerPDF(10L))
+        .thenThrow(new IllegalArgumentException("Clé de document invalide"));
 
     mockMvc
         .perform(get("/student/ententes/10/pdf").header("Authorization", "Bearer token"))
         .andExpect(status().isInternalServerError());
   }
 
+  @Test
+  void getEntentePdf_documentMissingFromStore_returnsNotFound() throws Exception {
+    UserDTO student =
+        new UserDTO(
+            1L, "John", "Doe", "john@example.com", ca.cal.leandrose.model.auth.Role.STUDENT);
+    EntenteStageDto entente =
+        EntenteStageDto.builder()
+            .id(10L)
+            .candidatureId(20L)
+            .student(
+                StudentDto.builder()
+                    .id(1L)
+                    .firstName("John")
+                    .lastName("Doe")
+                    .email("john@example.com")
+                    .build())
+            .cheminDocumentPDF("blobs/ab/cd/entente.pdf")
+            .statut(EntenteStage.StatutEntente.EN_ATTENTE_SIGNATURE)
+            .build();
+
+    when(userAppService.getMe(anyString())).thenReturn(student);
+    when(ententeStageService.getEntenteById(10L)).thenReturn(entente);
+    when(ententeStageService.telechargerPDF(10L))
+        .thenThrow(new NoSuchFileException("blobs/ab/cd/entente.pdf"));
+
+    mockMvc
+        .perform(get("/student/ententes/10/pdf").header("Authorization", "Bearer token"))
+        .andExpect(status().isNotFound());
+  }
+
   @Test
   void getMyProf_asStudent_withProf_returnsProfDto() throws Exception {
     UserDTO student =
@@ -1249,10 +1434,12 @@ class StudentControllerTest {
     when(userAppService.getMe(anyString())).thenReturn(studentDto);
     when(studentService.getStudentById(1L)).thenReturn(studentDto);
     when(cvService.getCvByStudentId(1L)).thenReturn(cvDto);
+    when(cvService.downloadCv(1L)).thenReturn(new ByteArrayResource("PDF_CONTENT".getBytes()));
 
     mockMvc
         .perform(get("/student/cv/download").header("Authorization", "Bearer token"))
-        .andExpect(status().isNotFound());
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "application/pdf"));
   }
 
   @Test
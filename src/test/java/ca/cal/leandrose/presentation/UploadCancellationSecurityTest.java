@@ -0,0 +1,115 @@
+package ca.cal.leandrose.presentation;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ca.cal.leandrose.model.Employeur;
+import ca.cal.leandrose.model.Student;
+import ca.cal.leandrose.model.UploadSession;
+import ca.cal.leandrose.model.auth.Role;
+import ca.cal.leandrose.repository.EmployeurRepository;
+import ca.cal.leandrose.repository.StudentRepository;
+import ca.cal.leandrose.repository.UserAppRepository;
+import ca.cal.leandrose.security.JwtAuthenticationEntryPoint;
+import ca.cal.leandrose.security.JwtTokenProvider;
+import ca.cal.leandrose.security.SecurityConfiguration;
+import ca.cal.leandrose.service.*;
+import ca.cal.leandrose.service.dto.UserDTO;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = {StudentController.class, EmployeurController.class})
+@Import({SecurityConfiguration.class, JwtAuthenticationEntryPoint.class})
+class UploadCancellationSecurityTest {
+
+  private static final String UPLOAD_ID = "0b8f6c2e-4a57-4e8b-9c1d-2f3a4b5c6d7e";
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private JwtTokenProvider jwtTokenProvider;
+  @MockitoBean private UserAppRepository userAppRepository;
+  @MockitoBean private UserAppService userAppService;
+  @MockitoBean private UploadSessionService uploadSessionService;
+  @MockitoBean private CvService cvService;
+  @MockitoBean private StudentRepository studentRepository;
+  @MockitoBean private CandidatureService candidatureService;
+  @MockitoBean private InternshipOfferService internshipOfferService;
+  @MockitoBean private StudentService studentService;
+  @MockitoBean private ConvocationService convocationService;
+  @MockitoBean private EntenteStageService ententeStageService;
+  @MockitoBean private EmployeurRepository employeurRepository;
+  @MockitoBean private EmployeurService employeurService;
+  @MockitoBean private EvaluationStagiaireService evaluationStagiaireService;
+
+  @Test
+  void studentCanCancelOwnCvUpload() throws Exception {
+    authenticate(
+        Student.builder()
+            .id(1L)
+            .firstName("Jane")
+            .lastName("Smith")
+            .email("student@test.com")
+            .password("pass")
+            .build(),
+        Role.STUDENT);
+
+    mockMvc
+        .perform(delete("/student/cv/uploads/" + UPLOAD_ID).header("Authorization", "Bearer jwt"))
+        .andExpect(status().isNoContent());
+    verify(uploadSessionService).cancel(UPLOAD_ID, 1L, UploadSession.Purpose.CV);
+  }
+
+  @Test
+  void employeurCanCancelOwnOfferUpload() throws Exception {
+    authenticate(
+        Employeur.builder()
+            .id(2L)
+            .firstName("John")
+            .lastName("Doe")
+            .email("emp@test.com")
+            .password("pass")
+            .companyName("TechCorp")
+            .build(),
+        Role.EMPLOYEUR);
+
+    mockMvc
+        .perform(
+            delete("/employeur/offers/uploads/" + UPLOAD_ID).header("Authorization", "Bearer jwt"))
+        .andExpect(status().isNoContent());
+    verify(uploadSessionService).cancel(UPLOAD_ID, 2L, UploadSession.Purpose.OFFER);
+  }
+
+  @Test
+  void studentCannotCancelOfferUploads() throws Exception {
+    authenticate(
+        Student.builder()
+            .id(1L)
+            .firstName("Jane")
+            .lastName("Smith")
+            .email("student@test.com")
+            .password("pass")
+            .build(),
+        Role.STUDENT);
+
+    mockMvc
+        .perform(
+            delete("/employeur/offers/uploads/" + UPLOAD_ID).header("Authorization", "Bearer jwt"))
+        .andExpect(status().isForbidden());
+    verifyNoInteractions(uploadSessionService);
+  }
+
+  private void authenticate(ca.cal.leandrose.model.UserApp user, Role role) {
+    when(jwtTokenProvider.getEmailFromJWT("jwt")).thenReturn(user.getEmail());
+    when(userAppRepository.findUserAppByEmail(user.getEmail())).thenReturn(Optional.of(user));
+    UserDTO me = new UserDTO(user.getFirstName(), user.getLastName(), role);
+    me.setId(user.getId());
+    when(userAppService.getMe(anyString())).thenReturn(me);
+  }
+}
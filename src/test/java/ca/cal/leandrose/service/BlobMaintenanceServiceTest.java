@@ -0,0 +1,146 @@
+package ca.cal.leandrose.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import ca.cal.leandrose.repository.CvRepository;
+import ca.cal.leandrose.repository.EntenteStageRepository;
+import ca.cal.leandrose.repository.EntenteViewRepository;
+import ca.cal.leandrose.repository.EvaluationStagiaireRepository;
+import ca.cal.leandrose.repository.InternshipOfferRepository;
+import ca.cal.leandrose.service.cache.DocumentCache;
+import ca.cal.leandrose.service.dto.BlobCollectionDto;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.LocalDocumentStore;
+import ca.cal.leandrose.service.storage.UploadSpooler;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class BlobMaintenanceServiceTest {
+
+  @TempDir Path tempDir;
+
+  @Mock private CvRepository cvRepository;
+  @Mock private InternshipOfferRepository internshipOfferRepository;
+  @Mock private EntenteStageRepository ententeStageRepository;
+  @Mock private EntenteViewRepository ententeViewRepository;
+  @Mock private EvaluationStagiaireRepository evaluationStagiaireRepository;
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  private LocalDocumentStore documentStore;
+  private BlobStore blobStore;
+  private BlobMaintenanceService service;
+
+  @BeforeEach
+  void setUp() {
+    documentStore =
+        new LocalDocumentStore(
+            tempDir.resolve("store").toString(), new DocumentCache(1024 * 1024, 1024 * 1024, 16));
+    blobStore =
+        new BlobStore(new UploadSpooler(), documentStore, tempDir.resolve("spool").toString());
+    service =
+        new BlobMaintenanceService(
+            blobStore,
+            documentStore,
+            cvRepository,
+            internshipOfferRepository,
+            ententeStageRepository,
+            ententeViewRepository,
+            evaluationStagiaireRepository,
+            eventPublisher,
+            Duration.ofMinutes(10),
+            true);
+  }
+
+  @Test
+  void referenceCounts_CountsEveryColumnPointingAtABlob() throws Exception {
+    String cv = blobStore.adopt(Files.writeString(tempDir.resolve("cv.pdf"), "CV"));
+    when(cvRepository.findAllPdfPaths()).thenReturn(List.of(cv));
+    when(internshipOfferRepository.findAllPdfPaths())
+        .thenReturn(List.of(cv, "uploads/offers/1/offre.pdf"));
+    when(ententeStageRepository.findAllPdfPaths()).thenReturn(List.of());
+    when(evaluationStagiaireRepository.findAllEmployerPdfPaths()).thenReturn(List.of());
+    when(evaluationStagiaireRepository.findAllProfessorPdfPaths()).thenReturn(List.of());
+
+    Map<String, Long> counts = service.referenceCounts();
+
+    assertEquals(Map.of(BlobStore.hashOf(cv).orElseThrow(), 2L), counts);
+  }
+
+  @Test
+  void collectGarbage_DeletesOnlyOldUnreferencedBlobs() throws Exception {
+    String referenced = blobStore.adopt(Files.writeString(tempDir.resolve("a.pdf"), "REFERENCE"));
+    String orphan = blobStore.adopt(Files.writeString(tempDir.resolve("b.pdf"), "ORPHELIN"));
+    String fresh = blobStore.adopt(Files.writeString(tempDir.resolve("c.pdf"), "RECENT"));
+    FileTime old = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+    Files.setLastModifiedTime(documentStore.localPath(referenced).orElseThrow(), old);
+    Files.setLastModifiedTime(documentStore.localPath(orphan).orElseThrow(), old);
+    when(cvRepository.findAllPdfPaths()).thenReturn(List.of(referenced));
+    when(internshipOfferRepository.findAllPdfPaths()).thenReturn(List.of());
+    when(ententeStageRepository.findAllPdfPaths()).thenReturn(List.of());
+    when(evaluationStagiaireRepository.findAllEmployerPdfPaths()).thenReturn(List.of());
+    when(evaluationStagiaireRepository.findAllProfessorPdfPaths()).thenReturn(List.of());
+
+    BlobCollectionDto result = service.collectGarbage();
+
+    assertTrue(documentStore.exists(referenced));
+    assertFalse(documentStore.exists(orphan));
+    assertTrue(documentStore.exists(fresh));
+    assertEquals(3, result.getBlobs());
+    assertEquals(1, result.getDeleted());
+    assertEquals("ORPHELIN".length(), result.getReclaimedBytes());
+  }
+
+  @Test
+  void migrateLegacyDocuments_MovesFilesIntoBlobStoreAndRewritesPaths() throws Exception {
+    Path legacy = Files.writeString(tempDir.resolve("entente_1.pdf"), "ENTENTE");
+    when(cvRepository.findAllPdfPaths()).thenReturn(List.of());
+    when(internshipOfferRepository.findAllPdfPaths()).thenReturn(List.of());
+    when(ententeStageRepository.findAllPdfPaths()).thenReturn(List.of(legacy.toString()));
+    when(evaluationStagiaireRepository.findAllEmployerPdfPaths()).thenReturn(List.of());
+    when(evaluationStagiaireRepository.findAllProfessorPdfPaths())
+        .thenReturn(List.of("/introuvable/evaluation.pdf"));
+
+    service.migrateLegacyDocuments();
+
+    String key = blobStore.listBlobs().get(0).key();
+    assertFalse(Files.exists(legacy));
+    assertEquals("ENTENTE", Files.readString(documentStore.localPath(key).orElseThrow()));
+    verify(ententeStageRepository).relocatePdf(legacy.toString(), key);
+    verify(ententeViewRepository).relocatePdf(legacy.toString(), key);
+    verify(cvRepository)
+        .relocatePdf(legacy.toString(), key, BlobStore.hashOf(key).orElseThrow());
+    verify(evaluationStagiaireRepository, never())
+        .relocateProfessorPdf(eq("/introuvable/evaluation.pdf"), anyString());
+  }
+
+  @Test
+  void migrateLegacyDocuments_RewritesAbsoluteBlobPathsWithoutDeletingTheBlob() throws Exception {
+    String key = blobStore.adopt(Files.writeString(tempDir.resolve("offre.pdf"), "OFFRE"));
+    Path absolute = documentStore.localPath(key).orElseThrow();
+    when(cvRepository.findAllPdfPaths()).thenReturn(List.of());
+    when(internshipOfferRepository.findAllPdfPaths()).thenReturn(List.of(absolute.toString()));
+    when(ententeStageRepository.findAllPdfPaths()).thenReturn(List.of());
+    when(evaluationStagiaireRepository.findAllEmployerPdfPaths()).thenReturn(List.of());
+    when(evaluationStagiaireRepository.findAllProfessorPdfPaths()).thenReturn(List.of());
+
+    service.migrateLegacyDocuments();
+
+    assertTrue(Files.exists(absolute));
+    verify(internshipOfferRepository)
+        .relocatePdf(absolute.toString(), key, BlobStore.hashOf(key).orElseThrow());
+  }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import ca.cal.leandrose.model.*;
 import ca.cal.leandrose.repository.*;
+import ca.cal.leandrose.security.exception.ForbiddenAccessException;
 import ca.cal.leandrose.service.dto.*;
 import java.time.LocalDate;
 import java.util.List;
@@ -123,7 +124,8 @@ class CandidatureServiceTest {
     CandidatureDto candidature =
         candidatureService.postuler(testStudent.getId(), testOffer.getId(), testCv.getId());
 
-    CandidatureDto afterEmployeur = candidatureService.acceptByEmployeur(candidature.getId());
+    CandidatureDto afterEmployeur =
+        candidatureService.acceptByEmployeur(candidature.getId(), testOffer.getEmployeurId());
     CandidatureDto afterStudent =
         candidatureService.acceptByStudent(candidature.getId(), testStudent.getId());
 
@@ -197,38 +199,41 @@ class CandidatureServiceTest {
   void acceptByEmployeur_ShouldThrow_WhenAlreadyRejected() {
     CandidatureDto c =
         candidatureService.postuler(testStudent.getId(), testOffer.getId(), testCv.getId());
-    candidatureService.rejectByEmployeur(c.getId());
+    candidatureService.rejectByEmployeur(c.getId(), testOffer.getEmployeurId());
 
     assertThrows(
-        IllegalStateException.class, () -> candidatureService.acceptByEmployeur(c.getId()));
+        IllegalStateException.class,
+        () -> candidatureService.acceptByEmployeur(c.getId(), testOffer.getEmployeurId()));
   }
 
   @Test
   void acceptByEmployeur_ShouldThrow_WhenAlreadyAccepted() {
     CandidatureDto c =
         candidatureService.postuler(testStudent.getId(), testOffer.getId(), testCv.getId());
-    candidatureService.acceptByEmployeur(c.getId());
+    candidatureService.acceptByEmployeur(c.getId(), testOffer.getEmployeurId());
     candidatureService.acceptByStudent(c.getId(), testStudent.getId());
 
     assertThrows(
-        IllegalStateException.class, () -> candidatureService.acceptByEmployeur(c.getId()));
+        IllegalStateException.class,
+        () -> candidatureService.acceptByEmployeur(c.getId(), testOffer.getEmployeurId()));
   }
 
   @Test
   void acceptByEmployeur_ShouldThrow_WhenAlreadyAcceptedByEmployeur() {
     CandidatureDto c =
         candidatureService.postuler(testStudent.getId(), testOffer.getId(), testCv.getId());
-    candidatureService.acceptByEmployeur(c.getId());
+    candidatureService.acceptByEmployeur(c.getId(), testOffer.getEmployeurId());
 
     assertThrows(
-        IllegalStateException.class, () -> candidatureService.acceptByEmployeur(c.getId()));
+        IllegalStateException.class,
+        () -> candidatureService.acceptByEmployeur(c.getId(), testOffer.getEmployeurId()));
   }
 
   @Test
   void acceptByStudent_ShouldThrow_WhenNotOwnedByStudent() {
     CandidatureDto c =
         candidatureService.postuler(testStudent.getId(), testOffer.getId(), testCv.getId());
-    candidatureService.acceptByEmployeur(c.getId());
+    candidatureService.acceptByEmployeur(c.getId(), testOffer.getEmployeurId());
 
     assertThrows(
         IllegalStateException.class, () -> candidatureService.acceptByStudent(c.getId(), 999L));
@@ -248,7 +253,7 @@ class CandidatureServiceTest {
   void rejectByStudent_ShouldThrow_WhenNotOwnedByStudent() {
     CandidatureDto c =
         candidatureService.postuler(testStudent.getId(), testOffer.getId(), testCv.getId());
-    candidatureService.acceptByEmployeur(c.getId());
+    candidatureService.acceptByEmployeur(c.getId(), testOffer.getEmployeurId());
 
     assertThrows(
         IllegalStateException.class, () -> candidatureService.rejectByStudent(c.getId(), 999L));
@@ -268,21 +273,23 @@ class CandidatureServiceTest {
   void rejectByEmployeur_ShouldThrow_WhenAlreadyAccepted() {
     CandidatureDto c =
         candidatureService.postuler(testStudent.getId(), testOffer.getId(), testCv.getId());
-    candidatureService.acceptByEmployeur(c.getId());
+    candidatureService.acceptByEmployeur(c.getId(), testOffer.getEmployeurId());
     candidatureService.acceptByStudent(c.getId(), testStudent.getId());
 
     assertThrows(
-        IllegalStateException.class, () -> candidatureService.rejectByEmployeur(c.getId()));
+        IllegalStateException.class,
+        () -> candidatureService.rejectByEmployeur(c.getId(), testOffer.getEmployeurId()));
   }
 
   @Test
   void rejectByEmployeur_ShouldThrow_WhenAlreadyRejected() {
     CandidatureDto c =
         candidatureService.postuler(testStudent.getId(), testOffer.getId(), testCv.getId());
-    candidatureService.rejectByEmployeur(c.getId());
+    candidatureService.rejectByEmployeur(c.getId(), testOffer.getEmployeurId());
 
     assertThrows(
-        IllegalStateException.class, () -> candidatureService.rejectByEmployeur(c.getId()));
+        IllegalStateException.class,
+        () -> candidatureService.rejectByEmployeur(c.getId(), testOffer.getEmployeurId()));
   }
 
   @Test
@@ -337,7 +344,7 @@ class CandidatureServiceTest {
   void rejectByStudent_ShouldUpdateStatus_WhenValid() {
     CandidatureDto c =
         candidatureService.postuler(testStudent.getId(), testOffer.getId(), testCv.getId());
-    candidatureService.acceptByEmployeur(c.getId());
+    candidatureService.acceptByEmployeur(c.getId(), testOffer.getEmployeurId());
 
     CandidatureDto rejected = candidatureService.rejectByStudent(c.getId(), testStudent.getId());
     assertEquals(Candidature.Status.REJECTED, rejected.getStatus());
@@ -348,10 +355,43 @@ class CandidatureServiceTest {
     CandidatureDto c =
         candidatureService.postuler(testStudent.getId(), testOffer.getId(), testCv.getId());
 
-    CandidatureDto rejected = candidatureService.rejectByEmployeur(c.getId());
+    CandidatureDto rejected =
+        candidatureService.rejectByEmployeur(c.getId(), testOffer.getEmployeurId());
     assertEquals(Candidature.Status.REJECTED, rejected.getStatus());
   }
 
+  @Test
+  void acceptByEmployeur_ShouldThrowForbidden_WhenNotOwner() {
+    CandidatureDto c =
+        candidatureService.postuler(testStudent.getId(), testOffer.getId(), testCv.getId());
+
+    assertThrows(
+        ForbiddenAccessException.class,
+        () -> candidatureService.acceptByEmployeur(c.getId(), testOffer.getEmployeurId() + 1));
+    assertEquals(
+        Candidature.Status.PENDING, candidatureService.getCandidatureById(c.getId()).getStatus());
+  }
+
+  @Test
+  void rejectByEmployeur_ShouldThrowNotFound_WhenCandidatureMissing() {
+    RuntimeException ex =
+        assertThrows(
+            RuntimeException.class,
+            () -> candidatureService.rejectByEmployeur(999L, testOffer.getEmployeurId()));
+    assertEquals("Candidature introuvable", ex.getMessage());
+  }
+
+  @Test
+  void getCandidatureForEmployeur_ShouldReturnCandidature_WhenOwner() {
+    CandidatureDto c =
+        candidatureService.postuler(testStudent.getId(), testOffer.getId(), testCv.getId());
+
+    CandidatureDto fetched =
+        candidatureService.getCandidatureForEmployeur(c.getId(), testOffer.getEmployeurId());
+
+    assertEquals(c.getId(), fetched.getId());
+  }
+
   @Test
   void multipleStudentsApplying_ShouldWorkIndependently() {
     Student student2 =
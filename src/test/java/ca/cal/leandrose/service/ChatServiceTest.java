@@ -26,6 +26,7 @@ class ChatServiceTest {
   @Mock private GestionnaireService gestionnaireService;
   @Mock private InternshipOfferService internshipOfferService;
   @Mock private EntenteStageService ententeService;
+  @Mock private ReportService reportService;
   @InjectMocks private ChatService chatService;
 
   @BeforeEach
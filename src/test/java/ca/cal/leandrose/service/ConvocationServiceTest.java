@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import ca.cal.leandrose.model.*;
 import ca.cal.leandrose.repository.*;
+import ca.cal.leandrose.security.exception.ForbiddenAccessException;
 import ca.cal.leandrose.service.dto.ConvocationDto;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -99,7 +100,11 @@ class ConvocationServiceTest {
   @Test
   void addConvocation_ShouldCreateConvocation() {
     convocationService.addConvocation(
-        testCandidature.getId(), futureDate, "Bureau 301", "Message personnalisé");
+        testCandidature.getId(),
+        testOffer.getEmployeurId(),
+        futureDate,
+        "Bureau 301",
+        "Message personnalisé");
 
     Candidature updated = candidatureRepository.findById(testCandidature.getId()).orElseThrow();
     assertEquals(Candidature.Status.CONVENED, updated.getStatus());
@@ -120,7 +125,12 @@ class ConvocationServiceTest {
 
   @Test
   void addConvocation_ShouldUseDefaultMessage_WhenMessageNull() {
-    convocationService.addConvocation(testCandidature.getId(), futureDate, "Bureau 301", null);
+    convocationService.addConvocation(
+        testCandidature.getId(),
+        testOffer.getEmployeurId(),
+        futureDate,
+        "Bureau 301",
+        null);
 
     Convocation convocation =
         convocationRepository.findAll().stream()
@@ -139,7 +149,12 @@ class ConvocationServiceTest {
 
   @Test
   void addConvocation_ShouldUseDefaultMessage_WhenMessageEmpty() {
-    convocationService.addConvocation(testCandidature.getId(), futureDate, "Bureau 301", "  ");
+    convocationService.addConvocation(
+        testCandidature.getId(),
+        testOffer.getEmployeurId(),
+        futureDate,
+        "Bureau 301",
+        "  ");
 
     Convocation convocation =
         convocationRepository.findAll().stream()
@@ -161,10 +176,28 @@ class ConvocationServiceTest {
     RuntimeException ex =
         assertThrows(
             RuntimeException.class,
-            () -> convocationService.addConvocation(999L, futureDate, "Bureau 301", "Message"));
+            () ->
+                convocationService.addConvocation(
+                    999L, testOffer.getEmployeurId(), futureDate, "Bureau 301", "Message"));
     assertEquals("Candidature non trouvée", ex.getMessage());
   }
 
+  @Test
+  void addConvocation_ShouldThrowForbidden_WhenNotOwner() {
+    assertThrows(
+        ForbiddenAccessException.class,
+        () ->
+            convocationService.addConvocation(
+                testCandidature.getId(),
+                testOffer.getEmployeurId() + 1,
+                futureDate,
+                "Bureau 301",
+                "Message"));
+    assertEquals(
+        Candidature.Status.PENDING,
+        candidatureRepository.findById(testCandidature.getId()).orElseThrow().getStatus());
+  }
+
   @Test
   void addConvocation_ShouldThrow_WhenConvocationDateInPast() {
     LocalDateTime pastDate = LocalDateTime.now().minusDays(1);
@@ -173,7 +206,11 @@ class ConvocationServiceTest {
             IllegalArgumentException.class,
             () ->
                 convocationService.addConvocation(
-                    testCandidature.getId(), pastDate, "Bureau 301", "Message"));
+                    testCandidature.getId(),
+                    testOffer.getEmployeurId(),
+                    pastDate,
+                    "Bureau 301",
+                    "Message"));
     assertEquals("La date de convocation ne peut pas être dans le passé", ex.getMessage());
   }
 
@@ -184,7 +221,11 @@ class ConvocationServiceTest {
             IllegalArgumentException.class,
             () ->
                 convocationService.addConvocation(
-                    testCandidature.getId(), futureDate, null, "Message"));
+                    testCandidature.getId(),
+                    testOffer.getEmployeurId(),
+                    futureDate,
+                    null,
+                    "Message"));
     assertEquals("Le lieu ne peut pas être vide", ex1.getMessage());
 
     IllegalArgumentException ex2 =
@@ -192,7 +233,11 @@ class ConvocationServiceTest {
             IllegalArgumentException.class,
             () ->
                 convocationService.addConvocation(
-                    testCandidature.getId(), futureDate, "   ", "Message"));
+                    testCandidature.getId(),
+                    testOffer.getEmployeurId(),
+                    futureDate,
+                    "   ",
+                    "Message"));
     assertEquals("Le lieu ne peut pas être vide", ex2.getMessage());
   }
 
@@ -206,7 +251,11 @@ class ConvocationServiceTest {
             IllegalStateException.class,
             () ->
                 convocationService.addConvocation(
-                    testCandidature.getId(), futureDate, "Bureau 301", "Message"));
+                    testCandidature.getId(),
+                    testOffer.getEmployeurId(),
+                    futureDate,
+                    "Bureau 301",
+                    "Message"));
     assertEquals("Cette candidature a déjà une convocation", ex.getMessage());
   }
 
@@ -268,9 +317,13 @@ class ConvocationServiceTest {
                 .build());
 
     convocationService.addConvocation(
-        testCandidature.getId(), futureDate, "Bureau 301", "Message 1");
+        testCandidature.getId(), testOffer.getEmployeurId(), futureDate, "Bureau 301", "Message 1");
     convocationService.addConvocation(
-        candidature2.getId(), futureDate.plusDays(1), "Bureau 302", "Message 2");
+        candidature2.getId(),
+        testOffer.getEmployeurId(),
+        futureDate.plusDays(1),
+        "Bureau 302",
+        "Message 2");
 
     List<ConvocationDto> result =
         convocationService.getAllConvocationsByInterShipOfferId(testOffer.getId());
@@ -287,7 +340,11 @@ class ConvocationServiceTest {
                         IllegalArgumentException.class,
                         () ->
                                 convocationService.addConvocation(
-                                        testCandidature.getId(), null, "Bureau 301", "Message"));
+                                        testCandidature.getId(),
+                                        testOffer.getEmployeurId(),
+                                        null,
+                                        "Bureau 301",
+                                        "Message"));
         assertEquals("La date de convocation ne peut pas être nulle", ex.getMessage());
     }
 
@@ -295,7 +352,11 @@ class ConvocationServiceTest {
     void getConvocationsByStudentId_ShouldReturnDtos() {
         // Arrange
         convocationService.addConvocation(
-                testCandidature.getId(), futureDate, "Bureau 301", "Message");
+                testCandidature.getId(),
+                testOffer.getEmployeurId(),
+                futureDate,
+                "Bureau 301",
+                "Message");
 
         // Act
         List<ConvocationDto> result =
@@ -332,7 +393,11 @@ class ConvocationServiceTest {
     void addConvocation_ShouldPersistConvocationCorrectly() {
         ConvocationDto dto =
                 convocationService.addConvocation(
-                        testCandidature.getId(), futureDate, "Salle 400", "Message test");
+                        testCandidature.getId(),
+                        testOffer.getEmployeurId(),
+                        futureDate,
+                        "Salle 400",
+                        "Message test");
 
         Convocation conv =
                 convocationRepository.findById(dto.getId()).orElseThrow();
@@ -7,6 +7,7 @@ import ca.cal.leandrose.model.Student;
 import ca.cal.leandrose.repository.CvRepository;
 import ca.cal.leandrose.repository.StudentRepository;
 import ca.cal.leandrose.service.dto.CvDto;
+import ca.cal.leandrose.service.storage.DocumentStore;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -27,6 +28,8 @@ class CvServiceTest {
 
   @Autowired private StudentRepository studentRepository;
 
+  @Autowired private DocumentStore documentStore;
+
   private Student testStudent;
 
   @BeforeEach
@@ -55,10 +58,10 @@ class CvServiceTest {
     CvDto cvDto = cvService.uploadCv(testStudent.getId(), file);
 
     assertNotNull(cvDto);
-    assertEquals(Cv.Status.PENDING, cvDto.getStatus());
+    assertEquals(Cv.Status.PROCESSING, cvDto.getStatus());
 
     Cv saved = cvRepository.findById(cvDto.getId()).orElseThrow();
-    assertTrue(Files.exists(Path.of(saved.getPdfPath())));
+    assertTrue(documentStore.exists(saved.getPdfPath()));
   }
 
   @Test
@@ -119,7 +122,7 @@ class CvServiceTest {
             "application/pdf",
             Files.readAllBytes(Path.of("src/test/resources/test.pdf")));
     CvDto first = cvService.uploadCv(testStudent.getId(), file1);
-    Path firstPath = Path.of(cvRepository.findById(first.getId()).orElseThrow().getPdfPath());
+    String firstKey = cvRepository.findById(first.getId()).orElseThrow().getPdfPath();
 
     MockMultipartFile file2 =
         new MockMultipartFile(
@@ -128,8 +131,10 @@ class CvServiceTest {
             "application/pdf",
             Files.readAllBytes(Path.of("src/test/resources/test.pdf")));
     CvDto second = cvService.uploadCv(testStudent.getId(), file2);
+    String secondKey = cvRepository.findById(second.getId()).orElseThrow().getPdfPath();
 
-    assertFalse(Files.exists(firstPath));
+    assertEquals(firstKey, secondKey);
+    assertTrue(documentStore.exists(secondKey));
 
     List<Cv> cvsForStudent =
         cvRepository.findAll().stream()
@@ -155,7 +160,7 @@ class CvServiceTest {
 
     assertNotNull(result);
     assertEquals(uploaded.getId(), result.getId());
-    assertEquals(Cv.Status.PENDING, result.getStatus());
+    assertEquals(Cv.Status.PROCESSING, result.getStatus());
   }
 
   @Test
@@ -205,8 +210,7 @@ class CvServiceTest {
         CvDto uploaded = cvService.uploadCv(testStudent.getId(), file);
 
         Cv saved = cvRepository.findById(uploaded.getId()).orElseThrow();
-        Path path = Path.of(saved.getPdfPath());
-        Files.deleteIfExists(path);
+        documentStore.delete(saved.getPdfPath());
 
         // Act + Assert
         RuntimeException ex =
@@ -0,0 +1,200 @@
+package ca.cal.leandrose.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import ca.cal.leandrose.model.EntentePdfJob;
+import ca.cal.leandrose.model.EntenteStage;
+import ca.cal.leandrose.repository.EntentePdfJobRepository;
+import ca.cal.leandrose.repository.EntenteStageRepository;
+import ca.cal.leandrose.service.event.EntenteChangedEvent;
+import ca.cal.leandrose.service.event.EntentePdfRequestedEvent;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class EntentePdfJobServiceTest {
+
+  @Mock private EntentePdfJobRepository jobRepository;
+  @Mock private EntenteStageRepository ententeRepository;
+  @Mock private PDFGeneratorService pdfGeneratorService;
+  @Mock private FileCleanupService fileCleanupService;
+  @Mock private ApplicationEventPublisher eventPublisher;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private EntentePdfJobService service;
+
+  @BeforeEach
+  void setUp() {
+    service =
+        new EntentePdfJobService(
+            jobRepository,
+            ententeRepository,
+            pdfGeneratorService,
+            fileCleanupService,
+            eventPublisher,
+            transactionManager,
+            1,
+            2,
+            Duration.ofSeconds(10),
+            Duration.ofMinutes(5));
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.stop();
+  }
+
+  @Test
+  void enqueue_ResetsExistingJobAndPublishesEvent() {
+    EntentePdfJob existing = job(3);
+    existing.setStatus(EntentePdfJob.Status.FAILED);
+    existing.setLastError("ancienne erreur");
+    when(jobRepository.findByEntenteId(1L)).thenReturn(Optional.of(existing));
+
+    service.enqueue(1L);
+
+    assertEquals(EntentePdfJob.Status.PENDING, existing.getStatus());
+    assertEquals(0, existing.getAttempts());
+    assertNull(existing.getLastError());
+    verify(jobRepository).save(existing);
+    verify(eventPublisher).publishEvent(new EntentePdfRequestedEvent(1L));
+  }
+
+  @Test
+  void drain_StoresGeneratedPdfAndMarksJobDone() {
+    EntentePdfJob job = job(0);
+    EntenteStage entente = entente("ancien.pdf");
+    due(job);
+    when(pdfGeneratorService.genererEntentePDF(entente)).thenReturn("nouveau.pdf");
+
+    assertEquals(1, service.drain());
+
+    assertEquals(EntentePdfJob.Status.DONE, job.getStatus());
+    assertEquals(1, job.getAttempts());
+    assertEquals("nouveau.pdf", entente.getCheminDocumentPDF());
+    assertEquals(EntenteStage.StatutEntente.EN_ATTENTE_SIGNATURE, entente.getStatut());
+    verify(ententeRepository).findForRendering(1L);
+    verify(fileCleanupService).schedule("ancien.pdf");
+    verify(eventPublisher).publishEvent(new EntenteChangedEvent(1L));
+  }
+
+  @Test
+  void drain_ReschedulesJobWhenEntenteChangedDuringRendering() {
+    EntentePdfJob job = job(0);
+    EntenteStage entente = entente("ancien.pdf");
+    due(job);
+    when(pdfGeneratorService.genererEntentePDF(entente)).thenReturn("nouveau.pdf");
+    when(ententeRepository.save(entente))
+        .thenThrow(new ObjectOptimisticLockingFailureException(EntenteStage.class, 1L));
+
+    Instant before = Instant.now();
+    service.drain();
+
+    assertEquals(EntentePdfJob.Status.PENDING, job.getStatus());
+    assertNotNull(job.getLastError());
+    assertFalse(job.getNextAttemptAt().isBefore(before.plusSeconds(10)));
+    verify(fileCleanupService).schedule("nouveau.pdf");
+    verify(transactionManager).rollback(any());
+    verify(eventPublisher, never()).publishEvent(any(EntenteChangedEvent.class));
+  }
+
+  @Test
+  void drain_RetriesWithBackoffThenRevertsEntenteToDraft() {
+    EntentePdfJob job = job(0);
+    EntenteStage entente = entente(null);
+    due(job);
+    when(pdfGeneratorService.genererEntentePDF(entente))
+        .thenThrow(new IllegalStateException("Disque plein"));
+
+    Instant before = Instant.now();
+    service.drain();
+
+    assertEquals(EntentePdfJob.Status.PENDING, job.getStatus());
+    assertEquals("Disque plein", job.getLastError());
+    assertFalse(job.getNextAttemptAt().isBefore(before.plusSeconds(10)));
+    assertEquals(EntenteStage.StatutEntente.EN_GENERATION, entente.getStatut());
+
+    due(job);
+    service.drain();
+
+    assertEquals(EntentePdfJob.Status.FAILED, job.getStatus());
+    assertEquals(2, job.getAttempts());
+    assertEquals(EntenteStage.StatutEntente.BROUILLON, entente.getStatut());
+    verify(eventPublisher).publishEvent(new EntenteChangedEvent(1L));
+  }
+
+  @Test
+  void drain_DropsJobWhenEntenteIsNoLongerGenerating() {
+    EntentePdfJob job = job(0);
+    EntenteStage entente = entente(null);
+    entente.setStatut(EntenteStage.StatutEntente.BROUILLON);
+    due(job);
+
+    service.drain();
+
+    verify(jobRepository).delete(job);
+    verifyNoInteractions(pdfGeneratorService);
+  }
+
+  @Test
+  void drain_DiscardsRenderedPdfWhenEntenteWasDeletedMeanwhile() {
+    EntentePdfJob job = job(0);
+    EntenteStage entente = entente(null);
+    due(job);
+    when(pdfGeneratorService.genererEntentePDF(entente))
+        .thenAnswer(
+            invocation -> {
+              when(ententeRepository.findById(1L)).thenReturn(Optional.empty());
+              return "orphelin.pdf";
+            });
+
+    service.drain();
+
+    verify(fileCleanupService).schedule("orphelin.pdf");
+    verify(ententeRepository, never()).save(any());
+  }
+
+  private void due(EntentePdfJob job) {
+    when(jobRepository.lockDue(any(Instant.class), eq(1)))
+        .thenReturn(List.of(job), List.of());
+    lenient().when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+  }
+
+  private EntenteStage entente(String cheminDocumentPDF) {
+    EntenteStage entente =
+        EntenteStage.builder()
+            .id(1L)
+            .statut(EntenteStage.StatutEntente.EN_GENERATION)
+            .cheminDocumentPDF(cheminDocumentPDF)
+            .build();
+    lenient().when(ententeRepository.findById(1L)).thenReturn(Optional.of(entente));
+    lenient().when(ententeRepository.findForRendering(1L)).thenReturn(Optional.of(entente));
+    return entente;
+  }
+
+  private static EntentePdfJob job(int attempts) {
+    return EntentePdfJob.builder()
+        .id(10L)
+        .ententeId(1L)
+        .status(EntentePdfJob.Status.PENDING)
+        .attempts(attempts)
+        .nextAttemptAt(Instant.EPOCH)
+        .createdAt(Instant.EPOCH)
+        .updatedAt(Instant.EPOCH)
+        .build();
+  }
+}
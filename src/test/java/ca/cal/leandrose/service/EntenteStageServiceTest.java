@@ -7,9 +7,16 @@ import static org.mockito.Mockito.*;
 import ca.cal.leandrose.model.*;
 import ca.cal.leandrose.repository.CandidatureRepository;
 import ca.cal.leandrose.repository.EntenteStageRepository;
+import ca.cal.leandrose.repository.EntenteViewRepository;
 import ca.cal.leandrose.repository.EvaluationStagiaireRepository;
+import ca.cal.leandrose.repository.VersionStamp;
+import ca.cal.leandrose.service.cache.SerializedResponseCache;
 import ca.cal.leandrose.service.dto.CandidatureDto;
 import ca.cal.leandrose.service.dto.EntenteStageDto;
+import ca.cal.leandrose.service.dto.EntentesDto;
+import ca.cal.leandrose.service.event.EntenteChangedEvent;
+import ca.cal.leandrose.service.event.EntenteDeletedEvent;
+import ca.cal.leandrose.service.storage.DocumentStore;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -22,6 +29,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 
 @ExtendWith(MockitoExtension.class)
 class EntenteStageServiceTest {
@@ -30,8 +40,13 @@ class EntenteStageServiceTest {
 
   @Mock private CandidatureRepository candidatureRepository;
   @Mock private EvaluationStagiaireRepository evaluationStagiaireRepository;
+  @Mock private EntenteViewRepository ententeViewRepository;
+  @Mock private ApplicationEventPublisher eventPublisher;
+  @Mock private SerializedResponseCache serializedResponseCache;
+  @Mock private DocumentStore documentStore;
+  @Mock private FileCleanupService fileCleanupService;
 
-  @Mock private PDFGeneratorService pdfGeneratorService;
+  @Mock private EntentePdfJobService ententePdfJobService;
 
   @InjectMocks private EntenteStageService ententeStageService;
 
@@ -143,19 +158,24 @@ class EntenteStageServiceTest {
   void testCreerEntente_Success() {
     when(candidatureRepository.findById(1L)).thenReturn(Optional.of(candidature));
     when(ententeRepository.existsByCandidatureId(1L)).thenReturn(false);
-    when(ententeRepository.save(any(EntenteStage.class))).thenReturn(entente);
-    when(pdfGeneratorService.genererEntentePDF(any(EntenteStage.class))).thenReturn("/path/to/pdf");
+    when(ententeRepository.save(any(EntenteStage.class)))
+        .thenAnswer(
+            invocation -> {
+              EntenteStage saved = invocation.getArgument(0);
+              saved.setId(1L);
+              return saved;
+            });
 
     EntenteStageDto result = ententeStageService.creerEntente(ententeDto);
 
     assertNotNull(result);
-    assertEquals(EntenteStage.StatutEntente.EN_ATTENTE_SIGNATURE, result.getStatut());
-    assertNotNull(result.getCheminDocumentPDF());
-    assertEquals("/path/to/pdf", result.getCheminDocumentPDF());
+    assertEquals(EntenteStage.StatutEntente.EN_GENERATION, result.getStatut());
+    assertNull(result.getCheminDocumentPDF());
 
     verify(candidatureRepository).findById(1L);
-    verify(ententeRepository, times(2)).save(any(EntenteStage.class));
-    verify(pdfGeneratorService).genererEntentePDF(any(EntenteStage.class));
+    verify(ententeRepository).save(any(EntenteStage.class));
+    verify(ententePdfJobService).enqueue(1L);
+    verify(eventPublisher).publishEvent(new EntenteChangedEvent(1L));
   }
 
   @Test
@@ -219,14 +239,14 @@ class EntenteStageServiceTest {
   @Test
   void testValiderEtGenererEntente_Success() {
     when(ententeRepository.findById(1L)).thenReturn(Optional.of(entente));
-    when(pdfGeneratorService.genererEntentePDF(entente)).thenReturn("/path/to/pdf");
     when(ententeRepository.save(any(EntenteStage.class))).thenReturn(entente);
 
     EntenteStageDto result = ententeStageService.validerEtGenererEntente(1L);
 
     assertNotNull(result);
-    verify(pdfGeneratorService).genererEntentePDF(entente);
+    assertEquals(EntenteStage.StatutEntente.EN_GENERATION, result.getStatut());
     verify(ententeRepository).save(any(EntenteStage.class));
+    verify(ententePdfJobService).enqueue(1L);
   }
 
   @Test
@@ -269,12 +289,41 @@ class EntenteStageServiceTest {
 
   @Test
   void testGetAllEntentes() {
-    when(ententeRepository.findAll()).thenReturn(Collections.singletonList(entente));
+    when(ententeViewRepository.findAllByOrderByDateCreationDesc())
+        .thenReturn(Collections.singletonList(EntenteView.from(entente, null)));
 
     List<EntenteStageDto> result = ententeStageService.getAllEntentes();
 
     assertEquals(1, result.size());
-    verify(ententeRepository).findAll();
+    assertEquals(1L, result.get(0).getId());
+    assertEquals("John", result.get(0).getStudent().getFirstName());
+    assertEquals("TechCorp", result.get(0).getInternshipOffer().getEmployeurDto().getCompanyName());
+    verify(ententeViewRepository).findAllByOrderByDateCreationDesc();
+    verify(ententeRepository, never()).findAll();
+  }
+
+  @Test
+  void getAllEntentesETag_UsesOnlyTheVersionStamp() {
+    VersionStamp stamp = mock(VersionStamp.class);
+    when(stamp.toETag("ententes")).thenReturn("\"ententes-1-0-1\"");
+    when(ententeViewRepository.stampAll()).thenReturn(stamp);
+
+    assertEquals("\"ententes-1-0-1\"", ententeStageService.getAllEntentesETag());
+    verify(ententeViewRepository, never()).findAllByOrderByDateCreationDesc();
+  }
+
+  @Test
+  void getAllEntentesSnapshot_ReturnsBodyWithItsStamp() {
+    VersionStamp stamp = mock(VersionStamp.class);
+    when(stamp.toETag("ententes")).thenReturn("\"ententes-1-0-1\"");
+    when(ententeViewRepository.stampAll()).thenReturn(stamp);
+    when(ententeViewRepository.findAllByOrderByDateCreationDesc())
+        .thenReturn(Collections.singletonList(EntenteView.from(entente, null)));
+
+    EntentesDto result = ententeStageService.getAllEntentesSnapshot();
+
+    assertEquals("\"ententes-1-0-1\"", result.getEtag());
+    assertEquals(1L, result.getEntentes().get(0).getId());
   }
 
   @Test
@@ -300,16 +349,26 @@ class EntenteStageServiceTest {
   }
 
   @Test
-  void testTelechargerPDF_Success() {
-    entente.setCheminDocumentPDF("/path/to/pdf");
+  void testTelechargerPDF_Success() throws Exception {
+    entente.setCheminDocumentPDF("blobs/ab/cd/entente.pdf");
     when(ententeRepository.findById(1L)).thenReturn(Optional.of(entente));
-    when(pdfGeneratorService.lireFichierPDF("/path/to/pdf")).thenReturn(new byte[100]);
+    when(documentStore.get("blobs/ab/cd/entente.pdf"))
+        .thenReturn(new ByteArrayResource(new byte[100]));
 
-    byte[] result = ententeStageService.telechargerPDF(1L);
+    Resource result = ententeStageService.telechargerPDF(1L);
 
     assertNotNull(result);
-    assertEquals(100, result.length);
-    verify(pdfGeneratorService).lireFichierPDF("/path/to/pdf");
+    assertEquals(100, result.contentLength());
+    verify(documentStore).get("blobs/ab/cd/entente.pdf");
+  }
+
+  @Test
+  void testTelechargerPDF_WhileGenerating() {
+    entente.setStatut(EntenteStage.StatutEntente.EN_GENERATION);
+    when(ententeRepository.findById(1L)).thenReturn(Optional.of(entente));
+
+    assertThrows(IllegalStateException.class, () -> ententeStageService.telechargerPDF(1L));
+    verifyNoInteractions(documentStore);
   }
 
   @Test
@@ -326,11 +385,15 @@ class EntenteStageServiceTest {
 
   @Test
   void testSupprimerEntente_Success() {
+    entente.setCheminDocumentPDF("blobs/ab/cd/entente.pdf");
     when(ententeRepository.findById(1L)).thenReturn(Optional.of(entente));
 
     ententeStageService.supprimerEntente(1L);
 
+    verify(fileCleanupService).schedule("blobs/ab/cd/entente.pdf");
+    verify(ententePdfJobService).discard(1L);
     verify(ententeRepository).delete(entente);
+    verify(eventPublisher).publishEvent(new EntenteDeletedEvent(1L));
   }
 
   @Test
@@ -470,75 +533,27 @@ class EntenteStageServiceTest {
 
   @Test
   void getEntentesByEmployeurId_Success() {
-    when(ententeRepository.findAll()).thenReturn(List.of(entente));
+    when(ententeViewRepository.findAllByEmployeurIdOrderByDateCreationDesc(1L))
+        .thenReturn(List.of(EntenteView.from(entente, null)));
 
     List<EntenteStageDto> result = ententeStageService.getEntentesByEmployeurId(1L);
 
     assertEquals(1, result.size());
     assertEquals(1L, result.get(0).getInternshipOffer().getEmployeurId());
-    verify(ententeRepository).findAll();
+    verify(ententeViewRepository).findAllByEmployeurIdOrderByDateCreationDesc(1L);
+    verify(ententeRepository, never()).findAll();
   }
 
   @Test
   void getEntentesByEmployeurId_NoEntentes_ReturnsEmptyList() {
-    when(ententeRepository.findAll()).thenReturn(List.of());
+    when(ententeViewRepository.findAllByEmployeurIdOrderByDateCreationDesc(1L))
+        .thenReturn(List.of());
 
     List<EntenteStageDto> result = ententeStageService.getEntentesByEmployeurId(1L);
 
     assertEquals(0, result.size());
   }
 
-  @Test
-  void getEntentesByEmployeurId_MultipleEntentes_FiltersCorrectly() {
-    Employeur autreEmployeur =
-        Employeur.builder()
-            .id(2L)
-            .firstName("Bob")
-            .lastName("Martin")
-            .email("bob@company.com")
-            .password("password")
-            .companyName("AnotherCorp")
-            .field("Tech")
-            .build();
-
-    InternshipOffer offer2 =
-        InternshipOffer.builder()
-            .id(2L)
-            .description("Autre stage")
-            .startDate(LocalDate.now())
-            .durationInWeeks(10)
-            .address("456 Rue Test")
-            .status(InternshipOffer.Status.PUBLISHED)
-            .employeur(autreEmployeur)
-            .build();
-
-    Candidature candidature2 =
-        Candidature.builder()
-            .id(2L)
-            .student(student)
-            .internshipOffer(offer2)
-            .cv(candidature.getCv())
-            .status(Candidature.Status.ACCEPTED)
-            .applicationDate(LocalDateTime.now())
-            .build();
-
-    EntenteStage entente2 =
-        EntenteStage.builder()
-            .id(2L)
-            .candidature(candidature2)
-            .missionsObjectifs("Autre mission")
-            .statut(EntenteStage.StatutEntente.EN_ATTENTE_SIGNATURE)
-            .dateCreation(LocalDateTime.now())
-            .build();
-
-    when(ententeRepository.findAll()).thenReturn(List.of(entente, entente2));
-
-    List<EntenteStageDto> result = ententeStageService.getEntentesByEmployeurId(1L);
-
-    assertEquals(1, result.size());
-    assertEquals(1L, result.get(0).getInternshipOffer().getEmployeurId());
-  }
-
   @Test
   void getEntentesByEmployeurId_NullEmployeurId_ReturnsEmptyList() {
     List<EntenteStageDto> result = ententeStageService.getEntentesByEmployeurId(null);
@@ -548,72 +563,27 @@ class EntenteStageServiceTest {
 
   @Test
   void getEntentesByStudentId_Success() {
-    when(ententeRepository.findAll()).thenReturn(List.of(entente));
+    when(ententeViewRepository.findAllByStudentIdOrderByDateCreationDesc(1L))
+        .thenReturn(List.of(EntenteView.from(entente, null)));
 
     List<EntenteStageDto> result = ententeStageService.getEntentesByStudentId(1L);
 
     assertEquals(1, result.size());
     assertEquals(1L, result.get(0).getStudent().getId());
-    verify(ententeRepository).findAll();
+    verify(ententeViewRepository).findAllByStudentIdOrderByDateCreationDesc(1L);
+    verify(ententeRepository, never()).findAll();
   }
 
   @Test
   void getEntentesByStudentId_NoEntentes_ReturnsEmptyList() {
-    when(ententeRepository.findAll()).thenReturn(List.of());
+    when(ententeViewRepository.findAllByStudentIdOrderByDateCreationDesc(1L))
+        .thenReturn(List.of());
 
     List<EntenteStageDto> result = ententeStageService.getEntentesByStudentId(1L);
 
     assertEquals(0, result.size());
   }
 
-  @Test
-  void getEntentesByStudentId_MultipleEntentes_FiltersCorrectly() {
-    Student autreStudent =
-        Student.builder()
-            .id(2L)
-            .firstName("Jane")
-            .lastName("Smith")
-            .email("jane@test.com")
-            .password("password")
-            .studentNumber("STU002")
-            .program(Program.SOFTWARE_ENGINEERING.getTranslationKey())
-            .build();
-
-    Cv cv2 =
-        Cv.builder()
-            .id(2L)
-            .student(autreStudent)
-            .pdfPath("/path/to/cv2.pdf")
-            .status(Cv.Status.APPROVED)
-            .build();
-
-    Candidature candidature2 =
-        Candidature.builder()
-            .id(2L)
-            .student(autreStudent)
-            .internshipOffer(candidature.getInternshipOffer())
-            .cv(cv2)
-            .status(Candidature.Status.ACCEPTED)
-            .applicationDate(LocalDateTime.now())
-            .build();
-
-    EntenteStage entente2 =
-        EntenteStage.builder()
-            .id(2L)
-            .candidature(candidature2)
-            .missionsObjectifs("Autre mission")
-            .statut(EntenteStage.StatutEntente.EN_ATTENTE_SIGNATURE)
-            .dateCreation(LocalDateTime.now())
-            .build();
-
-    when(ententeRepository.findAll()).thenReturn(List.of(entente, entente2));
-
-    List<EntenteStageDto> result = ententeStageService.getEntentesByStudentId(1L);
-
-    assertEquals(1, result.size());
-    assertEquals(1L, result.get(0).getStudent().getId());
-  }
-
   @Test
   void getEntentesByStudentId_NullStudentId_ReturnsEmptyList() {
     List<EntenteStageDto> result = ententeStageService.getEntentesByStudentId(null);
@@ -800,7 +770,8 @@ class EntenteStageServiceTest {
             .build();
     entente.setProf(prof);
 
-    when(ententeRepository.findAllByProf_Id(1L)).thenReturn(List.of(entente));
+    when(ententeViewRepository.findAllByProfId(1L))
+        .thenReturn(List.of(EntenteView.from(entente, null)));
 
     var list =
         ententeStageService.getEtudiantsPourProf(1L, null, null, null, null, null, "name", true);
@@ -822,6 +793,47 @@ class EntenteStageServiceTest {
         ententeStageService.getEtudiantsPourProf(1L, "ZZZ", null, null, null, null, "name", true);
     assertEquals(0, list3.size());
 
-    verify(ententeRepository, times(3)).findAllByProf_Id(1L);
+    verify(ententeViewRepository, times(3)).findAllByProfId(1L);
+  }
+
+  @Test
+  void getEtudiantsPourProf_UsesProjectedEvaluationStatus() {
+    EvaluationStagiaire evaluation =
+        EvaluationStagiaire.builder()
+            .id(5L)
+            .student(student)
+            .internshipOffer(candidature.getInternshipOffer())
+            .submittedByEmployer(true)
+            .build();
+    when(ententeViewRepository.findAllByProfId(1L))
+        .thenReturn(List.of(EntenteView.from(entente, evaluation)));
+
+    var list =
+        ententeStageService.getEtudiantsPourProf(
+            1L, null, null, null, null, "EN_COURS", "name", true);
+
+    assertEquals(1, list.size());
+    assertEquals(EvaluationStatus.EN_COURS.name(), list.get(0).getEvaluationStatus());
+  }
+
+  @Test
+  void findEntenteJson_KeysCachedBytesOnAggregateVersion() {
+    byte[] json = "{\"id\":1}".getBytes();
+    when(ententeRepository.findAggregateVersionById(1L)).thenReturn(Optional.of(3L));
+    when(serializedResponseCache.get(eq("entente"), eq(1L), eq(3L), any())).thenReturn(json);
+
+    Optional<byte[]> result = ententeStageService.findEntenteJson(1L);
+
+    assertTrue(result.isPresent());
+    assertSame(json, result.get());
+    verify(ententeRepository, never()).findById(anyLong());
+  }
+
+  @Test
+  void findEntenteJson_ReturnsEmptyWhenEntenteMissing() {
+    when(ententeRepository.findAggregateVersionById(99L)).thenReturn(Optional.empty());
+
+    assertTrue(ententeStageService.findEntenteJson(99L).isEmpty());
+    verifyNoInteractions(serializedResponseCache);
   }
 }
@@ -0,0 +1,267 @@
+package ca.cal.leandrose.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import ca.cal.leandrose.model.*;
+import ca.cal.leandrose.repository.EntenteStageRepository;
+import ca.cal.leandrose.repository.EntenteViewRepository;
+import ca.cal.leandrose.repository.EvaluationStagiaireRepository;
+import ca.cal.leandrose.service.dto.EntenteStageDto;
+import ca.cal.leandrose.service.event.EntenteChangedEvent;
+import ca.cal.leandrose.service.event.EntenteDeletedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class EntenteViewServiceTest {
+
+  @Mock private EntenteViewRepository ententeViewRepository;
+  @Mock private EntenteStageRepository ententeStageRepository;
+  @Mock private EvaluationStagiaireRepository evaluationStagiaireRepository;
+  @Mock private StatusCounterService statusCounterService;
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @InjectMocks private EntenteViewService ententeViewService;
+
+  private EntenteStage entente;
+
+  @BeforeEach
+  void setUp() {
+    Student student =
+        Student.builder()
+            .id(2L)
+            .firstName("Alice")
+            .lastName("Martin")
+            .email("alice@test.com")
+            .password("password")
+            .studentNumber("STU002")
+            .program(Program.COMPUTER_SCIENCE.getTranslationKey())
+            .build();
+
+    Employeur employeur =
+        Employeur.builder()
+            .id(3L)
+            .firstName("Jane")
+            .lastName("Smith")
+            .email("jane@techcorp.com")
+            .password("password")
+            .companyName("TechCorp")
+            .field("Software")
+            .build();
+
+    InternshipOffer offer =
+        InternshipOffer.builder()
+            .id(4L)
+            .description("Stage Java")
+            .startDate(LocalDate.of(2026, 1, 12))
+            .durationInWeeks(10)
+            .address("123 Rue Test")
+            .status(InternshipOffer.Status.PUBLISHED)
+            .schoolTerm(new SchoolTerm(SchoolTerm.Season.WINTER, 2026))
+            .employeur(employeur)
+            .build();
+
+    Prof prof =
+        Prof.builder()
+            .id(5L)
+            .firstName("Marie")
+            .lastName("Beauchamp")
+            .email("marie@college.ca")
+            .password("password")
+            .employeeNumber("P-042")
+            .nameCollege("Collège André-Laurendeau")
+            .department("Informatique")
+            .phoneNumber("514-555-0101")
+            .build();
+
+    Gestionnaire gestionnaire =
+        Gestionnaire.builder()
+            .id(7L)
+            .firstName("Paul")
+            .lastName("Gagnon")
+            .email("paul@college.ca")
+            .password("password")
+            .phoneNumber("514-555-0102")
+            .build();
+
+    Candidature candidature =
+        Candidature.builder()
+            .id(6L)
+            .student(student)
+            .internshipOffer(offer)
+            .status(Candidature.Status.ACCEPTED)
+            .applicationDate(LocalDateTime.now())
+            .build();
+
+    entente =
+        EntenteStage.builder()
+            .id(1L)
+            .candidature(candidature)
+            .prof(prof)
+            .gestionnaire(gestionnaire)
+            .missionsObjectifs("Développement")
+            .statut(EntenteStage.StatutEntente.VALIDEE)
+            .dateCreation(LocalDateTime.now())
+            .build();
+  }
+
+  @Test
+  void onEntenteChanged_ProjectsFlatRow() {
+    EvaluationStagiaire evaluation =
+        EvaluationStagiaire.builder().id(9L).submittedByProfessor(true).build();
+    when(ententeStageRepository.findById(1L)).thenReturn(Optional.of(entente));
+    when(evaluationStagiaireRepository.findByStudentIdAndInternshipOfferId(2L, 4L))
+        .thenReturn(Optional.of(evaluation));
+
+    ententeViewService.onEntenteChanged(new EntenteChangedEvent(1L));
+
+    ArgumentCaptor<EntenteView> captor = ArgumentCaptor.forClass(EntenteView.class);
+    verify(ententeViewRepository).save(captor.capture());
+    EntenteView view = captor.getValue();
+    assertEquals(1L, view.getEntenteId());
+    assertEquals("Alice", view.getStudentFirstName());
+    assertEquals("TechCorp", view.getCompanyName());
+    assertEquals(3L, view.getEmployeurId());
+    assertEquals(5L, view.getProfId());
+    assertEquals(LocalDate.of(2026, 3, 23), view.getEndDate());
+    assertEquals(9L, view.getEvaluationId());
+    assertEquals(EvaluationStatus.EN_COURS, view.getEvaluationStatus());
+    verify(statusCounterService).apply(Set.of(), CounterCell.cellsOf(view));
+  }
+
+  @Test
+  void fromView_MatchesDtoBuiltFromEntity() {
+    ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    EntenteView view = EntenteView.from(entente, null);
+
+    assertEquals(
+        mapper.valueToTree(EntenteStageDto.fromEntity(entente)),
+        mapper.valueToTree(EntenteStageDto.fromView(view)));
+  }
+
+  @Test
+  void onApplicationReady_RebuildsAnEmptyViewUnderTheAdvisoryLock() {
+    when(ententeViewRepository.count()).thenReturn(0L);
+    when(ententeStageRepository.count()).thenReturn(1L);
+    when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(true);
+    when(ententeStageRepository.findAll()).thenReturn(List.of(entente));
+
+    ententeViewService.rebuildOnStartup();
+
+    verify(jdbcTemplate)
+        .queryForObject(
+            "select pg_try_advisory_xact_lock(hashtext('entente_view'))", Boolean.class);
+    verify(ententeViewRepository).deleteAllInBatch();
+    verify(ententeViewRepository).saveAll(anyList());
+    verify(statusCounterService).reconcile();
+  }
+
+  @Test
+  void onApplicationReady_SkipsRebuildWhenTheViewIsPopulated() {
+    when(ententeViewRepository.count()).thenReturn(3L);
+
+    ententeViewService.rebuildOnStartup();
+
+    verify(ententeViewRepository, never()).deleteAllInBatch();
+    verifyNoInteractions(jdbcTemplate, statusCounterService);
+  }
+
+  @Test
+  void onApplicationReady_SkipsRebuildWhenAnotherNodeHoldsTheLock() {
+    when(ententeViewRepository.count()).thenReturn(0L);
+    when(ententeStageRepository.count()).thenReturn(1L);
+    when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(false);
+
+    ententeViewService.rebuildOnStartup();
+
+    verify(ententeViewRepository, never()).deleteAllInBatch();
+    verifyNoInteractions(statusCounterService);
+  }
+
+  @Test
+  void onEntenteChanged_MovesCountersFromPreviousProjection() {
+    EntenteView previous =
+        EntenteView.builder()
+            .ententeId(1L)
+            .employeurId(3L)
+            .studentId(2L)
+            .profId(5L)
+            .statut(EntenteStage.StatutEntente.EN_ATTENTE_SIGNATURE)
+            .build();
+    when(ententeStageRepository.findById(1L)).thenReturn(Optional.of(entente));
+    when(ententeViewRepository.findById(1L)).thenReturn(Optional.of(previous));
+    when(evaluationStagiaireRepository.findByStudentIdAndInternshipOfferId(2L, 4L))
+        .thenReturn(Optional.empty());
+
+    ententeViewService.onEntenteChanged(new EntenteChangedEvent(1L));
+
+    verify(statusCounterService)
+        .apply(
+            argThat(
+                before ->
+                    before.contains(
+                        new CounterCell(
+                            CounterScope.EMPLOYEUR, 3L, CounterCell.ENTENTE_AWAITING_SIGNATURE))),
+            argThat(
+                after ->
+                    after.contains(
+                        new CounterCell(
+                            CounterScope.EMPLOYEUR, 3L, CounterCell.EVALUATION_TO_DO))));
+  }
+
+  @Test
+  void onEntenteChanged_IgnoresUnknownEntente() {
+    when(ententeStageRepository.findById(1L)).thenReturn(Optional.empty());
+
+    ententeViewService.onEntenteChanged(new EntenteChangedEvent(1L));
+
+    verify(ententeViewRepository, never()).save(any());
+  }
+
+  @Test
+  void onEntenteDeleted_RemovesRow() {
+    EntenteView view =
+        EntenteView.builder()
+            .ententeId(1L)
+            .employeurId(3L)
+            .statut(EntenteStage.StatutEntente.BROUILLON)
+            .build();
+    when(ententeViewRepository.findById(1L)).thenReturn(Optional.of(view));
+
+    ententeViewService.onEntenteDeleted(new EntenteDeletedEvent(1L));
+
+    verify(ententeViewRepository).delete(view);
+    verify(statusCounterService).apply(CounterCell.cellsOf(view), Set.of());
+  }
+
+  @Test
+  void rebuild_RegeneratesFromSourceTables() {
+    when(ententeStageRepository.findAll()).thenReturn(List.of(entente));
+    when(evaluationStagiaireRepository.findByStudentIdAndInternshipOfferId(2L, 4L))
+        .thenReturn(Optional.empty());
+
+    int count = ententeViewService.rebuild();
+
+    assertEquals(1, count);
+    verify(jdbcTemplate).queryForList("select pg_advisory_xact_lock(hashtext('entente_view'))");
+    verify(ententeViewRepository).deleteAllInBatch();
+    verify(ententeViewRepository).saveAll(anyList());
+    verify(statusCounterService).reconcile();
+  }
+}
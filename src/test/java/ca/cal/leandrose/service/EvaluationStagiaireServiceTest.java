@@ -6,11 +6,13 @@ import static org.mockito.Mockito.*;
 
 import ca.cal.leandrose.model.*;
 import ca.cal.leandrose.repository.*;
+import ca.cal.leandrose.security.exception.ForbiddenAccessException;
 import ca.cal.leandrose.service.dto.evaluation.*;
 import ca.cal.leandrose.service.dto.evaluation.employer.EmployerQuestionResponse;
 import ca.cal.leandrose.service.dto.evaluation.employer.EvaluationEmployerFormData;
 import ca.cal.leandrose.service.dto.evaluation.employer.EvaluationEmployerInfoDto;
 import ca.cal.leandrose.service.dto.evaluation.prof.*;
+import ca.cal.leandrose.service.event.EntenteChangedEvent;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -21,6 +23,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 
 @ExtendWith(MockitoExtension.class)
 class EvaluationStagiaireServiceTest {
@@ -46,6 +51,12 @@ class EvaluationStagiaireServiceTest {
     @Mock
     private PDFGeneratorService pdfGeneratorService;
 
+    @Mock
+    private EntenteViewRepository ententeViewRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     @Spy
     private EvaluationStagiaireService evaluationStagiaireService;
@@ -152,6 +163,7 @@ class EvaluationStagiaireServiceTest {
 
         verify(employeurRepository).findById(1L);
         verify(evaluationStagiaireRepository).save(any(EvaluationStagiaire.class));
+        verify(eventPublisher).publishEvent(new EntenteChangedEvent(1L));
     }
 
     @Test
@@ -463,7 +475,7 @@ class EvaluationStagiaireServiceTest {
                 categories, "Good work", 1, "Good", false, 15, "YES", true
         );
 
-        when(evaluationStagiaireRepository.findById(1L)).thenReturn(Optional.of(evaluationStagiaire));
+        when(evaluationStagiaireRepository.findByIdAndEmployeurId(1L, 1L)).thenReturn(Optional.of(evaluationStagiaire));
         when(ententeStageRepository.findByCandidature_Student_IdAndCandidature_InternshipOffer_Id(2L, 3L))
                 .thenReturn(Optional.of(ententeStage));
         when(pdfGeneratorService.generatedEvaluationByEmployer(
@@ -472,7 +484,7 @@ class EvaluationStagiaireServiceTest {
         when(evaluationStagiaireRepository.save(any())).thenReturn(evaluationStagiaire);
 
         EvaluationStagiaireDto result = evaluationStagiaireService.generateEvaluationPdfByEmployer(
-                1L, formData, "fr");
+                1L, 1L, formData, "fr");
 
         assertNotNull(result);
         verify(pdfGeneratorService).generatedEvaluationByEmployer(
@@ -488,10 +500,10 @@ class EvaluationStagiaireServiceTest {
                 categories, null, 1, null, false, 15, "NO", false
         );
 
-        when(evaluationStagiaireRepository.findById(1L)).thenReturn(Optional.empty());
+        when(evaluationStagiaireRepository.findByIdAndEmployeurId(1L, 1L)).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class,
-                () -> evaluationStagiaireService.generateEvaluationPdfByEmployer(1L, formData, "fr"));
+                () -> evaluationStagiaireService.generateEvaluationPdfByEmployer(1L, 1L, formData, "fr"));
     }
 
     @Test
@@ -501,13 +513,13 @@ class EvaluationStagiaireServiceTest {
                 categories, 1, 2, false, false, new ArrayList<>()
         );
 
-        when(evaluationStagiaireRepository.findById(1L)).thenReturn(Optional.of(evaluationStagiaire));
+        when(evaluationStagiaireRepository.findByIdAndProfesseurId(1L, 1L)).thenReturn(Optional.of(evaluationStagiaire));
         when(pdfGeneratorService.generatedEvaluationByTeacher(any(), any(), any(), anyString()))
                 .thenReturn("/path/to/pdf");
         when(evaluationStagiaireRepository.save(any())).thenReturn(evaluationStagiaire);
 
         EvaluationStagiaireDto result = evaluationStagiaireService.generateEvaluationByTeacher(
-                1L, formData, "fr");
+                1L, 1L, formData, "fr");
 
         assertNotNull(result);
         verify(pdfGeneratorService).generatedEvaluationByTeacher(any(), any(), any(), eq("fr"));
@@ -521,58 +533,70 @@ class EvaluationStagiaireServiceTest {
                 categories, 1, 2, false, false, new ArrayList<>()
         );
 
-        when(evaluationStagiaireRepository.findById(1L)).thenReturn(Optional.empty());
+        when(evaluationStagiaireRepository.findByIdAndProfesseurId(1L, 1L)).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class,
-                () -> evaluationStagiaireService.generateEvaluationByTeacher(1L, formData, "fr"));
+                () -> evaluationStagiaireService.generateEvaluationByTeacher(1L, 1L, formData, "fr"));
     }
 
     
 
     @Test
-    void getEvaluationPdf_Employer_Success() {
+    void getEvaluationPdf_Employer_Success() throws Exception {
         evaluationStagiaire.setEmployerPdfFilePath("/path/to/employer.pdf");
         byte[] pdfContent = "PDF content".getBytes();
 
-        when(evaluationStagiaireRepository.findById(1L)).thenReturn(Optional.of(evaluationStagiaire));
-        when(pdfGeneratorService.lireFichierPDF("/path/to/employer.pdf")).thenReturn(pdfContent);
+        when(evaluationStagiaireRepository.findByIdAndEmployeurId(1L, 1L)).thenReturn(Optional.of(evaluationStagiaire));
+        when(pdfGeneratorService.ouvrirFichierPDF("/path/to/employer.pdf"))
+                .thenReturn(new ByteArrayResource(pdfContent));
 
-        byte[] result = evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.EMPLOYER);
+        Resource result = evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.EMPLOYER, 1L);
 
         assertNotNull(result);
-        assertArrayEquals(pdfContent, result);
+        assertArrayEquals(pdfContent, result.getContentAsByteArray());
     }
 
     @Test
-    void getEvaluationPdf_Professor_Success() {
+    void getEvaluationPdf_Professor_Success() throws Exception {
         evaluationStagiaire.setProfessorPdfFilePath("/path/to/professor.pdf");
         byte[] pdfContent = "PDF content".getBytes();
 
-        when(evaluationStagiaireRepository.findById(1L)).thenReturn(Optional.of(evaluationStagiaire));
-        when(pdfGeneratorService.lireFichierPDF("/path/to/professor.pdf")).thenReturn(pdfContent);
+        when(evaluationStagiaireRepository.findByIdAndProfesseurId(1L, 1L)).thenReturn(Optional.of(evaluationStagiaire));
+        when(pdfGeneratorService.ouvrirFichierPDF("/path/to/professor.pdf"))
+                .thenReturn(new ByteArrayResource(pdfContent));
 
-        byte[] result = evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.PROF);
+        Resource result = evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.PROF, 1L);
 
         assertNotNull(result);
-        assertArrayEquals(pdfContent, result);
+        assertArrayEquals(pdfContent, result.getContentAsByteArray());
     }
 
     @Test
     void getEvaluationPdf_NoPdfGenerated_ThrowsException() {
         evaluationStagiaire.setEmployerPdfFilePath(null);
 
-        when(evaluationStagiaireRepository.findById(1L)).thenReturn(Optional.of(evaluationStagiaire));
+        when(evaluationStagiaireRepository.findByIdAndEmployeurId(1L, 1L)).thenReturn(Optional.of(evaluationStagiaire));
 
         assertThrows(RuntimeException.class,
-                () -> evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.EMPLOYER));
+                () -> evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.EMPLOYER, 1L));
     }
 
     @Test
     void getEvaluationPdf_EvaluationNotFound_ThrowsException() {
-        when(evaluationStagiaireRepository.findById(1L)).thenReturn(Optional.empty());
+        when(evaluationStagiaireRepository.findByIdAndEmployeurId(1L, 1L)).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class,
-                () -> evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.EMPLOYER));
+                () -> evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.EMPLOYER, 1L));
+    }
+
+    @Test
+    void getEvaluationPdf_NotOwner_ThrowsForbidden() {
+        when(evaluationStagiaireRepository.findByIdAndEmployeurId(1L, 99L)).thenReturn(Optional.empty());
+        when(evaluationStagiaireRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ForbiddenAccessException.class,
+                () -> evaluationStagiaireService.getEvaluationPdf(1L, CreatorTypeEvaluation.EMPLOYER, 99L));
+        verify(pdfGeneratorService, never()).ouvrirFichierPDF(any());
     }
 
     
@@ -711,11 +735,8 @@ class EvaluationStagiaireServiceTest {
 
     @Test
     void getEligibleEvaluations_Employer_WithoutExistingEvaluation() {
-        when(ententeStageRepository.findByCandidature_InternshipOffer_Employeur_IdAndStatut(
-                1L, EntenteStage.StatutEntente.VALIDEE))
-                .thenReturn(List.of(ententeStage));
-        when(evaluationStagiaireRepository.findByStudentIdAndInternshipOfferId(2L, 3L))
-                .thenReturn(Optional.empty());
+        when(ententeViewRepository.findAllByEmployeurIdAndStatut(1L, EntenteStage.StatutEntente.VALIDEE))
+                .thenReturn(List.of(EntenteView.from(ententeStage, null)));
 
         List<EligibleEvaluationDto> result = evaluationStagiaireService.getEligibleEvaluations(
                 CreatorTypeEvaluation.EMPLOYER, 1L);
@@ -724,15 +745,16 @@ class EvaluationStagiaireServiceTest {
         assertEquals(1, result.size());
         assertFalse(result.get(0).hasEvaluation());
         assertNull(result.get(0).evaluationId());
+        assertEquals(2L, result.get(0).studentId());
+        assertEquals(3L, result.get(0).offerId());
+        assertEquals(LocalDate.now().plusWeeks(12), result.get(0).endDate());
+        verifyNoInteractions(ententeStageRepository);
     }
 
     @Test
     void getEligibleEvaluations_Employer_WithExistingEvaluation() {
-        when(ententeStageRepository.findByCandidature_InternshipOffer_Employeur_IdAndStatut(
-                1L, EntenteStage.StatutEntente.VALIDEE))
-                .thenReturn(List.of(ententeStage));
-        when(evaluationStagiaireRepository.findByStudentIdAndInternshipOfferId(2L, 3L))
-                .thenReturn(Optional.of(evaluationStagiaire));
+        when(ententeViewRepository.findAllByEmployeurIdAndStatut(1L, EntenteStage.StatutEntente.VALIDEE))
+                .thenReturn(List.of(EntenteView.from(ententeStage, evaluationStagiaire)));
 
         List<EligibleEvaluationDto> result = evaluationStagiaireService.getEligibleEvaluations(
                 CreatorTypeEvaluation.EMPLOYER, 1L);
@@ -747,10 +769,8 @@ class EvaluationStagiaireServiceTest {
     void getEligibleEvaluations_Prof_WithSubmittedEvaluation() {
         evaluationStagiaire.setSubmittedByEmployer(true);
 
-        when(ententeStageRepository.findByProf_IdAndStatut(1L, EntenteStage.StatutEntente.VALIDEE))
-                .thenReturn(List.of(ententeStage));
-        when(evaluationStagiaireRepository.findByStudentIdAndInternshipOfferId(2L, 3L))
-                .thenReturn(Optional.of(evaluationStagiaire));
+        when(ententeViewRepository.findAllByProfIdAndStatut(1L, EntenteStage.StatutEntente.VALIDEE))
+                .thenReturn(List.of(EntenteView.from(ententeStage, evaluationStagiaire)));
 
         List<EligibleEvaluationDto> result = evaluationStagiaireService.getEligibleEvaluations(
                 CreatorTypeEvaluation.PROF, 1L);
@@ -762,7 +782,7 @@ class EvaluationStagiaireServiceTest {
 
     @Test
     void getEligibleEvaluations_Prof_EmptyList() {
-        when(ententeStageRepository.findByProf_IdAndStatut(1L, EntenteStage.StatutEntente.VALIDEE))
+        when(ententeViewRepository.findAllByProfIdAndStatut(1L, EntenteStage.StatutEntente.VALIDEE))
                 .thenReturn(List.of());
 
         List<EligibleEvaluationDto> result = evaluationStagiaireService.getEligibleEvaluations(
@@ -772,8 +792,6 @@ class EvaluationStagiaireServiceTest {
         assertTrue(result.isEmpty());
     }
 
-    
-
     @Test
     void getExistingEvaluation_Found() {
         when(evaluationStagiaireRepository.findByStudentIdAndInternshipOfferId(2L, 3L))
@@ -0,0 +1,197 @@
+package ca.cal.leandrose.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import ca.cal.leandrose.model.FileCleanupTask;
+import ca.cal.leandrose.repository.FileCleanupTaskRepository;
+import ca.cal.leandrose.service.event.FileCleanupScheduledEvent;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.DocumentStore;
+import ca.cal.leandrose.service.storage.StoredDocument;
+import ca.cal.leandrose.service.storage.UploadSpooler;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class FileCleanupServiceTest {
+
+  private static final String KEY = BlobStore.keyFor("ab".repeat(32));
+
+  @TempDir Path tempDir;
+
+  @Mock private FileCleanupTaskRepository taskRepository;
+  @Mock private BlobMaintenanceService blobMaintenanceService;
+  @Mock private DocumentStore documentStore;
+  @Mock private ApplicationEventPublisher eventPublisher;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private FileCleanupService service;
+
+  @BeforeEach
+  void setUp() {
+    BlobStore blobStore =
+        new BlobStore(new UploadSpooler(), documentStore, tempDir.resolve("spool").toString());
+    service =
+        new FileCleanupService(
+            taskRepository,
+            blobMaintenanceService,
+            blobStore,
+            documentStore,
+            eventPublisher,
+            transactionManager,
+            3,
+            Duration.ofSeconds(30),
+            Duration.ofMinutes(10),
+            50);
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.stop();
+  }
+
+  @Test
+  void schedule_RecordsTaskAndPublishesEvent() {
+    service.schedule(KEY);
+
+    ArgumentCaptor<FileCleanupTask> captor = ArgumentCaptor.forClass(FileCleanupTask.class);
+    verify(taskRepository).save(captor.capture());
+    assertEquals(KEY, captor.getValue().getReference());
+    assertEquals(0, captor.getValue().getAttempts());
+    verify(eventPublisher).publishEvent(new FileCleanupScheduledEvent(KEY));
+    verifyNoInteractions(documentStore);
+  }
+
+  @Test
+  void schedule_IgnoresMissingReferences() {
+    service.schedule(null);
+    service.schedule("  ");
+
+    verifyNoInteractions(taskRepository, eventPublisher);
+  }
+
+  @Test
+  void drain_DeletesUnreferencedLegacyFile() throws Exception {
+    Path legacy = Files.writeString(tempDir.resolve("ancien_cv.pdf"), "ANCIEN");
+    FileCleanupTask task = task(legacy.toString(), 0);
+    when(taskRepository.lockDue(any(Instant.class), eq(50))).thenReturn(List.of(task));
+
+    assertEquals(1, service.drain());
+
+    assertFalse(Files.exists(legacy));
+    verify(taskRepository).delete(task);
+  }
+
+  @Test
+  void drain_KeepsBlobThatIsStillReferenced() throws Exception {
+    FileCleanupTask task = task(KEY, 0);
+    when(taskRepository.lockDue(any(Instant.class), eq(50))).thenReturn(List.of(task));
+    when(documentStore.stat(KEY)).thenReturn(Optional.of(stored(Instant.EPOCH)));
+    when(blobMaintenanceService.isReferenced(KEY)).thenReturn(true);
+
+    service.drain();
+
+    verify(documentStore, never()).delete(any());
+    verify(taskRepository).delete(task);
+  }
+
+  @Test
+  void drain_DefersBlobsWrittenWithinTheGracePeriod() throws Exception {
+    Instant touched = Instant.now();
+    FileCleanupTask task = task(KEY, 0);
+    when(taskRepository.lockDue(any(Instant.class), eq(50))).thenReturn(List.of(task));
+    when(documentStore.stat(KEY)).thenReturn(Optional.of(stored(touched)));
+
+    service.drain();
+
+    assertEquals(touched.plus(Duration.ofMinutes(10)), task.getNextAttemptAt());
+    verify(documentStore, never()).delete(any());
+    verify(taskRepository, never()).delete(any());
+  }
+
+  @Test
+  void drain_DeletesOrphanBlobOnceTheGracePeriodHasElapsed() throws Exception {
+    FileCleanupTask task = task(KEY, 0);
+    when(taskRepository.lockDue(any(Instant.class), eq(50))).thenReturn(List.of(task));
+    when(documentStore.stat(KEY)).thenReturn(Optional.of(stored(Instant.EPOCH)));
+
+    service.drain();
+
+    verify(documentStore).delete(KEY);
+    verify(taskRepository).delete(task);
+  }
+
+  @Test
+  void drain_DeletesStorageOutsideTheClaimTransaction() throws Exception {
+    FileCleanupTask task = task(KEY, 0);
+    when(taskRepository.lockDue(any(Instant.class), eq(50))).thenReturn(List.of(task));
+    when(documentStore.stat(KEY)).thenReturn(Optional.of(stored(Instant.EPOCH)));
+
+    service.drain();
+
+    InOrder inOrder = inOrder(transactionManager, taskRepository, documentStore);
+    inOrder.verify(taskRepository).lockDue(any(Instant.class), eq(50));
+    inOrder.verify(transactionManager).commit(any());
+    inOrder.verify(documentStore).delete(KEY);
+    inOrder.verify(transactionManager).getTransaction(any());
+    inOrder.verify(taskRepository).delete(task);
+  }
+
+  @Test
+  void drain_RetriesFailuresWithBackoffThenGivesUp() throws Exception {
+    FileCleanupTask task = task(KEY, 0);
+    when(taskRepository.lockDue(any(Instant.class), eq(50))).thenReturn(List.of(task));
+    when(documentStore.stat(KEY)).thenReturn(Optional.of(stored(Instant.EPOCH)));
+    doThrow(new IOException("disque indisponible")).when(documentStore).delete(KEY);
+
+    Instant before = Instant.now();
+    service.drain();
+
+    assertEquals(1, task.getAttempts());
+    assertEquals("disque indisponible", task.getLastError());
+    assertFalse(task.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+    verify(taskRepository, never()).delete(any());
+
+    service.drain();
+
+    assertEquals(2, task.getAttempts());
+    assertFalse(task.getNextAttemptAt().isBefore(before.plusSeconds(60)));
+
+    service.drain();
+
+    verify(taskRepository).delete(task);
+  }
+
+  private static FileCleanupTask task(String reference, int attempts) {
+    return FileCleanupTask.builder()
+        .id(1L)
+        .reference(reference)
+        .attempts(attempts)
+        .nextAttemptAt(Instant.EPOCH)
+        .createdAt(Instant.EPOCH)
+        .build();
+  }
+
+  private static StoredDocument stored(Instant lastModified) {
+    return new StoredDocument(KEY, 42L, lastModified);
+  }
+}
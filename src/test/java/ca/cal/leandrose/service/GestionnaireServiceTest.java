@@ -11,6 +11,7 @@ import ca.cal.leandrose.repository.GestionnaireRepository;
 import ca.cal.leandrose.repository.InternshipOfferRepository;
 import ca.cal.leandrose.service.dto.CvDto;
 import ca.cal.leandrose.service.dto.InternshipOfferDto;
+import ca.cal.leandrose.service.event.StatusCountersChangedEvent;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -18,9 +19,11 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +34,7 @@ public class GestionnaireServiceTest {
   @Mock private InternshipOfferRepository internshipOfferRepository;
     @Mock private GestionnaireRepository gestionnaireRepository;
     @Mock private PasswordEncoder passwordEncoder;
+    @Mock private ApplicationEventPublisher eventPublisher;
   private InternshipOffer offerPending;
 
 
@@ -68,6 +72,38 @@ public class GestionnaireServiceTest {
     verify(cvRepository).save(pendingCv);
   }
 
+  @Test
+  void approveCv_publie_la_transition_des_compteurs() {
+    pendingCv.setStudent(Student.builder().id(5L).build());
+    when(cvRepository.findById(10L)).thenReturn(Optional.of(pendingCv));
+    when(cvRepository.save(any(Cv.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    gestionnaireService.approveCv(10L);
+
+    ArgumentCaptor<StatusCountersChangedEvent> captor =
+        ArgumentCaptor.forClass(StatusCountersChangedEvent.class);
+    verify(eventPublisher).publishEvent(captor.capture());
+    assertThat(captor.getValue().before())
+        .containsExactlyInAnyOrder(
+            new CounterCell(CounterScope.GLOBAL, CounterCell.GLOBAL_SCOPE_ID, "cv.PENDING"),
+            new CounterCell(CounterScope.STUDENT, 5L, "cv.PENDING"));
+    assertThat(captor.getValue().after())
+        .containsExactlyInAnyOrder(
+            new CounterCell(CounterScope.GLOBAL, CounterCell.GLOBAL_SCOPE_ID, "cv.APPROVED"),
+            new CounterCell(CounterScope.STUDENT, 5L, "cv.APPROVED"));
+  }
+
+  @Test
+  void approveCv_refuse_un_cv_en_quarantaine() {
+    pendingCv.setStatus(Cv.Status.QUARANTINED);
+    when(cvRepository.findById(10L)).thenReturn(Optional.of(pendingCv));
+
+    assertThrows(IllegalStateException.class, () -> gestionnaireService.approveCv(10L));
+
+    verify(cvRepository, never()).save(any(Cv.class));
+    verifyNoInteractions(eventPublisher);
+  }
+
   @Test
   void testCvReject() {
     when(cvRepository.findById(10L)).thenReturn(Optional.of(pendingCv));
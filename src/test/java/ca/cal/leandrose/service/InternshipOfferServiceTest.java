@@ -6,33 +6,64 @@ import static org.mockito.Mockito.*;
 
 import ca.cal.leandrose.model.Employeur;
 import ca.cal.leandrose.model.InternshipOffer;
+import ca.cal.leandrose.model.SchoolTerm;
 import ca.cal.leandrose.model.auth.Credentials;
 import ca.cal.leandrose.model.auth.Role;
 import ca.cal.leandrose.repository.EmployeurRepository;
 import ca.cal.leandrose.repository.InternshipOfferRepository;
+import ca.cal.leandrose.service.cache.DocumentCache;
+import ca.cal.leandrose.service.cache.SerializedResponseCache;
 import ca.cal.leandrose.service.dto.EmployeurDto;
 import ca.cal.leandrose.service.dto.InternshipOfferDto;
+import ca.cal.leandrose.service.event.PdfInspectionRequestedEvent;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.LocalDocumentStore;
+import ca.cal.leandrose.service.storage.StoredDocument;
+import ca.cal.leandrose.service.storage.UploadSpooler;
 import com.itextpdf.text.Document;
 import com.itextpdf.text.Paragraph;
 import com.itextpdf.text.pdf.PdfWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.*;
+import java.security.MessageDigest;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.HexFormat;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 
 class InternshipOfferServiceTest {
 
+  private static final String STORE_ROOT = "uploads/test-store";
+
   @Mock private InternshipOfferRepository internshipOfferRepository;
 
   @Mock private EmployeurRepository employeurRepository;
 
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @Mock private OfferCatalogService offerCatalogService;
+
+  @Mock private SerializedResponseCache serializedResponseCache;
+
+  @Spy
+  private LocalDocumentStore documentStore =
+      new LocalDocumentStore(STORE_ROOT, new DocumentCache(1024 * 1024, 1024 * 1024, 16));
+
+  @Spy private UploadSpooler uploadSpooler = new UploadSpooler();
+
+  @Spy
+  private BlobStore blobStore =
+      new BlobStore(new UploadSpooler(), documentStore, STORE_ROOT + "/spool");
+
   @InjectMocks private InternshipOfferService internshipOfferService;
 
   private Employeur employeur;
@@ -52,18 +83,11 @@ class InternshipOfferServiceTest {
             .field("IT")
             .build();
     employeurDto = EmployeurDto.create(employeur);
-    Path baseDir = Paths.get("uploads/offers/1");
-    try {
-      if (Files.exists(baseDir)) {
-        Files.walk(baseDir).map(Path::toFile).forEach(java.io.File::delete);
-      }
-    } catch (IOException ignored) {
-    }
   }
 
   @AfterEach
   void tearDown() throws IOException {
-    Path baseDir = Paths.get("uploads/offers");
+    Path baseDir = Paths.get(STORE_ROOT);
     if (Files.exists(baseDir)) {
       Files.walk(baseDir)
           .sorted((a, b) -> b.compareTo(a))
@@ -104,13 +128,45 @@ class InternshipOfferServiceTest {
     // Assert
     assertThat(result).isNotNull();
     assertThat(result.getId()).isEqualTo(10L);
-    assertThat(result.getStatus()).isEqualTo("PENDING_VALIDATION");
+    assertThat(result.getStatus()).isEqualTo("PROCESSING");
+    verify(eventPublisher).publishEvent(PdfInspectionRequestedEvent.offer(10L));
+
+    assertThat(result.getPdfPath()).isEqualTo(BlobStore.keyFor(sha256(pdfBytes)));
+    assertThat(Files.readAllBytes(documentStore.localPath(result.getPdfPath()).orElseThrow()))
+        .isEqualTo(pdfBytes);
+    try (Stream<Path> files = Files.list(blobStore.getSpoolDirectory())) {
+      assertThat(files.map(Path::toString)).noneMatch(name -> name.endsWith(".part"));
+    }
 
-    String expectedDir = Paths.get("uploads", "offers", "1").toString();
-    assertThat(result.getPdfPath()).contains(expectedDir);
-    assertThat(result.getPdfPath()).contains("offer.pdf_");
+    verify(internshipOfferRepository, times(1))
+        .save(
+            argThat(
+                offer -> offer.getPdfSha256() != null && offer.getPdfSha256().length() == 64));
+  }
 
-    verify(internshipOfferRepository, times(1)).save(any(InternshipOffer.class));
+  @Test
+  void createOffer_samePdfTwice_storesSingleBlob() throws Exception {
+    byte[] pdfBytes = pdfBytes("Offre republiée");
+    when(employeurRepository.findById(employeurDto.getId())).thenReturn(Optional.of(employeur));
+    when(internshipOfferRepository.save(any(InternshipOffer.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    InternshipOfferDto first =
+        internshipOfferService.createOfferDto(
+            "Stage A", LocalDate.now(), 12, "123 rue Tech", 1000f, employeurDto,
+            new MockMultipartFile("file", "offre.pdf", "application/pdf", pdfBytes));
+    InternshipOfferDto second =
+        internshipOfferService.createOfferDto(
+            "Stage B", LocalDate.now(), 12, "123 rue Tech", 1000f, employeurDto,
+            new MockMultipartFile("file", "copie.pdf", "application/pdf", pdfBytes));
+
+    assertThat(second.getPdfPath()).isEqualTo(first.getPdfPath());
+    assertThat(blobStore.listBlobs())
+        .extracting(StoredDocument::key)
+        .containsExactly(first.getPdfPath());
+    try (Stream<Path> files = Files.list(blobStore.getSpoolDirectory())) {
+      assertThat(files.map(Path::toString)).noneMatch(name -> name.endsWith(".part"));
+    }
   }
 
   @Test
@@ -163,17 +219,17 @@ class InternshipOfferServiceTest {
   @Test
   void getOfferPdf_readsBytesFromFile() throws Exception {
     // Arrange
-    Path filePath = Paths.get("uploads/offers/1/test.pdf");
+    Path filePath = Paths.get(STORE_ROOT, "offers/test.pdf");
     Files.createDirectories(filePath.getParent());
     Files.write(filePath, "PDF_CONTENT".getBytes());
 
     InternshipOffer offer =
-        InternshipOffer.builder().id(20L).employeur(employeur).pdfPath(filePath.toString()).build();
+        InternshipOffer.builder().id(20L).employeur(employeur).pdfPath("offers/test.pdf").build();
 
     when(internshipOfferRepository.findById(20L)).thenReturn(Optional.of(offer));
 
     // Act
-    byte[] result = internshipOfferService.getOfferPdf(20L);
+    byte[] result = internshipOfferService.getOfferPdf(20L).getContentAsByteArray();
 
     // Assert
     assertThat(new String(result)).isEqualTo("PDF_CONTENT");
@@ -303,7 +359,7 @@ class InternshipOfferServiceTest {
     InternshipOffer offer = InternshipOffer.builder()
             .id(20L)
             .employeur(employeur)
-            .pdfPath("/nonexistent/path.pdf")
+            .pdfPath("offers/introuvable.pdf")
             .build();
 
     when(internshipOfferRepository.findById(20L)).thenReturn(Optional.of(offer));
@@ -334,4 +390,33 @@ class InternshipOfferServiceTest {
     assertThrows(IllegalArgumentException.class, () ->
             internshipOfferService.getPublishedOffersForStudents("program.computer_science", ""));
   }
+
+  @Test
+  void getPublishedOffersForStudents_validRequest_readsFromCatalog() {
+    InternshipOfferDto offer = InternshipOfferDto.builder().id(7L).build();
+    when(offerCatalogService.getPublishedOffers(
+            "program.computer_science", new SchoolTerm(SchoolTerm.Season.FALL, 2025)))
+        .thenReturn(List.of(offer));
+
+    List<InternshipOfferDto> result =
+        internshipOfferService.getPublishedOffersForStudents(
+            "program.computer_science", "fall 2025");
+
+    assertThat(result).containsExactly(offer);
+    verifyNoInteractions(internshipOfferRepository);
+  }
+
+  private static byte[] pdfBytes(String text) throws Exception {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    Document document = new Document();
+    PdfWriter.getInstance(document, baos);
+    document.open();
+    document.add(new Paragraph(text));
+    document.close();
+    return baos.toByteArray();
+  }
+
+  private static String sha256(byte[] content) throws Exception {
+    return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+  }
 }
@@ -0,0 +1,157 @@
+package ca.cal.leandrose.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+import ca.cal.leandrose.model.Employeur;
+import ca.cal.leandrose.model.InternshipOffer;
+import ca.cal.leandrose.model.SchoolTerm;
+import ca.cal.leandrose.repository.InternshipOfferRepository;
+import ca.cal.leandrose.repository.VersionStamp;
+import ca.cal.leandrose.service.dto.CacheStatsDto;
+import ca.cal.leandrose.service.dto.InternshipOfferDto;
+import ca.cal.leandrose.service.dto.PublishedOffersDto;
+import ca.cal.leandrose.service.event.CacheInvalidationEvent;
+import ca.cal.leandrose.service.event.OfferStatusChangedEvent;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class OfferCatalogServiceTest {
+
+  private static final String PROGRAM = "program.computer_science";
+  private static final SchoolTerm TERM = new SchoolTerm(SchoolTerm.Season.FALL, 2026);
+
+  @Mock private InternshipOfferRepository internshipOfferRepository;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private OfferCatalogService offerCatalogService;
+  private InternshipOffer offer;
+
+  @BeforeEach
+  void setUp() {
+    offerCatalogService =
+        new OfferCatalogService(internshipOfferRepository, transactionManager, 16, Duration.ZERO);
+    VersionStamp emptyStamp = mock(VersionStamp.class);
+    lenient()
+        .when(internshipOfferRepository.stampPublishedByProgramAndTerm(any(), any(), anyInt()))
+        .thenReturn(emptyStamp);
+    offer =
+        InternshipOffer.builder()
+            .id(1L)
+            .description("Stage Java")
+            .startDate(LocalDate.of(2026, 9, 1))
+            .durationInWeeks(12)
+            .address("123 Rue Test")
+            .status(InternshipOffer.Status.PUBLISHED)
+            .schoolTerm(TERM)
+            .employeur(
+                Employeur.builder()
+                    .id(3L)
+                    .email("jane@techcorp.com")
+                    .password("password")
+                    .companyName("TechCorp")
+                    .field(PROGRAM)
+                    .build())
+            .build();
+  }
+
+  @Test
+  void getPublishedOffers_ServesRepeatedCallsFromMemory() {
+    when(internshipOfferRepository.findPublishedByProgramAndTerm(
+            PROGRAM, SchoolTerm.Season.FALL, 2026))
+        .thenReturn(List.of(offer));
+
+    List<InternshipOfferDto> first = offerCatalogService.getPublishedOffers(PROGRAM, TERM);
+    List<InternshipOfferDto> second = offerCatalogService.getPublishedOffers(PROGRAM, TERM);
+
+    assertSame(first, second);
+    assertEquals(1L, first.get(0).getId());
+    assertThrows(UnsupportedOperationException.class, () -> first.add(first.get(0)));
+    verify(internshipOfferRepository, times(1))
+        .findPublishedByProgramAndTerm(PROGRAM, SchoolTerm.Season.FALL, 2026);
+    verify(transactionManager, times(1)).getTransaction(any());
+    CacheStatsDto stats = offerCatalogService.getStats();
+    assertEquals(1, stats.getHits());
+    assertEquals(1, stats.getMisses());
+    assertEquals(0.5, stats.getHitRate());
+  }
+
+  @Test
+  void getSnapshot_StampsTheOffersWithTheirVersions() {
+    VersionStamp stamp = mock(VersionStamp.class);
+    when(stamp.toETag("offers-FALL2026")).thenReturn("\"offers-FALL2026-1-2-1\"");
+    when(internshipOfferRepository.findPublishedByProgramAndTerm(
+            PROGRAM, SchoolTerm.Season.FALL, 2026))
+        .thenReturn(List.of(offer));
+    when(internshipOfferRepository.stampPublishedByProgramAndTerm(
+            PROGRAM, SchoolTerm.Season.FALL, 2026))
+        .thenReturn(stamp);
+
+    PublishedOffersDto snapshot = offerCatalogService.getSnapshot(PROGRAM, TERM);
+
+    assertSame(snapshot.getOffers(), offerCatalogService.getPublishedOffers(PROGRAM, TERM));
+    assertEquals("\"offers-FALL2026-1-2-1\"", snapshot.getEtag());
+  }
+
+  @Test
+  void getETag_ReadsTheStampWithoutLoadingOffers() {
+    VersionStamp stamp = mock(VersionStamp.class);
+    when(stamp.toETag("offers-FALL2026")).thenReturn("\"offers-FALL2026-1-2-1\"");
+    when(internshipOfferRepository.stampPublishedByProgramAndTerm(
+            PROGRAM, SchoolTerm.Season.FALL, 2026))
+        .thenReturn(stamp);
+
+    assertEquals("\"offers-FALL2026-1-2-1\"", offerCatalogService.getETag(PROGRAM, TERM));
+    verify(internshipOfferRepository, never())
+        .findPublishedByProgramAndTerm(any(), any(), anyInt());
+  }
+
+  @Test
+  void onOfferStatusChanged_InvalidatesOnlyMatchingCatalog() {
+    SchoolTerm otherTerm = new SchoolTerm(SchoolTerm.Season.WINTER, 2027);
+    when(internshipOfferRepository.findPublishedByProgramAndTerm(
+            PROGRAM, SchoolTerm.Season.FALL, 2026))
+        .thenReturn(List.of(offer));
+    when(internshipOfferRepository.findPublishedByProgramAndTerm(
+            PROGRAM, SchoolTerm.Season.WINTER, 2027))
+        .thenReturn(List.of());
+    offerCatalogService.getPublishedOffers(PROGRAM, TERM);
+    offerCatalogService.getPublishedOffers(PROGRAM, otherTerm);
+
+    offerCatalogService.onOfferStatusChanged(OfferStatusChangedEvent.of(offer));
+    offerCatalogService.getPublishedOffers(PROGRAM, TERM);
+    offerCatalogService.getPublishedOffers(PROGRAM, otherTerm);
+
+    verify(internshipOfferRepository, times(2))
+        .findPublishedByProgramAndTerm(PROGRAM, SchoolTerm.Season.FALL, 2026);
+    verify(internshipOfferRepository, times(1))
+        .findPublishedByProgramAndTerm(PROGRAM, SchoolTerm.Season.WINTER, 2027);
+    assertEquals(1, offerCatalogService.getStats().getInvalidations());
+  }
+
+  @Test
+  void onCacheInvalidation_ClearsCatalogForRemoteOfferChangesOnly() {
+    when(internshipOfferRepository.findPublishedByProgramAndTerm(
+            PROGRAM, SchoolTerm.Season.FALL, 2026))
+        .thenReturn(List.of(offer));
+    offerCatalogService.getPublishedOffers(PROGRAM, TERM);
+
+    offerCatalogService.onCacheInvalidation(
+        new CacheInvalidationEvent(CacheInvalidationEvent.ENTENTE, 5L, 1L));
+    assertEquals(1, offerCatalogService.getStats().getSize());
+
+    offerCatalogService.onCacheInvalidation(
+        new CacheInvalidationEvent(CacheInvalidationEvent.OFFER, 1L, null));
+    assertEquals(0, offerCatalogService.getStats().getSize());
+  }
+}
@@ -10,13 +10,28 @@ import ca.cal.leandrose.service.dto.evaluation.*;
 import ca.cal.leandrose.service.dto.evaluation.employer.EmployerQuestionResponse;
 import ca.cal.leandrose.service.dto.evaluation.employer.EvaluationEmployerFormData;
 import ca.cal.leandrose.service.dto.evaluation.prof.*;
+import ca.cal.leandrose.service.cache.DocumentCache;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.LocalDocumentStore;
+import ca.cal.leandrose.service.storage.UploadSpooler;
+import com.itextpdf.text.pdf.PdfDictionary;
+import com.itextpdf.text.pdf.PdfName;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
 import org.springframework.test.util.ReflectionTestUtils;
 
 class PDFGeneratorServiceTest {
@@ -24,57 +39,42 @@ class PDFGeneratorServiceTest {
     @TempDir
     Path tempDir;
     private PDFGeneratorService pdfGeneratorService;
+    private LocalDocumentStore documentStore;
 
     @BeforeEach
     void setUp() {
-        pdfGeneratorService = new PDFGeneratorService();
+        documentStore = new LocalDocumentStore(
+                tempDir.resolve("store").toString(), new DocumentCache(1024 * 1024, 1024 * 1024, 16));
+        pdfGeneratorService = new PDFGeneratorService(
+                new BlobStore(new UploadSpooler(), documentStore, tempDir.resolve("spool").toString()),
+                documentStore);
         ReflectionTestUtils.setField(pdfGeneratorService, "baseUploadDir", tempDir.resolve("ententes").toString());
         ReflectionTestUtils.setField(pdfGeneratorService, "baseEvaluationsDir", tempDir.resolve("evaluations").toString());
+        ReflectionTestUtils.setField(pdfGeneratorService, "ententeTemplateMode", true);
+        ReflectionTestUtils.setField(pdfGeneratorService, "reuseCheckboxTemplates", true);
     }
 
 
     @Test
-    void testLireFichierPDF_FileExists() throws Exception {
-        Path testFile = tempDir.resolve("test.pdf");
+    void testOuvrirFichierPDF_FileExists() throws Exception {
+        Path testFile = tempDir.resolve("store/documents/test.pdf");
         byte[] testContent = "test content".getBytes();
+        Files.createDirectories(testFile.getParent());
         Files.write(testFile, testContent);
 
-        byte[] result = pdfGeneratorService.lireFichierPDF(testFile.toString());
+        Resource result = pdfGeneratorService.ouvrirFichierPDF("documents/test.pdf");
 
-        assertNotNull(result);
-        assertArrayEquals(testContent, result);
+        assertEquals(testContent.length, result.contentLength());
+        assertArrayEquals(testContent, result.getContentAsByteArray());
     }
 
     @Test
-    void testLireFichierPDF_FileNotFound() {
-        String nonExistentPath = tempDir.resolve("nonexistent.pdf").toString();
-
+    void testOuvrirFichierPDF_FileNotFound() {
         assertThrows(RuntimeException.class, () -> {
-            pdfGeneratorService.lireFichierPDF(nonExistentPath);
+            pdfGeneratorService.ouvrirFichierPDF("documents/nonexistent.pdf");
         });
     }
 
-    @Test
-    void testSupprimerFichierPDF_FileExists() throws Exception {
-        Path testFile = tempDir.resolve("test.pdf");
-        Files.createFile(testFile);
-
-        pdfGeneratorService.supprimerFichierPDF(testFile.toString());
-
-        assertFalse(Files.exists(testFile));
-    }
-
-    @Test
-    void testSupprimerFichierPDF_FileNotExists() {
-        String nonExistentPath = tempDir.resolve("nonexistent.pdf").toString();
-
-        assertDoesNotThrow(() -> {
-            pdfGeneratorService.supprimerFichierPDF(nonExistentPath);
-        });
-    }
-
-    
-
     @Test
     void testGenererEntentePDF_Success() {
         EntenteStage entente = createTestEntente();
@@ -83,7 +83,18 @@ class PDFGeneratorServiceTest {
 
         assertNotNull(result);
         assertTrue(result.endsWith(".pdf"));
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
+    }
+
+    @Test
+    void testGenererEntentePDF_StoresInBlobStore() throws Exception {
+        String result = pdfGeneratorService.genererEntentePDF(createTestEntente());
+
+        assertTrue(BlobStore.isKey(result));
+        assertTrue(Files.exists(tempDir.resolve("store").resolve(result)));
+        try (var staged = Files.list(tempDir.resolve("ententes"))) {
+            assertEquals(0, staged.count());
+        }
     }
 
     @Test
@@ -105,7 +116,7 @@ class PDFGeneratorServiceTest {
         String result = pdfGeneratorService.genererEntentePDF(entente);
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -116,11 +127,75 @@ class PDFGeneratorServiceTest {
         String result = pdfGeneratorService.genererEntentePDF(entente);
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     
 
+    @Test
+    void testGenererEntentePDF_TemplateStampsVariableFields() throws Exception {
+        String result = pdfGeneratorService.genererEntentePDF(createTestEntente());
+
+        String text = extractText(result);
+        assertEquals(1, countPages(result));
+        assertTrue(text.contains("ENTENTE DE STAGE"));
+        assertTrue(text.contains("Doe John"));
+        assertTrue(text.contains("student@test.com"));
+        assertTrue(text.contains("Test Offer Description"));
+        assertTrue(text.contains("12 semaine(s)"));
+        assertTrue(text.contains("500.0 $"));
+        assertTrue(text.contains("Test missions and objectives"));
+    }
+
+    @Test
+    void testGenererEntentePDF_FallsBackToLayoutWhenMissionsOverflow() throws Exception {
+        EntenteStage entente = createTestEntente();
+        entente.setMissionsObjectifs("Analyser les besoins et documenter les livrables. ".repeat(200) + "Fin des missions.");
+
+        String result = pdfGeneratorService.genererEntentePDF(entente);
+
+        assertTrue(countPages(result) > 1);
+        assertTrue(extractText(result).contains("Fin des missions."));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkGenererEntentePDF_TemplateThroughputComparedToLayout() {
+        int iterations = 200;
+        EntenteStage entente = createTestEntente();
+        renderEntentes(entente, iterations, false);
+        renderEntentes(entente, iterations, true);
+
+        long layoutNanos = renderEntentes(entente, iterations, false);
+        long templateNanos = renderEntentes(entente, iterations, true);
+
+        System.out.printf("ententes/s : gabarit %.0f, mise en page %.0f%n",
+                iterations * 1e9 / templateNanos, iterations * 1e9 / layoutNanos);
+    }
+
+    @Test
+    void testGeneratedEvaluationByEmployer_SharedCheckboxesShrinkTheFile() throws Exception {
+        long fresh = renderEvaluation(false);
+        long shared = renderEvaluation(true);
+
+        assertTrue(shared < fresh, shared + " octets partagés vs " + fresh + " octets");
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkGeneratedEvaluationByEmployer_SharedCheckboxesComparedToFresh() throws Exception {
+        int iterations = 100;
+        renderEvaluations(iterations, false);
+        renderEvaluations(iterations, true);
+
+        long freshNanos = renderEvaluations(iterations, false);
+        long sharedNanos = renderEvaluations(iterations, true);
+
+        System.out.printf("évaluations/s : partagées %.0f (%d octets), fraîches %.0f (%d octets)%n",
+                iterations * 1e9 / sharedNanos, renderEvaluation(true),
+                iterations * 1e9 / freshNanos, renderEvaluation(false));
+    }
+
     @Test
     void testGeneratedEvaluationByEmployer_FrenchLanguage() {
         EvaluationStagiaire evaluation = createTestEvaluation();
@@ -134,7 +209,7 @@ class PDFGeneratorServiceTest {
 
         assertNotNull(result);
         assertTrue(result.endsWith(".pdf"));
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -150,7 +225,7 @@ class PDFGeneratorServiceTest {
 
         assertNotNull(result);
         assertTrue(result.endsWith(".pdf"));
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -165,7 +240,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -180,7 +255,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -210,7 +285,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -240,7 +315,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -270,7 +345,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -300,7 +375,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -330,7 +405,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -360,7 +435,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -390,7 +465,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     
@@ -407,7 +482,7 @@ class PDFGeneratorServiceTest {
 
         assertNotNull(result);
         assertTrue(result.endsWith(".pdf"));
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -421,7 +496,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -435,7 +510,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -457,7 +532,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -479,7 +554,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -501,7 +576,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -523,7 +598,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -545,7 +620,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -573,7 +648,7 @@ class PDFGeneratorServiceTest {
         );
 
         assertNotNull(result);
-        assertTrue(Files.exists(Path.of(result)));
+        assertTrue(documentStore.exists(result));
     }
 
     @Test
@@ -590,6 +665,176 @@ class PDFGeneratorServiceTest {
         assertTrue(Files.exists(customDir));
     }
 
+    @Test
+    void testConcurrentGeneration_EachDocumentKeepsItsOwnContent() throws Exception {
+        int perKind = 80;
+        Map<String, List<EmployerQuestionResponse>> categories = createTestEmployerFormData().categories();
+        EvaluationProfFormDto teacherForm = createTestTeacherFormData();
+        EvaluationTeacherInfoDto teacherInfo = createTestTeacherInfo();
+        int employerXObjects = countXObjects(pdfGeneratorService.generatedEvaluationByEmployer(
+                createTestEvaluation(),
+                new EvaluationEmployerFormData(categories, "Commentaire", 1, "Appréciation", true, 99, "YES", true),
+                "fr", "Jean", "Dupont", "Collège Test", "123 rue Test", "514-555-1234"));
+        int teacherXObjects = countXObjects(pdfGeneratorService.generatedEvaluationByTeacher(
+                createTestEvaluation(), teacherForm, teacherInfo, "fr"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<String, Future<String>> ententes = new LinkedHashMap<>();
+        Map<String, Future<String>> employerEvaluations = new LinkedHashMap<>();
+        List<Future<String>> teacherEvaluations = new ArrayList<>();
+        try {
+            for (int i = 0; i < perKind; i++) {
+                EntenteStage entente = createTestEntente();
+                entente.setMissionsObjectifs("Missions du stage #" + i + ".");
+                ententes.put(entente.getMissionsObjectifs(), executor.submit(() -> {
+                    start.await();
+                    return pdfGeneratorService.genererEntentePDF(entente);
+                }));
+
+                EvaluationEmployerFormData form = new EvaluationEmployerFormData(
+                        categories, "Commentaire", 1, "Appréciation", true, 100 + i, "YES", true);
+                employerEvaluations.put((100 + i) + " hours", executor.submit(() -> {
+                    start.await();
+                    return pdfGeneratorService.generatedEvaluationByEmployer(
+                            createTestEvaluation(), form, "fr", "Jean", "Dupont", "Collège Test", "123 rue Test", "514-555-1234");
+                }));
+
+                teacherEvaluations.add(executor.submit(() -> {
+                    start.await();
+                    return pdfGeneratorService.generatedEvaluationByTeacher(
+                            createTestEvaluation(), teacherForm, teacherInfo, "fr");
+                }));
+            }
+            start.countDown();
+
+            for (Map.Entry<String, Future<String>> entry : ententes.entrySet()) {
+                assertTrue(extractText(entry.getValue().get(60, TimeUnit.SECONDS)).contains(entry.getKey()));
+            }
+            for (Map.Entry<String, Future<String>> entry : employerEvaluations.entrySet()) {
+                String key = entry.getValue().get(60, TimeUnit.SECONDS);
+                assertTrue(extractText(key).contains(entry.getKey()));
+                assertEquals(employerXObjects, countXObjects(key));
+            }
+            for (Future<String> teacherEvaluation : teacherEvaluations) {
+                assertEquals(teacherXObjects, countXObjects(teacherEvaluation.get(60, TimeUnit.SECONDS)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGeneratedEvaluationByEmployer_RendersGlobalFieldsFromRecordAccessors() throws Exception {
+        EvaluationEmployerFormData formData = new EvaluationEmployerFormData(
+                createTestEmployerFormData().categories(),
+                "Commentaire général du superviseur",
+                2,
+                "Appréciation détaillée",
+                true,
+                12,
+                "MAYBE",
+                true);
+
+        String text = extractText(pdfGeneratorService.generatedEvaluationByEmployer(
+                createTestEvaluation(), formData, "fr",
+                "Jean", "Dupont", "Collège Test", "123 rue Test", "514-555-1234"));
+
+        assertTrue(text.contains("Commentaire général du superviseur"));
+        assertTrue(text.contains("Appréciation détaillée"));
+        assertTrue(text.contains("12 hours"));
+    }
+
+    @Test
+    void testGeneratedEvaluationByEmployer_ReusesCheckboxTemplates() throws Exception {
+        String result = pdfGeneratorService.generatedEvaluationByEmployer(
+                createTestEvaluation(), createTestEmployerFormData(), "fr",
+                "Jean", "Dupont", "Collège Test", "123 rue Test", "514-555-1234");
+
+        PdfReader reader = new PdfReader(documentStore.localPath(result).orElseThrow().toString());
+        try {
+            Set<Integer> templates = new HashSet<>();
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                PdfDictionary resources = reader.getPageN(page).getAsDict(PdfName.RESOURCES);
+                PdfDictionary xObjects = resources == null ? null : resources.getAsDict(PdfName.XOBJECT);
+                if (xObjects != null) {
+                    for (PdfName name : xObjects.getKeys()) {
+                        templates.add(xObjects.getAsIndirectObject(name).getNumber());
+                    }
+                }
+            }
+            assertEquals(2, templates.size());
+        } finally {
+            reader.close();
+        }
+    }
+
+    private String extractText(String key) throws Exception {
+        PdfReader reader = new PdfReader(documentStore.localPath(key).orElseThrow().toString());
+        try {
+            StringBuilder text = new StringBuilder();
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                text.append(PdfTextExtractor.getTextFromPage(reader, page)).append('\n');
+            }
+            return text.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private long renderEntentes(EntenteStage entente, int iterations, boolean templateMode) {
+        ReflectionTestUtils.setField(pdfGeneratorService, "ententeTemplateMode", templateMode);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            pdfGeneratorService.genererEntentePDF(entente);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long renderEvaluations(int iterations, boolean reuseCheckboxes) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            renderEvaluation(reuseCheckboxes);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long renderEvaluation(boolean reuseCheckboxes) throws Exception {
+        ReflectionTestUtils.setField(pdfGeneratorService, "reuseCheckboxTemplates", reuseCheckboxes);
+        String key = pdfGeneratorService.generatedEvaluationByEmployer(
+                createTestEvaluation(), createTestEmployerFormData(), "fr",
+                "Jean", "Dupont",
+                "Collège Test", "123 rue Test", "514-555-1234"
+        );
+        return Files.size(documentStore.localPath(key).orElseThrow());
+    }
+
+    private int countPages(String key) throws Exception {
+        PdfReader reader = new PdfReader(documentStore.localPath(key).orElseThrow().toString());
+        try {
+            return reader.getNumberOfPages();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private int countXObjects(String key) throws Exception {
+        PdfReader reader = new PdfReader(documentStore.localPath(key).orElseThrow().toString());
+        try {
+            int count = 0;
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                PdfDictionary resources = reader.getPageN(page).getAsDict(PdfName.RESOURCES);
+                PdfDictionary xObjects = resources == null ? null : resources.getAsDict(PdfName.XOBJECT);
+                if (xObjects != null) {
+                    count += xObjects.size();
+                }
+            }
+            return count;
+        } finally {
+            reader.close();
+        }
+    }
+
     
 
     private EntenteStage createTestEntente() {
@@ -0,0 +1,183 @@
+package ca.cal.leandrose.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import ca.cal.leandrose.model.Cv;
+import ca.cal.leandrose.model.InternshipOffer;
+import ca.cal.leandrose.repository.CvRepository;
+import ca.cal.leandrose.repository.InternshipOfferRepository;
+import ca.cal.leandrose.service.cache.DocumentCache;
+import ca.cal.leandrose.service.event.PdfInspectionRequestedEvent;
+import ca.cal.leandrose.service.event.StatusCountersChangedEvent;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.LocalDocumentStore;
+import ca.cal.leandrose.service.storage.UploadSpooler;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class PdfInspectionServiceTest {
+
+  @TempDir Path tempDir;
+
+  @Mock private CvRepository cvRepository;
+  @Mock private InternshipOfferRepository internshipOfferRepository;
+  @Mock private ApplicationEventPublisher eventPublisher;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private LocalDocumentStore documentStore;
+  private BlobStore blobStore;
+  private PdfInspectionService service;
+
+  @BeforeEach
+  void setUp() {
+    UploadSpooler uploadSpooler = new UploadSpooler();
+    documentStore =
+        spy(
+            new LocalDocumentStore(
+                tempDir.resolve("store").toString(),
+                new DocumentCache(1024 * 1024, 1024 * 1024, 16)));
+    blobStore = new BlobStore(uploadSpooler, documentStore, tempDir.resolve("spool").toString());
+    service =
+        new PdfInspectionService(
+            cvRepository,
+            internshipOfferRepository,
+            documentStore,
+            blobStore,
+            uploadSpooler,
+            eventPublisher,
+            transactionManager,
+            1,
+            4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.stop();
+  }
+
+  @Test
+  void inspect_ReleasesValidCvForReviewWithPageCount() throws Exception {
+    Cv cv = processingCv(store(pdf(3, null)));
+
+    assertTrue(service.inspect(PdfInspectionRequestedEvent.cv(1L)));
+
+    assertEquals(Cv.Status.PENDING, cv.getStatus());
+    assertEquals(3, cv.getPdfPageCount());
+    assertEquals("Curriculum vitae", cv.getPdfTitle());
+    assertEquals("Alice Tremblay", cv.getPdfAuthor());
+    assertNotNull(cv.getPdfProducer());
+    assertNull(cv.getRejectionComment());
+    verify(eventPublisher).publishEvent(any(StatusCountersChangedEvent.class));
+  }
+
+  @Test
+  void inspect_SpoolsDocumentsWithoutLocalPathBeforeParsing() throws Exception {
+    Cv cv = processingCv(store(pdf(2, null)));
+    doReturn(Optional.empty()).when(documentStore).localPath(cv.getPdfPath());
+
+    assertTrue(service.inspect(PdfInspectionRequestedEvent.cv(1L)));
+
+    assertEquals(Cv.Status.PENDING, cv.getStatus());
+    assertEquals(2, cv.getPdfPageCount());
+    try (Stream<Path> spooled = Files.list(blobStore.getSpoolDirectory())) {
+      assertTrue(spooled.noneMatch(Files::isRegularFile));
+    }
+  }
+
+  @Test
+  void inspect_QuarantinesCorruptedCv() throws Exception {
+    byte[] truncated = pdf(2, null);
+    byte[] corrupted = new byte[truncated.length];
+    System.arraycopy(truncated, 0, corrupted, 0, 16);
+    byte[] tail = "\n%%EOF\n".getBytes(StandardCharsets.US_ASCII);
+    System.arraycopy(tail, 0, corrupted, corrupted.length - tail.length, tail.length);
+    Cv cv = processingCv(store(corrupted));
+
+    service.inspect(PdfInspectionRequestedEvent.cv(1L));
+
+    assertEquals(Cv.Status.QUARANTINED, cv.getStatus());
+    assertEquals(PdfInspectionService.MALFORMED, cv.getRejectionComment());
+    assertNull(cv.getPdfPageCount());
+  }
+
+  @Test
+  void inspect_QuarantinesEncryptedOffer() throws Exception {
+    InternshipOffer offer =
+        InternshipOffer.builder()
+            .id(2L)
+            .pdfPath(store(pdf(1, "secret")))
+            .status(InternshipOffer.Status.PROCESSING)
+            .build();
+    when(internshipOfferRepository.findById(2L)).thenReturn(Optional.of(offer));
+
+    service.inspect(PdfInspectionRequestedEvent.offer(2L));
+
+    assertEquals(InternshipOffer.Status.QUARANTINED, offer.getStatus());
+    assertEquals(PdfInspectionService.ENCRYPTED, offer.getRejectionComment());
+    verify(internshipOfferRepository).save(offer);
+  }
+
+  @Test
+  void inspect_SkipsDocumentsNoLongerAwaitingInspection() throws Exception {
+    Cv cv = processingCv(store(pdf(1, null)));
+    cv.setStatus(Cv.Status.APPROVED);
+
+    assertFalse(service.inspect(PdfInspectionRequestedEvent.cv(1L)));
+
+    verify(cvRepository, never()).save(any(Cv.class));
+    verifyNoInteractions(eventPublisher);
+  }
+
+  private Cv processingCv(String key) {
+    Cv cv = Cv.builder().id(1L).pdfPath(key).status(Cv.Status.PROCESSING).build();
+    when(cvRepository.findById(1L)).thenReturn(Optional.of(cv));
+    return cv;
+  }
+
+  private String store(byte[] content) throws Exception {
+    return blobStore.adopt(Files.write(tempDir.resolve("upload.pdf"), content));
+  }
+
+  private static byte[] pdf(int pages, String password) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Document document = new Document();
+    document.addTitle("Curriculum vitae");
+    document.addAuthor("Alice Tremblay");
+    PdfWriter writer = PdfWriter.getInstance(document, out);
+    if (password != null) {
+      writer.setEncryption(
+          password.getBytes(StandardCharsets.UTF_8),
+          password.getBytes(StandardCharsets.UTF_8),
+          PdfWriter.ALLOW_PRINTING,
+          PdfWriter.STANDARD_ENCRYPTION_128);
+    }
+    document.open();
+    for (int page = 1; page <= pages; page++) {
+      if (page > 1) {
+        document.newPage();
+      }
+      document.add(new Paragraph("Page " + page));
+    }
+    document.close();
+    return out.toByteArray();
+  }
+}
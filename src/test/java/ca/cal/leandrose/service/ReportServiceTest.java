@@ -0,0 +1,148 @@
+package ca.cal.leandrose.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import ca.cal.leandrose.model.SchoolTerm;
+import ca.cal.leandrose.service.dto.PlacementReportDto;
+import ca.cal.leandrose.service.dto.ReportDto;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class ReportServiceTest {
+
+  @Mock private JdbcTemplate jdbcTemplate;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @InjectMocks private ReportService reportService;
+
+  @Test
+  void createViews_RecreatesTheViewWhenItsDefinitionChanged() {
+    when(jdbcTemplate.queryForList(
+            contains("from report_refresh"), eq(String.class), eq("report_placement")))
+        .thenReturn(List.of("ancienne"));
+
+    reportService.createViews();
+
+    InOrder inOrder = inOrder(jdbcTemplate);
+    inOrder.verify(jdbcTemplate).queryForList(startsWith("select pg_advisory_xact_lock"));
+    inOrder.verify(jdbcTemplate).execute("drop materialized view if exists report_placement");
+    inOrder
+        .verify(jdbcTemplate)
+        .execute(startsWith("create materialized view report_placement as"));
+    inOrder
+        .verify(jdbcTemplate)
+        .execute(
+            "create unique index report_placement_key on report_placement"
+                + " (dimension, term_key, dimension_key)");
+    inOrder
+        .verify(jdbcTemplate)
+        .update(
+            startsWith("insert into report_refresh"),
+            eq("report_placement"),
+            eq(ReportService.PLACEMENT_DEFINITION));
+  }
+
+  @Test
+  void createViews_KeepsTheViewWhenItsDefinitionIsUnchanged() {
+    when(jdbcTemplate.queryForList(
+            contains("from report_refresh"), eq(String.class), eq("report_placement")))
+        .thenReturn(List.of(ReportService.PLACEMENT_DEFINITION));
+
+    reportService.createViews();
+
+    verify(jdbcTemplate, never()).execute(startsWith("drop materialized view"));
+    verify(jdbcTemplate, never()).execute(startsWith("create materialized view"));
+  }
+
+  @Test
+  void refreshViews_SkipsWhenAnotherNodeHoldsTheLock() {
+    when(jdbcTemplate.queryForObject(
+            startsWith("select pg_try_advisory_xact_lock"), eq(Boolean.class)))
+        .thenReturn(false);
+
+    reportService.refreshViews();
+
+    verify(jdbcTemplate, never()).execute(startsWith("refresh materialized view"));
+    verify(jdbcTemplate, never()).update(startsWith("update report_refresh"), any(Object[].class));
+  }
+
+  @Test
+  void refreshViews_RecordsTheRefreshTimeInTheDatabase() {
+    when(jdbcTemplate.queryForObject(
+            startsWith("select pg_try_advisory_xact_lock"), eq(Boolean.class)))
+        .thenReturn(true);
+
+    reportService.refreshViews();
+
+    InOrder inOrder = inOrder(jdbcTemplate);
+    inOrder.verify(jdbcTemplate).execute("refresh materialized view concurrently report_placement");
+    inOrder
+        .verify(jdbcTemplate)
+        .update(
+            "update report_refresh set refreshed_at = localtimestamp where view_name = ?",
+            "report_placement");
+  }
+
+  @Test
+  void refreshViews_KeepsPreviousFreshnessWhenRefreshFails() {
+    when(jdbcTemplate.queryForObject(
+            startsWith("select pg_try_advisory_xact_lock"), eq(Boolean.class)))
+        .thenReturn(true);
+    doThrow(new DataAccessResourceFailureException("down"))
+        .when(jdbcTemplate)
+        .execute(startsWith("refresh materialized view"));
+
+    assertDoesNotThrow(() -> reportService.refreshViews());
+
+    verify(jdbcTemplate, never()).update(startsWith("update report_refresh"), any(Object[].class));
+    verify(transactionManager).rollback(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void getPlacementReport_FiltersOnDimensionAndTermAndReadsSharedFreshness() {
+    PlacementReportDto row = PlacementReportDto.builder().value("COMPUTER_SCIENCE").build();
+    LocalDateTime refreshedAt = LocalDateTime.of(2026, 3, 2, 8, 30);
+    when(jdbcTemplate.query(
+            contains("where dimension = ? and term_key = ?"),
+            any(RowMapper.class),
+            eq("PROGRAM"),
+            eq(20260)))
+        .thenReturn(List.of(row));
+    when(jdbcTemplate.queryForList(
+            contains("select refreshed_at from report_refresh"),
+            eq(LocalDateTime.class),
+            eq("report_placement")))
+        .thenReturn(List.of(refreshedAt));
+
+    ReportDto<PlacementReportDto> report =
+        reportService.getPlacementReport(
+            ReportService.Dimension.PROGRAM, new SchoolTerm(SchoolTerm.Season.WINTER, 2026));
+
+    assertEquals(List.of(row), report.getRows());
+    assertEquals("report_placement.program", report.getReport());
+    assertEquals(refreshedAt, report.getRefreshedAt());
+  }
+
+  @Test
+  void dimensionFromName_RejectsMissingOrUnknownNames() {
+    assertEquals(
+        Optional.of(ReportService.Dimension.FIELD), ReportService.Dimension.fromName("FIELD"));
+    assertTrue(ReportService.Dimension.fromName(null).isEmpty());
+    assertTrue(ReportService.Dimension.fromName("COLLEGE").isEmpty());
+  }
+}
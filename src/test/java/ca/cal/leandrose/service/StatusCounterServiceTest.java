@@ -0,0 +1,155 @@
+package ca.cal.leandrose.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import ca.cal.leandrose.model.*;
+import ca.cal.leandrose.model.auth.Role;
+import ca.cal.leandrose.repository.CandidatureRepository;
+import ca.cal.leandrose.repository.CvRepository;
+import ca.cal.leandrose.repository.EntenteViewRepository;
+import ca.cal.leandrose.repository.InternshipOfferRepository;
+import ca.cal.leandrose.repository.StatusCount;
+import ca.cal.leandrose.repository.StatusCounterRepository;
+import ca.cal.leandrose.service.dto.StatusCountersDto;
+import ca.cal.leandrose.service.event.StatusCountersChangedEvent;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StatusCounterServiceTest {
+
+  @Mock private StatusCounterRepository statusCounterRepository;
+  @Mock private CvRepository cvRepository;
+  @Mock private InternshipOfferRepository internshipOfferRepository;
+  @Mock private CandidatureRepository candidatureRepository;
+  @Mock private EntenteViewRepository ententeViewRepository;
+
+  @InjectMocks private StatusCounterService statusCounterService;
+
+  @Test
+  void onStatusCountersChanged_MovesOnlyChangedCells() {
+    CounterCell global = new CounterCell(CounterScope.GLOBAL, 0L, "cv.PENDING");
+    CounterCell approved = new CounterCell(CounterScope.GLOBAL, 0L, "cv.APPROVED");
+    CounterCell unchanged = new CounterCell(CounterScope.STUDENT, 5L, "entente.VALIDEE");
+
+    statusCounterService.onStatusCountersChanged(
+        new StatusCountersChangedEvent(Set.of(global, unchanged), Set.of(approved, unchanged)));
+
+    verify(statusCounterRepository).increment("GLOBAL", 0L, "cv.PENDING", -1);
+    verify(statusCounterRepository).increment("GLOBAL", 0L, "cv.APPROVED", 1);
+    verifyNoMoreInteractions(statusCounterRepository);
+  }
+
+  @Test
+  void getCounters_Employeur_SplitsOfferCounters() {
+    when(statusCounterRepository.findAllForEmployeur(3L))
+        .thenReturn(
+            List.of(
+                counter(CounterScope.EMPLOYEUR, 3L, "offer.PUBLISHED", 2),
+                counter(CounterScope.OFFER, 40L, "candidature.PENDING", 4)));
+
+    StatusCountersDto result = statusCounterService.getCounters(Role.EMPLOYEUR, 3L);
+
+    assertEquals(Map.of("offer.PUBLISHED", 2L), result.getCounters());
+    assertEquals(Map.of(40L, Map.of("candidature.PENDING", 4L)), result.getOffers());
+  }
+
+  @Test
+  void getCounters_Gestionnaire_ReadsGlobalScope() {
+    when(statusCounterRepository.findAllByScopeAndScopeId(CounterScope.GLOBAL, 0L))
+        .thenReturn(List.of(counter(CounterScope.GLOBAL, 0L, "cv.PENDING", 7)));
+
+    StatusCountersDto result = statusCounterService.getCounters(Role.GESTIONNAIRE, 1L);
+
+    assertEquals(Map.of("cv.PENDING", 7L), result.getCounters());
+    assertTrue(result.getOffers().isEmpty());
+  }
+
+  @Test
+  void reconcile_CorrectsDriftAndCreatesMissingCells() {
+    StatusCounter drifted = counter(CounterScope.GLOBAL, 0L, "cv.PENDING", 3);
+    StatusCounter stale = counter(CounterScope.GLOBAL, 0L, "cv.REJECTED", 1);
+    when(cvRepository.countByStatusAndStudent())
+        .thenReturn(List.of(statusCount(Cv.Status.PENDING, 5L, 1)));
+    when(statusCounterRepository.findAll()).thenReturn(List.of(drifted, stale));
+
+    statusCounterService.reconcile();
+
+    assertEquals(1L, drifted.getValue());
+    assertEquals(0L, stale.getValue());
+    ArgumentCaptor<StatusCounter> created = ArgumentCaptor.forClass(StatusCounter.class);
+    verify(statusCounterRepository).save(created.capture());
+    assertEquals(CounterScope.STUDENT, created.getValue().getScope());
+    assertEquals(5L, created.getValue().getScopeId());
+    assertEquals(1L, created.getValue().getValue());
+    verify(statusCounterRepository).lockExclusively();
+    verify(cvRepository, never()).findAll();
+    verify(statusCounterRepository, never()).increment(any(), any(), any(), anyLong());
+  }
+
+  @Test
+  void reconcile_CountsEntenteCellsFromGroupedQueries() {
+    EntenteStage.StatutEntente awaiting = EntenteStage.StatutEntente.EN_ATTENTE_SIGNATURE;
+    when(ententeViewRepository.countByStatutAndEmployeur())
+        .thenReturn(List.of(statusCount(awaiting, 3L, 2)));
+    when(ententeViewRepository.countAwaitingEmployeurSignature(awaiting))
+        .thenReturn(List.of(statusCount(awaiting, 3L, 1)));
+    when(ententeViewRepository.countByStatutAndDateSignatureGestionnaireIsNull(awaiting))
+        .thenReturn(2L);
+    when(statusCounterRepository.findAll()).thenReturn(List.of());
+
+    statusCounterService.reconcile();
+
+    ArgumentCaptor<StatusCounter> created = ArgumentCaptor.forClass(StatusCounter.class);
+    verify(statusCounterRepository, times(4)).save(created.capture());
+    Map<CounterCell, Long> cells =
+        created.getAllValues().stream()
+            .collect(Collectors.toMap(StatusCounter::toCell, StatusCounter::getValue));
+    assertEquals(
+        Map.of(
+            new CounterCell(CounterScope.GLOBAL, 0L, "entente.EN_ATTENTE_SIGNATURE"), 2L,
+            new CounterCell(CounterScope.EMPLOYEUR, 3L, "entente.EN_ATTENTE_SIGNATURE"), 2L,
+            new CounterCell(CounterScope.EMPLOYEUR, 3L, CounterCell.ENTENTE_AWAITING_SIGNATURE),
+            1L,
+            new CounterCell(CounterScope.GLOBAL, 0L, CounterCell.ENTENTE_AWAITING_SIGNATURE), 2L),
+        cells);
+  }
+
+  private static StatusCount statusCount(Enum<?> status, Long scopeId, long count) {
+    return new StatusCount() {
+      @Override
+      public Enum<?> getStatus() {
+        return status;
+      }
+
+      @Override
+      public Long getScopeId() {
+        return scopeId;
+      }
+
+      @Override
+      public long getCount() {
+        return count;
+      }
+    };
+  }
+
+  private static StatusCounter counter(CounterScope scope, Long scopeId, String key, long value) {
+    return StatusCounter.builder()
+        .scope(scope)
+        .scopeId(scopeId)
+        .counterKey(key)
+        .value(value)
+        .build();
+  }
+}
@@ -20,6 +20,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 class StudentServiceTest {
@@ -29,6 +30,7 @@ class StudentServiceTest {
   @Mock private PasswordEncoder passwordEncoder;
 
   @Mock private EntenteStageRepository ententeStageRepository;
+  @Mock private ApplicationEventPublisher eventPublisher;
 
   @InjectMocks private StudentService studentService;
 
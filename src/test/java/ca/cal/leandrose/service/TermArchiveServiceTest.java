@@ -0,0 +1,156 @@
+package ca.cal.leandrose.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+import ca.cal.leandrose.model.SchoolTerm;
+import ca.cal.leandrose.repository.CvRepository;
+import ca.cal.leandrose.repository.EntenteStageRepository;
+import ca.cal.leandrose.repository.EvaluationStagiaireRepository;
+import ca.cal.leandrose.service.cache.DocumentCache;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.LocalDocumentStore;
+import ca.cal.leandrose.service.storage.TermArchiveStore;
+import ca.cal.leandrose.service.storage.TieredDocumentStore;
+import ca.cal.leandrose.service.storage.UploadSpooler;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class TermArchiveServiceTest {
+
+  private static final int TERM = 20242;
+
+  @TempDir Path tempDir;
+
+  @Mock private BlobMaintenanceService blobMaintenanceService;
+  @Mock private FileCleanupService fileCleanupService;
+  @Mock private CvRepository cvRepository;
+  @Mock private EntenteStageRepository ententeStageRepository;
+  @Mock private EvaluationStagiaireRepository evaluationStagiaireRepository;
+  @Mock private PlatformTransactionManager transactionManager;
+  @Mock private JdbcTemplate jdbcTemplate;
+  @Mock private Connection connection;
+  @Mock private PreparedStatement statement;
+  @Mock private ResultSet lockResult;
+
+  private TermArchiveStore termArchiveStore;
+  private TieredDocumentStore documentStore;
+  private BlobStore blobStore;
+  private TermArchiveService service;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    LocalDocumentStore driver =
+        new LocalDocumentStore(
+            tempDir.resolve("store").toString(), new DocumentCache(1024 * 1024, 1024 * 1024, 16));
+    termArchiveStore =
+        new TermArchiveStore(driver, new UploadSpooler(), tempDir.resolve("spool").toString());
+    documentStore = new TieredDocumentStore(driver, termArchiveStore);
+    blobStore =
+        new BlobStore(new UploadSpooler(), documentStore, tempDir.resolve("spool").toString());
+    service =
+        new TermArchiveService(
+            termArchiveStore,
+            documentStore,
+            blobMaintenanceService,
+            fileCleanupService,
+            cvRepository,
+            ententeStageRepository,
+            evaluationStagiaireRepository,
+            transactionManager,
+            jdbcTemplate,
+            1);
+    lenient()
+        .when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+        .thenAnswer(
+            invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+    lenient().when(connection.prepareStatement(anyString())).thenReturn(statement);
+    lenient().when(statement.executeQuery()).thenReturn(lockResult);
+    lenient().when(lockResult.next()).thenReturn(true);
+    lenient().when(lockResult.getBoolean(1)).thenReturn(true);
+  }
+
+  @Test
+  void archiveTerm_PacksTermDocumentsAndRelocatesReferences() throws Exception {
+    String entente = blobStore.adopt(Files.writeString(tempDir.resolve("e.pdf"), "ENTENTE"));
+    String evaluation = blobStore.adopt(Files.writeString(tempDir.resolve("v.pdf"), "EVALUATION"));
+    String cv = blobStore.adopt(Files.writeString(tempDir.resolve("c.pdf"), "CV"));
+    when(ententeStageRepository.findBlobPathsByTermKey(TERM)).thenReturn(List.of(entente));
+    when(evaluationStagiaireRepository.findEmployerBlobPathsByTermKey(TERM))
+        .thenReturn(List.of(evaluation));
+    when(evaluationStagiaireRepository.findProfessorBlobPathsByTermKey(TERM)).thenReturn(List.of());
+    when(cvRepository.findBlobPathsByTerm(SchoolTerm.Season.FALL, 2024)).thenReturn(List.of(cv));
+
+    assertEquals(3, service.archiveTerm(TERM));
+
+    String sha256 = BlobStore.hashOf(evaluation).orElseThrow();
+    String locator = TermArchiveStore.locatorFor(TERM, sha256);
+    verify(blobMaintenanceService).relocateTerm(TERM, evaluation, locator, sha256);
+    verify(fileCleanupService).schedule(evaluation);
+    verify(fileCleanupService).schedule(entente);
+    verify(fileCleanupService).schedule(cv);
+    assertEquals("EVALUATION", new String(documentStore.get(locator).getContentAsByteArray()));
+    assertTrue(documentStore.exists(evaluation));
+    assertTrue(documentStore.exists(TermArchiveStore.packKey(TERM)));
+    assertTrue(documentStore.exists(TermArchiveStore.indexKey(TERM)));
+    verify(connection).prepareStatement(contains("pg_advisory_unlock"));
+  }
+
+  @Test
+  void archiveTerm_SkipsTermLockedByAnotherNode() throws Exception {
+    when(lockResult.getBoolean(1)).thenReturn(false);
+
+    assertEquals(0, service.archiveTerm(TERM));
+
+    verify(ententeStageRepository, never()).findBlobPathsByTermKey(anyInt());
+    verify(connection, never()).prepareStatement(contains("pg_advisory_unlock"));
+    verifyNoInteractions(blobMaintenanceService, fileCleanupService);
+  }
+
+  @Test
+  void archiveTerm_SkipsMissingBlobs() throws Exception {
+    String missing = BlobStore.keyFor("ab".repeat(32));
+    when(ententeStageRepository.findBlobPathsByTermKey(TERM)).thenReturn(List.of(missing));
+    when(evaluationStagiaireRepository.findEmployerBlobPathsByTermKey(TERM)).thenReturn(List.of());
+    when(evaluationStagiaireRepository.findProfessorBlobPathsByTermKey(TERM)).thenReturn(List.of());
+    when(cvRepository.findBlobPathsByTerm(SchoolTerm.Season.FALL, 2024)).thenReturn(List.of());
+
+    assertEquals(0, service.archiveTerm(TERM));
+
+    verifyNoInteractions(blobMaintenanceService, fileCleanupService);
+    assertFalse(documentStore.exists(TermArchiveStore.indexKey(TERM)));
+  }
+
+  @Test
+  void archiveFinishedTerms_KeepsRetainedTermsLoose() {
+    int cutoff = SchoolTerm.getCurrentTerm().calculatePreviousTerm().toTermKey();
+    when(ententeStageRepository.findTermKeysWithBlobsBefore(cutoff)).thenReturn(List.of());
+    when(evaluationStagiaireRepository.findTermKeysWithBlobsBefore(cutoff)).thenReturn(List.of());
+    when(cvRepository.findTermsWithBlobs())
+        .thenReturn(List.of(SchoolTerm.getCurrentTerm(), SchoolTerm.getNextTerm()));
+
+    service.archiveFinishedTerms();
+
+    verify(ententeStageRepository, never()).findBlobPathsByTermKey(anyInt());
+    verifyNoInteractions(blobMaintenanceService, fileCleanupService);
+  }
+}
@@ -0,0 +1,168 @@
+package ca.cal.leandrose.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import ca.cal.leandrose.model.EntenteStage;
+import ca.cal.leandrose.model.EntenteView;
+import ca.cal.leandrose.model.EvaluationStagiaire;
+import ca.cal.leandrose.model.SchoolTerm;
+import ca.cal.leandrose.repository.EntenteViewRepository;
+import ca.cal.leandrose.repository.EvaluationStagiaireRepository;
+import ca.cal.leandrose.service.cache.DocumentCache;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.LocalDocumentStore;
+import ca.cal.leandrose.service.storage.UploadSpooler;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TermExportServiceTest {
+
+  private static final SchoolTerm TERM = new SchoolTerm(SchoolTerm.Season.FALL, 2025);
+
+  @TempDir Path tempDir;
+
+  @Mock private EntenteViewRepository ententeViewRepository;
+  @Mock private EvaluationStagiaireRepository evaluationStagiaireRepository;
+
+  private BlobStore blobStore;
+  private TermExportService service;
+
+  @BeforeEach
+  void setUp() {
+    LocalDocumentStore documentStore =
+        new LocalDocumentStore(
+            tempDir.resolve("store").toString(), new DocumentCache(1024 * 1024, 1024 * 1024, 16));
+    blobStore =
+        new BlobStore(new UploadSpooler(), documentStore, tempDir.resolve("spool").toString());
+    service =
+        new TermExportService(
+            ententeViewRepository,
+            evaluationStagiaireRepository,
+            documentStore,
+            2,
+            Duration.ofMinutes(30));
+  }
+
+  @Test
+  void export_StreamsEntentesEvaluationsAndManifest() throws Exception {
+    String entente = blobStore.adopt(Files.writeString(tempDir.resolve("e.pdf"), "ENTENTE"));
+    String employer = blobStore.adopt(Files.writeString(tempDir.resolve("v.pdf"), "EMPLOYEUR"));
+    EntenteView view = view(1L, entente, 10L);
+    EvaluationStagiaire evaluation =
+        EvaluationStagiaire.builder().id(10L).employerPdfFilePath(employer).build();
+    when(ententeViewRepository.findExportPage(
+            eq(SchoolTerm.Season.FALL),
+            eq(2025),
+            isNull(),
+            isNull(),
+            isNull(),
+            eq(0L),
+            any()))
+        .thenReturn(List.of(view));
+    when(evaluationStagiaireRepository.findAllById(List.of(10L))).thenReturn(List.of(evaluation));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(2, service.export(TERM, TermExportService.Filter.NONE, out));
+
+    Map<String, String> entries = unzip(out.toByteArray());
+    assertEquals(
+        List.of(
+            "ententes/entente_1.pdf",
+            "evaluations/evaluation_10_employeur.pdf",
+            TermExportService.MANIFEST),
+        List.copyOf(entries.keySet()));
+    assertEquals("ENTENTE", entries.get("ententes/entente_1.pdf"));
+    assertEquals("EMPLOYEUR", entries.get("evaluations/evaluation_10_employeur.pdf"));
+    String manifest = entries.get(TermExportService.MANIFEST);
+    assertTrue(
+        manifest.contains(
+            "\"ententes/entente_1.pdf\",ENTENTE,1,10,\"Tremblay, Léa\",\"2212345\","
+                + "\"COMPUTER_SCIENCE\",\"Acme \"\"Québec\"\"\",VALIDEE,7,INCLUS"));
+  }
+
+  @Test
+  void export_PagesThroughEntentesByKeyset() throws Exception {
+    String entente = blobStore.adopt(Files.writeString(tempDir.resolve("e.pdf"), "ENTENTE"));
+    TermExportService.Filter filter =
+        new TermExportService.Filter("COMPUTER_SCIENCE", 7L, EntenteStage.StatutEntente.VALIDEE);
+    when(ententeViewRepository.findExportPage(
+            any(), anyInt(), any(), any(), any(), anyLong(), any()))
+        .thenReturn(List.of(view(1L, entente, null), view(2L, entente, null)))
+        .thenReturn(List.of(view(3L, entente, null)));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(3, service.export(TERM, filter, out));
+
+    verify(ententeViewRepository)
+        .findExportPage(
+            eq(SchoolTerm.Season.FALL),
+            eq(2025),
+            eq("COMPUTER_SCIENCE"),
+            eq(7L),
+            eq(EntenteStage.StatutEntente.VALIDEE),
+            eq(0L),
+            any());
+    verify(ententeViewRepository)
+        .findExportPage(any(), anyInt(), any(), any(), any(), eq(2L), any());
+    verifyNoInteractions(evaluationStagiaireRepository);
+    assertEquals(4, unzip(out.toByteArray()).size());
+  }
+
+  @Test
+  void export_ListsMissingDocumentsInManifest() throws Exception {
+    String missing = BlobStore.keyFor("ab".repeat(32));
+    when(ententeViewRepository.findExportPage(
+            any(), anyInt(), any(), any(), any(), anyLong(), any()))
+        .thenReturn(List.of(view(1L, missing, null)));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(0, service.export(TERM, TermExportService.Filter.NONE, out));
+
+    Map<String, String> entries = unzip(out.toByteArray());
+    assertEquals(List.of(TermExportService.MANIFEST), List.copyOf(entries.keySet()));
+    assertTrue(entries.get(TermExportService.MANIFEST).contains(",0,MANQUANT\r\n"));
+  }
+
+  private static EntenteView view(Long ententeId, String pdf, Long evaluationId) {
+    return EntenteView.builder()
+        .ententeId(ententeId)
+        .studentFirstName("Léa")
+        .studentLastName("Tremblay")
+        .studentNumber("2212345")
+        .studentProgram("COMPUTER_SCIENCE")
+        .companyName("Acme \"Québec\"")
+        .schoolTerm(TERM)
+        .statut(EntenteStage.StatutEntente.VALIDEE)
+        .cheminDocumentPDF(pdf)
+        .evaluationId(evaluationId)
+        .build();
+  }
+
+  private static Map<String, String> unzip(byte[] archive) throws Exception {
+    Map<String, String> entries = new LinkedHashMap<>();
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+      ZipEntry entry;
+      while ((entry = zip.getNextEntry()) != null) {
+        entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+      }
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,63 @@
+package ca.cal.leandrose.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.and;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class TermKeyBackfillServiceTest {
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @InjectMocks private TermKeyBackfillService backfillService;
+
+  @Test
+  void backfillTermKeys_FillsOnlyRowsWithoutTermKey() {
+    backfillService.backfillTermKeys();
+
+    for (String table : TermKeyBackfillService.TERM_KEYED_TABLES.keySet()) {
+      verify(jdbcTemplate)
+          .update(
+              and(
+                  startsWith("update " + table + " t set term_key = o.year * 10 + (case"),
+                  endsWith(" and t.term_key is null")));
+    }
+    verifyNoMoreInteractions(jdbcTemplate);
+  }
+
+  @Test
+  void backfillSql_MapsSeasonsToTheirOrdinal() {
+    String sql =
+        TermKeyBackfillService.backfillSql(
+            "candidature", "from internship_offer o where o.id = t.internship_offer_id");
+
+    assertEquals(
+        "update candidature t set term_key = o.year * 10 + (case o.season"
+            + " when 'WINTER' then 0 when 'SUMMER' then 1 when 'FALL' then 2 end)"
+            + " from internship_offer o where o.id = t.internship_offer_id"
+            + " and t.term_key is null",
+        sql);
+  }
+
+  @Test
+  void backfillTermKeys_ContinuesWhenTableFails() {
+    lenient()
+        .doThrow(new DataAccessResourceFailureException("down"))
+        .when(jdbcTemplate)
+        .update(startsWith("update candidature "));
+
+    assertDoesNotThrow(() -> backfillService.backfillTermKeys());
+
+    verify(jdbcTemplate).update(startsWith("update entente_stage "));
+    verify(jdbcTemplate).update(startsWith("update evaluation_stagiaire "));
+  }
+}
@@ -0,0 +1,198 @@
+package ca.cal.leandrose.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import ca.cal.leandrose.model.UploadSession;
+import ca.cal.leandrose.repository.UploadSessionRepository;
+import ca.cal.leandrose.service.dto.UploadSessionDto;
+import ca.cal.leandrose.service.storage.BlobStore;
+import ca.cal.leandrose.service.storage.ChunkedUploadStore;
+import ca.cal.leandrose.service.storage.UploadSpooler;
+import jakarta.persistence.EntityNotFoundException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSessionServiceTest {
+
+  private static final Long OWNER = 42L;
+  private static final byte[] CONTENT = "%PDF-1.4 contenu".getBytes(StandardCharsets.UTF_8);
+
+  @TempDir Path tempDir;
+
+  @Mock private UploadSessionRepository uploadSessionRepository;
+
+  private ChunkedUploadStore chunkedUploadStore;
+  private UploadSessionService service;
+
+  @BeforeEach
+  void setUp() {
+    UploadSpooler uploadSpooler = new UploadSpooler();
+    chunkedUploadStore =
+        new ChunkedUploadStore(
+            uploadSpooler, new BlobStore(uploadSpooler, null, tempDir.toString()));
+    service =
+        new UploadSessionService(
+            uploadSessionRepository, chunkedUploadStore, Duration.ofHours(24), 1);
+  }
+
+  @Test
+  void create_RejectsFilesAboveTheSessionLimit() {
+    IllegalArgumentException error =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                service.create(
+                    OWNER, UploadSession.Purpose.CV, "cv.pdf", "application/pdf", 2_000_000));
+
+    assertEquals("Fichier trop volumineux. Taille maximale : 1 Mo", error.getMessage());
+    verifyNoInteractions(uploadSessionRepository);
+  }
+
+  @Test
+  void uploadInChunks_HandsTheAssembledFileToCompletion() throws Exception {
+    UploadSessionDto created = create();
+
+    UploadSessionDto progress = service.append(created.getId(), OWNER, purpose(), 0, chunk(0, 5));
+    assertEquals(5, progress.getOffset());
+    assertEquals(5, service.getStatus(created.getId(), OWNER, purpose()).getOffset());
+    service.append(created.getId(), OWNER, purpose(), 5, chunk(5, CONTENT.length));
+
+    String stored =
+        service.complete(
+            created.getId(),
+            OWNER,
+            purpose(),
+            null,
+            (session, upload) -> {
+              assertEquals("cv.pdf", session.getFilename());
+              return Files.readString(upload.getFile());
+            });
+
+    assertEquals(new String(CONTENT, StandardCharsets.UTF_8), stored);
+    verify(uploadSessionRepository).delete(any(UploadSession.class));
+    assertThrows(NoSuchFileException.class, () -> chunkedUploadStore.offset(created.getId()));
+  }
+
+  @Test
+  void complete_RejectsIncompleteUploadsAndKeepsTheSession() throws Exception {
+    UploadSessionDto created = create();
+    service.append(created.getId(), OWNER, purpose(), 0, chunk(0, 5));
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> service.complete(created.getId(), OWNER, purpose(), null, (s, u) -> "ok"));
+
+    verify(uploadSessionRepository, never()).delete(any(UploadSession.class));
+    assertEquals(5, chunkedUploadStore.offset(created.getId()));
+  }
+
+  @Test
+  void complete_RejectsChecksumMismatchAndKeepsTheUpload() throws Exception {
+    UploadSessionDto created = create();
+    service.append(created.getId(), OWNER, purpose(), 0, chunk(0, CONTENT.length));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            service.complete(
+                created.getId(), OWNER, purpose(), "00".repeat(32), (s, u) -> "ok"));
+
+    verify(uploadSessionRepository, never()).delete(any(UploadSession.class));
+    assertEquals(CONTENT.length, chunkedUploadStore.offset(created.getId()));
+  }
+
+  @Test
+  void complete_KeepsTheUploadWhenTheDocumentIsRejected() throws Exception {
+    UploadSessionDto created = create();
+    service.append(created.getId(), OWNER, purpose(), 0, chunk(0, CONTENT.length));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            service.complete(
+                created.getId(),
+                OWNER,
+                purpose(),
+                null,
+                (s, u) -> {
+                  throw new IllegalArgumentException("Le fichier n'est pas un PDF valide.");
+                }));
+
+    verify(uploadSessionRepository, never()).delete(any(UploadSession.class));
+    assertEquals(
+        new String(CONTENT, StandardCharsets.UTF_8),
+        service.complete(
+            created.getId(), OWNER, purpose(), null, (s, u) -> Files.readString(u.getFile())));
+  }
+
+  @Test
+  void sessionsOfOtherOwnersAreNotFound() {
+    when(uploadSessionRepository.findByIdAndOwnerIdAndPurpose("id", 7L, purpose()))
+        .thenReturn(Optional.empty());
+
+    assertThrows(EntityNotFoundException.class, () -> service.getStatus("id", 7L, purpose()));
+  }
+
+  @Test
+  void expireSessions_DiscardsExpiredSessions() throws Exception {
+    UploadSessionDto created = create();
+    UploadSession expired =
+        UploadSession.builder()
+            .id(created.getId())
+            .expiresAt(Instant.now().minusSeconds(1))
+            .build();
+    when(uploadSessionRepository.findAllByExpiresAtBefore(any())).thenReturn(List.of(expired));
+
+    assertEquals(1, service.expireSessions());
+
+    verify(uploadSessionRepository).delete(expired);
+    assertThrows(NoSuchFileException.class, () -> chunkedUploadStore.offset(created.getId()));
+  }
+
+  private UploadSessionDto create() throws Exception {
+    when(uploadSessionRepository.save(any(UploadSession.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    UploadSessionDto created =
+        service.create(OWNER, purpose(), "cv.pdf", "application/pdf", CONTENT.length);
+    UploadSession session =
+        UploadSession.builder()
+            .id(created.getId())
+            .ownerId(OWNER)
+            .purpose(purpose())
+            .filename("cv.pdf")
+            .contentType("application/pdf")
+            .size(CONTENT.length)
+            .expiresAt(created.getExpiresAt())
+            .build();
+    lenient()
+        .when(
+            uploadSessionRepository.findByIdAndOwnerIdAndPurpose(
+                created.getId(), OWNER, purpose()))
+        .thenReturn(Optional.of(session));
+    return created;
+  }
+
+  private static UploadSession.Purpose purpose() {
+    return UploadSession.Purpose.CV;
+  }
+
+  private static ByteArrayInputStream chunk(int from, int to) {
+    return new ByteArrayInputStream(CONTENT, from, to - from);
+  }
+}
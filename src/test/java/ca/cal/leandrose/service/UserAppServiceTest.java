@@ -18,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 class UserAppServiceTest {
@@ -31,6 +32,7 @@ class UserAppServiceTest {
     @Mock private GestionnaireRepository gestionnaireRepository;
     @Mock private ProfRepository profRepository;
     @Mock private PasswordEncoder passwordEncoder;
+    @Mock private ApplicationEventPublisher eventPublisher;
     @InjectMocks private UserAppService userAppService;
 
     @BeforeEach
@@ -0,0 +1,136 @@
+package ca.cal.leandrose.service.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+  @Test
+  void get_EvictsLeastRecentlyUsedEntryWhenFull() {
+    BoundedCache<String, String> cache = new BoundedCache<>("test", 2, Duration.ZERO);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get("a", key -> key + loads.incrementAndGet());
+    cache.get("b", key -> key + loads.incrementAndGet());
+    cache.get("a", key -> key + loads.incrementAndGet());
+    cache.get("c", key -> key + loads.incrementAndGet());
+    cache.get("a", key -> key + loads.incrementAndGet());
+    cache.get("b", key -> key + loads.incrementAndGet());
+
+    assertEquals(4, loads.get());
+    assertEquals(2, cache.size());
+    assertEquals(2, cache.stats().getEvictions());
+  }
+
+  @Test
+  void get_ReloadsExpiredEntry() {
+    MutableClock clock = new MutableClock();
+    BoundedCache<String, Integer> cache =
+        new BoundedCache<>("test", 10, Duration.ofMinutes(5), clock);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get("a", key -> loads.incrementAndGet());
+    clock.advance(Duration.ofMinutes(4));
+    cache.get("a", key -> loads.incrementAndGet());
+    clock.advance(Duration.ofMinutes(2));
+    int value = cache.get("a", key -> loads.incrementAndGet());
+
+    assertEquals(2, value);
+    assertEquals(1, cache.stats().getHits());
+  }
+
+  @Test
+  void get_DoesNotStoreValueLoadedAcrossAnInvalidation() {
+    BoundedCache<String, String> cache = new BoundedCache<>("test", 10, Duration.ZERO);
+
+    String stale =
+        cache.get(
+            "a",
+            key -> {
+              cache.invalidate(key);
+              return "stale";
+            });
+    String fresh = cache.get("a", key -> "fresh");
+
+    assertEquals("stale", stale);
+    assertEquals("fresh", fresh);
+    assertEquals(2, cache.stats().getMisses());
+  }
+
+  @Test
+  void get_CoalescesConcurrentLoadsOfTheSameKey() throws Exception {
+    BoundedCache<String, Integer> cache = new BoundedCache<>("test", 10, Duration.ZERO);
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<Integer> leader =
+          executor.submit(
+              () ->
+                  cache.get(
+                      "a",
+                      key -> {
+                        started.countDown();
+                        try {
+                          release.await();
+                        } catch (InterruptedException e) {
+                          Thread.currentThread().interrupt();
+                        }
+                        return loads.incrementAndGet();
+                      }));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      Future<Integer> follower = executor.submit(() -> cache.get("a", key -> -1));
+      while (cache.stats().getMisses() < 2) {
+        Thread.onSpinWait();
+      }
+      release.countDown();
+
+      assertEquals(1, leader.get(5, TimeUnit.SECONDS));
+      assertEquals(1, follower.get(5, TimeUnit.SECONDS));
+      assertEquals(1, loads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void constructor_RejectsNonPositiveSize() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new BoundedCache<>("test", 0, Duration.ZERO));
+  }
+
+  private static class MutableClock extends Clock {
+    private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(java.time.ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
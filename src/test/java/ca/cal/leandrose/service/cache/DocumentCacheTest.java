@@ -0,0 +1,133 @@
+package ca.cal.leandrose.service.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+class DocumentCacheTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void read_ServesRepeatedReadsFromOffHeapBuffer() throws Exception {
+    Path pdf = Files.writeString(tempDir.resolve("offre.pdf"), "PDF_CONTENT");
+    DocumentCache cache = new DocumentCache(1024, 1024, 16);
+
+    ByteBuffer first = cache.read(pdf);
+    ByteBuffer second = cache.read(pdf);
+
+    assertTrue(first.isDirect());
+    assertTrue(first.isReadOnly());
+    assertEquals("PDF_CONTENT", StandardCharsets.UTF_8.decode(second).toString());
+    assertEquals(11, first.remaining());
+    assertEquals(1, cache.getStats().getHits());
+    assertEquals(11, cache.getStats().getWeight());
+  }
+
+  @Test
+  void read_ReloadsWhenFileIsReplaced() throws Exception {
+    Path pdf = Files.writeString(tempDir.resolve("cv.pdf"), "ANCIEN");
+    DocumentCache cache = new DocumentCache(1024, 1024, 16);
+    cache.read(pdf);
+
+    Files.writeString(pdf, "NOUVEAU");
+    Files.setLastModifiedTime(pdf, FileTime.from(Instant.now().plusSeconds(5)));
+
+    assertEquals("NOUVEAU", StandardCharsets.UTF_8.decode(cache.read(pdf)).toString());
+    assertEquals(2, cache.getStats().getMisses());
+  }
+
+  @Test
+  void invalidate_ReleasesEntriesForDeletedFile() throws Exception {
+    Path pdf = Files.writeString(tempDir.resolve("entente.pdf"), "ENTENTE");
+    DocumentCache cache = new DocumentCache(1024, 1024, 16);
+    cache.read(pdf);
+
+    Files.delete(pdf);
+    cache.invalidate(pdf);
+
+    assertEquals(0, cache.getStats().getWeight());
+    assertThrows(NoSuchFileException.class, () -> cache.read(pdf));
+  }
+
+  @Test
+  void read_EvictsLeastRecentlyUsedBeyondByteBudget() throws Exception {
+    Path first = Files.writeString(tempDir.resolve("a.pdf"), "0123456789");
+    Path second = Files.writeString(tempDir.resolve("b.pdf"), "0123456789");
+    DocumentCache cache = new DocumentCache(15, 15, 16);
+
+    cache.read(first);
+    cache.read(second);
+
+    assertEquals(1, cache.getStats().getSize());
+    assertEquals(1, cache.getStats().getEvictions());
+  }
+
+  @Test
+  void read_MapsDocumentsLargerThanEntryLimitWithoutCaching() throws Exception {
+    Path pdf = Files.writeString(tempDir.resolve("gros.pdf"), "0123456789");
+    DocumentCache cache = new DocumentCache(1024, 4, 16);
+
+    ByteBuffer content = cache.read(pdf);
+
+    assertTrue(content.isDirect());
+    assertEquals(10, content.remaining());
+    assertEquals(0, cache.getStats().getSize());
+  }
+
+  @Test
+  void getResource_StreamsWithoutConsumingCachedBuffer() throws Exception {
+    Path pdf = Files.writeString(tempDir.resolve("offre.pdf"), "PDF_CONTENT");
+    DocumentCache cache = new DocumentCache(1024, 1024, 16);
+
+    Resource first = cache.getResource(pdf);
+    Resource second = cache.getResource(pdf);
+
+    assertEquals("offre.pdf", first.getFilename());
+    assertEquals(11, first.contentLength());
+    assertEquals("PDF_CONTENT", first.getContentAsString(StandardCharsets.UTF_8));
+    assertEquals("PDF_CONTENT", second.getContentAsString(StandardCharsets.UTF_8));
+    assertEquals("PDF_CONTENT", first.getContentAsString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void getResource_ServesCachedDocumentsFromMemoryAndLargeOnesFromDisk() throws Exception {
+    Path small = Files.writeString(tempDir.resolve("cv.pdf"), "PDF");
+    Path large = Files.writeString(tempDir.resolve("gros.pdf"), "0123456789");
+    DocumentCache cache = new DocumentCache(1024, 4, 16);
+
+    Resource cached = cache.getResource(small);
+    Resource mapped = cache.getResource(large);
+
+    assertInstanceOf(CachedDocumentResource.class, cached);
+    assertFalse(cached.isFile());
+    assertInstanceOf(FileSystemResource.class, mapped);
+    assertTrue(mapped.isFile());
+    assertEquals(10, mapped.contentLength());
+    assertEquals(1, cache.getStats().getSize());
+  }
+
+  @Test
+  void getResource_ServesHitsWithoutReadingTheFileAgain() throws Exception {
+    Path pdf = Files.writeString(tempDir.resolve("entente.pdf"), "ORIGINAL");
+    FileTime modified = Files.getLastModifiedTime(pdf);
+    DocumentCache cache = new DocumentCache(1024, 1024, 16);
+    cache.getResource(pdf);
+
+    Files.writeString(pdf, "MODIFIE!");
+    Files.setLastModifiedTime(pdf, modified);
+    Resource hit = cache.getResource(pdf);
+
+    assertEquals("ORIGINAL", hit.getContentAsString(StandardCharsets.UTF_8));
+  }
+}
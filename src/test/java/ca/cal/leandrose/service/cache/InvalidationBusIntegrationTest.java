@@ -0,0 +1,125 @@
+package ca.cal.leandrose.service.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ca.cal.leandrose.LeandrOseApplication;
+import ca.cal.leandrose.model.SchoolTerm;
+import ca.cal.leandrose.service.OfferCatalogService;
+import ca.cal.leandrose.service.event.CacheInvalidationEvent;
+import ca.cal.leandrose.service.event.ResponseDataChangedEvent;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class InvalidationBusIntegrationTest {
+
+  private static final String PROGRAM = "program.computer_science";
+
+  private static ConfigurableApplicationContext otherNode;
+  private static final List<Object> receivedByOtherNode = new CopyOnWriteArrayList<>();
+
+  @Autowired private InvalidationBus invalidationBus;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @BeforeAll
+  static void startOtherNode() {
+    otherNode =
+        new SpringApplicationBuilder(LeandrOseApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties("spring.jpa.hibernate.ddl-auto=none")
+            .run();
+    otherNode.addApplicationListener(ApplicationListener.forPayload(receivedByOtherNode::add));
+  }
+
+  @AfterAll
+  static void stopOtherNode() {
+    if (otherNode != null) {
+      otherNode.close();
+    }
+  }
+
+  @Test
+  void publish_EvictsOfferCatalogOnOtherNode() {
+    OfferCatalogService remoteCatalog = otherNode.getBean(OfferCatalogService.class);
+    remoteCatalog.getPublishedOffers(PROGRAM, SchoolTerm.getCurrentTerm());
+    assertEquals(1, remoteCatalog.getStats().getSize());
+
+    transactionTemplate.executeWithoutResult(
+        status ->
+            invalidationBus.publish(
+                new CacheInvalidationEvent(CacheInvalidationEvent.OFFER, 1L, null)));
+
+    assertTrue(eventually(() -> remoteCatalog.getStats().getSize() == 0));
+  }
+
+  @Test
+  void publish_IsDeliveredOnlyWhenTransactionCommits() {
+    CacheInvalidationEvent rolledBack =
+        new CacheInvalidationEvent(CacheInvalidationEvent.ENTENTE, 10L, 1L);
+    CacheInvalidationEvent committed =
+        new CacheInvalidationEvent(CacheInvalidationEvent.ENTENTE, 11L, 2L);
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          invalidationBus.publish(rolledBack);
+          status.setRollbackOnly();
+        });
+    transactionTemplate.executeWithoutResult(status -> invalidationBus.publish(committed));
+
+    assertTrue(eventually(() -> receivedByOtherNode.contains(committed)));
+    assertFalse(receivedByOtherNode.contains(rolledBack));
+  }
+
+  @Test
+  void onResponseDataChanged_EvictsSerializedResponsesOnOtherNode() {
+    SerializedResponseCache remoteResponses = otherNode.getBean(SerializedResponseCache.class);
+    remoteResponses.get("offer", 1L, 0, () -> List.of("offre"));
+    assertEquals(1, remoteResponses.getStats().getSize());
+
+    transactionTemplate.executeWithoutResult(
+        status -> invalidationBus.onResponseDataChanged(new ResponseDataChangedEvent()));
+
+    assertTrue(eventually(() -> remoteResponses.getStats().getSize() == 0));
+  }
+
+  @Test
+  void receive_IgnoresMessagesFromSameNode() {
+    CacheInvalidationEvent event =
+        new CacheInvalidationEvent(CacheInvalidationEvent.ENTENTE, 12L, 1L);
+    InvalidationBus otherBus = otherNode.getBean(InvalidationBus.class);
+
+    otherBus.receive(new InvalidationMessage("autre-noeud", event).encode());
+    otherBus.receive(new InvalidationMessage(otherBus.getNodeId(), event).encode());
+
+    assertEquals(1, receivedByOtherNode.stream().filter(event::equals).count());
+  }
+
+  private static boolean eventually(BooleanSupplier condition) {
+    Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+    while (Instant.now().isBefore(deadline)) {
+      if (condition.getAsBoolean()) {
+        return true;
+      }
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+    return condition.getAsBoolean();
+  }
+}
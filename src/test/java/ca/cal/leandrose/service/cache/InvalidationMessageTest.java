@@ -0,0 +1,40 @@
+package ca.cal.leandrose.service.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ca.cal.leandrose.service.event.CacheInvalidationEvent;
+import org.junit.jupiter.api.Test;
+
+class InvalidationMessageTest {
+
+  @Test
+  void encode_RoundTripsThroughDecode() {
+    InvalidationMessage message =
+        new InvalidationMessage(
+            "node-a", new CacheInvalidationEvent(CacheInvalidationEvent.OFFER, 42L, 3L));
+
+    assertEquals("node-a|offer|42|3", message.encode());
+    assertEquals(message, InvalidationMessage.decode(message.encode()).orElseThrow());
+  }
+
+  @Test
+  void decode_KeepsMissingIdAndVersionAsNull() {
+    InvalidationMessage message =
+        new InvalidationMessage("node-a", CacheInvalidationEvent.flushAll());
+
+    CacheInvalidationEvent decoded =
+        InvalidationMessage.decode(message.encode()).orElseThrow().event();
+
+    assertTrue(decoded.isFlush());
+    assertNull(decoded.id());
+    assertNull(decoded.version());
+  }
+
+  @Test
+  void decode_RejectsMalformedPayloads() {
+    assertTrue(InvalidationMessage.decode(null).isEmpty());
+    assertTrue(InvalidationMessage.decode("node-a|offer").isEmpty());
+    assertTrue(InvalidationMessage.decode("node-a|offer|abc|1").isEmpty());
+    assertTrue(InvalidationMessage.decode("|offer|1|1").isEmpty());
+  }
+}
@@ -0,0 +1,94 @@
+package ca.cal.leandrose.service.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ca.cal.leandrose.service.event.CacheInvalidationEvent;
+import ca.cal.leandrose.service.event.ResponseDataChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SerializedResponseCacheTest {
+
+  @Test
+  void get_ReusesBytesUntilVersionChanges() {
+    SerializedResponseCache cache = new SerializedResponseCache(new ObjectMapper(), 1024, 100);
+    AtomicInteger loads = new AtomicInteger();
+
+    byte[] first = cache.get("entente", 1L, 0, () -> Map.of("statut", loads.incrementAndGet()));
+    byte[] second = cache.get("entente", 1L, 0, () -> Map.of("statut", loads.incrementAndGet()));
+    byte[] updated = cache.get("entente", 1L, 1, () -> Map.of("statut", loads.incrementAndGet()));
+
+    assertSame(first, second);
+    assertEquals("{\"statut\":1}", new String(first, StandardCharsets.UTF_8));
+    assertEquals("{\"statut\":2}", new String(updated, StandardCharsets.UTF_8));
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void evict_DropsOnlyTheMatchingResponse() {
+    SerializedResponseCache cache = new SerializedResponseCache(new ObjectMapper(), 1024, 100);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get("entente", 1L, 0, () -> Map.of("statut", loads.incrementAndGet()));
+    cache.get("offer", 1L, 0, () -> Map.of("statut", loads.incrementAndGet()));
+    cache.evict("entente", 1L);
+    cache.get("entente", 1L, 0, () -> Map.of("statut", loads.incrementAndGet()));
+    cache.get("offer", 1L, 0, () -> Map.of("statut", loads.incrementAndGet()));
+
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  void onResponseDataChanged_DropsEveryResponse() {
+    SerializedResponseCache cache = new SerializedResponseCache(new ObjectMapper(), 1024, 100);
+    cache.get("entente", 1L, 0, () -> Map.of("statut", 1));
+    cache.get("offer", 2L, 0, () -> Map.of("statut", 1));
+
+    cache.onResponseDataChanged(new ResponseDataChangedEvent());
+
+    assertEquals(0, cache.getStats().getSize());
+  }
+
+  @Test
+  void onCacheInvalidation_DropsVersionsOlderThanThePublishedOne() {
+    SerializedResponseCache cache = new SerializedResponseCache(new ObjectMapper(), 1024, 100);
+    AtomicInteger loads = new AtomicInteger();
+    cache.get("entente", 1L, 3, () -> Map.of("statut", loads.incrementAndGet()));
+    cache.get("entente", 1L, 4, () -> Map.of("statut", loads.incrementAndGet()));
+    cache.get("entente", 2L, 3, () -> Map.of("statut", loads.incrementAndGet()));
+
+    cache.onCacheInvalidation(
+        new CacheInvalidationEvent(CacheInvalidationEvent.ENTENTE, 1L, 4L));
+
+    assertEquals(2, cache.getStats().getSize());
+    cache.get("entente", 1L, 4, () -> Map.of("statut", loads.incrementAndGet()));
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  void onCacheInvalidation_DropsEveryResponseForRemoteResponseChanges() {
+    SerializedResponseCache cache = new SerializedResponseCache(new ObjectMapper(), 1024, 100);
+    cache.get("entente", 1L, 0, () -> Map.of("statut", 1));
+    cache.get("offer", 2L, 0, () -> Map.of("statut", 1));
+
+    cache.onCacheInvalidation(
+        new CacheInvalidationEvent(CacheInvalidationEvent.RESPONSES, null, null));
+
+    assertEquals(0, cache.getStats().getSize());
+  }
+
+  @Test
+  void get_EvictsOldestResponsesBeyondByteBudget() {
+    SerializedResponseCache cache = new SerializedResponseCache(new ObjectMapper(), 40, 100);
+
+    cache.get("offer", 1L, 0, () -> Map.of("description", "0123456789"));
+    cache.get("offer", 2L, 0, () -> Map.of("description", "0123456789"));
+
+    assertEquals(1, cache.getStats().getSize());
+    assertEquals(1, cache.getStats().getEvictions());
+    assertTrue(cache.getStats().getWeight() <= 40);
+  }
+}
@@ -0,0 +1,148 @@
+package ca.cal.leandrose.service.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ca.cal.leandrose.service.dto.SingleFlightStatsDto;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightGroupTest {
+
+  private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(250);
+
+  @Test
+  void execute_ConcurrentCallersShareOneExecution() throws Exception {
+    SingleFlightGroup group = new SingleFlightGroup();
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<Object> leader =
+          executor.submit(
+              () -> {
+                try {
+                  return group.execute(
+                      "ententes",
+                      List.of(),
+                      0,
+                      () -> {
+                        executions.incrementAndGet();
+                        started.countDown();
+                        release.await();
+                        return "résultat";
+                      });
+                } catch (Throwable e) {
+                  throw new IllegalStateException(e);
+                }
+              });
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+
+      List<Future<Object>> followers = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        followers.add(
+            executor.submit(
+                () -> {
+                  try {
+                    return group.execute(
+                        "ententes", List.of(), 0, () -> executions.incrementAndGet());
+                  } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                  }
+                }));
+      }
+      while (joined(group) < 3) {
+        Thread.onSpinWait();
+      }
+      release.countDown();
+
+      assertEquals("résultat", leader.get(5, TimeUnit.SECONDS));
+      for (Future<Object> follower : followers) {
+        assertEquals("résultat", follower.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(1, executions.get());
+      assertEquals(1, group.getStats().get(0).getExecutions());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void execute_ReusesResultInsideWindow() throws Throwable {
+    AtomicLong now = new AtomicLong();
+    SingleFlightGroup group = new SingleFlightGroup(now::get);
+    AtomicInteger executions = new AtomicInteger();
+
+    Object first = group.execute("offres", List.of(), WINDOW, executions::incrementAndGet);
+    now.addAndGet(WINDOW - 1);
+    Object reused = group.execute("offres", List.of(), WINDOW, executions::incrementAndGet);
+    now.addAndGet(1);
+    Object refreshed = group.execute("offres", List.of(), WINDOW, executions::incrementAndGet);
+
+    assertEquals(1, first);
+    assertEquals(1, reused);
+    assertEquals(2, refreshed);
+    SingleFlightStatsDto stats = group.getStats().get(0);
+    assertEquals(2, stats.getExecutions());
+    assertEquals(1, stats.getReused());
+  }
+
+  @Test
+  void execute_KeysByArguments() throws Throwable {
+    SingleFlightGroup group = new SingleFlightGroup(() -> 0L);
+    AtomicInteger executions = new AtomicInteger();
+
+    group.execute("offres", List.of(1L), WINDOW, executions::incrementAndGet);
+    group.execute("offres", List.of(2L), WINDOW, executions::incrementAndGet);
+
+    assertEquals(2, executions.get());
+  }
+
+  @Test
+  void execute_DoesNotReuseFailures() throws Throwable {
+    SingleFlightGroup group = new SingleFlightGroup(() -> 0L);
+
+    IllegalStateException thrown =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                group.execute(
+                    "ententes",
+                    List.of(),
+                    WINDOW,
+                    () -> {
+                      throw new IllegalStateException("Base indisponible");
+                    }));
+    Object retried = group.execute("ententes", List.of(), WINDOW, () -> "ok");
+
+    assertEquals("Base indisponible", thrown.getMessage());
+    assertEquals("ok", retried);
+    assertEquals(2, group.getStats().get(0).getExecutions());
+  }
+
+  @Test
+  void invalidateAll_SkipsReuseWindowAfterWrite() throws Throwable {
+    SingleFlightGroup group = new SingleFlightGroup(() -> 0L);
+    AtomicInteger executions = new AtomicInteger();
+
+    Object before = group.execute("ententes", List.of(), WINDOW, executions::incrementAndGet);
+    group.invalidateAll();
+    Object after = group.execute("ententes", List.of(), WINDOW, executions::incrementAndGet);
+
+    assertEquals(1, before);
+    assertEquals(2, after);
+    assertEquals(0, group.getStats().get(0).getReused());
+  }
+
+  private static long joined(SingleFlightGroup group) {
+    return group.getStats().stream().mapToLong(SingleFlightStatsDto::getJoined).sum();
+  }
+}
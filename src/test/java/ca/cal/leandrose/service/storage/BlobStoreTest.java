@@ -0,0 +1,124 @@
+package ca.cal.leandrose.service.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ca.cal.leandrose.service.cache.DocumentCache;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+class BlobStoreTest {
+
+  @TempDir Path tempDir;
+
+  private final UploadSpooler uploadSpooler = new UploadSpooler();
+  private LocalDocumentStore documentStore;
+  private BlobStore blobStore;
+
+  @BeforeEach
+  void setUp() {
+    documentStore =
+        new LocalDocumentStore(
+            tempDir.resolve("store").toString(), new DocumentCache(1024 * 1024, 1024 * 1024, 16));
+    blobStore = new BlobStore(uploadSpooler, documentStore, tempDir.resolve("spool").toString());
+  }
+
+  @Test
+  void store_PlacesUploadUnderItsSha256() throws Exception {
+    byte[] content = "PDF_CONTENT".getBytes();
+
+    String key;
+    try (SpooledUpload upload =
+        uploadSpooler.spool(multipart(content), blobStore.getSpoolDirectory())) {
+      key = blobStore.store(upload);
+    }
+
+    String sha256 = sha256(content);
+    assertEquals(
+        "blobs/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256 + ".pdf",
+        key);
+    assertArrayEquals(content, Files.readAllBytes(tempDir.resolve("store").resolve(key)));
+    assertEquals(sha256, BlobStore.hashOf(key).orElseThrow());
+  }
+
+  @Test
+  void store_DeduplicatesIdenticalContent() throws Exception {
+    byte[] content = "CV identique".getBytes();
+
+    String first;
+    try (SpooledUpload upload =
+        uploadSpooler.spool(multipart(content), blobStore.getSpoolDirectory())) {
+      first = blobStore.store(upload);
+    }
+    String second;
+    try (SpooledUpload upload =
+        uploadSpooler.spool(multipart(content), blobStore.getSpoolDirectory())) {
+      second = blobStore.store(upload);
+    }
+
+    assertEquals(first, second);
+    assertEquals(1, blobStore.listBlobs().size());
+    assertTrue(blobStore.listAbandonedParts(Instant.now().plusSeconds(60)).isEmpty());
+  }
+
+  @Test
+  void adopt_MovesGeneratedFileAndDiscardsDuplicates() throws Exception {
+    Path generated = Files.writeString(tempDir.resolve("entente_1.pdf"), "ENTENTE");
+    Path duplicate = Files.writeString(tempDir.resolve("entente_2.pdf"), "ENTENTE");
+
+    String key = blobStore.adopt(generated);
+
+    assertEquals(key, blobStore.adopt(duplicate));
+    assertFalse(Files.exists(generated));
+    assertFalse(Files.exists(duplicate));
+    assertEquals("ENTENTE", new String(documentStore.get(key).getContentAsByteArray()));
+  }
+
+  @Test
+  void copyOf_LeavesSourceInPlace() throws Exception {
+    Path legacy = Files.writeString(tempDir.resolve("legacy.pdf"), "ANCIEN");
+
+    String key = blobStore.copyOf(legacy);
+
+    assertTrue(Files.exists(legacy));
+    assertTrue(BlobStore.isKey(key));
+    assertTrue(documentStore.exists(key));
+  }
+
+  @Test
+  void release_DeletesLegacyFilesButKeepsBlobs() throws Exception {
+    Path legacy = Files.writeString(tempDir.resolve("legacy.pdf"), "ANCIEN");
+    String key = blobStore.adopt(Files.writeString(tempDir.resolve("neuf.pdf"), "NEUF"));
+
+    blobStore.release(legacy.toString());
+    blobStore.release(key);
+
+    assertFalse(Files.exists(legacy));
+    assertTrue(documentStore.exists(key));
+    assertFalse(BlobStore.isKey(legacy.toString()));
+    assertTrue(BlobStore.hashOf(legacy.toString()).isEmpty());
+  }
+
+  @Test
+  void isKey_RejectsKeysWhoseDirectoriesDoNotMatchTheHash() {
+    String sha256 = "ab".repeat(32);
+
+    assertTrue(BlobStore.isKey(BlobStore.keyFor(sha256)));
+    assertFalse(BlobStore.isKey("blobs/cd/ab/" + sha256 + ".pdf"));
+    assertFalse(BlobStore.isKey("blobs/ab/ab/" + sha256 + ".txt"));
+  }
+
+  private static MockMultipartFile multipart(byte[] content) {
+    return new MockMultipartFile("file", "document.pdf", "application/pdf", content);
+  }
+
+  private static String sha256(byte[] content) throws Exception {
+    return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+  }
+}
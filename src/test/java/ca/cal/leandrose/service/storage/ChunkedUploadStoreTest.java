@@ -0,0 +1,143 @@
+package ca.cal.leandrose.service.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ChunkedUploadStoreTest {
+
+  private static final String ID = "0b8f6c2e-4a57-4e8b-9c1d-2f3a4b5c6d7e";
+
+  @TempDir Path tempDir;
+
+  private ChunkedUploadStore store;
+  private byte[] content;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    UploadSpooler uploadSpooler = new UploadSpooler();
+    store =
+        new ChunkedUploadStore(
+            uploadSpooler,
+            new BlobStore(uploadSpooler, null, tempDir.resolve("spool").toString()));
+    content = new byte[300 * 1024];
+    new Random(7).nextBytes(content);
+    store.open(ID);
+  }
+
+  @Test
+  void append_AssemblesChunksWithRollingChecksum() throws Exception {
+    assertEquals(100_000, store.append(ID, 0, chunk(0, 100_000), content.length));
+    assertEquals(content.length, store.append(ID, 100_000, chunk(100_000), content.length));
+
+    try (SpooledUpload upload = store.complete(ID)) {
+      assertEquals(content.length, upload.getSize());
+      assertEquals(sha256(content), upload.getSha256());
+      assertArrayEquals(content, Files.readAllBytes(upload.getFile()));
+    }
+  }
+
+  @Test
+  void append_RejectsChunkAtWrongOffset() throws Exception {
+    store.append(ID, 0, chunk(0, 1000), content.length);
+
+    IllegalStateException error =
+        assertThrows(
+            IllegalStateException.class,
+            () -> store.append(ID, 500, chunk(500, 1000), content.length));
+
+    assertTrue(error.getMessage().contains("1000"));
+    assertEquals(1000, store.offset(ID));
+  }
+
+  @Test
+  void append_KeepsBytesReceivedBeforeConnectionDrop() throws Exception {
+    InputStream source = chunk(0, 5000);
+    InputStream dropped =
+        new InputStream() {
+          @Override
+          public int read() throws IOException {
+            throw new IOException("Connexion interrompue");
+          }
+
+          @Override
+          public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = source.read(buffer, offset, length);
+            if (read == -1) {
+              throw new IOException("Connexion interrompue");
+            }
+            return read;
+          }
+        };
+
+    assertThrows(IOException.class, () -> store.append(ID, 0, dropped, content.length));
+    assertEquals(5000, store.offset(ID));
+
+    store.append(ID, 5000, chunk(5000), content.length);
+    try (SpooledUpload upload = store.complete(ID)) {
+      assertEquals(sha256(content), upload.getSha256());
+    }
+  }
+
+  @Test
+  void complete_RehashesWhenRollingChecksumIsLost() throws Exception {
+    store.append(ID, 0, chunk(0, 1000), content.length);
+    ChunkedUploadStore restarted =
+        new ChunkedUploadStore(
+            new UploadSpooler(),
+            new BlobStore(new UploadSpooler(), null, tempDir.resolve("spool").toString()));
+
+    restarted.append(ID, 1000, chunk(1000), content.length);
+
+    try (SpooledUpload upload = restarted.complete(ID)) {
+      assertEquals(sha256(content), upload.getSha256());
+    }
+  }
+
+  @Test
+  void append_RejectsBytesBeyondDeclaredSize() throws Exception {
+    assertThrows(IllegalArgumentException.class, () -> store.append(ID, 0, chunk(0), 1000));
+    assertTrue(store.offset(ID) <= 1000);
+  }
+
+  @Test
+  void purgeIdle_DeletesSessionsUntouchedSinceCutoff() throws Exception {
+    Path part = tempDir.resolve("spool/sessions/" + ID + ".part");
+    Files.setLastModifiedTime(part, FileTime.from(Instant.now().minusSeconds(7200)));
+
+    assertEquals(1, store.purgeIdle(Instant.now().minusSeconds(3600)));
+
+    assertThrows(NoSuchFileException.class, () -> store.offset(ID));
+  }
+
+  @Test
+  void sessionIds_AreValidatedBeforeTouchingTheDisk() {
+    assertThrows(IllegalArgumentException.class, () -> store.offset("../../blobs/x"));
+  }
+
+  private InputStream chunk(int from) {
+    return chunk(from, content.length);
+  }
+
+  private InputStream chunk(int from, int to) {
+    return new ByteArrayInputStream(Arrays.copyOfRange(content, from, to));
+  }
+
+  private static String sha256(byte[] bytes) throws Exception {
+    return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+  }
+}
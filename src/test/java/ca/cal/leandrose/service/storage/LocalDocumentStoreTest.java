@@ -0,0 +1,85 @@
+package ca.cal.leandrose.service.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ca.cal.leandrose.service.cache.DocumentCache;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalDocumentStoreTest {
+
+  @TempDir Path tempDir;
+
+  private LocalDocumentStore store;
+
+  @BeforeEach
+  void setUp() {
+    store =
+        new LocalDocumentStore(
+            tempDir.resolve("store").toString(), new DocumentCache(1024 * 1024, 1024 * 1024, 16));
+  }
+
+  @Test
+  void put_MovesSpooledUploadUnderItsKey() throws Exception {
+    try (SpooledUpload upload =
+        new UploadSpooler()
+            .spool(Files.writeString(tempDir.resolve("cv.pdf"), "CV"), tempDir.resolve("spool"))) {
+      store.put("blobs/aa/bb/cv.pdf", upload);
+    }
+
+    assertEquals("CV", Files.readString(tempDir.resolve("store/blobs/aa/bb/cv.pdf")));
+    assertEquals("CV", new String(store.get("blobs/aa/bb/cv.pdf").getContentAsByteArray()));
+    assertEquals(2, store.stat("blobs/aa/bb/cv.pdf").orElseThrow().size());
+  }
+
+  @Test
+  void stream_ReturnsOnlyTheRequestedRange() throws Exception {
+    write("blobs/aa/bb/range.pdf", "0123456789");
+
+    try (InputStream in = store.stream("blobs/aa/bb/range.pdf", 3, 4)) {
+      assertEquals("3456", new String(in.readAllBytes()));
+    }
+  }
+
+  @Test
+  void list_ReturnsKeysRelativeToTheRoot() throws Exception {
+    write("blobs/aa/bb/un.pdf", "1");
+    write("blobs/cc/dd/deux.pdf", "22");
+    write("autres/trois.pdf", "333");
+
+    List<String> keys = store.list("blobs/").stream().map(StoredDocument::key).sorted().toList();
+
+    assertEquals(List.of("blobs/aa/bb/un.pdf", "blobs/cc/dd/deux.pdf"), keys);
+  }
+
+  @Test
+  void missingDocumentsAndEscapingKeysAreRejected() throws Exception {
+    assertTrue(store.stat("blobs/00/00/absent.pdf").isEmpty());
+    assertThrows(NoSuchFileException.class, () -> store.get("blobs/00/00/absent.pdf"));
+    assertThrows(NoSuchFileException.class, () -> store.touch("blobs/00/00/absent.pdf"));
+    assertThrows(IllegalArgumentException.class, () -> store.get("../secret.pdf"));
+    assertThrows(IllegalArgumentException.class, () -> store.get("/etc/passwd"));
+  }
+
+  @Test
+  void delete_RemovesTheDocument() throws Exception {
+    write("blobs/aa/bb/supprime.pdf", "X");
+
+    store.delete("blobs/aa/bb/supprime.pdf");
+    store.delete("blobs/aa/bb/supprime.pdf");
+
+    assertFalse(store.exists("blobs/aa/bb/supprime.pdf"));
+  }
+
+  private void write(String key, String content) throws Exception {
+    Path path = tempDir.resolve("store").resolve(key);
+    Files.createDirectories(path.getParent());
+    Files.writeString(path, content);
+  }
+}
@@ -0,0 +1,382 @@
+package ca.cal.leandrose.service.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+class S3DocumentStoreTest {
+
+  private static final String BUCKET = "documents";
+  private static final int PART_SIZE = 5 * 1024 * 1024;
+
+  @TempDir Path tempDir;
+
+  private FakeS3 s3;
+  private S3DocumentStore store;
+  private final UploadSpooler uploadSpooler = new UploadSpooler();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    s3 = new FakeS3();
+    store =
+        new S3DocumentStore(
+            "http://localhost:" + s3.port(), BUCKET, "us-east-1", "minio", "minio123", PART_SIZE);
+  }
+
+  @AfterEach
+  void tearDown() {
+    s3.stop();
+  }
+
+  @Test
+  void put_SmallDocumentUsesSinglePutAndCanBeReadBack() throws Exception {
+    byte[] content = "PDF_CONTENT".getBytes();
+
+    try (SpooledUpload upload = spool(content)) {
+      store.put("blobs/ab/cd/doc.pdf", upload);
+    }
+
+    assertArrayEquals(content, s3.objects.get("blobs/ab/cd/doc.pdf"));
+    assertTrue(s3.requests.stream().noneMatch(request -> request.contains("uploads")));
+    Resource resource = store.get("blobs/ab/cd/doc.pdf");
+    assertEquals(content.length, resource.contentLength());
+    assertEquals("doc.pdf", resource.getFilename());
+    assertArrayEquals(content, resource.getContentAsByteArray());
+    assertTrue(s3.requests.stream().allMatch(request -> request.endsWith("signed")));
+  }
+
+  @Test
+  void put_LargeDocumentStreamsMultipartUpload() throws Exception {
+    byte[] content = new byte[2 * PART_SIZE + 1234];
+    new Random(7).nextBytes(content);
+
+    try (SpooledUpload upload = spool(content)) {
+      store.put("blobs/ef/01/gros.pdf", upload);
+    }
+
+    assertArrayEquals(content, s3.objects.get("blobs/ef/01/gros.pdf"));
+    assertEquals(
+        3, s3.requests.stream().filter(request -> request.contains("partNumber=")).count());
+    assertTrue(s3.uploads.isEmpty());
+  }
+
+  @Test
+  void put_AbortsMultipartUploadWhenAPartFails() throws Exception {
+    byte[] content = new byte[PART_SIZE + 1];
+    s3.failPart = 2;
+
+    try (SpooledUpload upload = spool(content)) {
+      assertThrows(IOException.class, () -> store.put("blobs/ef/02/echec.pdf", upload));
+    }
+
+    assertFalse(s3.objects.containsKey("blobs/ef/02/echec.pdf"));
+    assertTrue(s3.uploads.isEmpty());
+  }
+
+  @Test
+  void stream_ReadsOnlyTheRequestedRange() throws Exception {
+    s3.objects.put("blobs/aa/bb/range.pdf", "0123456789".getBytes());
+    s3.modified.put("blobs/aa/bb/range.pdf", Instant.now());
+
+    try (InputStream in = store.stream("blobs/aa/bb/range.pdf", 2, 4)) {
+      assertEquals("2345", new String(in.readAllBytes()));
+    }
+    assertTrue(s3.requests.stream().anyMatch(request -> request.contains("bytes=2-5")));
+  }
+
+  @Test
+  void stat_ReportsMissingDocumentsAsEmpty() throws Exception {
+    assertTrue(store.stat("blobs/00/00/absent.pdf").isEmpty());
+    assertFalse(store.exists("blobs/00/00/absent.pdf"));
+    assertThrows(NoSuchFileException.class, () -> store.get("blobs/00/00/absent.pdf"));
+    assertThrows(NoSuchFileException.class, () -> store.touch("blobs/00/00/absent.pdf"));
+  }
+
+  @Test
+  void touch_RefreshesLastModifiedInPlace() throws Exception {
+    Instant old = Instant.now().minus(2, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+    s3.objects.put("blobs/aa/cc/vieux.pdf", "VIEUX".getBytes());
+    s3.modified.put("blobs/aa/cc/vieux.pdf", old);
+
+    store.touch("blobs/aa/cc/vieux.pdf");
+
+    assertTrue(store.stat("blobs/aa/cc/vieux.pdf").orElseThrow().lastModified().isAfter(old));
+    assertArrayEquals("VIEUX".getBytes(), s3.objects.get("blobs/aa/cc/vieux.pdf"));
+  }
+
+  @Test
+  void list_FollowsContinuationTokensAndDeleteRemovesObjects() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      s3.objects.put("blobs/0" + i + "/doc.pdf", new byte[i]);
+      s3.modified.put("blobs/0" + i + "/doc.pdf", Instant.now());
+    }
+    s3.objects.put("autres/doc.pdf", new byte[1]);
+    s3.modified.put("autres/doc.pdf", Instant.now());
+    s3.pageSize = 2;
+
+    List<StoredDocument> documents = store.list("blobs/");
+
+    assertEquals(5, documents.size());
+    assertEquals(4, documents.get(4).size());
+    store.delete("blobs/00/doc.pdf");
+    store.delete("blobs/00/doc.pdf");
+    assertEquals(4, store.list("blobs/").size());
+  }
+
+  @Test
+  void blobStore_DeduplicatesAgainstS3Backend() throws Exception {
+    BlobStore blobStore = new BlobStore(uploadSpooler, store, tempDir.resolve("spool").toString());
+
+    String first = blobStore.adopt(Files.writeString(tempDir.resolve("a.pdf"), "MEME"));
+    String second = blobStore.adopt(Files.writeString(tempDir.resolve("b.pdf"), "MEME"));
+
+    assertEquals(first, second);
+    assertEquals(1, s3.objects.size());
+    assertEquals(List.of(first), blobStore.listBlobs().stream().map(StoredDocument::key).toList());
+  }
+
+  private SpooledUpload spool(byte[] content) throws IOException {
+    return uploadSpooler.spool(
+        Files.write(tempDir.resolve("source-" + content.length + ".pdf"), content),
+        tempDir.resolve("spool"));
+  }
+
+  private static final class FakeS3 {
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+    private static final DateTimeFormatter HTTP_DATE =
+        DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    final Map<String, Instant> modified = new ConcurrentHashMap<>();
+    final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    final List<String> requests = new CopyOnWriteArrayList<>();
+    volatile int failPart = -1;
+    volatile int pageSize = 1000;
+
+    private final HttpServer server;
+    private int uploadSequence;
+
+    FakeS3() throws IOException {
+      server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+      server.createContext("/", this::handle);
+      server.start();
+    }
+
+    int port() {
+      return server.getAddress().getPort();
+    }
+
+    void stop() {
+      server.stop(0);
+    }
+
+    private synchronized void handle(HttpExchange exchange) throws IOException {
+      String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+      Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+      String range = exchange.getRequestHeaders().getFirst("Range");
+      requests.add(
+          exchange.getRequestMethod()
+              + " "
+              + exchange.getRequestURI()
+              + (range == null ? "" : " " + range)
+              + (authorization != null && authorization.contains("Signature=") ? " signed" : ""));
+      byte[] body = exchange.getRequestBody().readAllBytes();
+      String path = exchange.getRequestURI().getPath();
+      String key = path.length() > BUCKET.length() + 2 ? path.substring(BUCKET.length() + 2) : "";
+
+      switch (exchange.getRequestMethod()) {
+        case "GET" -> {
+          if (query.containsKey("list-type")) {
+            list(exchange, query);
+          } else {
+            get(exchange, key, range);
+          }
+        }
+        case "HEAD" -> {
+          byte[] object = objects.get(key);
+          if (object == null) {
+            exchange.sendResponseHeaders(404, -1);
+          } else {
+            exchange.getResponseHeaders().set("Content-Length", String.valueOf(object.length));
+            exchange.getResponseHeaders().set("Last-Modified", HTTP_DATE.format(modified.get(key)));
+            exchange.sendResponseHeaders(200, -1);
+          }
+        }
+        case "PUT" -> put(exchange, key, query, body);
+        case "POST" -> post(exchange, key, query, body);
+        case "DELETE" -> {
+          if (query.containsKey("uploadId")) {
+            uploads.remove(query.get("uploadId"));
+          } else {
+            objects.remove(key);
+            modified.remove(key);
+          }
+          exchange.sendResponseHeaders(204, -1);
+        }
+        default -> exchange.sendResponseHeaders(405, -1);
+      }
+      exchange.close();
+    }
+
+    private void get(HttpExchange exchange, String key, String range) throws IOException {
+      byte[] object = objects.get(key);
+      if (object == null) {
+        respond(exchange, 404, "<Error><Code>NoSuchKey</Code></Error>");
+        return;
+      }
+      Matcher matcher = range == null ? null : RANGE.matcher(range);
+      if (matcher != null && matcher.matches()) {
+        int start = Integer.parseInt(matcher.group(1));
+        int end = Math.min(Integer.parseInt(matcher.group(2)), object.length - 1);
+        respond(exchange, 206, Arrays.copyOfRange(object, start, end + 1));
+      } else {
+        respond(exchange, 200, object);
+      }
+    }
+
+    private void list(HttpExchange exchange, Map<String, String> query) throws IOException {
+      String prefix = query.getOrDefault("prefix", "");
+      List<String> keys =
+          new ArrayList<>(
+              new TreeMap<>(objects).keySet().stream().filter(k -> k.startsWith(prefix)).toList());
+      int from = Integer.parseInt(query.getOrDefault("continuation-token", "0"));
+      int to = Math.min(keys.size(), from + pageSize);
+      StringBuilder xml =
+          new StringBuilder("<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">");
+      for (String key : keys.subList(from, to)) {
+        xml.append("<Contents><Key>")
+            .append(key)
+            .append("</Key><LastModified>")
+            .append(modified.get(key))
+            .append("</LastModified><Size>")
+            .append(objects.get(key).length)
+            .append("</Size></Contents>");
+      }
+      xml.append("<IsTruncated>").append(to < keys.size()).append("</IsTruncated>");
+      if (to < keys.size()) {
+        xml.append("<NextContinuationToken>").append(to).append("</NextContinuationToken>");
+      }
+      respond(exchange, 200, xml.append("</ListBucketResult>").toString());
+    }
+
+    private void put(HttpExchange exchange, String key, Map<String, String> query, byte[] body)
+        throws IOException {
+      String copySource = exchange.getRequestHeaders().getFirst("x-amz-copy-source");
+      if (query.containsKey("partNumber")) {
+        int partNumber = Integer.parseInt(query.get("partNumber"));
+        Map<Integer, byte[]> parts = uploads.get(query.get("uploadId"));
+        if (parts == null || partNumber == failPart) {
+          respond(exchange, 500, "<Error><Code>InternalError</Code></Error>");
+          return;
+        }
+        parts.put(partNumber, body);
+        exchange.getResponseHeaders().set("ETag", "\"etag-" + partNumber + "\"");
+        exchange.sendResponseHeaders(200, -1);
+      } else if (copySource != null) {
+        String source = URLDecoder.decode(copySource, StandardCharsets.UTF_8);
+        byte[] object = objects.get(source.substring(BUCKET.length() + 2));
+        if (object == null) {
+          respond(exchange, 404, "<Error><Code>NoSuchKey</Code></Error>");
+          return;
+        }
+        objects.put(key, object);
+        modified.put(key, Instant.now().plusSeconds(1));
+        respond(exchange, 200, "<CopyObjectResult><ETag>\"copie\"</ETag></CopyObjectResult>");
+      } else {
+        objects.put(key, body);
+        modified.put(key, Instant.now());
+        exchange.getResponseHeaders().set("ETag", "\"objet\"");
+        exchange.sendResponseHeaders(200, -1);
+      }
+    }
+
+    private void post(HttpExchange exchange, String key, Map<String, String> query, byte[] body)
+        throws IOException {
+      if (query.containsKey("uploads")) {
+        String uploadId = "upload-" + ++uploadSequence;
+        uploads.put(uploadId, new TreeMap<>());
+        respond(
+            exchange,
+            200,
+            "<InitiateMultipartUploadResult><UploadId>"
+                + uploadId
+                + "</UploadId></InitiateMultipartUploadResult>");
+        return;
+      }
+      Map<Integer, byte[]> parts = uploads.remove(query.get("uploadId"));
+      String manifest = new String(body, StandardCharsets.UTF_8);
+      if (parts == null || !manifest.contains("<PartNumber>" + parts.size() + "</PartNumber>")) {
+        respond(exchange, 400, "<Error><Code>InvalidPart</Code></Error>");
+        return;
+      }
+      int length = parts.values().stream().mapToInt(part -> part.length).sum();
+      byte[] object = new byte[length];
+      int offset = 0;
+      for (byte[] part : parts.values()) {
+        System.arraycopy(part, 0, object, offset, part.length);
+        offset += part.length;
+      }
+      objects.put(key, object);
+      modified.put(key, Instant.now());
+      respond(exchange, 200, "<CompleteMultipartUploadResult/>");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body)
+        throws IOException {
+      respond(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body)
+        throws IOException {
+      exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+      Map<String, String> query = new HashMap<>();
+      if (rawQuery == null) {
+        return query;
+      }
+      for (String parameter : rawQuery.split("&")) {
+        String[] pair = parameter.split("=", 2);
+        query.put(
+            URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+            pair.length > 1 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "");
+      }
+      return query;
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package ca.cal.leandrose.service.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ca.cal.leandrose.service.cache.DocumentCache;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TermArchiveStoreTest {
+
+  private static final int TERM = 20251;
+  private static final String TEXT_SHA = "a1".repeat(32);
+  private static final String RANDOM_SHA = "0f".repeat(32);
+  private static final String LATE_SHA = "ff".repeat(32);
+
+  @TempDir Path tempDir;
+
+  private LocalDocumentStore driver;
+  private TermArchiveStore store;
+  private byte[] text;
+  private byte[] random;
+
+  @BeforeEach
+  void setUp() {
+    driver =
+        new LocalDocumentStore(
+            tempDir.resolve("store").toString(), new DocumentCache(1024 * 1024, 1024 * 1024, 16));
+    store = new TermArchiveStore(driver, new UploadSpooler(), tempDir.resolve("spool").toString());
+    text = "Entente de stage ".repeat(500).getBytes(StandardCharsets.UTF_8);
+    random = new byte[4096];
+    new Random(42).nextBytes(random);
+  }
+
+  @Test
+  void write_PacksDocumentsIntoOneArchivePerTerm() throws Exception {
+    assertEquals(2, store.write(TERM, Map.of(TEXT_SHA, source(text), RANDOM_SHA, source(random))));
+
+    String locator = TermArchiveStore.locatorFor(TERM, TEXT_SHA);
+    assertEquals("archives/20251/" + TEXT_SHA + ".pdf", locator);
+    assertEquals(text.length, store.stat(locator).orElseThrow().size());
+    assertArrayEquals(text, read(locator, 0, text.length));
+    assertArrayEquals(random, read(TermArchiveStore.locatorFor(TERM, RANDOM_SHA), 0, 4096));
+    assertTrue(
+        driver.stat("archives/20251.pack").orElseThrow().size() < text.length + random.length);
+    assertTrue(driver.exists("archives/20251.idx"));
+    assertFalse(Files.list(tempDir.resolve("spool")).findAny().isPresent());
+  }
+
+  @Test
+  void stream_ReadsRangesFromCompressedAndStoredEntries() throws Exception {
+    store.write(TERM, Map.of(TEXT_SHA, source(text), RANDOM_SHA, source(random)));
+
+    assertArrayEquals(
+        Arrays.copyOfRange(text, 1000, 1100),
+        read(TermArchiveStore.locatorFor(TERM, TEXT_SHA), 1000, 100));
+    assertArrayEquals(
+        Arrays.copyOfRange(random, 4000, 4096),
+        read(TermArchiveStore.locatorFor(TERM, RANDOM_SHA), 4000, 500));
+  }
+
+  @Test
+  void write_AppendsToAnExistingArchiveWithoutDuplicates() throws Exception {
+    store.write(TERM, Map.of(TEXT_SHA, source(text)));
+    String before = TermArchiveStore.locatorFor(TERM, TEXT_SHA);
+    assertArrayEquals(text, read(before, 0, text.length));
+
+    byte[] late = "Évaluation tardive".getBytes(StandardCharsets.UTF_8);
+    assertEquals(1, store.write(TERM, Map.of(TEXT_SHA, source(text), LATE_SHA, source(late))));
+
+    assertArrayEquals(text, read(before, 0, text.length));
+    assertArrayEquals(late, read(TermArchiveStore.locatorFor(TERM, LATE_SHA), 0, late.length));
+  }
+
+  @Test
+  void stat_SeesEntriesAppendedByAnotherNode() throws Exception {
+    store.write(TERM, Map.of(TEXT_SHA, source(text)));
+    assertTrue(store.stat(TermArchiveStore.locatorFor(TERM, LATE_SHA)).isEmpty());
+
+    byte[] late = "Évaluation tardive".getBytes(StandardCharsets.UTF_8);
+    TermArchiveStore otherNode =
+        new TermArchiveStore(driver, new UploadSpooler(), tempDir.resolve("other").toString());
+    otherNode.write(TERM, Map.of(LATE_SHA, source(late)));
+
+    assertArrayEquals(late, read(TermArchiveStore.locatorFor(TERM, LATE_SHA), 0, late.length));
+    assertArrayEquals(text, read(TermArchiveStore.locatorFor(TERM, TEXT_SHA), 0, text.length));
+  }
+
+  @Test
+  void stat_ReturnsEmptyForUnknownEntriesAndTerms() throws Exception {
+    store.write(TERM, Map.of(TEXT_SHA, source(text)));
+
+    assertTrue(store.stat(TermArchiveStore.locatorFor(TERM, LATE_SHA)).isEmpty());
+    assertTrue(store.stat(TermArchiveStore.locatorFor(20242, TEXT_SHA)).isEmpty());
+    assertThrows(
+        NoSuchFileException.class,
+        () -> store.stream(TermArchiveStore.locatorFor(TERM, LATE_SHA), 0, 1));
+  }
+
+  @Test
+  void locators_AreRecognisedAndRejectedStrictly() {
+    String locator = TermArchiveStore.locatorFor(TERM, TEXT_SHA);
+
+    assertTrue(TermArchiveStore.isLocator(locator));
+    assertEquals(TEXT_SHA, TermArchiveStore.hashOf(locator).orElseThrow());
+    assertFalse(TermArchiveStore.isLocator(BlobStore.keyFor(TEXT_SHA)));
+    assertFalse(TermArchiveStore.isLocator("archives/20251/../" + TEXT_SHA + ".pdf"));
+    assertThrows(IllegalArgumentException.class, () -> store.stat("archives/x.pdf"));
+  }
+
+  private byte[] read(String locator, long offset, long length) throws Exception {
+    try (InputStream in = store.stream(locator, offset, length)) {
+      return in.readAllBytes();
+    }
+  }
+
+  private static TermArchiveStore.Source source(byte[] content) {
+    return () -> new ByteArrayInputStream(content);
+  }
+}
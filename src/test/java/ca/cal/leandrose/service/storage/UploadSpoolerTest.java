@@ -0,0 +1,90 @@
+package ca.cal.leandrose.service.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+class UploadSpoolerTest {
+
+  @TempDir Path tempDir;
+
+  private final UploadSpooler uploadSpooler = new UploadSpooler();
+
+  @Test
+  void spool_WritesTempFileAndComputesSha256() throws Exception {
+    byte[] content = "contenu du fichier".getBytes();
+    MockMultipartFile file =
+        new MockMultipartFile("file", "cv.pdf", "application/pdf", content);
+
+    try (SpooledUpload upload = uploadSpooler.spool(file, tempDir.resolve("cvs"))) {
+      assertEquals(content.length, upload.getSize());
+      assertArrayEquals(content, Files.readAllBytes(upload.getFile()));
+      assertEquals(
+          HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)),
+          upload.getSha256());
+      assertEquals(tempDir.resolve("cvs"), upload.getFile().getParent());
+    }
+  }
+
+  @Test
+  void spool_RejectsOversizedUploadAndRemovesTempFile() throws Exception {
+    MockMultipartFile file =
+        new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[1024]);
+
+    assertThrows(IllegalArgumentException.class, () -> uploadSpooler.spool(file, tempDir, 512));
+    assertTrue(isEmpty(tempDir));
+  }
+
+  @Test
+  void close_DeletesTempFileUnlessMoved() throws Exception {
+    MockMultipartFile file =
+        new MockMultipartFile("file", "cv.pdf", "application/pdf", "abc".getBytes());
+    Path target = tempDir.resolve("final.pdf");
+
+    try (SpooledUpload discarded = uploadSpooler.spool(file, tempDir)) {
+      assertTrue(Files.exists(discarded.getFile()));
+    }
+    assertTrue(isEmpty(tempDir));
+
+    try (SpooledUpload kept = uploadSpooler.spool(file, tempDir)) {
+      kept.moveTo(target);
+    }
+    assertEquals("abc", Files.readString(target));
+  }
+
+  @Test
+  void openPdf_ReadsPagesFromSpooledFile() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Document document = new Document();
+    PdfWriter.getInstance(document, out);
+    document.open();
+    document.add(new Paragraph("Offre de stage"));
+    document.close();
+    MockMultipartFile file =
+        new MockMultipartFile("file", "offre.pdf", "application/pdf", out.toByteArray());
+
+    try (SpooledUpload upload = uploadSpooler.spool(file, tempDir)) {
+      PdfReader reader = uploadSpooler.openPdf(upload);
+      assertEquals(1, reader.getNumberOfPages());
+      reader.close();
+    }
+  }
+
+  private static boolean isEmpty(Path directory) throws Exception {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.findAny().isEmpty();
+    }
+  }
+}